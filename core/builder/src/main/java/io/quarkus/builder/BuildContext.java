@@ -3,6 +3,7 @@ package io.quarkus.builder;
 import static io.quarkus.builder.Execution.*;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -27,6 +28,7 @@ public final class BuildContext {
     private final StepInfo stepInfo;
     private final Execution execution;
     private final AtomicInteger dependencies;
+    private final BitSet transitiveDependencies = new BitSet();
     private volatile boolean running;
 
     BuildContext(final StepInfo stepInfo, final Execution execution) {
@@ -45,6 +47,27 @@ public final class BuildContext {
         return execution.getBuildTargetName();
     }
 
+    /**
+     * Get the ordinal of this build step, which uniquely identifies it within the build chain.
+     *
+     * @return the ordinal of this build step
+     */
+    public int getBuildStepOrdinal() {
+        return stepInfo.getOrdinal();
+    }
+
+    /**
+     * Get the ordinals of the build steps this step depends on, directly or transitively. All of them have completed
+     * before this step was started.
+     *
+     * @return a new bit set holding the ordinals of the build steps this step depends on (not {@code null})
+     */
+    public BitSet getBuildStepDependencies() {
+        synchronized (transitiveDependencies) {
+            return (BitSet) transitiveDependencies.clone();
+        }
+    }
+
     /**
      * Produce the given item. If the {@code type} refers to a item which is declared with multiplicity, then this
      * method can be called more than once for the given {@code type}, otherwise it must be called no more than once.
@@ -258,7 +281,13 @@ public final class BuildContext {
         }
     }
 
-    void depFinished() {
+    void depFinished(BuildContext dependency) {
+        synchronized (transitiveDependencies) {
+            synchronized (dependency.transitiveDependencies) {
+                transitiveDependencies.or(dependency.transitiveDependencies);
+            }
+            transitiveDependencies.set(dependency.stepInfo.getOrdinal());
+        }
         final int remaining = dependencies.decrementAndGet();
         log.tracef("Dependency of \"%2$s\" finished; %1$d remaining", remaining, stepInfo.getBuildStep());
         if (remaining == 0) {
@@ -295,7 +324,7 @@ public final class BuildContext {
         final Set<StepInfo> dependents = stepInfo.getDependents();
         if (!dependents.isEmpty()) {
             for (StepInfo info : dependents) {
-                execution.getBuildContext(info).depFinished();
+                execution.getBuildContext(info).depFinished(this);
             }
         } else {
             execution.depFinished();
@@ -1,11 +1,15 @@
 package io.quarkus.builder;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.BitSet;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
 
@@ -21,6 +25,12 @@ public class BasicTests {
     public static final class DummyItem2 extends SimpleBuildItem {
     }
 
+    public static final class DummyItem3 extends SimpleBuildItem {
+    }
+
+    public static final class DummyItem4 extends SimpleBuildItem {
+    }
+
     @Test
     public void testSimple() throws ChainBuildException, BuildException {
         final BuildChainBuilder builder = BuildChain.builder();
@@ -232,4 +242,63 @@ public class BasicTests {
         stepBuilder.build();
         builder.build();
     }
+
+    @Test
+    public void testBuildStepDependencies() throws ChainBuildException, BuildException {
+        final BuildChainBuilder builder = BuildChain.builder();
+        final AtomicInteger first = new AtomicInteger();
+        final AtomicInteger second = new AtomicInteger();
+        final AtomicInteger independent = new AtomicInteger();
+        final AtomicReference<BitSet> lastDependencies = new AtomicReference<>();
+        final AtomicReference<BitSet> independentDependencies = new AtomicReference<>();
+        BuildStepBuilder stepBuilder = builder.addBuildStep(new BuildStep() {
+            @Override
+            public void execute(final BuildContext context) {
+                first.set(context.getBuildStepOrdinal());
+                context.produce(new DummyItem());
+            }
+        });
+        stepBuilder.produces(DummyItem.class);
+        stepBuilder.build();
+        stepBuilder = builder.addBuildStep(new BuildStep() {
+            @Override
+            public void execute(final BuildContext context) {
+                second.set(context.getBuildStepOrdinal());
+                context.produce(new DummyItem2());
+            }
+        });
+        stepBuilder.consumes(DummyItem.class);
+        stepBuilder.produces(DummyItem2.class);
+        stepBuilder.build();
+        stepBuilder = builder.addBuildStep(new BuildStep() {
+            @Override
+            public void execute(final BuildContext context) {
+                independent.set(context.getBuildStepOrdinal());
+                independentDependencies.set(context.getBuildStepDependencies());
+                context.produce(new DummyItem3());
+            }
+        });
+        stepBuilder.produces(DummyItem3.class);
+        stepBuilder.build();
+        stepBuilder = builder.addBuildStep(new BuildStep() {
+            @Override
+            public void execute(final BuildContext context) {
+                lastDependencies.set(context.getBuildStepDependencies());
+                context.produce(new DummyItem4());
+            }
+        });
+        stepBuilder.consumes(DummyItem2.class);
+        stepBuilder.produces(DummyItem4.class);
+        stepBuilder.build();
+        builder.addFinal(DummyItem3.class);
+        builder.addFinal(DummyItem4.class);
+        builder.build().createExecutionBuilder("my-app.jar").execute();
+
+        BitSet expected = new BitSet();
+        expected.set(first.get());
+        expected.set(second.get());
+        assertEquals(expected, lastDependencies.get());
+        assertFalse(lastDependencies.get().get(independent.get()));
+        assertTrue(independentDependencies.get().isEmpty());
+    }
 }
@@ -930,6 +930,8 @@ public final class ExtensionLoader {
                                 }
                                 resultConsumer.accept(bc, result);
                                 if (isRecorder) {
+                                    bri.setBuildStep(bc.getBuildStepOrdinal(), bc.getBuildStepDependencies());
+                                    bri.setExtension(extensionName(clazz));
                                     // commit recorded data
                                     if (recordAnnotation.value() == ExecutionTime.STATIC_INIT) {
                                         bc.produce(new StaticBytecodeRecorderBuildItem(bri));
@@ -953,6 +955,25 @@ public final class ExtensionLoader {
         return chainConfig;
     }
 
+    /**
+     * Derive a short extension name from the package of a build step class, e.g. {@code vertx-http} for
+     * {@code io.quarkus.vertx.http.deployment}, or {@code core} for the build steps of the core deployment module.
+     */
+    static String extensionName(Class<?> buildStepClass) {
+        String name = buildStepClass.getPackage() == null ? "" : buildStepClass.getPackage().getName();
+        if (name.equals("io.quarkus.deployment") || name.startsWith("io.quarkus.deployment.")) {
+            return "core";
+        }
+        if (name.startsWith("io.quarkus.")) {
+            name = name.substring("io.quarkus.".length());
+        }
+        int deployment = name.indexOf(".deployment");
+        if (deployment > 0) {
+            name = name.substring(0, deployment);
+        }
+        return name.replace('.', '-');
+    }
+
     private static BooleanSupplier and(BooleanSupplier a, BooleanSupplier b) {
         return () -> a.getAsBoolean() && b.getAsBoolean();
     }
@@ -0,0 +1,25 @@
+package io.quarkus.deployment;
+
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConfigRoot;
+
+@ConfigRoot
+public class StartupConfig {
+
+    /**
+     * If set to true, the recorded startup tasks of each startup phase that do not depend on each other, either through
+     * the build items of their build steps or through the values they record, are run concurrently on a startup thread
+     * pool instead of one after the other.
+     * <p>
+     * Recorders that rely on side effects of other recorders without a build item expressing that ordering may break
+     * when this is enabled.
+     */
+    @ConfigItem
+    public boolean parallel;
+
+    /**
+     * The startup timeline, which records how long each recorded startup task and each observer of the startup event took.
+     */
+    @ConfigItem
+    public StartupTimelineConfig timeline;
+}
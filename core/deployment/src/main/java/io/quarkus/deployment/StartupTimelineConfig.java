@@ -0,0 +1,37 @@
+package io.quarkus.deployment;
+
+import java.util.Optional;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+@ConfigGroup
+public class StartupTimelineConfig {
+
+    /**
+     * If set to true, a summary of the startup timeline is logged once the application has started: the elapsed time of
+     * each startup phase, the slowest startup tasks and bean initializations, and the time spent in each extension.
+     */
+    @ConfigItem
+    public boolean logSummary;
+
+    /**
+     * The file the startup timeline is written to, as JSON, once the application has started.
+     */
+    @ConfigItem
+    public Optional<String> jsonFile;
+
+    /**
+     * If set to true, and the HTTP server is available, the startup timeline is served as JSON from
+     * {@code /quarkus/startup}.
+     */
+    @ConfigItem
+    public boolean endpoint;
+
+    /**
+     * @return whether the startup timeline is recorded at all
+     */
+    public boolean isEnabled() {
+        return logSummary || jsonFile.isPresent() || endpoint;
+    }
+}
@@ -78,12 +78,13 @@ public final class LoggingResourceProcessor {
 
     @BuildStep
     @Record(ExecutionTime.RUNTIME_INIT)
-    void setupLoggingRuntimeInit(LoggingSetupRecorder recorder, LogConfig log, List<LogHandlerBuildItem> handlers,
-            List<LogConsoleFormatBuildItem> consoleFormatItems) {
+    LoggingSetupBuildItem setupLoggingRuntimeInit(LoggingSetupRecorder recorder, LogConfig log,
+            List<LogHandlerBuildItem> handlers, List<LogConsoleFormatBuildItem> consoleFormatItems) {
         final List<RuntimeValue<Optional<Handler>>> list = handlers.stream().map(LogHandlerBuildItem::getHandlerValue)
                 .collect(Collectors.toList());
         recorder.initializeLogging(log, list,
                 consoleFormatItems.stream().map(LogConsoleFormatBuildItem::getFormatterValue).collect(Collectors.toList()));
+        return new LoggingSetupBuildItem();
     }
 
     @BuildStep
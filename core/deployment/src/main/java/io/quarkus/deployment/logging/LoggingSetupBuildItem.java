@@ -0,0 +1,11 @@
+package io.quarkus.deployment.logging;
+
+import io.quarkus.builder.item.SimpleBuildItem;
+
+/**
+ * Marker build item indicating the log handlers have been configured at runtime init.
+ * <p>
+ * The build steps recording code that depends on the configured handlers consume it to run after the logging setup.
+ */
+public final class LoggingSetupBuildItem extends SimpleBuildItem {
+}
@@ -14,6 +14,7 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -32,7 +33,9 @@ import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.jboss.jandex.AnnotationValue;
@@ -57,6 +60,7 @@ import io.quarkus.gizmo.MethodDescriptor;
 import io.quarkus.gizmo.ResultHandle;
 import io.quarkus.gizmo.TryBlock;
 import io.quarkus.runtime.ObjectSubstitution;
+import io.quarkus.runtime.RecordedGraphReader;
 import io.quarkus.runtime.RuntimeValue;
 import io.quarkus.runtime.StartupContext;
 import io.quarkus.runtime.StartupTask;
@@ -90,6 +94,7 @@ public class BytecodeRecorderImpl implements RecorderContext {
     private static final AtomicInteger COUNT = new AtomicInteger();
     private static final AtomicInteger OUTPUT_COUNT = new AtomicInteger();
     private static final String BASE_PACKAGE = "io.quarkus.deployment.steps.";
+    private static final String RECORDED_GRAPHS = "META-INF/quarkus-recorded-graphs/";
 
     private static final String PROXY_KEY = "proxykey";
 
@@ -110,6 +115,16 @@ public class BytecodeRecorderImpl implements RecorderContext {
 
     private final List<ObjectLoader> loaders = new ArrayList<>();
 
+    /**
+     * The keys of the values this recorder puts in, and reads from, the {@link StartupContext}
+     */
+    private final Set<String> producedValues = new HashSet<>();
+    private final Set<String> consumedValues = new HashSet<>();
+
+    private int buildStepOrdinal = -1;
+    private BitSet buildStepDependencies = new BitSet();
+    private String extension;
+
     /**
      * the maximum number of instruction groups that can be added to a method. This is to limit the size of the method
      * so that the 65k limit is not reached.
@@ -119,6 +134,17 @@ public class BytecodeRecorderImpl implements RecorderContext {
      */
     private static final int MAX_INSTRUCTION_GROUPS = 300;
 
+    /**
+     * the number of values above which a graph of plain data (collections, maps, arrays, strings, boxed primitives and
+     * enums) is written to a compact binary resource instead of bytecode. Below this size the bytecode is not only
+     * smaller than the decoding logic, it is also faster.
+     */
+    static final int COMPACT_GRAPH_THRESHOLD = 256;
+
+    private BiConsumer<String, byte[]> resourceOutput;
+    private RecordedGraphWriter graphWriter;
+    private DeferredArrayStoreParameter recordedGraphs;
+
     private int deferredParameterCount = 0;
     private boolean loadComplete;
 
@@ -195,6 +221,7 @@ public class BytecodeRecorderImpl implements RecorderContext {
             ProxyInstance ret = getProxyInstance(RuntimeValue.class);
             NewInstance instance = new NewInstance(name, ret.proxy, ret.key);
             storedMethodCalls.add(instance);
+            producedValues.add(ret.key);
             return (RuntimeValue<T>) ret.proxy;
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -273,6 +300,7 @@ public class BytecodeRecorderImpl implements RecorderContext {
 
                     storedMethodCall.returnedProxy = instance.proxy;
                     storedMethodCall.proxyId = instance.key;
+                    producedValues.add(instance.key);
                     return instance.proxy;
                 }
 
@@ -329,7 +357,67 @@ public class BytecodeRecorderImpl implements RecorderContext {
         return className;
     }
 
+    /**
+     * Set the build step this recorder was created for.
+     *
+     * @param ordinal the ordinal of the build step in the build chain
+     * @param dependencies the ordinals of the build steps it depends on, directly or transitively
+     */
+    public void setBuildStep(int ordinal, BitSet dependencies) {
+        this.buildStepOrdinal = ordinal;
+        this.buildStepDependencies = dependencies;
+    }
+
+    /**
+     * @return the name of the extension the build step of this recorder belongs to, or {@code null} if unknown
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    public void setExtension(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Determine whether the startup task generated by this recorder must run after the one generated by the given
+     * recorder, either because the build step of this recorder depends on the build step of the other one, or because
+     * this recorder reads a value the other one produces.
+     * <p>
+     * The values read by a recorder are only known once {@link #writeBytecode(ClassOutput)} has been invoked.
+     *
+     * @param other a recorder for the same startup phase
+     * @return {@code true} if this recorder depends on the other one
+     */
+    public boolean dependsOn(BytecodeRecorderImpl other) {
+        if (other.buildStepOrdinal == -1 || buildStepOrdinal == -1) {
+            // no information about the build steps, keep the recording order
+            return true;
+        }
+        if (buildStepDependencies.get(other.buildStepOrdinal)) {
+            return true;
+        }
+        for (String value : consumedValues) {
+            if (other.producedValues.contains(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void writeBytecode(ClassOutput classOutput) {
+        writeBytecode(classOutput, null);
+    }
+
+    /**
+     * Write the startup task.
+     *
+     * @param classOutput the output of the generated classes
+     * @param resourceOutput the output of the generated resources, large graphs of plain data are written as compact
+     *        binary resources instead of bytecode when it is not {@code null}
+     */
+    public void writeBytecode(ClassOutput classOutput, BiConsumer<String, byte[]> resourceOutput) {
+        this.resourceOutput = resourceOutput;
         ClassCreator file = ClassCreator.builder().classOutput(classOutput)
                 .className(className)
                 .superClass(Object.class).interfaces(StartupTask.class).build();
@@ -461,6 +549,13 @@ public class BytecodeRecorderImpl implements RecorderContext {
         mainMethod.returnValue(null);
         file.close();
 
+        if (graphWriter != null && !graphWriter.isEmpty()) {
+            resourceOutput.accept(getRecordedGraphsResource(), graphWriter.toByteArray());
+        }
+    }
+
+    String getRecordedGraphsResource() {
+        return RECORDED_GRAPHS + className + ".bin";
     }
 
     /**
@@ -504,6 +599,12 @@ public class BytecodeRecorderImpl implements RecorderContext {
             return loadedObject;
         }
 
+        //large graphs of plain data are decoded from a resource rather than built by bytecode
+        loadedObject = loadRecordedGraph(param, existing, expectedType);
+        if (loadedObject != null) {
+            return loadedObject;
+        }
+
         //create the appropriate DeferredParmater, a lot of these a fairly simple constant values,
         //but some are quite complex when dealing with objects and collections
         if (substitutions.containsKey(param.getClass()) || substitutions.containsKey(expectedType)) {
@@ -614,6 +715,7 @@ public class BytecodeRecorderImpl implements RecorderContext {
                         + " was created in a runtime recorder method, while this recorder is for a static init method. The object will not have been created at the time this method is run.");
             }
             String proxyId = rp.__returned$proxy$key();
+            consumedValues.add(proxyId);
             //because this is the result of a method invocation that may not have happened at param deserialization time
             //we just load it from the startup context
             return new DeferredParameter() {
@@ -998,6 +1100,74 @@ public class BytecodeRecorderImpl implements RecorderContext {
         return null;
     }
 
+    /**
+     * Encodes large graphs of plain data into the compact binary resource of this recorder. If the value is not such a
+     * graph then null is returned, and it is serialized to bytecode as usual.
+     * <p>
+     * Every collection, map and array of the graph is registered in the existing object map, so that identity is
+     * preserved if they are also referenced from other parameters.
+     */
+    private DeferredParameter loadRecordedGraph(Object param, Map<Object, DeferredParameter> existing,
+            Class<?> expectedType) {
+        if (resourceOutput == null || !RecordedGraphWriter.isContainer(param) || !expectedType.isInstance(param)
+                || substitutions.containsKey(expectedType)) {
+            return null;
+        }
+        if (graphWriter == null) {
+            graphWriter = new RecordedGraphWriter();
+        }
+        int size = graphWriter.size(param, new Predicate<Object>() {
+            @Override
+            public boolean test(Object value) {
+                //values that were already serialized to bytecode, or that are not serialized as plain data
+                return (existing.containsKey(value) && RecordedGraphWriter.isContainer(value))
+                        || substitutions.containsKey(value.getClass()) || isLoaded(value);
+            }
+        });
+        if (size < COMPACT_GRAPH_THRESHOLD) {
+            return null;
+        }
+        int known = graphWriter.getObjects().size();
+        int id = graphWriter.write(param);
+        List<Object> objects = graphWriter.getObjects();
+        for (int i = known; i < objects.size(); i++) {
+            if (i != id) {
+                existing.put(objects.get(i), loadRecordedObject(i));
+            }
+        }
+        return loadRecordedObject(id);
+    }
+
+    private DeferredParameter loadRecordedObject(int id) {
+        if (recordedGraphs == null) {
+            recordedGraphs = new DeferredArrayStoreParameter() {
+                @Override
+                ResultHandle createValue(MethodContext context, MethodCreator method, ResultHandle array) {
+                    List<Class<?>> classes = graphWriter.getClasses();
+                    ResultHandle classArray = method.newArray(Class.class, method.load(classes.size()));
+                    for (int i = 0; i < classes.size(); i++) {
+                        method.writeArrayValue(classArray, i, method.loadClass(classes.get(i)));
+                    }
+                    return method.invokeStaticMethod(
+                            ofMethod(RecordedGraphReader.class, "read", Object[].class, Class.class, String.class,
+                                    Class[].class),
+                            method.loadClass(className), method.load(getRecordedGraphsResource()), classArray);
+                }
+            };
+        }
+        return new DeferredParameter() {
+            @Override
+            void doPrepare(MethodContext context) {
+                recordedGraphs.prepare(context);
+            }
+
+            @Override
+            ResultHandle doLoad(MethodContext context, MethodCreator method, ResultHandle array) {
+                return method.readArrayValue(method.checkCast(context.loadDeferred(recordedGraphs), Object[].class), id);
+            }
+        };
+    }
+
     /**
      * Created a {@link DeferredParameter} to load a complex object, such as a javabean or collection. This is basically
      * just an extension of {@link #loadObjectInstanceImpl(Object, Map, Class)} but it removes some of the more complex
@@ -1311,6 +1481,15 @@ public class BytecodeRecorderImpl implements RecorderContext {
         };
     }
 
+    private boolean isLoaded(Object param) {
+        for (ObjectLoader loader : loaders) {
+            if (loader.canHandleObject(param, staticInit)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private DeferredParameter findLoaded(final Object param) {
         for (ObjectLoader loader : loaders) {
             if (loader.canHandleObject(param, staticInit)) {
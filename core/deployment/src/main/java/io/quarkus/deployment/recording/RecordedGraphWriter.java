@@ -0,0 +1,386 @@
+package io.quarkus.deployment.recording;
+
+import static io.quarkus.runtime.RecordedGraphReader.*;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import io.quarkus.runtime.RecordedGraphReader;
+
+/**
+ * Encodes object graphs made of plain data into the compact binary format read by {@link RecordedGraphReader}.
+ * <p>
+ * All the graphs of a recorder are written into the same buffer, so that they can share strings and objects.
+ */
+final class RecordedGraphWriter {
+
+    private static final Map<Class<?>, Byte> CONTAINER_TAGS = new HashMap<>();
+
+    static {
+        CONTAINER_TAGS.put(ArrayList.class, ARRAY_LIST);
+        CONTAINER_TAGS.put(LinkedList.class, LINKED_LIST);
+        CONTAINER_TAGS.put(HashSet.class, HASH_SET);
+        CONTAINER_TAGS.put(LinkedHashSet.class, LINKED_HASH_SET);
+        CONTAINER_TAGS.put(TreeSet.class, TREE_SET);
+        CONTAINER_TAGS.put(HashMap.class, HASH_MAP);
+        CONTAINER_TAGS.put(LinkedHashMap.class, LINKED_HASH_MAP);
+        CONTAINER_TAGS.put(TreeMap.class, TREE_MAP);
+        CONTAINER_TAGS.put(Object[].class, OBJECT_ARRAY);
+        CONTAINER_TAGS.put(String[].class, STRING_ARRAY);
+        CONTAINER_TAGS.put(boolean[].class, BOOLEAN_ARRAY);
+        CONTAINER_TAGS.put(byte[].class, BYTE_ARRAY);
+        CONTAINER_TAGS.put(short[].class, SHORT_ARRAY);
+        CONTAINER_TAGS.put(char[].class, CHAR_ARRAY);
+        CONTAINER_TAGS.put(int[].class, INT_ARRAY);
+        CONTAINER_TAGS.put(long[].class, LONG_ARRAY);
+        CONTAINER_TAGS.put(float[].class, FLOAT_ARRAY);
+        CONTAINER_TAGS.put(double[].class, DOUBLE_ARRAY);
+    }
+
+    private final Map<Object, Integer> objectIds = new IdentityHashMap<>();
+    private final List<Object> objects = new ArrayList<>();
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private final Map<Class<?>, Integer> classIds = new LinkedHashMap<>();
+    private byte[] buf = new byte[1024];
+    private int pos;
+    private int rootCount;
+
+    /**
+     * @return whether the given object is a collection, map or array that may be the root of an encoded graph
+     */
+    static boolean isContainer(Object value) {
+        if (!CONTAINER_TAGS.containsKey(value.getClass())) {
+            return false;
+        }
+        // only natural ordering can be restored
+        if (value instanceof TreeSet) {
+            return ((TreeSet<?>) value).comparator() == null;
+        } else if (value instanceof TreeMap) {
+            return ((TreeMap<?, ?>) value).comparator() == null;
+        }
+        return true;
+    }
+
+    /**
+     * Count the values of a graph.
+     *
+     * @param root the root of the graph
+     * @param rejected the values that must not be encoded, for example because they are substituted
+     * @return the number of values in the graph, or -1 if it contains a value that cannot be encoded
+     */
+    int size(Object root, Predicate<Object> rejected) {
+        return size(root, rejected, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private int size(Object value, Predicate<Object> rejected, Set<Object> visited) {
+        if (value == null || objectIds.containsKey(value)) {
+            return 1;
+        }
+        if (rejected.test(value)) {
+            return -1;
+        }
+        if (value instanceof String || value instanceof Boolean || value instanceof Number
+                || value instanceof Character || value instanceof Enum) {
+            return isSimple(value) ? 1 : -1;
+        }
+        if (!isContainer(value)) {
+            return -1;
+        }
+        if (!visited.add(value)) {
+            return 1;
+        }
+        int size = 1;
+        if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                int elementSize = size(element, rejected, visited);
+                if (elementSize < 0) {
+                    return -1;
+                }
+                size += elementSize;
+            }
+        } else if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                int keySize = size(entry.getKey(), rejected, visited);
+                int valueSize = keySize < 0 ? -1 : size(entry.getValue(), rejected, visited);
+                if (valueSize < 0) {
+                    return -1;
+                }
+                size += keySize + valueSize;
+            }
+        } else if (value instanceof Object[]) {
+            for (Object element : (Object[]) value) {
+                int elementSize = size(element, rejected, visited);
+                if (elementSize < 0) {
+                    return -1;
+                }
+                size += elementSize;
+            }
+        } else {
+            size += Array.getLength(value);
+        }
+        return size;
+    }
+
+    private static boolean isSimple(Object value) {
+        Class<?> type = value.getClass();
+        return type == String.class || type == Boolean.class || type == Byte.class || type == Short.class
+                || type == Character.class || type == Integer.class || type == Long.class || type == Float.class
+                || type == Double.class || value instanceof Enum;
+    }
+
+    /**
+     * Encode a graph, which must have been accepted by {@link #size(Object, Predicate)}.
+     *
+     * @return the id of the root of the graph
+     */
+    int write(Object root) {
+        Integer id = objectIds.get(root);
+        if (id != null) {
+            return id;
+        }
+        rootCount++;
+        writeValue(root);
+        return objectIds.get(root);
+    }
+
+    /**
+     * @return the collections, maps and arrays encoded so far, indexed by id
+     */
+    List<Object> getObjects() {
+        return objects;
+    }
+
+    /**
+     * @return the enum types referenced by the encoded graphs, which must be passed to the reader in this order
+     */
+    List<Class<?>> getClasses() {
+        return new ArrayList<>(classIds.keySet());
+    }
+
+    boolean isEmpty() {
+        return rootCount == 0;
+    }
+
+    byte[] toByteArray() {
+        RecordedGraphWriter header = new RecordedGraphWriter();
+        header.writeFixedInt(MAGIC);
+        header.writeInt(objects.size());
+        header.writeInt(stringIds.size());
+        header.writeInt(rootCount);
+        byte[] result = Arrays.copyOf(header.buf, header.pos + pos);
+        System.arraycopy(buf, 0, result, header.pos, pos);
+        return result;
+    }
+
+    private void writeValue(Object value) {
+        if (value == null) {
+            writeByte(NULL);
+        } else if (value instanceof String) {
+            writeString((String) value);
+        } else if (value instanceof Boolean) {
+            writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Byte) {
+            writeByte(BYTE);
+            writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            writeByte(SHORT);
+            writeInt((Short) value);
+        } else if (value instanceof Character) {
+            writeByte(CHAR);
+            writeInt((Character) value);
+        } else if (value instanceof Integer) {
+            writeByte(INT);
+            writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            writeByte(LONG);
+            writeLong((Long) value);
+        } else if (value instanceof Float) {
+            writeByte(FLOAT);
+            writeFixedInt(Float.floatToRawIntBits((Float) value));
+        } else if (value instanceof Double) {
+            writeByte(DOUBLE);
+            writeFixedLong(Double.doubleToRawLongBits((Double) value));
+        } else if (value instanceof Enum) {
+            Class<?> enumType = ((Enum<?>) value).getDeclaringClass();
+            writeByte(ENUM);
+            writeInt(classIds.computeIfAbsent(enumType, t -> classIds.size()));
+            writeString(((Enum<?>) value).name());
+        } else {
+            writeContainer(value);
+        }
+    }
+
+    private void writeContainer(Object value) {
+        Integer id = objectIds.get(value);
+        if (id != null) {
+            writeByte(OBJECT_REF);
+            writeInt(id);
+            return;
+        }
+        byte tag = CONTAINER_TAGS.get(value.getClass());
+        // ids are assigned in the same order as the reader will create the objects
+        objectIds.put(value, objects.size());
+        objects.add(value);
+        writeByte(tag);
+        if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            writeInt(collection.size());
+            for (Object element : collection) {
+                writeValue(element);
+            }
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(entry.getKey());
+                writeValue(entry.getValue());
+            }
+        } else if (value instanceof String[]) {
+            String[] array = (String[]) value;
+            writeInt(array.length);
+            for (String element : array) {
+                if (element == null) {
+                    writeByte(NULL);
+                } else {
+                    writeString(element);
+                }
+            }
+        } else if (value instanceof Object[]) {
+            Object[] array = (Object[]) value;
+            writeInt(array.length);
+            for (Object element : array) {
+                writeValue(element);
+            }
+        } else if (value instanceof byte[]) {
+            byte[] array = (byte[]) value;
+            writeInt(array.length);
+            ensureCapacity(array.length);
+            System.arraycopy(array, 0, buf, pos, array.length);
+            pos += array.length;
+        } else {
+            writePrimitiveArray(value);
+        }
+    }
+
+    private void writePrimitiveArray(Object value) {
+        int length = Array.getLength(value);
+        writeInt(length);
+        if (value instanceof boolean[]) {
+            for (boolean element : (boolean[]) value) {
+                writeByte(element ? 1 : 0);
+            }
+        } else if (value instanceof short[]) {
+            for (short element : (short[]) value) {
+                writeInt(element);
+            }
+        } else if (value instanceof char[]) {
+            for (char element : (char[]) value) {
+                writeInt(element);
+            }
+        } else if (value instanceof int[]) {
+            for (int element : (int[]) value) {
+                writeInt(element);
+            }
+        } else if (value instanceof long[]) {
+            for (long element : (long[]) value) {
+                writeLong(element);
+            }
+        } else if (value instanceof float[]) {
+            for (float element : (float[]) value) {
+                writeFixedInt(Float.floatToRawIntBits(element));
+            }
+        } else {
+            for (double element : (double[]) value) {
+                writeFixedLong(Double.doubleToRawLongBits(element));
+            }
+        }
+    }
+
+    private void writeString(String value) {
+        Integer id = stringIds.get(value);
+        if (id != null) {
+            writeByte(STRING_REF);
+            writeInt(id);
+            return;
+        }
+        stringIds.put(value, stringIds.size());
+        writeByte(STRING);
+        int length = value.length();
+        writeInt(length);
+        // modified UTF-8, as DataOutput.writeUTF, which unlike UTF-8 keeps the unpaired surrogates
+        ensureCapacity(length * 3);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c != 0 && c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private void writeByte(int value) {
+        ensureCapacity(1);
+        buf[pos++] = (byte) value;
+    }
+
+    private void writeInt(int value) {
+        // zig-zag encoding, so that small negative values only take a few bytes
+        int encoded = (value << 1) ^ (value >> 31);
+        ensureCapacity(5);
+        while ((encoded & ~0x7F) != 0) {
+            buf[pos++] = (byte) ((encoded & 0x7F) | 0x80);
+            encoded >>>= 7;
+        }
+        buf[pos++] = (byte) encoded;
+    }
+
+    private void writeLong(long value) {
+        long encoded = (value << 1) ^ (value >> 63);
+        ensureCapacity(10);
+        while ((encoded & ~0x7FL) != 0) {
+            buf[pos++] = (byte) ((encoded & 0x7F) | 0x80);
+            encoded >>>= 7;
+        }
+        buf[pos++] = (byte) encoded;
+    }
+
+    private void writeFixedInt(int value) {
+        ensureCapacity(4);
+        buf[pos++] = (byte) (value >>> 24);
+        buf[pos++] = (byte) (value >>> 16);
+        buf[pos++] = (byte) (value >>> 8);
+        buf[pos++] = (byte) value;
+    }
+
+    private void writeFixedLong(long value) {
+        writeFixedInt((int) (value >>> 32));
+        writeFixedInt((int) value);
+    }
+
+    private void ensureCapacity(int length) {
+        if (pos + length > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + length));
+        }
+    }
+}
@@ -5,10 +5,13 @@ import static io.quarkus.gizmo.MethodDescriptor.ofMethod;
 
 import java.io.File;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import org.graalvm.nativeimage.ImageInfo;
@@ -16,6 +19,8 @@ import org.jboss.logging.Logger;
 
 import io.quarkus.builder.Version;
 import io.quarkus.deployment.GeneratedClassGizmoAdaptor;
+import io.quarkus.deployment.StartupConfig;
+import io.quarkus.deployment.StartupTimelineConfig;
 import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.builditem.ApplicationClassNameBuildItem;
@@ -25,6 +30,7 @@ import io.quarkus.deployment.builditem.ConfigurationBuildItem;
 import io.quarkus.deployment.builditem.ConfigurationTypeBuildItem;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
 import io.quarkus.deployment.builditem.GeneratedClassBuildItem;
+import io.quarkus.deployment.builditem.GeneratedResourceBuildItem;
 import io.quarkus.deployment.builditem.JavaLibraryPathAdditionalPathBuildItem;
 import io.quarkus.deployment.builditem.LaunchModeBuildItem;
 import io.quarkus.deployment.builditem.MainBytecodeRecorderBuildItem;
@@ -34,6 +40,7 @@ import io.quarkus.deployment.builditem.RunTimeConfigurationDefaultBuildItem;
 import io.quarkus.deployment.builditem.SslTrustStoreSystemPropertyBuildItem;
 import io.quarkus.deployment.builditem.StaticBytecodeRecorderBuildItem;
 import io.quarkus.deployment.builditem.SystemPropertyBuildItem;
+import io.quarkus.deployment.builditem.nativeimage.NativeImageResourceBuildItem;
 import io.quarkus.deployment.configuration.BuildTimeConfigurationReader;
 import io.quarkus.deployment.configuration.RunTimeConfigurationGenerator;
 import io.quarkus.deployment.recording.BytecodeRecorderImpl;
@@ -51,6 +58,8 @@ import io.quarkus.runtime.LaunchMode;
 import io.quarkus.runtime.NativeImageRuntimePropertiesRecorder;
 import io.quarkus.runtime.StartupContext;
 import io.quarkus.runtime.StartupTask;
+import io.quarkus.runtime.StartupTaskRunner;
+import io.quarkus.runtime.StartupTimeline;
 import io.quarkus.runtime.Timing;
 import io.quarkus.runtime.configuration.ProfileManager;
 
@@ -74,11 +83,14 @@ class MainClassBuildStep {
             BuildProducer<ApplicationClassNameBuildItem> appClassNameProducer,
             List<BytecodeRecorderObjectLoaderBuildItem> loaders,
             BuildProducer<GeneratedClassBuildItem> generatedClass,
+            BuildProducer<GeneratedResourceBuildItem> generatedResource,
+            BuildProducer<NativeImageResourceBuildItem> nativeImageResource,
             LaunchModeBuildItem launchMode,
             ApplicationInfoBuildItem applicationInfo,
             List<RunTimeConfigurationDefaultBuildItem> runTimeDefaults,
             List<ConfigurationTypeBuildItem> typeItems,
-            ConfigurationBuildItem configItem) {
+            ConfigurationBuildItem configItem,
+            StartupConfig startupConfig) {
 
         BuildTimeConfigurationReader.ReadResult readResult = configItem.getReadResult();
         Map<String, String> defaults = new HashMap<>();
@@ -98,6 +110,14 @@ class MainClassBuildStep {
 
         // Application class
         GeneratedClassGizmoAdaptor gizmoOutput = new GeneratedClassGizmoAdaptor(generatedClass, true);
+        // Large recorded object graphs are written as resources
+        BiConsumer<String, byte[]> resourceOutput = new BiConsumer<String, byte[]>() {
+            @Override
+            public void accept(String name, byte[] data) {
+                generatedResource.produce(new GeneratedResourceBuildItem(name, data));
+                nativeImageResource.produce(new NativeImageResourceBuildItem(name));
+            }
+        };
         ClassCreator file = new ClassCreator(gizmoOutput, APP_CLASS, null,
                 Application.class.getName());
 
@@ -119,6 +139,9 @@ class MainClassBuildStep {
         }
 
         mv.invokeStaticMethod(MethodDescriptor.ofMethod(Timing.class, "staticInitStarted", void.class));
+        if (startupConfig.timeline.isEnabled()) {
+            mv.invokeStaticMethod(ofMethod(StartupTimeline.class, "enable", void.class));
+        }
 
         // ensure that the config class is initialized
         mv.invokeStaticMethod(RunTimeConfigurationGenerator.C_ENSURE_INITIALIZED);
@@ -130,24 +153,10 @@ class MainClassBuildStep {
         ResultHandle startupContext = mv.newInstance(ofConstructor(StartupContext.class));
         mv.writeStaticField(scField.getFieldDescriptor(), startupContext);
         TryBlock tryBlock = mv.tryBlock();
-        for (StaticBytecodeRecorderBuildItem holder : staticInitTasks) {
-            final BytecodeRecorderImpl recorder = holder.getBytecodeRecorder();
-            if (!recorder.isEmpty()) {
-                // Register substitutions in all recorders
-                for (ObjectSubstitutionBuildItem sub : substitutions) {
-                    ObjectSubstitutionBuildItem.Holder holder1 = sub.holder;
-                    recorder.registerSubstitution(holder1.from, holder1.to, holder1.substitution);
-                }
-                for (BytecodeRecorderObjectLoaderBuildItem item : loaders) {
-                    recorder.registerObjectLoader(item.getObjectLoader());
-                }
-                recorder.writeBytecode(gizmoOutput);
-
-                ResultHandle dup = tryBlock.newInstance(ofConstructor(recorder.getClassName()));
-                tryBlock.invokeInterfaceMethod(ofMethod(StartupTask.class, "deploy", void.class, StartupContext.class), dup,
-                        startupContext);
-            }
-        }
+        runStartupTasks(tryBlock, startupContext, StartupTimeline.STATIC_INIT,
+                staticInitTasks.stream().map(StaticBytecodeRecorderBuildItem::getBytecodeRecorder)
+                        .collect(Collectors.toList()),
+                substitutions, loaders, gizmoOutput, resourceOutput, startupConfig);
         tryBlock.returnValue(null);
 
         CatchBlockCreator cb = tryBlock.addCatch(Throwable.class);
@@ -210,23 +219,9 @@ class MainClassBuildStep {
         // Load the run time configuration
         tryBlock.invokeStaticMethod(RunTimeConfigurationGenerator.C_CREATE_RUN_TIME_CONFIG);
 
-        for (MainBytecodeRecorderBuildItem holder : mainMethod) {
-            final BytecodeRecorderImpl recorder = holder.getBytecodeRecorder();
-            if (!recorder.isEmpty()) {
-                // Register substitutions in all recorders
-                for (ObjectSubstitutionBuildItem sub : substitutions) {
-                    ObjectSubstitutionBuildItem.Holder holder1 = sub.holder;
-                    recorder.registerSubstitution(holder1.from, holder1.to, holder1.substitution);
-                }
-                for (BytecodeRecorderObjectLoaderBuildItem item : loaders) {
-                    recorder.registerObjectLoader(item.getObjectLoader());
-                }
-                recorder.writeBytecode(gizmoOutput);
-                ResultHandle dup = tryBlock.newInstance(ofConstructor(recorder.getClassName()));
-                tryBlock.invokeInterfaceMethod(ofMethod(StartupTask.class, "deploy", void.class, StartupContext.class), dup,
-                        startupContext);
-            }
-        }
+        runStartupTasks(tryBlock, startupContext, StartupTimeline.RUNTIME_INIT,
+                mainMethod.stream().map(MainBytecodeRecorderBuildItem::getBytecodeRecorder).collect(Collectors.toList()),
+                substitutions, loaders, gizmoOutput, resourceOutput, startupConfig);
 
         // Startup log messages
         ResultHandle featuresHandle = tryBlock.load(features.stream()
@@ -244,6 +239,12 @@ class MainClassBuildStep {
                 featuresHandle,
                 activeProfile,
                 tryBlock.load(LaunchMode.DEVELOPMENT.equals(launchMode.getLaunchMode())));
+        StartupTimelineConfig timeline = startupConfig.timeline;
+        if (timeline.logSummary || timeline.jsonFile.isPresent()) {
+            tryBlock.invokeStaticMethod(ofMethod(StartupTimeline.class, "report", void.class, boolean.class, String.class),
+                    tryBlock.load(timeline.logSummary),
+                    timeline.jsonFile.isPresent() ? tryBlock.load(timeline.jsonFile.get()) : tryBlock.loadNull());
+        }
 
         cb = tryBlock.addCatch(Throwable.class);
         cb.invokeVirtualMethod(ofMethod(Logger.class, "error", void.class, Object.class, Throwable.class),
@@ -288,4 +289,99 @@ class MainClassBuildStep {
         return new MainClassBuildItem(MAIN_CLASS);
     }
 
+    /**
+     * Write the bytecode of the given recorders, and generate the invocation of the resulting startup tasks.
+     * <p>
+     * The recorders are in the order their build steps completed, so a recorder never depends on one that comes after it.
+     */
+    private static void runStartupTasks(BytecodeCreator creator, ResultHandle startupContext, String phase,
+            List<BytecodeRecorderImpl> allRecorders, List<ObjectSubstitutionBuildItem> substitutions,
+            List<BytecodeRecorderObjectLoaderBuildItem> loaders, ClassOutput gizmoOutput,
+            BiConsumer<String, byte[]> resourceOutput, StartupConfig startupConfig) {
+        List<BytecodeRecorderImpl> recorders = new ArrayList<>();
+        for (BytecodeRecorderImpl recorder : allRecorders) {
+            if (!recorder.isEmpty()) {
+                // Register substitutions in all recorders
+                for (ObjectSubstitutionBuildItem sub : substitutions) {
+                    ObjectSubstitutionBuildItem.Holder holder1 = sub.holder;
+                    recorder.registerSubstitution(holder1.from, holder1.to, holder1.substitution);
+                }
+                for (BytecodeRecorderObjectLoaderBuildItem item : loaders) {
+                    recorder.registerObjectLoader(item.getObjectLoader());
+                }
+                recorder.writeBytecode(gizmoOutput, resourceOutput);
+                recorders.add(recorder);
+            }
+        }
+        if (recorders.isEmpty()) {
+            return;
+        }
+
+        ResultHandle[] tasks = new ResultHandle[recorders.size()];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = creator.newInstance(ofConstructor(recorders.get(i).getClassName()));
+        }
+        ResultHandle extensions;
+        if (startupConfig.timeline.isEnabled()) {
+            ResultHandle[] extensionHandles = new ResultHandle[recorders.size()];
+            for (int i = 0; i < extensionHandles.length; i++) {
+                String extension = recorders.get(i).getExtension();
+                extensionHandles[i] = extension == null ? creator.loadNull() : creator.load(extension);
+            }
+            extensions = creator.marshalAsArray(String.class, extensionHandles);
+        } else {
+            extensions = creator.loadNull();
+        }
+        ResultHandle dependencies;
+        if (startupConfig.parallel) {
+            String[] taskDependencies = startupTaskDependencies(recorders);
+            ResultHandle[] dependencyHandles = new ResultHandle[taskDependencies.length];
+            for (int i = 0; i < taskDependencies.length; i++) {
+                dependencyHandles[i] = creator.load(taskDependencies[i]);
+            }
+            dependencies = creator.marshalAsArray(String.class, dependencyHandles);
+        } else {
+            dependencies = creator.loadNull();
+        }
+        creator.invokeStaticMethod(
+                ofMethod(StartupTaskRunner.class, "run", void.class, StartupContext.class, String.class, StartupTask[].class,
+                        String[].class, String[].class, boolean.class),
+                startupContext, startupConfig.timeline.isEnabled() ? creator.load(phase) : creator.loadNull(),
+                creator.marshalAsArray(StartupTask.class, tasks), extensions, dependencies,
+                creator.load(startupConfig.parallel));
+    }
+
+    /**
+     * Compute, for each recorder, the comma separated indexes of the recorders it directly depends on. Dependencies that
+     * are already implied by another dependency are left out.
+     */
+    static String[] startupTaskDependencies(List<BytecodeRecorderImpl> recorders) {
+        int size = recorders.size();
+        BitSet[] transitive = new BitSet[size];
+        String[] result = new String[size];
+        for (int i = 0; i < size; i++) {
+            BitSet direct = new BitSet();
+            transitive[i] = new BitSet();
+            for (int j = 0; j < i; j++) {
+                if (recorders.get(i).dependsOn(recorders.get(j))) {
+                    direct.set(j);
+                    transitive[i].set(j);
+                    transitive[i].or(transitive[j]);
+                }
+            }
+            for (int j = direct.nextSetBit(0); j >= 0; j = direct.nextSetBit(j + 1)) {
+                direct.andNot(transitive[j]);
+            }
+            StringBuilder dependencies = new StringBuilder();
+            for (int j = direct.nextSetBit(0); j >= 0; j = direct.nextSetBit(j + 1)) {
+                if (dependencies.length() > 0) {
+                    dependencies.append(',');
+                }
+                dependencies.append(j);
+            }
+            result[i] = dependencies.toString();
+        }
+        return result;
+    }
+
 }
@@ -1,6 +1,14 @@
 package io.quarkus.deployment;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
 public class TestClassLoader extends io.quarkus.gizmo.TestClassLoader {
+
+    private final Map<String, byte[]> resources = new HashMap<>();
+
     public TestClassLoader(ClassLoader parent) {
         super(parent);
     }
@@ -8,4 +16,17 @@ public class TestClassLoader extends io.quarkus.gizmo.TestClassLoader {
     public Class<?> visibleDefineClass(String name, byte[] b, int off, int len) throws ClassFormatError {
         return super.defineClass(name, b, off, len);
     }
+
+    public void writeResource(String name, byte[] data) {
+        resources.put(name, data);
+    }
+
+    @Override
+    public InputStream getResourceAsStream(String name) {
+        byte[] data = resources.get(name);
+        if (data != null) {
+            return new ByteArrayInputStream(data);
+        }
+        return super.getResourceAsStream(name);
+    }
 }
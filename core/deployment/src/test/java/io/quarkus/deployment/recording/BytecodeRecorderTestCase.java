@@ -3,6 +3,8 @@ package io.quarkus.deployment.recording;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.URL;
@@ -282,15 +284,84 @@ public class BytecodeRecorderTestCase {
         }, duration);
     }
 
+    @Test
+    public void testLargeRecordedGraph() throws Exception {
+        Map<String, List<Object>> map = new TreeMap<>();
+        for (int i = 0; i < 500; ++i) {
+            map.put("key" + i, new ArrayList<>(Arrays.asList(i, (long) -i, "value" + i, LaunchMode.TEST, null, 'c')));
+        }
+        List<Object> shared = new ArrayList<>(Arrays.asList(1.5d, 2.5f, (short) 3, (byte) 4, true));
+        map.put("shared", shared);
+
+        runTest(generator -> {
+            TestRecorder recorder = generator.getRecordingProxy(TestRecorder.class);
+            recorder.map(map);
+            recorder.list(shared);
+        }, map, shared);
+
+        TestRecorder.RESULT.clear();
+        TestClassLoader tcl = new TestClassLoader(getClass().getClassLoader());
+        BytecodeRecorderImpl generator = new BytecodeRecorderImpl(tcl, false, TEST_CLASS);
+        TestRecorder recorder = generator.getRecordingProxy(TestRecorder.class);
+        recorder.map(map);
+        recorder.list(shared);
+        deploy(generator, tcl);
+        assertNotNull(tcl.getResourceAsStream(generator.getRecordedGraphsResource()));
+        Map<?, ?> recordedMap = (Map<?, ?>) TestRecorder.RESULT.poll();
+        assertTrue(recordedMap instanceof TreeMap);
+        // the list is the same instance, whether it is read from the map or passed on its own
+        assertSame(recordedMap.get("shared"), TestRecorder.RESULT.poll());
+    }
+
+    @Test
+    public void testLargeRecordedArrays() throws Exception {
+        int[] ints = new int[1000];
+        Object[] objects = new Object[1000];
+        for (int i = 0; i < 1000; ++i) {
+            ints[i] = i * 31 - 500;
+            objects[i] = i % 2 == 0 ? "value" + (i % 10) : new double[] { i };
+        }
+        objects[0] = new String[] { "a", null, "a" };
+        runTest(generator -> {
+            TestRecorder recorder = generator.getRecordingProxy(TestRecorder.class);
+            recorder.intArray(ints);
+            recorder.array(objects);
+        }, ints, objects);
+    }
+
+    @Test
+    public void testRecordedStringsAreNotAltered() throws Exception {
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            strings.add("value" + i);
+        }
+        // a lone surrogate, a NUL char, a supplementary character and 2 and 3 bytes characters
+        strings.addAll(Arrays.asList("lone \uD800 surrogate", "\uDC00", "nul \u0000", "\uD83D\uDE00", "\u00E9\u20AC"));
+
+        TestRecorder.RESULT.clear();
+        TestClassLoader tcl = new TestClassLoader(getClass().getClassLoader());
+        BytecodeRecorderImpl generator = new BytecodeRecorderImpl(tcl, false, TEST_CLASS);
+        generator.getRecordingProxy(TestRecorder.class).list(strings);
+        deploy(generator, tcl);
+        assertNotNull(tcl.getResourceAsStream(generator.getRecordedGraphsResource()));
+        assertEquals(strings, TestRecorder.RESULT.poll());
+    }
+
+    @Test
+    public void testSmallGraphIsNotRecordedAsResource() throws Exception {
+        TestClassLoader tcl = new TestClassLoader(getClass().getClassLoader());
+        BytecodeRecorderImpl generator = new BytecodeRecorderImpl(tcl, false, TEST_CLASS);
+        generator.getRecordingProxy(TestRecorder.class).list(new ArrayList<>(Arrays.asList(4, 5, 6)));
+        deploy(generator, tcl);
+        assertNull(tcl.getResourceAsStream(generator.getRecordedGraphsResource()));
+    }
+
     void runTest(Consumer<BytecodeRecorderImpl> generator, Object... expected) throws Exception {
         TestRecorder.RESULT.clear();
         TestClassLoader tcl = new TestClassLoader(getClass().getClassLoader());
         BytecodeRecorderImpl recorder = new BytecodeRecorderImpl(tcl, false, TEST_CLASS);
         generator.accept(recorder);
-        recorder.writeBytecode(new TestClassOutput(tcl));
-
-        StartupTask task = (StartupTask) tcl.loadClass(TEST_CLASS).newInstance();
-        task.deploy(new StartupContext());
+        deploy(recorder, tcl);
         assertEquals(expected.length, TestRecorder.RESULT.size());
         for (Object i : expected) {
             if (i.getClass().isArray()) {
@@ -309,6 +380,12 @@ public class BytecodeRecorderTestCase {
         }
     }
 
+    private static void deploy(BytecodeRecorderImpl recorder, TestClassLoader tcl) throws Exception {
+        recorder.writeBytecode(new TestClassOutput(tcl), tcl::writeResource);
+        StartupTask task = (StartupTask) tcl.loadClass(TEST_CLASS).newInstance();
+        task.deploy(new StartupContext());
+    }
+
     private static class TestClassOutput implements ClassOutput {
         private final TestClassLoader tcl;
 
@@ -0,0 +1,44 @@
+package io.quarkus.deployment.steps;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.deployment.recording.BytecodeRecorderImpl;
+
+public class StartupTaskDependenciesTest {
+
+    @Test
+    public void testDirectDependenciesOnly() {
+        BytecodeRecorderImpl first = recorder(0);
+        BytecodeRecorderImpl second = recorder(1, 0);
+        BytecodeRecorderImpl independent = recorder(2);
+        BytecodeRecorderImpl last = recorder(3, 0, 1);
+        String[] dependencies = MainClassBuildStep
+                .startupTaskDependencies(Arrays.asList(first, second, independent, last));
+        // the dependency of the last task on the first one is implied by the second one
+        assertArrayEquals(new String[] { "", "0", "", "1" }, dependencies);
+    }
+
+    @Test
+    public void testUnknownBuildStepKeepsOrder() {
+        BytecodeRecorderImpl first = recorder(0);
+        BytecodeRecorderImpl unknown = new BytecodeRecorderImpl(getClass().getClassLoader(), false, "Unknown");
+        BytecodeRecorderImpl last = recorder(2);
+        String[] dependencies = MainClassBuildStep.startupTaskDependencies(Arrays.asList(first, unknown, last));
+        assertArrayEquals(new String[] { "", "0", "1" }, dependencies);
+    }
+
+    private BytecodeRecorderImpl recorder(int ordinal, int... dependencies) {
+        BytecodeRecorderImpl recorder = new BytecodeRecorderImpl(getClass().getClassLoader(), false, "Step" + ordinal);
+        BitSet set = new BitSet();
+        for (int dependency : dependencies) {
+            set.set(dependency);
+        }
+        recorder.setBuildStep(ordinal, set);
+        return recorder;
+    }
+}
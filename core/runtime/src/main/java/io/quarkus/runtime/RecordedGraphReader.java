@@ -0,0 +1,334 @@
+package io.quarkus.runtime;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Decodes the object graphs that the bytecode recorder encoded into a compact binary resource instead of bytecode.
+ * Generally this will be invoked by generated bytecode, and should not be used directly.
+ * <p>
+ * Only plain data is encoded this way: strings, boxed primitives, enums, primitive and string arrays, and the common
+ * JDK collections and maps. Every collection, map and array is given an id in the order it is first encountered, so
+ * shared references are preserved, and strings are only encoded once.
+ */
+public final class RecordedGraphReader {
+
+    public static final int MAGIC = 0x51524702;
+
+    public static final byte NULL = 0;
+    public static final byte TRUE = 1;
+    public static final byte FALSE = 2;
+    public static final byte BYTE = 3;
+    public static final byte SHORT = 4;
+    public static final byte CHAR = 5;
+    public static final byte INT = 6;
+    public static final byte LONG = 7;
+    public static final byte FLOAT = 8;
+    public static final byte DOUBLE = 9;
+    public static final byte STRING = 10;
+    public static final byte STRING_REF = 11;
+    public static final byte ENUM = 12;
+    public static final byte OBJECT_REF = 13;
+    public static final byte ARRAY_LIST = 14;
+    public static final byte LINKED_LIST = 15;
+    public static final byte HASH_SET = 16;
+    public static final byte LINKED_HASH_SET = 17;
+    public static final byte TREE_SET = 18;
+    public static final byte HASH_MAP = 19;
+    public static final byte LINKED_HASH_MAP = 20;
+    public static final byte TREE_MAP = 21;
+    public static final byte OBJECT_ARRAY = 22;
+    public static final byte STRING_ARRAY = 23;
+    public static final byte BOOLEAN_ARRAY = 24;
+    public static final byte BYTE_ARRAY = 25;
+    public static final byte SHORT_ARRAY = 26;
+    public static final byte CHAR_ARRAY = 27;
+    public static final byte INT_ARRAY = 28;
+    public static final byte LONG_ARRAY = 29;
+    public static final byte FLOAT_ARRAY = 30;
+    public static final byte DOUBLE_ARRAY = 31;
+
+    private final byte[] data;
+    private final Class<?>[] classes;
+    private final Object[] objects;
+    private final String[] strings;
+    private int pos;
+    private int objectCount;
+    private int stringCount;
+
+    RecordedGraphReader(byte[] data, Class<?>[] classes) {
+        this.data = data;
+        this.classes = classes;
+        if (readFixedInt() != MAGIC) {
+            throw new IllegalStateException("Invalid recorded object graph");
+        }
+        this.objects = new Object[readInt()];
+        this.strings = new String[readInt()];
+    }
+
+    /**
+     * Read the object graphs recorded by a startup task.
+     *
+     * @param owner the startup task, the resource is loaded by its class loader
+     * @param resource the name of the resource
+     * @param classes the enum types referenced by the recorded data
+     * @return the recorded collections, maps and arrays, indexed by id
+     */
+    public static Object[] read(Class<?> owner, String resource, Class<?>[] classes) {
+        try (InputStream in = owner.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Recorded object graph " + resource + " was not found");
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(in.available());
+            byte[] buf = new byte[8192];
+            int r;
+            while ((r = in.read(buf)) > 0) {
+                out.write(buf, 0, r);
+            }
+            return new RecordedGraphReader(out.toByteArray(), classes).readObjects();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read recorded object graph " + resource, e);
+        }
+    }
+
+    Object[] readObjects() {
+        int count = readInt();
+        for (int i = 0; i < count; i++) {
+            readValue();
+        }
+        return objects;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private Object readValue() {
+        byte tag = data[pos++];
+        switch (tag) {
+            case NULL:
+                return null;
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case BYTE:
+                return data[pos++];
+            case SHORT:
+                return (short) readInt();
+            case CHAR:
+                return (char) readInt();
+            case INT:
+                return readInt();
+            case LONG:
+                return readLong();
+            case FLOAT:
+                return Float.intBitsToFloat(readFixedInt());
+            case DOUBLE:
+                return Double.longBitsToDouble(readFixedLong());
+            case STRING:
+            case STRING_REF:
+                pos--;
+                return readString();
+            case ENUM:
+                Class enumType = classes[readInt()];
+                return Enum.valueOf(enumType, readString());
+            case OBJECT_REF:
+                return objects[readInt()];
+            case ARRAY_LIST:
+                return readCollection(new ArrayList<>(peekSize()));
+            case LINKED_LIST:
+                return readCollection(new LinkedList<>());
+            case HASH_SET:
+                return readCollection(new HashSet<>(capacity(peekSize())));
+            case LINKED_HASH_SET:
+                return readCollection(new LinkedHashSet<>(capacity(peekSize())));
+            case TREE_SET:
+                return readCollection(new TreeSet<>());
+            case HASH_MAP:
+                return readMap(new HashMap<>(capacity(peekSize())));
+            case LINKED_HASH_MAP:
+                return readMap(new LinkedHashMap<>(capacity(peekSize())));
+            case TREE_MAP:
+                return readMap(new TreeMap<>());
+            default:
+                return readArray(tag);
+        }
+    }
+
+    private Object readArray(byte tag) {
+        int id = objectCount++;
+        int length = readInt();
+        switch (tag) {
+            case OBJECT_ARRAY: {
+                Object[] array = new Object[length];
+                objects[id] = array;
+                for (int i = 0; i < length; i++) {
+                    array[i] = readValue();
+                }
+                return array;
+            }
+            case STRING_ARRAY: {
+                String[] array = new String[length];
+                objects[id] = array;
+                for (int i = 0; i < length; i++) {
+                    array[i] = readString();
+                }
+                return array;
+            }
+            case BOOLEAN_ARRAY: {
+                boolean[] array = new boolean[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = data[pos++] != 0;
+                }
+                return objects[id] = array;
+            }
+            case BYTE_ARRAY: {
+                byte[] array = new byte[length];
+                System.arraycopy(data, pos, array, 0, length);
+                pos += length;
+                return objects[id] = array;
+            }
+            case SHORT_ARRAY: {
+                short[] array = new short[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = (short) readInt();
+                }
+                return objects[id] = array;
+            }
+            case CHAR_ARRAY: {
+                char[] array = new char[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = (char) readInt();
+                }
+                return objects[id] = array;
+            }
+            case INT_ARRAY: {
+                int[] array = new int[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = readInt();
+                }
+                return objects[id] = array;
+            }
+            case LONG_ARRAY: {
+                long[] array = new long[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = readLong();
+                }
+                return objects[id] = array;
+            }
+            case FLOAT_ARRAY: {
+                float[] array = new float[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = Float.intBitsToFloat(readFixedInt());
+                }
+                return objects[id] = array;
+            }
+            case DOUBLE_ARRAY: {
+                double[] array = new double[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = Double.longBitsToDouble(readFixedLong());
+                }
+                return objects[id] = array;
+            }
+            default:
+                throw new IllegalStateException("Unknown tag " + tag + " in recorded object graph at " + (pos - 1));
+        }
+    }
+
+    private Collection<Object> readCollection(Collection<Object> collection) {
+        // the collection is registered before its elements are read, as they may refer to it
+        objects[objectCount++] = collection;
+        int size = readInt();
+        for (int i = 0; i < size; i++) {
+            collection.add(readValue());
+        }
+        return collection;
+    }
+
+    private Map<Object, Object> readMap(Map<Object, Object> map) {
+        objects[objectCount++] = map;
+        int size = readInt();
+        for (int i = 0; i < size; i++) {
+            map.put(readValue(), readValue());
+        }
+        return map;
+    }
+
+    private String readString() {
+        byte tag = data[pos++];
+        if (tag == NULL) {
+            return null;
+        } else if (tag == STRING_REF) {
+            return strings[readInt()];
+        }
+        int length = readInt();
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            int b = data[pos++] & 0xFF;
+            if (b < 0x80) {
+                chars[i] = (char) b;
+            } else if (b < 0xE0) {
+                chars[i] = (char) ((b & 0x1F) << 6 | (data[pos++] & 0x3F));
+            } else {
+                chars[i] = (char) ((b & 0x0F) << 12 | (data[pos++] & 0x3F) << 6 | (data[pos++] & 0x3F));
+            }
+        }
+        return strings[stringCount++] = new String(chars);
+    }
+
+    private int peekSize() {
+        int start = pos;
+        int size = readInt();
+        pos = start;
+        return size;
+    }
+
+    private static int capacity(int size) {
+        return size < 3 ? size + 1 : (int) (size / 0.75f + 1);
+    }
+
+    private int readInt() {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[pos++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        // zig-zag decoding, so that small negative values are small too
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readLong() {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[pos++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private int readFixedInt() {
+        int value = (data[pos] & 0xFF) << 24 | (data[pos + 1] & 0xFF) << 16 | (data[pos + 2] & 0xFF) << 8
+                | (data[pos + 3] & 0xFF);
+        pos += 4;
+        return value;
+    }
+
+    private long readFixedLong() {
+        return ((long) readFixedInt() << 32) | (readFixedInt() & 0xFFFFFFFFL);
+    }
+}
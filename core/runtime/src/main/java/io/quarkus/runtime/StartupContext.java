@@ -19,12 +19,16 @@ public class StartupContext implements Closeable {
     private final ShutdownContext shutdownContext = new ShutdownContext() {
         @Override
         public void addShutdownTask(Runnable runnable) {
-            shutdownTasks.add(runnable);
+            synchronized (shutdownTasks) {
+                shutdownTasks.add(runnable);
+            }
         }
 
         @Override
         public void addLastShutdownTask(Runnable runnable) {
-            lastShutdownTasks.add(runnable);
+            synchronized (lastShutdownTasks) {
+                lastShutdownTasks.add(runnable);
+            }
         }
     };
 
@@ -32,11 +36,13 @@ public class StartupContext implements Closeable {
         values.put(ShutdownContext.class.getName(), shutdownContext);
     }
 
-    public void putValue(String name, Object value) {
+    // startup tasks may run concurrently, see StartupTaskRunner
+
+    public synchronized void putValue(String name, Object value) {
         values.put(name, value);
     }
 
-    public Object getValue(String name) {
+    public synchronized Object getValue(String name) {
         return values.get(name);
     }
 
@@ -0,0 +1,148 @@
+package io.quarkus.runtime;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.graalvm.nativeimage.ImageInfo;
+import org.jboss.logging.Logger;
+
+/**
+ * Runs the {@link StartupTask}s of a startup phase. Generally this will be invoked by generated bytecode, and should not be
+ * used directly.
+ * <p>
+ * The tasks are given in an order that is consistent with their dependencies. When run in parallel a task is started as
+ * soon as all the tasks it depends on have completed, so independent tasks run concurrently on a startup thread pool.
+ */
+public final class StartupTaskRunner {
+
+    private static final Logger log = Logger.getLogger(StartupTaskRunner.class);
+
+    private static final String GENERATED_PACKAGE = "io.quarkus.deployment.steps.";
+
+    private StartupTaskRunner() {
+    }
+
+    /**
+     * @param context the startup context
+     * @param phase the startup phase the tasks are recorded under in the {@link StartupTimeline}, or {@code null} if the
+     *        timeline is disabled
+     * @param tasks the tasks, in dependency order
+     * @param extensions for each task, the extension it belongs to, or {@code null} if the timeline is disabled
+     * @param dependencies for each task, the comma separated indexes of the tasks it depends on, all lower than its own
+     * @param parallel whether independent tasks may run concurrently
+     */
+    public static void run(StartupContext context, String phase, StartupTask[] tasks, String[] extensions,
+            String[] dependencies, boolean parallel) {
+        // static init timings recorded while a native image is being built would be reported by the native executable
+        boolean imageBuild = ImageInfo.inImageBuildtimeCode();
+        String timelinePhase = imageBuild ? null : phase;
+        int threads = Math.min(tasks.length, Runtime.getRuntime().availableProcessors());
+        // static init is not worth parallelizing while a native image is being built, it only runs once
+        if (!parallel || threads < 2 || imageBuild) {
+            for (int i = 0; i < tasks.length; i++) {
+                runTask(tasks[i], context, timelinePhase, extensions == null ? null : extensions[i]);
+            }
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                new StartupThreadFactory(Thread.currentThread().getContextClassLoader()));
+        try {
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks.length];
+            for (int i = 0; i < tasks.length; i++) {
+                StartupTask task = tasks[i];
+                String extension = extensions == null ? null : extensions[i];
+                CompletableFuture<?> ready = dependenciesOf(futures, dependencies[i]);
+                futures[i] = ready.thenRunAsync(new Runnable() {
+                    @Override
+                    public void run() {
+                        runTask(task, context, timelinePhase, extension);
+                    }
+                }, executor);
+            }
+            try {
+                CompletableFuture.allOf(futures).join();
+            } catch (CompletionException e) {
+                // report the first task that failed, the tasks depending on it fail with the same exception
+                for (CompletableFuture<?> future : futures) {
+                    if (future.isCompletedExceptionally()) {
+                        try {
+                            future.join();
+                        } catch (CompletionException failure) {
+                            throw rethrow(failure.getCause());
+                        }
+                    }
+                }
+                throw rethrow(e.getCause());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static CompletableFuture<?> dependenciesOf(CompletableFuture<?>[] futures, String dependencies) {
+        if (dependencies.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String[] indexes = dependencies.split(",");
+        if (indexes.length == 1) {
+            return futures[Integer.parseInt(indexes[0])];
+        }
+        CompletableFuture<?>[] required = new CompletableFuture<?>[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            required[i] = futures[Integer.parseInt(indexes[i])];
+        }
+        return CompletableFuture.allOf(required);
+    }
+
+    private static void runTask(StartupTask task, StartupContext context, String phase, String extension) {
+        long start = System.nanoTime();
+        task.deploy(context);
+        long duration = System.nanoTime() - start;
+        String name = task.getClass().getName();
+        if (name.startsWith(GENERATED_PACKAGE)) {
+            name = name.substring(GENERATED_PACKAGE.length());
+        }
+        if (phase != null) {
+            StartupTimeline.record(phase, name, extension, start, duration);
+        }
+        if (log.isDebugEnabled()) {
+            log.debugf("Startup task %s completed in %d ms on %s", name, TimeUnit.NANOSECONDS.toMillis(duration),
+                    Thread.currentThread().getName());
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        throw new RuntimeException(t);
+    }
+
+    private static final class StartupThreadFactory implements ThreadFactory {
+
+        private final ClassLoader classLoader;
+        private final AtomicInteger count = new AtomicInteger();
+
+        StartupThreadFactory(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "quarkus-startup-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            // the tasks may load application classes, which in dev mode are only visible to the TCCL
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }
+    }
+}
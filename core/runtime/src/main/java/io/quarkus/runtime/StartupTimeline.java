@@ -0,0 +1,275 @@
+package io.quarkus.runtime;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Records how long each part of the application startup took: the recorded startup tasks of each phase, and the
+ * observers of the {@link StartupEvent}, which is where beans are eagerly initialized.
+ * <p>
+ * The timeline is only recorded if it was enabled at build time. It is cleared when static init starts, and is complete
+ * once the application has started. All times are in nanoseconds, start times are relative to the first recorded entry.
+ */
+public final class StartupTimeline {
+
+    public static final String STATIC_INIT = "static-init";
+    public static final String RUNTIME_INIT = "runtime-init";
+    public static final String STARTUP_EVENT = "startup-event";
+
+    private static final int SUMMARY_SIZE = 10;
+
+    private static final List<Entry> entries = new ArrayList<>();
+
+    private StartupTimeline() {
+    }
+
+    private static volatile boolean enabled;
+
+    /**
+     * Enable the timeline, discarding the entries of a previous start. Invoked by generated bytecode when static init
+     * starts.
+     */
+    public static void enable() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        enabled = true;
+    }
+
+    /**
+     * @return whether the timeline is recorded
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param phase the startup phase
+     * @param name the name of the task or bean
+     * @param extension the extension the task belongs to, or {@code null} if unknown
+     * @param start the value of {@link System#nanoTime()} when the task started
+     * @param duration the duration of the task, in nanoseconds
+     */
+    public static void record(String phase, String name, String extension, long start, long duration) {
+        Entry entry = new Entry(phase, name, extension, Thread.currentThread().getName(), start, duration);
+        synchronized (entries) {
+            entries.add(entry);
+        }
+    }
+
+    /**
+     * @return the recorded entries, ordered by start time
+     */
+    public static List<Entry> getEntries() {
+        List<Entry> result;
+        synchronized (entries) {
+            result = new ArrayList<>(entries);
+        }
+        result.sort(Comparator.comparingLong(Entry::getStart));
+        return result;
+    }
+
+    /**
+     * Log a summary and write the JSON report, invoked by generated bytecode once the application has started.
+     *
+     * @param logSummary whether to log a summary of the timeline
+     * @param jsonFile the file the JSON report is written to, or {@code null}
+     */
+    public static void report(boolean logSummary, String jsonFile) {
+        List<Entry> timeline = getEntries();
+        if (logSummary) {
+            logSummary(timeline);
+        }
+        if (jsonFile != null) {
+            Path path = Paths.get(jsonFile);
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                writer.write(toJson(timeline));
+            } catch (IOException e) {
+                Logger.getLogger(StartupTimeline.class).errorf(e, "Unable to write the startup timeline to %s", path);
+            }
+        }
+    }
+
+    /**
+     * @return the timeline as a JSON document
+     */
+    public static String toJson() {
+        return toJson(getEntries());
+    }
+
+    static String toJson(List<Entry> timeline) {
+        long origin = timeline.isEmpty() ? 0 : timeline.get(0).start;
+        StringBuilder json = new StringBuilder("{\n  \"phases\": {");
+        appendDurations(json, phaseDurations(timeline));
+        json.append("},\n  \"extensions\": {");
+        appendDurations(json, extensionDurations(timeline));
+        json.append("},\n  \"entries\": [");
+        boolean first = true;
+        for (Entry entry : timeline) {
+            json.append(first ? "\n" : ",\n");
+            first = false;
+            json.append("    {\"phase\": ");
+            appendString(json, entry.phase);
+            json.append(", \"name\": ");
+            appendString(json, entry.name);
+            json.append(", \"extension\": ");
+            appendString(json, entry.extension);
+            json.append(", \"thread\": ");
+            appendString(json, entry.thread);
+            json.append(", \"start\": ").append(entry.start - origin);
+            json.append(", \"duration\": ").append(entry.duration).append('}');
+        }
+        json.append("\n  ]\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * The elapsed time of each phase, from the start of its first entry to the end of its last one
+     */
+    static Map<String, Long> phaseDurations(List<Entry> timeline) {
+        Map<String, long[]> bounds = new LinkedHashMap<>();
+        for (Entry entry : timeline) {
+            long[] phase = bounds.computeIfAbsent(entry.phase, p -> new long[] { entry.start, entry.getEnd() });
+            phase[0] = Math.min(phase[0], entry.start);
+            phase[1] = Math.max(phase[1], entry.getEnd());
+        }
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, long[]> phase : bounds.entrySet()) {
+            result.put(phase.getKey(), phase.getValue()[1] - phase.getValue()[0]);
+        }
+        return result;
+    }
+
+    /**
+     * The total time spent in the tasks of each extension, which exceeds the elapsed time when tasks run in parallel
+     */
+    static Map<String, Long> extensionDurations(List<Entry> timeline) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Entry entry : timeline) {
+            if (entry.extension != null) {
+                result.merge(entry.extension, entry.duration, Long::sum);
+            }
+        }
+        return result;
+    }
+
+    private static void logSummary(List<Entry> timeline) {
+        StringBuilder summary = new StringBuilder("Startup timeline:");
+        for (Map.Entry<String, Long> phase : phaseDurations(timeline).entrySet()) {
+            summary.append("\n  ").append(phase.getKey()).append(": ").append(millis(phase.getValue()));
+        }
+        summary.append("\n  slowest:");
+        List<Entry> slowest = new ArrayList<>(timeline);
+        slowest.sort(Comparator.comparingLong(Entry::getDuration).reversed());
+        for (Entry entry : slowest.subList(0, Math.min(SUMMARY_SIZE, slowest.size()))) {
+            summary.append("\n    ").append(millis(entry.duration)).append(' ').append(entry.phase).append(' ')
+                    .append(entry.name);
+            if (entry.extension != null) {
+                summary.append(" (").append(entry.extension).append(')');
+            }
+        }
+        List<Map.Entry<String, Long>> extensions = new ArrayList<>(extensionDurations(timeline).entrySet());
+        extensions.sort(Map.Entry.<String, Long> comparingByValue().reversed());
+        summary.append("\n  by extension:");
+        for (Map.Entry<String, Long> extension : extensions.subList(0, Math.min(SUMMARY_SIZE, extensions.size()))) {
+            summary.append("\n    ").append(millis(extension.getValue())).append(' ').append(extension.getKey());
+        }
+        Logger.getLogger("io.quarkus").info(summary);
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f ms", nanos / 1_000_000.0);
+    }
+
+    private static void appendDurations(StringBuilder json, Map<String, Long> durations) {
+        boolean first = true;
+        for (Map.Entry<String, Long> duration : durations.entrySet()) {
+            if (!first) {
+                json.append(", ");
+            }
+            first = false;
+            appendString(json, duration.getKey());
+            json.append(": ").append(duration.getValue());
+        }
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    public static final class Entry {
+
+        private final String phase;
+        private final String name;
+        private final String extension;
+        private final String thread;
+        private final long start;
+        private final long duration;
+
+        Entry(String phase, String name, String extension, String thread, long start, long duration) {
+            this.phase = phase;
+            this.name = name;
+            this.extension = extension;
+            this.thread = thread;
+            this.start = start;
+            this.duration = duration;
+        }
+
+        public String getPhase() {
+            return phase;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        /**
+         * @return the value of {@link System#nanoTime()} when the entry started
+         */
+        public long getStart() {
+            return start;
+        }
+
+        public long getDuration() {
+            return duration;
+        }
+
+        public long getEnd() {
+            return start + duration;
+        }
+    }
+}
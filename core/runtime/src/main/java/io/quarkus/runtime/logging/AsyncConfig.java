@@ -24,4 +24,24 @@ public class AsyncConfig {
      */
     @ConfigItem(defaultValue = "block")
     OverflowAction overflow;
+
+    /**
+     * The asynchronous handler implementation. The {@code queue} one passes the records to the logging thread
+     * through a blocking queue. The {@code ring-buffer} one passes them through a preallocated ring buffer. It
+     * claims slots without locking and drains the records in batches, flushing the handler once per batch.
+     */
+    @ConfigItem(defaultValue = "queue")
+    AsyncHandlerType type;
+
+    /**
+     * How the ring buffer handler waits for records to write, and for free slots when the overflow action is
+     * {@code block}.
+     */
+    @ConfigItem(defaultValue = "blocking")
+    RingBufferAsyncHandler.WaitStrategy waitStrategy;
+
+    public enum AsyncHandlerType {
+        QUEUE,
+        RING_BUFFER
+    }
 }
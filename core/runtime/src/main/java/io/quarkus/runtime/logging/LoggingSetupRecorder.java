@@ -19,6 +19,7 @@ import java.util.logging.Level;
 
 import org.graalvm.nativeimage.ImageInfo;
 import org.jboss.logmanager.EmbeddedConfigurator;
+import org.jboss.logmanager.ExtHandler;
 import org.jboss.logmanager.LogContext;
 import org.jboss.logmanager.Logger;
 import org.jboss.logmanager.errormanager.OnlyOnceErrorManager;
@@ -128,7 +129,20 @@ public class LoggingSetupRecorder {
         }
 
         InitialConfigurator.DELAYED_HANDLER.setAutoFlush(false);
-        InitialConfigurator.DELAYED_HANDLER.setHandlers(handlers.toArray(EmbeddedConfigurator.NO_HANDLERS));
+        final Handler[] previousHandlers = InitialConfigurator.DELAYED_HANDLER
+                .setHandlers(handlers.toArray(EmbeddedConfigurator.NO_HANDLERS));
+        // in dev mode, the handlers of the previous application are replaced: closing them stops their threads
+        closeHandlers(previousHandlers, errorManager);
+    }
+
+    private static void closeHandlers(Handler[] handlers, ErrorManager errorManager) {
+        for (Handler handler : handlers) {
+            try {
+                handler.close();
+            } catch (Exception e) {
+                errorManager.error("Failed to close a log handler", e, ErrorManager.CLOSE_FAILURE);
+            }
+        }
     }
 
     private static Map<String, Handler> createNamedHandlers(LogConfig config,
@@ -305,7 +319,18 @@ public class LoggingSetupRecorder {
         }
     }
 
-    private static AsyncHandler createAsyncHandler(AsyncConfig asyncConfig, Level level, Handler handler) {
+    private static ExtHandler createAsyncHandler(AsyncConfig asyncConfig, Level level, Handler handler) {
+        if (asyncConfig.type == AsyncConfig.AsyncHandlerType.RING_BUFFER) {
+            final RingBufferAsyncHandler ringBufferHandler = new RingBufferAsyncHandler(asyncConfig.queueLength,
+                    asyncConfig.overflow, asyncConfig.waitStrategy);
+            if (handler instanceof ExtHandler) {
+                // flushed once per drained batch
+                ((ExtHandler) handler).setAutoFlush(false);
+            }
+            ringBufferHandler.addHandler(handler);
+            ringBufferHandler.setLevel(level);
+            return ringBufferHandler;
+        }
         final AsyncHandler asyncHandler = new AsyncHandler(asyncConfig.queueLength);
         asyncHandler.setOverflowAction(asyncConfig.overflow);
         asyncHandler.addHandler(handler);
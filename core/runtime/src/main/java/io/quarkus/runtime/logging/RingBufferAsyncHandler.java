@@ -0,0 +1,363 @@
+package io.quarkus.runtime.logging;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.handlers.AsyncHandler.OverflowAction;
+
+/**
+ * An asynchronous handler passing the records to its nested handlers through a preallocated ring buffer.
+ * <p>
+ * The logging threads claim a slot of the ring buffer with a compare-and-set and publish their record in it, without
+ * locking nor allocating a queue node. A single thread drains the published records in batches, publishes them to the
+ * nested handlers and flushes the nested handlers once per batch.
+ * <p>
+ * When the ring buffer is full, the logging threads wait for a free slot or drop their record, depending on the overflow
+ * action. The dropped records are counted.
+ */
+public class RingBufferAsyncHandler extends ExtHandler {
+
+    /**
+     * How the draining thread waits for records, and the logging threads for a free slot.
+     */
+    public enum WaitStrategy {
+        /**
+         * Park until a logging thread publishes a record: the lowest CPU usage, but waking up the draining thread adds
+         * latency and costs the logging thread an unpark.
+         */
+        BLOCKING,
+        /**
+         * Spin, then yield, then park for short periods: no cost for the logging threads, some CPU usage when idle.
+         */
+        SLEEPING,
+        /**
+         * Spin, then yield: low latency, but keeps a core busy when other threads do not need it.
+         */
+        YIELDING,
+        /**
+         * Spin: the lowest latency, but keeps a core busy. It yields instead on a single processor, where spinning only
+         * delays the thread it waits for.
+         */
+        BUSY_SPIN
+    }
+
+    private static final int SPINS = 100;
+    private static final int YIELDS = 100;
+    private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long BLOCKING_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long CLOSE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    /**
+     * The value of {@link #claimed} once the drainer stopped: no sequence can be claimed anymore.
+     */
+    private static final long SEALED = Long.MAX_VALUE;
+    private static final long DISCARDED = -1;
+    private static final long CLOSED = -2;
+
+    private static final Set<RingBufferAsyncHandler> HANDLERS = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private static final LongAdder TOTAL_DROPPED = new LongAdder();
+
+    private final ExtLogRecord[] records;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final OverflowAction overflowAction;
+    private final WaitStrategy waitStrategy;
+
+    /**
+     * The last sequence claimed by a logging thread.
+     */
+    private final AtomicLong claimed = new AtomicLong(-1);
+    /**
+     * The last sequence drained, whose slot can be claimed again.
+     */
+    private volatile long drained = -1;
+
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final Thread drainer;
+    private final AtomicBoolean parked = new AtomicBoolean();
+    private volatile boolean closed;
+    /**
+     * Whether the drainer stopped unexpectedly, or did not stop in time when the handler was closed: it will not free a
+     * slot anymore.
+     */
+    private volatile boolean drainerGone;
+
+    /**
+     * @param capacity the minimum number of records the ring buffer can hold, rounded up to a power of two
+     * @param overflowAction whether to block or drop the record when the ring buffer is full
+     * @param waitStrategy how to wait for records and free slots
+     */
+    public RingBufferAsyncHandler(int capacity, OverflowAction overflowAction, WaitStrategy waitStrategy) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.records = new ExtLogRecord[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+        this.mask = size - 1;
+        this.overflowAction = overflowAction;
+        this.waitStrategy = waitStrategy == WaitStrategy.BUSY_SPIN && Runtime.getRuntime().availableProcessors() < 2
+                ? WaitStrategy.YIELDING
+                : waitStrategy;
+        this.drainer = new Thread(this::drain, "Ring buffer log handler");
+        this.drainer.setDaemon(true);
+        HANDLERS.add(this);
+    }
+
+    /**
+     * @return whether a ring buffer handler is open
+     */
+    public static boolean isInUse() {
+        return !HANDLERS.isEmpty();
+    }
+
+    /**
+     * @return the number of records dropped by all the ring buffer handlers because their ring buffer was full
+     */
+    public static long getTotalDroppedCount() {
+        return TOTAL_DROPPED.sum();
+    }
+
+    /**
+     * @return the number of records waiting in the ring buffers of all the open handlers
+     */
+    public static long getTotalPendingCount() {
+        long pending = 0;
+        for (RingBufferAsyncHandler handler : HANDLERS) {
+            pending += handler.getPendingCount();
+        }
+        return pending;
+    }
+
+    /**
+     * @return the number of records the ring buffer can hold
+     */
+    public int getCapacity() {
+        return records.length;
+    }
+
+    /**
+     * @return the number of records dropped because the ring buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return the number of records claimed and not drained yet
+     */
+    public long getPendingCount() {
+        long current = claimed.get();
+        return current == SEALED ? 0 : Math.max(0, current - drained);
+    }
+
+    @Override
+    public boolean isCallerCalculationRequired() {
+        if (super.isCallerCalculationRequired()) {
+            return true;
+        }
+        for (Handler handler : handlers) {
+            if (handler instanceof ExtHandler && ((ExtHandler) handler).isCallerCalculationRequired()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doPublish(ExtLogRecord record) {
+        if (claimed.get() == SEALED) {
+            publishToNestedHandlers(record);
+            return;
+        }
+        if (!started.get() && started.compareAndSet(false, true)) {
+            drainer.start();
+        }
+        if (isCallerCalculationRequired()) {
+            record.copyAll();
+        } else {
+            record.disableCallerCalculation();
+            record.copyMdc();
+        }
+        long sequence = claim();
+        if (sequence == CLOSED) {
+            // the drainer stopped, or will not free a slot anymore
+            publishToNestedHandlers(record);
+            return;
+        }
+        if (sequence == DISCARDED) {
+            dropped.increment();
+            TOTAL_DROPPED.increment();
+            return;
+        }
+        int index = (int) sequence & mask;
+        records[index] = record;
+        // a volatile write, so that the drainer parking after checking it is seen as parked below
+        published.set(index, sequence);
+        wakeUpDrainer();
+    }
+
+    @Override
+    public void close() throws SecurityException {
+        closed = true;
+        if (!started.get() && started.compareAndSet(false, true)) {
+            // a logging thread may have claimed a sequence without starting the drainer, which also seals the ring buffer
+            drainer.start();
+        }
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (drainer.isAlive()) {
+            drainerGone = true;
+        }
+        HANDLERS.remove(this);
+        super.close();
+    }
+
+    /**
+     * @return the claimed sequence, {@link #DISCARDED} if the ring buffer is full and the records are discarded, or
+     *         {@link #CLOSED} if the record must be published directly because the drainer stopped
+     */
+    private long claim() {
+        int attempts = 0;
+        for (;;) {
+            long current = claimed.get();
+            if (current == SEALED) {
+                return CLOSED;
+            }
+            long next = current + 1;
+            if (next - records.length > drained) {
+                if (overflowAction == OverflowAction.DISCARD) {
+                    return DISCARDED;
+                }
+                if (drainerGone) {
+                    return CLOSED;
+                }
+                wakeUpDrainer();
+                waitForSlot(attempts++);
+            } else if (claimed.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Even with the busy spin strategy, the logging threads end up yielding so as not to starve the drainer.
+     */
+    private void waitForSlot(int attempts) {
+        if (attempts < SPINS) {
+            return;
+        }
+        if (waitStrategy == WaitStrategy.BUSY_SPIN || waitStrategy == WaitStrategy.YIELDING
+                || attempts < SPINS + YIELDS) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(this, SLEEP_NANOS);
+        }
+    }
+
+    private void drain() {
+        try {
+            drainRecords();
+        } finally {
+            drainerGone = true;
+        }
+    }
+
+    private void drainRecords() {
+        long next = drained + 1;
+        int attempts = 0;
+        for (;;) {
+            int index = (int) next & mask;
+            if (published.get(index) == next) {
+                do {
+                    ExtLogRecord record = records[index];
+                    records[index] = null;
+                    drained = next;
+                    publishToNestedHandlers(record);
+                    next++;
+                    index = (int) next & mask;
+                } while (published.get(index) == next);
+                flushNestedHandlers();
+                attempts = 0;
+            } else if (closed && claimed.compareAndSet(next - 1, SEALED)) {
+                // either a logging thread claimed the next sequence first and its record is drained, or it sees the
+                // sealed sequence and publishes its record itself
+                return;
+            } else {
+                waitForRecord(attempts++, index, next);
+            }
+        }
+    }
+
+    private void waitForRecord(int attempts, int index, long sequence) {
+        if (waitStrategy == WaitStrategy.BUSY_SPIN || attempts < SPINS) {
+            return;
+        }
+        switch (waitStrategy) {
+            case YIELDING:
+                Thread.yield();
+                break;
+            case SLEEPING:
+                if (attempts < SPINS + YIELDS) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(this, SLEEP_NANOS);
+                }
+                break;
+            default:
+                if (attempts < SPINS + YIELDS) {
+                    Thread.yield();
+                    break;
+                }
+                parked.set(true);
+                if (published.get(index) != sequence && !closed) {
+                    LockSupport.parkNanos(this, BLOCKING_TIMEOUT_NANOS);
+                }
+                parked.set(false);
+        }
+    }
+
+    /**
+     * Only the first logging thread seeing the drainer parked unparks it.
+     */
+    private void wakeUpDrainer() {
+        if (parked.get() && parked.compareAndSet(true, false)) {
+            LockSupport.unpark(drainer);
+        }
+    }
+
+    private void publishToNestedHandlers(ExtLogRecord record) {
+        for (Handler handler : handlers) {
+            try {
+                handler.publish(record);
+            } catch (Exception e) {
+                reportError("Failed to publish a log record", e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+    }
+
+    private void flushNestedHandlers() {
+        for (Handler handler : handlers) {
+            try {
+                handler.flush();
+            } catch (Exception e) {
+                reportError("Failed to flush a log handler", e, ErrorManager.FLUSH_FAILURE);
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package io.quarkus.runtime.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.handlers.AsyncHandler.OverflowAction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class RingBufferAsyncHandlerTest {
+
+    @ParameterizedTest
+    @EnumSource(RingBufferAsyncHandler.WaitStrategy.class)
+    public void testRecordsOfEachThreadArePublishedInOrder(RingBufferAsyncHandler.WaitStrategy waitStrategy)
+            throws InterruptedException {
+        RecordingHandler recording = new RecordingHandler();
+        RingBufferAsyncHandler handler = new RingBufferAsyncHandler(8, OverflowAction.BLOCK, waitStrategy);
+        handler.addHandler(recording);
+
+        int threads = 4;
+        int records = 5_000;
+        log(handler, threads, records);
+        handler.close();
+
+        assertEquals(threads * records, recording.count.get());
+        for (int thread = 0; thread < threads; thread++) {
+            assertEquals(records, recording.lastSequences.get("thread-" + thread).intValue());
+        }
+        assertEquals(0, handler.getDroppedCount());
+        assertEquals(0, handler.getPendingCount());
+        assertTrue(recording.flushes.get() <= recording.count.get());
+    }
+
+    @Test
+    public void testRecordsAreDroppedAndCountedWhenTheRingBufferIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler recording = new RecordingHandler() {
+            @Override
+            public void publish(LogRecord record) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.publish(record);
+            }
+        };
+        RingBufferAsyncHandler handler = new RingBufferAsyncHandler(4, OverflowAction.DISCARD,
+                RingBufferAsyncHandler.WaitStrategy.BLOCKING);
+        handler.addHandler(recording);
+        long totalDropped = RingBufferAsyncHandler.getTotalDroppedCount();
+
+        for (int i = 0; i < 10; i++) {
+            handler.publish(record("main", i));
+        }
+        // the drainer holds at most one record, blocked in the nested handler, and 4 records wait in the ring buffer
+        assertTrue(handler.getDroppedCount() >= 5);
+        assertEquals(handler.getDroppedCount(), RingBufferAsyncHandler.getTotalDroppedCount() - totalDropped);
+        release.countDown();
+        handler.close();
+        assertEquals(10, recording.count.get() + handler.getDroppedCount());
+    }
+
+    @Test
+    public void testNestedHandlersAreFlushedOncePerBatch() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler recording = new RecordingHandler() {
+            @Override
+            public void publish(LogRecord record) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.publish(record);
+            }
+        };
+        RingBufferAsyncHandler handler = new RingBufferAsyncHandler(64, OverflowAction.BLOCK,
+                RingBufferAsyncHandler.WaitStrategy.BLOCKING);
+        handler.addHandler(recording);
+        for (int i = 0; i < 32; i++) {
+            handler.publish(record("main", i));
+        }
+        release.countDown();
+        handler.close();
+        assertEquals(32, recording.count.get());
+        assertTrue(recording.flushes.get() <= 2, "Flushed " + recording.flushes.get() + " times");
+    }
+
+    @Test
+    public void testRecordsPublishedWhileClosingAreNotLost() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            RecordingHandler recording = new RecordingHandler();
+            RingBufferAsyncHandler handler = new RingBufferAsyncHandler(8, OverflowAction.BLOCK,
+                    RingBufferAsyncHandler.WaitStrategy.BLOCKING);
+            handler.addHandler(recording);
+            handler.publish(record("thread-0", 0));
+
+            Thread closer = new Thread(handler::close);
+            closer.start();
+            int threads = 4;
+            int records = 500;
+            log(handler, threads, records);
+            closer.join(TimeUnit.MINUTES.toMillis(1));
+
+            assertEquals(threads * records + 1, recording.count.get());
+            assertEquals(0, handler.getPendingCount());
+        }
+    }
+
+    @Test
+    public void testRecordPublishedAfterCloseIsPublishedDirectly() {
+        RecordingHandler recording = new RecordingHandler();
+        RingBufferAsyncHandler handler = new RingBufferAsyncHandler(8, OverflowAction.BLOCK,
+                RingBufferAsyncHandler.WaitStrategy.BUSY_SPIN);
+        handler.addHandler(recording);
+        handler.publish(record("main", 1));
+        assertTrue(RingBufferAsyncHandler.isInUse());
+
+        handler.close();
+        assertFalse(RingBufferAsyncHandler.isInUse());
+        handler.publish(record("main", 2));
+        assertEquals(2, recording.count.get());
+        assertEquals(0, handler.getPendingCount());
+    }
+
+    @Test
+    public void testBlockedLoggingThreadPublishesDirectlyOnceClosed() throws InterruptedException {
+        CountDownLatch draining = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch published = new CountDownLatch(4);
+        RecordingHandler recording = new RecordingHandler() {
+            @Override
+            public void publish(LogRecord record) {
+                if (Thread.currentThread().getName().equals("Ring buffer log handler")) {
+                    draining.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.publish(record);
+                published.countDown();
+            }
+        };
+        RingBufferAsyncHandler handler = new RingBufferAsyncHandler(2, OverflowAction.BLOCK,
+                RingBufferAsyncHandler.WaitStrategy.BLOCKING);
+        handler.addHandler(recording);
+        handler.publish(record("main", 1));
+        assertTrue(draining.await(5, TimeUnit.SECONDS));
+        // the drainer is stuck in the nested handler, and these records fill the ring buffer
+        handler.publish(record("main", 2));
+        handler.publish(record("main", 3));
+
+        Thread blocked = new Thread(() -> handler.publish(record("blocked", 1)));
+        blocked.start();
+        Thread closer = new Thread(handler::close);
+        closer.start();
+        // once the drainer did not stop in time, the blocked thread publishes its record itself
+        blocked.join(TimeUnit.SECONDS.toMillis(30));
+        assertFalse(blocked.isAlive());
+        assertEquals(Long.valueOf(1), recording.lastSequences.get("blocked"));
+
+        // the drainer still publishes the records of the ring buffer once released
+        release.countDown();
+        assertTrue(published.await(5, TimeUnit.SECONDS));
+        closer.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(closer.isAlive());
+        assertEquals(4, recording.count.get());
+    }
+
+    private static void log(Handler handler, int threads, int records) throws InterruptedException {
+        List<Thread> loggers = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int thread = 0; thread < threads; thread++) {
+            String name = "thread-" + thread;
+            loggers.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 1; i <= records; i++) {
+                    handler.publish(record(name, i));
+                }
+            }, name));
+        }
+        loggers.forEach(Thread::start);
+        start.countDown();
+        for (Thread logger : loggers) {
+            logger.join(TimeUnit.MINUTES.toMillis(1));
+        }
+    }
+
+    private static ExtLogRecord record(String thread, int sequence) {
+        ExtLogRecord record = new ExtLogRecord(Level.INFO, "Record", RingBufferAsyncHandlerTest.class.getName());
+        record.setLoggerName(thread);
+        record.setSequenceNumber(sequence);
+        return record;
+    }
+
+    static class RecordingHandler extends ExtHandler {
+
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicInteger flushes = new AtomicInteger();
+        final Map<String, Long> lastSequences = new ConcurrentHashMap<>();
+
+        @Override
+        public void publish(LogRecord record) {
+            Long last = lastSequences.put(record.getLoggerName(), record.getSequenceNumber());
+            if (last != null && last + 1 != record.getSequenceNumber()) {
+                throw new AssertionError("Record " + record.getSequenceNumber() + " published after " + last);
+            }
+            count.incrementAndGet();
+        }
+
+        @Override
+        public void flush() {
+            flushes.incrementAndGet();
+        }
+    }
+}
@@ -31,6 +31,7 @@ import io.agroal.api.AgroalDataSource;
 import io.quarkus.agroal.DataSource;
 import io.quarkus.agroal.metrics.AgroalCounter;
 import io.quarkus.agroal.metrics.AgroalGauge;
+import io.quarkus.agroal.metrics.AgroalHistogram;
 import io.quarkus.agroal.runtime.AbstractDataSourceProducer;
 import io.quarkus.agroal.runtime.AgroalBuildTimeConfig;
 import io.quarkus.agroal.runtime.AgroalRecorder;
@@ -420,6 +421,26 @@ class AgroalProcessor {
                 .withDescription("Number of connections removed from the pool for being idle.")
                 .withType(MetricType.COUNTER)
                 .build();
+        Metadata acquisitionWaitTimeMetadata = Metadata.builder()
+                .withName("agroal.acquisition.wait.time")
+                .withDescription("Distribution of the time an application waited to acquire a connection.")
+                .withUnit(MetricUnits.NANOSECONDS)
+                .withType(MetricType.HISTOGRAM)
+                .build();
+        Metadata holdTimeMetadata = Metadata.builder()
+                .withName("agroal.hold.time")
+                .withDescription("Distribution of the time a connection was held, from its acquisition to its return to"
+                        + " the pool.")
+                .withUnit(MetricUnits.NANOSECONDS)
+                .withType(MetricType.HISTOGRAM)
+                .build();
+        Metadata saturationMetadata = Metadata.builder()
+                .withName("agroal.pool.saturation")
+                .withDescription("Distribution of the number of connections held or awaited on each acquisition, in percent"
+                        + " of the maximum size of the pool.")
+                .withUnit(MetricUnits.PERCENT)
+                .withType(MetricType.HISTOGRAM)
+                .build();
 
         HashMap<String, DataSourceBuildTimeConfig> datasources = new HashMap<>(agroalBuildTimeConfig.namedDataSources);
         if (agroalBuildTimeConfig.defaultDataSource != null) {
@@ -519,6 +540,21 @@ class AgroalProcessor {
                     metricsEnabledForThisDatasource,
                     configRootName,
                     tag));
+            metrics.produce(new MetricBuildItem(acquisitionWaitTimeMetadata,
+                    new AgroalHistogram(dataSourceName, "acquisitionWaitTime"),
+                    metricsEnabledForThisDatasource,
+                    configRootName,
+                    tag));
+            metrics.produce(new MetricBuildItem(holdTimeMetadata,
+                    new AgroalHistogram(dataSourceName, "holdTime"),
+                    metricsEnabledForThisDatasource,
+                    configRootName,
+                    tag));
+            metrics.produce(new MetricBuildItem(saturationMetadata,
+                    new AgroalHistogram(dataSourceName, "saturation"),
+                    metricsEnabledForThisDatasource,
+                    configRootName,
+                    tag));
         }
     }
 }
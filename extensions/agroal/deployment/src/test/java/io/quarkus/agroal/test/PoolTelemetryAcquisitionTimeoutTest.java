@@ -0,0 +1,51 @@
+package io.quarkus.agroal.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.runtime.AbstractDataSourceProducer;
+import io.quarkus.agroal.runtime.AgroalPoolTelemetry;
+import io.quarkus.agroal.runtime.AgroalRecorder;
+import io.quarkus.arc.Arc;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class PoolTelemetryAcquisitionTimeoutTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class))
+            .overrideConfigKey("quarkus.datasource.url", "jdbc:h2:mem:telemetry-timeout")
+            .overrideConfigKey("quarkus.datasource.driver", "org.h2.Driver")
+            .overrideConfigKey("quarkus.datasource.max-size", "1")
+            .overrideConfigKey("quarkus.datasource.acquisition-timeout", "0.1S")
+            .overrideConfigKey("quarkus.datasource.sizing-advisor-interval", "1H");
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Test
+    public void testFailedAcquisitionIsNotDemanded() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            AgroalPoolTelemetry telemetry = Arc.container().instance(AbstractDataSourceProducer.class).get()
+                    .getTelemetry(AgroalRecorder.DEFAULT_DATASOURCE_NAME);
+            assertEquals(1, telemetry.getDemand());
+            assertThrows(SQLException.class, dataSource::getConnection);
+            assertEquals(1, telemetry.getDemand());
+            connection.close();
+            assertEquals(0, telemetry.getDemand());
+            // the failed acquisition was awaited while the only connection was held
+            assertEquals(200, telemetry.getSaturation().max());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.quarkus.agroal.test;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.runtime.AbstractDataSourceProducer;
+import io.quarkus.agroal.runtime.AgroalRecorder;
+import io.quarkus.arc.Arc;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class PoolTelemetryCallSitesWithoutAdvisorTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class))
+            .overrideConfigKey("quarkus.datasource.url", "jdbc:h2:mem:telemetry-call-sites")
+            .overrideConfigKey("quarkus.datasource.driver", "org.h2.Driver")
+            .overrideConfigKey("quarkus.datasource.track-call-sites", "true");
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Test
+    public void testCallSitesAreNotTracked() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            // the call sites would only be reported by the sizing advisor
+            assertNull(Arc.container().instance(AbstractDataSourceProducer.class).get()
+                    .getTelemetry(AgroalRecorder.DEFAULT_DATASOURCE_NAME));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.quarkus.agroal.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.runtime.AbstractDataSourceProducer;
+import io.quarkus.agroal.runtime.AgroalPoolTelemetry;
+import io.quarkus.agroal.runtime.AgroalRecorder;
+import io.quarkus.agroal.runtime.PoolHistogram;
+import io.quarkus.arc.Arc;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class PoolTelemetryTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClass(Reader.class))
+            .overrideConfigKey("quarkus.datasource.url", "jdbc:h2:mem:telemetry")
+            .overrideConfigKey("quarkus.datasource.driver", "org.h2.Driver")
+            .overrideConfigKey("quarkus.datasource.track-call-sites", "true")
+            .overrideConfigKey("quarkus.datasource.sizing-advisor-interval", "1H");
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    Reader reader;
+
+    @Test
+    public void testTelemetry() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+        AgroalPoolTelemetry telemetry = Arc.container().instance(AbstractDataSourceProducer.class).get()
+                .getTelemetry(AgroalRecorder.DEFAULT_DATASOURCE_NAME);
+        assertNotNull(telemetry);
+        long acquisitions = telemetry.getAcquisitionCount();
+
+        // the connection is acquired twice in the transaction, but held once
+        reader.readTwice();
+        assertEquals(acquisitions + 1, telemetry.getAcquisitionCount());
+        assertEquals(acquisitions + 1, telemetry.getHoldTime().count());
+        assertEquals(0, telemetry.getDemand());
+
+        PoolHistogram callSite = telemetry.getCallSiteHoldTimes().get(Reader.class.getName() + ".readTwice");
+        assertNotNull(callSite, () -> "Call sites: " + telemetry.getCallSiteHoldTimes().keySet());
+        assertEquals(1, callSite.count());
+        assertTrue(telemetry.getAcquisitionWaitTime().count() >= acquisitions + 2);
+        assertTrue(telemetry.getSaturation().max() > 0);
+    }
+
+    @ApplicationScoped
+    static class Reader {
+
+        @Inject
+        AgroalDataSource dataSource;
+
+        @Transactional
+        void readTwice() throws SQLException {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.isValid(1);
+            }
+            try (Connection connection = dataSource.getConnection()) {
+                connection.isValid(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package io.quarkus.agroal.metrics;
+
+import java.io.OutputStream;
+import java.io.PrintWriter;
+
+import org.eclipse.microprofile.metrics.Histogram;
+import org.eclipse.microprofile.metrics.Snapshot;
+
+import io.quarkus.agroal.runtime.AbstractDataSourceProducer;
+import io.quarkus.agroal.runtime.AgroalPoolTelemetry;
+import io.quarkus.agroal.runtime.AgroalRecorder;
+import io.quarkus.agroal.runtime.PoolHistogram;
+import io.quarkus.arc.Arc;
+
+public class AgroalHistogram implements Histogram {
+
+    /**
+     * The number of values returned by {@link Snapshot#getValues()}, sampled from the quantiles of the histogram.
+     */
+    private static final int SNAPSHOT_VALUES = 1028;
+
+    private String dataSourceName;
+    private volatile AgroalPoolTelemetry telemetry;
+    private String metric;
+
+    public AgroalHistogram() {
+
+    }
+
+    /**
+     * @param dataSourceName Which datasource should be queried for metric
+     * @param metricName Name of the histogram of the {@link AgroalPoolTelemetry} of the datasource.
+     *        This has nothing to do with the metric name from MP Metrics point of view!
+     */
+    public AgroalHistogram(String dataSourceName, String metricName) {
+        this.dataSourceName = dataSourceName;
+        this.metric = metricName;
+    }
+
+    public String getDataSourceName() {
+        return dataSourceName;
+    }
+
+    public void setDataSourceName(String dataSourceName) {
+        this.dataSourceName = dataSourceName;
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public void setMetric(String metric) {
+        this.metric = metric;
+    }
+
+    /**
+     * @return the telemetry of the datasource, or {@code null} as long as the datasource is not started: looking it up
+     *         does not start it
+     */
+    private AgroalPoolTelemetry getTelemetry() {
+        AgroalPoolTelemetry telemetryLocal = telemetry;
+        if (telemetryLocal == null) {
+            telemetryLocal = Arc.container().instance(AbstractDataSourceProducer.class).get()
+                    .getTelemetry(dataSourceName == null ? AgroalRecorder.DEFAULT_DATASOURCE_NAME : dataSourceName);
+            telemetry = telemetryLocal;
+        }
+        return telemetryLocal;
+    }
+
+    private PoolHistogram getHistogram() {
+        AgroalPoolTelemetry telemetry = getTelemetry();
+        if (telemetry == null) {
+            return null;
+        }
+        switch (metric) {
+            case "acquisitionWaitTime":
+                return telemetry.getAcquisitionWaitTime();
+            case "holdTime":
+                return telemetry.getHoldTime();
+            case "saturation":
+                return telemetry.getSaturation();
+            default:
+                throw new IllegalArgumentException("Unknown data source metric");
+        }
+    }
+
+    @Override
+    public void update(int value) {
+    }
+
+    @Override
+    public void update(long value) {
+    }
+
+    @Override
+    public long getCount() {
+        PoolHistogram histogram = getHistogram();
+        return histogram == null ? 0 : histogram.count();
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        return new PoolHistogramSnapshot(getHistogram());
+    }
+
+    private static final class PoolHistogramSnapshot extends Snapshot {
+
+        private final PoolHistogram histogram;
+
+        PoolHistogramSnapshot(PoolHistogram histogram) {
+            this.histogram = histogram != null ? histogram : new PoolHistogram();
+        }
+
+        @Override
+        public double getValue(double quantile) {
+            return histogram.valueAtQuantile(quantile);
+        }
+
+        @Override
+        public long[] getValues() {
+            long count = histogram.count();
+            long[] values = new long[(int) Math.min(count, SNAPSHOT_VALUES)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = histogram.valueAtQuantile((i + 0.5) / values.length);
+            }
+            return values;
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(histogram.count(), SNAPSHOT_VALUES);
+        }
+
+        @Override
+        public long getMax() {
+            return histogram.max();
+        }
+
+        @Override
+        public double getMean() {
+            return histogram.mean();
+        }
+
+        @Override
+        public long getMin() {
+            return histogram.min();
+        }
+
+        @Override
+        public double getStdDev() {
+            return histogram.stdDev();
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter writer = new PrintWriter(output)) {
+                for (long value : getValues()) {
+                    writer.println(value);
+                }
+            }
+        }
+    }
+}
@@ -3,9 +3,15 @@ package io.quarkus.agroal.runtime;
 import java.sql.Connection;
 import java.sql.Driver;
 import java.sql.Statement;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
@@ -17,6 +23,7 @@ import javax.transaction.TransactionSynchronizationRegistry;
 import org.jboss.logging.Logger;
 
 import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalDataSourceListener;
 import io.agroal.api.configuration.AgroalConnectionPoolConfiguration.ConnectionValidator;
 import io.agroal.api.configuration.supplier.AgroalConnectionFactoryConfigurationSupplier;
 import io.agroal.api.configuration.supplier.AgroalConnectionPoolConfigurationSupplier;
@@ -38,6 +45,8 @@ public abstract class AbstractDataSourceProducer {
     private boolean disableSslSupport = false;
 
     private List<AgroalDataSource> dataSources = new ArrayList<>();
+    private Map<String, AgroalPoolTelemetry> telemetries = new ConcurrentHashMap<>();
+    private ScheduledExecutorService sizingAdvisorExecutor;
 
     @Inject
     public TransactionManager transactionManager;
@@ -126,12 +135,14 @@ public abstract class AbstractDataSourceProducer {
         }
 
         // metrics
+        boolean metricsEnabled;
         if (dataSourceBuildTimeConfig.enableMetrics.isPresent()) {
-            dataSourceConfiguration.metricsEnabled(dataSourceBuildTimeConfig.enableMetrics.get());
+            metricsEnabled = dataSourceBuildTimeConfig.enableMetrics.get();
         } else {
             // if the enable-metrics property is unspecified, treat it as true if MP Metrics are being exposed
-            dataSourceConfiguration.metricsEnabled(buildTimeConfig.metricsEnabled && mpMetricsPresent);
+            metricsEnabled = buildTimeConfig.metricsEnabled && mpMetricsPresent;
         }
+        dataSourceConfiguration.metricsEnabled(metricsEnabled);
 
         // Authentication
         if (dataSourceRuntimeConfig.username.isPresent()) {
@@ -215,16 +226,63 @@ public abstract class AbstractDataSourceProducer {
             }
         }
 
+        // Pool telemetry, recorded for the metrics and the sizing advisor
+        List<AgroalDataSourceListener> listeners = new ArrayList<>();
+        listeners.add(new AgroalEventLoggingListener(dataSourceName));
+        Optional<Duration> sizingAdvisorInterval = dataSourceRuntimeConfig.sizingAdvisorInterval
+                .filter(interval -> !interval.isZero() && !interval.isNegative());
+        // the call sites are only reported by the sizing advisor
+        boolean trackCallSites = dataSourceRuntimeConfig.trackCallSites && sizingAdvisorInterval.isPresent();
+        if (dataSourceRuntimeConfig.trackCallSites && !trackCallSites) {
+            log.warn("Call sites of datasource " + dataSourceName + " not tracked: sizing-advisor-interval is not defined.");
+        }
+        AgroalPoolTelemetry telemetry = null;
+        if (metricsEnabled || sizingAdvisorInterval.isPresent()) {
+            telemetry = new AgroalPoolTelemetry(dataSourceRuntimeConfig.maxSize, trackCallSites);
+            listeners.add(telemetry);
+            telemetries.put(dataSourceName, telemetry);
+        }
+
         // Explicit reference to bypass reflection need of the ServiceLoader used by AgroalDataSource#from
         AgroalDataSource dataSource = new io.agroal.pool.DataSource(dataSourceConfiguration.get(),
-                new AgroalEventLoggingListener(dataSourceName));
+                listeners.toArray(new AgroalDataSourceListener[0]));
+        if (telemetry != null) {
+            dataSource = new TelemetryDataSource(dataSource, telemetry);
+        }
         log.debugv("Started data source {0} connected to {1}", dataSource, url);
 
         this.dataSources.add(dataSource);
 
+        if (sizingAdvisorInterval.isPresent()) {
+            long interval = sizingAdvisorInterval.get().toMillis();
+            sizingAdvisorExecutor().scheduleAtFixedRate(new PoolSizingAdvisor(dataSourceName, telemetry,
+                    dataSourceRuntimeConfig.minSize, dataSourceRuntimeConfig.maxSize), interval, interval,
+                    TimeUnit.MILLISECONDS);
+        }
+
         return dataSource;
     }
 
+    /**
+     * @param dataSourceName the name of the datasource
+     * @return the telemetry of the datasource pool, or {@code null} if the datasource is not started yet or records no
+     *         telemetry
+     */
+    public AgroalPoolTelemetry getTelemetry(String dataSourceName) {
+        return telemetries.get(dataSourceName);
+    }
+
+    private synchronized ScheduledExecutorService sizingAdvisorExecutor() {
+        if (sizingAdvisorExecutor == null) {
+            sizingAdvisorExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "agroal-sizing-advisor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return sizingAdvisorExecutor;
+    }
+
     public void setBuildTimeConfig(AgroalBuildTimeConfig buildTimeConfig) {
         this.buildTimeConfig = buildTimeConfig;
     }
@@ -246,6 +304,11 @@ public abstract class AbstractDataSourceProducer {
 
     @PreDestroy
     public void stop() {
+        synchronized (this) {
+            if (sizingAdvisorExecutor != null) {
+                sizingAdvisorExecutor.shutdownNow();
+            }
+        }
         for (AgroalDataSource dataSource : dataSources) {
             if (dataSource != null) {
                 dataSource.close();
@@ -0,0 +1,209 @@
+package io.quarkus.agroal.runtime;
+
+import java.sql.Connection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.agroal.api.AgroalDataSourceListener;
+
+/**
+ * Records the usage of the connections of a pool:
+ * <ul>
+ * <li>the time spent waiting to acquire a connection,</li>
+ * <li>the time a connection is held, from its acquisition to its return to the pool, optionally per call site,</li>
+ * <li>the saturation of the pool: the number of connections demanded, held or awaited, in percent of the maximum size
+ * of the pool, sampled on each acquisition.</li>
+ * </ul>
+ * The times are in nanoseconds.
+ * <p>
+ * A connection acquired again in the same transaction is only counted once, and held until the end of the
+ * transaction. Agroal notifies no listener of a failed acquisition, for instance on timeout: the datasource reports it
+ * with {@link #onConnectionAcquireFailure()}.
+ */
+public final class AgroalPoolTelemetry implements AgroalDataSourceListener {
+
+    static final int MAX_CALL_SITES = 100;
+    static final String OTHER_CALL_SITES = "<other>";
+
+    private static final String[] FRAMEWORK_PACKAGES = { "io.agroal.", "io.quarkus.agroal.runtime.", "io.quarkus.arc.",
+            "io.quarkus.narayana.", "com.arjuna.", "org.hibernate.", "java.", "javax.", "jdk.", "sun." };
+
+    private final int maxSize;
+    private final boolean trackCallSites;
+
+    private final PoolHistogram acquisitionWaitTime = new PoolHistogram();
+    private final PoolHistogram holdTime = new PoolHistogram();
+    private final PoolHistogram saturation = new PoolHistogram();
+    private final Map<String, PoolHistogram> callSiteHoldTimes = new ConcurrentHashMap<>();
+
+    private final Map<Connection, Hold> holds = new ConcurrentHashMap<>();
+    private final ThreadLocal<long[]> acquisitionStart = ThreadLocal.withInitial(() -> new long[1]);
+    private final AtomicInteger demand = new AtomicInteger();
+    private final AtomicInteger peakDemand = new AtomicInteger();
+    private final LongAdder acquisitions = new LongAdder();
+
+    /**
+     * @param maxSize the maximum size of the pool, used to compute its saturation
+     * @param trackCallSites whether to record the hold time per call site, which requires a stack trace per
+     *        acquisition
+     */
+    public AgroalPoolTelemetry(int maxSize, boolean trackCallSites) {
+        this.maxSize = Math.max(1, maxSize);
+        this.trackCallSites = trackCallSites;
+    }
+
+    /**
+     * @return the time spent waiting to acquire a connection, in nanoseconds
+     */
+    public PoolHistogram getAcquisitionWaitTime() {
+        return acquisitionWaitTime;
+    }
+
+    /**
+     * @return the time the connections are held, in nanoseconds
+     */
+    public PoolHistogram getHoldTime() {
+        return holdTime;
+    }
+
+    /**
+     * @return the number of connections demanded on each acquisition, in percent of the maximum size of the pool
+     */
+    public PoolHistogram getSaturation() {
+        return saturation;
+    }
+
+    /**
+     * @return the time the connections are held per call site, empty if the call sites are not tracked
+     */
+    public Map<String, PoolHistogram> getCallSiteHoldTimes() {
+        return Collections.unmodifiableMap(callSiteHoldTimes);
+    }
+
+    /**
+     * @return the number of connections currently held or awaited
+     */
+    public int getDemand() {
+        return demand.get();
+    }
+
+    /**
+     * @return the number of connections acquired outside of a transaction already holding them
+     */
+    public long getAcquisitionCount() {
+        return acquisitions.sum();
+    }
+
+    /**
+     * @return the highest demand since the previous call, the peak of the next period starting from the current demand
+     */
+    int resetPeakDemand() {
+        return peakDemand.getAndSet(demand.get());
+    }
+
+    @Override
+    public void beforeConnectionAcquire() {
+        acquisitionStart.get()[0] = System.nanoTime();
+        int current = demand.incrementAndGet();
+        peakDemand.accumulateAndGet(current, Math::max);
+        saturation.record(current * 100L / maxSize);
+    }
+
+    @Override
+    public void onConnectionAcquire(Connection connection) {
+        long now = System.nanoTime();
+        long[] start = acquisitionStart.get();
+        if (start[0] != 0) {
+            acquisitionWaitTime.record(now - start[0]);
+            start[0] = 0;
+        }
+        Hold hold = holds.get(connection);
+        if (hold != null) {
+            // acquired again in the transaction holding it
+            demand.decrementAndGet();
+            return;
+        }
+        acquisitions.increment();
+        holds.put(connection, new Hold(now, trackCallSites ? callSite() : null));
+    }
+
+    /**
+     * Ends the pending acquisition of the current thread, which failed.
+     */
+    void onConnectionAcquireFailure() {
+        long[] start = acquisitionStart.get();
+        if (start[0] != 0) {
+            start[0] = 0;
+            demand.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void beforeConnectionReturn(Connection connection) {
+        release(connection);
+    }
+
+    @Override
+    public void onConnectionDestroy(Connection connection) {
+        release(connection);
+    }
+
+    private void release(Connection connection) {
+        Hold hold = holds.remove(connection);
+        if (hold == null) {
+            return;
+        }
+        demand.decrementAndGet();
+        long held = System.nanoTime() - hold.start;
+        holdTime.record(held);
+        if (hold.callSite != null) {
+            callSiteHoldTime(hold.callSite).record(held);
+        }
+    }
+
+    private PoolHistogram callSiteHoldTime(String callSite) {
+        PoolHistogram histogram = callSiteHoldTimes.get(callSite);
+        if (histogram == null) {
+            if (callSiteHoldTimes.size() >= MAX_CALL_SITES) {
+                callSite = OTHER_CALL_SITES;
+            }
+            histogram = callSiteHoldTimes.computeIfAbsent(callSite, k -> new PoolHistogram());
+        }
+        return histogram;
+    }
+
+    private static String callSite() {
+        for (StackTraceElement element : new Throwable().getStackTrace()) {
+            if (!isFrameworkFrame(element.getClassName())) {
+                return element.getClassName() + "." + element.getMethodName();
+            }
+        }
+        return OTHER_CALL_SITES;
+    }
+
+    private static boolean isFrameworkFrame(String className) {
+        if (className.contains("_Subclass") || className.contains("_ClientProxy")) {
+            return true;
+        }
+        for (String frameworkPackage : FRAMEWORK_PACKAGES) {
+            if (className.startsWith(frameworkPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Hold {
+
+        private final long start;
+        private final String callSite;
+
+        private Hold(long start, String callSite) {
+            this.start = start;
+            this.callSite = callSite;
+        }
+    }
+}
@@ -124,4 +124,25 @@ public class DataSourceRuntimeConfig {
      */
     @ConfigItem
     public Optional<String> validationQuerySql;
+
+    /**
+     * The interval at which the recommended minimum and maximum sizes of the pool are logged, when they differ from
+     * the configured ones. They are computed from the connection acquisition rate, hold time and peak demand observed
+     * during the interval.
+     * <p>
+     * The recommendations are disabled by default.
+     */
+    @ConfigItem
+    public Optional<Duration> sizingAdvisorInterval;
+
+    /**
+     * Record the connection hold time per call site, the first application method acquiring the connection, and log
+     * the call sites holding connections the longest with the recommended pool sizes.
+     * This captures a stack trace on each acquisition, so it should only be enabled while investigating the pool usage.
+     * <p>
+     * The call sites are only reported by the sizing advisor: this is ignored unless {@code sizing-advisor-interval} is
+     * set.
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean trackCallSites;
 }
@@ -0,0 +1,126 @@
+package io.quarkus.agroal.runtime;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Periodically logs the pool sizes fitting the load observed by an {@link AgroalPoolTelemetry}.
+ * <p>
+ * By Little's law, the mean number of connections in use is the rate of acquisitions times the mean time a connection
+ * is held: it is the recommended minimum size, so that the usual load does not wait for connections to be created.
+ * The recommended maximum size is the peak demand of the period, connections held or awaited, with some headroom.
+ */
+final class PoolSizingAdvisor implements Runnable {
+
+    private static final Logger log = Logger.getLogger(PoolSizingAdvisor.class.getName());
+
+    static final double MAX_SIZE_HEADROOM = 1.2;
+    private static final int LOGGED_CALL_SITES = 5;
+
+    private final String datasourceName;
+    private final AgroalPoolTelemetry telemetry;
+    private final int minSize;
+    private final int maxSize;
+
+    private long lastTime;
+    private long lastAcquisitions;
+    private long lastReturns;
+    private long lastHoldTime;
+
+    PoolSizingAdvisor(String name, AgroalPoolTelemetry telemetry, int minSize, int maxSize) {
+        this.datasourceName = "Datasource '" + name + "'";
+        this.telemetry = telemetry;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.lastTime = System.nanoTime();
+    }
+
+    @Override
+    public void run() {
+        try {
+            Recommendation recommendation = evaluate(System.nanoTime());
+            if (recommendation == null) {
+                return;
+            }
+            if (recommendation.minSize != minSize || recommendation.maxSize != maxSize) {
+                log.infof("%s: %.1f acquisitions/s holding connections %.2f ms on average, %.1f connections in use on"
+                        + " average and %d at peak; recommended min-size=%d and max-size=%d (configured %d and %d)",
+                        datasourceName, recommendation.acquisitionRate, recommendation.meanHoldTimeMillis,
+                        recommendation.meanInUse, recommendation.peakDemand, recommendation.minSize,
+                        recommendation.maxSize, minSize, maxSize);
+            }
+            Map<String, PoolHistogram> callSites = telemetry.getCallSiteHoldTimes();
+            if (!callSites.isEmpty()) {
+                log.infof("%s: call sites holding connections the longest in total: %s", datasourceName,
+                        callSites.entrySet().stream()
+                                .sorted(Comparator.comparingLong(
+                                        (Map.Entry<String, PoolHistogram> e) -> e.getValue().sum()).reversed())
+                                .limit(LOGGED_CALL_SITES)
+                                .map(e -> String.format("%s (%d times, p99 %.2f ms)", e.getKey(), e.getValue().count(),
+                                        e.getValue().valueAtQuantile(0.99) / 1_000_000.0))
+                                .collect(Collectors.joining(", ")));
+            }
+        } catch (Exception e) {
+            log.debug("Unable to compute the recommended pool sizes", e);
+        }
+    }
+
+    /**
+     * @param now the current {@link System#nanoTime()}
+     * @return the sizes fitting the load observed since the previous evaluation, or {@code null} if no connection was
+     *         returned to the pool since then
+     */
+    Recommendation evaluate(long now) {
+        PoolHistogram holdTime = telemetry.getHoldTime();
+        long acquisitions = telemetry.getAcquisitionCount();
+        long returns = holdTime.count();
+        long totalHoldTime = holdTime.sum();
+        int peakDemand = telemetry.resetPeakDemand();
+
+        long elapsed = now - lastTime;
+        long periodAcquisitions = acquisitions - lastAcquisitions;
+        long periodReturns = returns - lastReturns;
+        long periodHoldTime = totalHoldTime - lastHoldTime;
+        lastTime = now;
+        lastAcquisitions = acquisitions;
+        lastReturns = returns;
+        lastHoldTime = totalHoldTime;
+
+        if (elapsed <= 0 || periodReturns == 0) {
+            return null;
+        }
+        double acquisitionRate = periodAcquisitions * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+        double meanHoldTime = (double) periodHoldTime / periodReturns;
+        double meanInUse = acquisitionRate * meanHoldTime / TimeUnit.SECONDS.toNanos(1);
+
+        int recommendedMinSize = (int) Math.ceil(meanInUse);
+        int recommendedMaxSize = Math.max(Math.max(1, recommendedMinSize),
+                (int) Math.ceil(peakDemand * MAX_SIZE_HEADROOM));
+        return new Recommendation(acquisitionRate, meanHoldTime / 1_000_000, meanInUse, peakDemand,
+                recommendedMinSize, recommendedMaxSize);
+    }
+
+    static final class Recommendation {
+
+        final double acquisitionRate;
+        final double meanHoldTimeMillis;
+        final double meanInUse;
+        final int peakDemand;
+        final int minSize;
+        final int maxSize;
+
+        Recommendation(double acquisitionRate, double meanHoldTimeMillis, double meanInUse, int peakDemand,
+                int minSize, int maxSize) {
+            this.acquisitionRate = acquisitionRate;
+            this.meanHoldTimeMillis = meanHoldTimeMillis;
+            this.meanInUse = meanInUse;
+            this.peakDemand = peakDemand;
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+        }
+    }
+}
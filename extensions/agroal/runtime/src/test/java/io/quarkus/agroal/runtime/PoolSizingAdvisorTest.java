@@ -0,0 +1,106 @@
+package io.quarkus.agroal.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class PoolSizingAdvisorTest {
+
+    @Test
+    public void testHistogramQuantiles() {
+        PoolHistogram histogram = new PoolHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+        assertEquals(100_000, histogram.count());
+        assertEquals(1_000, histogram.min());
+        assertEquals(100_000_000, histogram.max());
+        assertEquals(50_000_500, histogram.mean(), 0.001);
+        assertWithinBucket(50_000_000, histogram.valueAtQuantile(0.5));
+        assertWithinBucket(99_000_000, histogram.valueAtQuantile(0.99));
+        assertEquals(100_000_000, histogram.valueAtQuantile(1));
+        assertEquals(0, new PoolHistogram().valueAtQuantile(0.5));
+    }
+
+    @Test
+    public void testHistogramBuckets() {
+        for (long value : new long[] { 0, 1, 15, 16, 17, 31, 32, 1_000, 123_456_789, Long.MAX_VALUE }) {
+            int index = PoolHistogram.bucketIndex(value);
+            assertTrue(PoolHistogram.lowestValue(index) <= value && value <= PoolHistogram.highestValue(index),
+                    () -> value + " is not in bucket " + index);
+        }
+    }
+
+    @Test
+    public void testRecommendation() {
+        AgroalPoolTelemetry telemetry = new AgroalPoolTelemetry(20, false);
+        PoolSizingAdvisor advisor = new PoolSizingAdvisor("test", telemetry, 0, 20);
+        long start = System.nanoTime();
+        assertNull(advisor.evaluate(start));
+
+        // 4 connections held at the same time
+        Connection[] connections = new Connection[4];
+        for (int i = 0; i < connections.length; i++) {
+            connections[i] = connection();
+            telemetry.beforeConnectionAcquire();
+            telemetry.onConnectionAcquire(connections[i]);
+        }
+        assertEquals(4, telemetry.getDemand());
+        for (Connection connection : connections) {
+            telemetry.beforeConnectionReturn(connection);
+        }
+        assertEquals(0, telemetry.getDemand());
+
+        // 4 connections held for a few nanoseconds over a second: less than one in use on average
+        PoolSizingAdvisor.Recommendation recommendation = advisor.evaluate(start + TimeUnit.SECONDS.toNanos(1));
+        assertEquals(4, recommendation.acquisitionRate, 0.001);
+        assertEquals(4, recommendation.peakDemand);
+        assertEquals(1, recommendation.minSize);
+        assertEquals(5, recommendation.maxSize);
+        assertTrue(recommendation.meanInUse < 1);
+    }
+
+    @Test
+    public void testFailedAcquisition() {
+        AgroalPoolTelemetry telemetry = new AgroalPoolTelemetry(1, false);
+        telemetry.beforeConnectionAcquire();
+        assertEquals(1, telemetry.getDemand());
+        // the first acquisition timed out
+        telemetry.onConnectionAcquireFailure();
+        assertEquals(0, telemetry.getDemand());
+        telemetry.onConnectionAcquireFailure();
+        assertEquals(0, telemetry.getDemand());
+        telemetry.beforeConnectionAcquire();
+        Connection connection = connection();
+        telemetry.onConnectionAcquire(connection);
+        assertEquals(1, telemetry.getDemand());
+        telemetry.beforeConnectionReturn(connection);
+        assertEquals(0, telemetry.getDemand());
+        assertEquals(1, telemetry.getAcquisitionWaitTime().count());
+        assertEquals(100, telemetry.getSaturation().max());
+    }
+
+    private static void assertWithinBucket(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 16, () -> actual + " is too far from " + expected);
+    }
+
+    private static Connection connection() {
+        return (Connection) Proxy.newProxyInstance(PoolSizingAdvisorTest.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
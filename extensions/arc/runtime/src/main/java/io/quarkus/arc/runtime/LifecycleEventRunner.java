@@ -1,11 +1,25 @@
 package io.quarkus.arc.runtime;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Set;
+
 import javax.enterprise.context.Dependent;
 import javax.enterprise.event.Event;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.spi.EventContext;
+import javax.enterprise.inject.spi.EventMetadata;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.enterprise.inject.spi.ObserverMethod;
 import javax.inject.Inject;
 
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import io.quarkus.arc.ManagedContext;
 import io.quarkus.runtime.ShutdownEvent;
 import io.quarkus.runtime.StartupEvent;
+import io.quarkus.runtime.StartupTimeline;
 
 /**
  *
@@ -20,11 +34,84 @@ public class LifecycleEventRunner {
     Event<ShutdownEvent> shutdown;
 
     public void fireStartupEvent() {
-        startup.fire(new StartupEvent());
+        if (StartupTimeline.isEnabled()) {
+            fireTimedStartupEvent();
+        } else {
+            startup.fire(new StartupEvent());
+        }
     }
 
     public void fireShutdownEvent() {
         shutdown.fire(new ShutdownEvent());
     }
 
+    /**
+     * Notify the observers of the startup event one by one, in the same order as {@link Event#fire(Object)} does, so that
+     * the time taken by each of them, which is typically spent initializing a bean, is recorded in the startup timeline.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void fireTimedStartupEvent() {
+        ArcContainer container = Arc.container();
+        StartupEventContext context = new StartupEventContext(new StartupEvent());
+        Set<ObserverMethod<? super StartupEvent>> observers = container.beanManager()
+                .resolveObserverMethods(context.event);
+        if (observers.isEmpty()) {
+            return;
+        }
+        ManagedContext requestContext = container.requestContext();
+        boolean activate = !requestContext.isActive();
+        if (activate) {
+            requestContext.activate();
+        }
+        try {
+            for (ObserverMethod observer : observers) {
+                if (observer.isAsync()) {
+                    continue;
+                }
+                long start = System.nanoTime();
+                observer.notify(context);
+                StartupTimeline.record(StartupTimeline.STARTUP_EVENT, observer.getBeanClass().getName(), null, start,
+                        System.nanoTime() - start);
+            }
+        } finally {
+            if (activate) {
+                requestContext.terminate();
+            }
+        }
+    }
+
+    private static final class StartupEventContext implements EventContext<StartupEvent>, EventMetadata {
+
+        private final StartupEvent event;
+
+        StartupEventContext(StartupEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public StartupEvent getEvent() {
+            return event;
+        }
+
+        @Override
+        public EventMetadata getMetadata() {
+            return this;
+        }
+
+        @Override
+        public Set<Annotation> getQualifiers() {
+            return Collections.singleton(Any.Literal.INSTANCE);
+        }
+
+        @Override
+        public InjectionPoint getInjectionPoint() {
+            return null;
+        }
+
+        @Override
+        public Type getType() {
+            return StartupEvent.class;
+        }
+    }
+
 }
@@ -250,8 +250,20 @@ public class HibernateOrmConfig {
         @ConfigItem
         public Optional<Integer> statementBatchSize;
 
+        /**
+         * Whether the inserts and updates are ordered by entity type when flushing, so that more of them can be sent
+         * in the same batch.
+         *
+         * It is enabled by default when the statement batch size is set.
+         *
+         * @asciidoclet
+         */
+        @ConfigItem(defaultValueDocumentation = "true if the statement batch size is set")
+        public Optional<Boolean> orderStatements;
+
         public boolean isAnyPropertySet() {
-            return timezone.isPresent() || statementFetchSize.isPresent() || statementBatchSize.isPresent();
+            return timezone.isPresent() || statementFetchSize.isPresent() || statementBatchSize.isPresent()
+                    || orderStatements.isPresent();
         }
     }
 
@@ -464,6 +464,12 @@ public final class HibernateOrmProcessor {
                         fetchSize -> desc.getProperties().setProperty(AvailableSettings.STATEMENT_BATCH_SIZE,
                                 fetchSize.toString()));
 
+                // batches mixing several entity types are split unless the statements are ordered
+                if (hibernateConfig.jdbc.orderStatements.orElse(hibernateConfig.jdbc.statementBatchSize.isPresent())) {
+                    desc.getProperties().setProperty(AvailableSettings.ORDER_INSERTS, "true");
+                    desc.getProperties().setProperty(AvailableSettings.ORDER_UPDATES, "true");
+                }
+
                 // Logging
                 if (hibernateConfig.log.sql) {
                     desc.getProperties().setProperty(AvailableSettings.SHOW_SQL, "true");
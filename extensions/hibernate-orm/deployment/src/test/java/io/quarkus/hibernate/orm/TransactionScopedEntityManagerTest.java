@@ -0,0 +1,148 @@
+package io.quarkus.hibernate.orm;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.transaction.Synchronization;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.hibernate.Session;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.hibernate.orm.enhancer.Address;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class TransactionScopedEntityManagerTest {
+
+    @RegisterExtension
+    static QuarkusUnitTest runner = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClass(Address.class)
+                    .addAsResource("application.properties"));
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    TransactionManager transactionManager;
+
+    @Inject
+    TransactionSynchronizationRegistry tsr;
+
+    @Test
+    public void testEntityManagerIsBoundToTransaction() throws Exception {
+        transactionManager.begin();
+        Session first = entityManager.unwrap(Session.class);
+        Address address = new Address("first");
+        entityManager.persist(address);
+        assertSame(first, entityManager.unwrap(Session.class));
+        assertTrue(entityManager.contains(address));
+        transactionManager.commit();
+
+        transactionManager.begin();
+        try {
+            Session second = entityManager.unwrap(Session.class);
+            assertNotSame(first, second);
+            assertSame(second, entityManager.unwrap(Session.class));
+        } finally {
+            transactionManager.commit();
+        }
+    }
+
+    @Test
+    public void testSuspendedTransaction() throws Exception {
+        transactionManager.begin();
+        Session outer = entityManager.unwrap(Session.class);
+        Transaction suspended = transactionManager.suspend();
+
+        transactionManager.begin();
+        try {
+            assertNotSame(outer, entityManager.unwrap(Session.class));
+        } finally {
+            transactionManager.commit();
+        }
+
+        transactionManager.resume(suspended);
+        try {
+            assertSame(outer, entityManager.unwrap(Session.class));
+        } finally {
+            transactionManager.commit();
+        }
+    }
+
+    @Test
+    public void testNoTransactionAfterCommit() throws Exception {
+        transactionManager.begin();
+        Session transactional = entityManager.unwrap(Session.class);
+        transactionManager.commit();
+
+        Arc.container().requestContext().activate();
+        try {
+            // the request scoped entity manager is used once the transaction is completed
+            assertNotSame(transactional, entityManager.unwrap(Session.class));
+        } finally {
+            Arc.container().requestContext().terminate();
+        }
+    }
+
+    /**
+     * The reaper rolls the transaction back on its own thread. Its synchronizations run there, and the entity manager of
+     * the transaction must not be used by the thread of the transaction in the meantime.
+     */
+    @Test
+    public void testTransactionRolledBackByTheReaper() throws Exception {
+        CountDownLatch completing = new CountDownLatch(1);
+        CountDownLatch checked = new CountDownLatch(1);
+        transactionManager.setTransactionTimeout(1);
+        transactionManager.begin();
+        try {
+            Session transactional = entityManager.unwrap(Session.class);
+            // registered after the synchronization of the entity manager, so that it completes first
+            tsr.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    completing.countDown();
+                    try {
+                        checked.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            assertTrue(completing.await(10, TimeUnit.SECONDS));
+
+            Arc.container().requestContext().activate();
+            try {
+                assertNotSame(transactional, entityManager.unwrap(Session.class));
+            } finally {
+                checked.countDown();
+                Arc.container().requestContext().terminate();
+            }
+        } finally {
+            checked.countDown();
+            transactionManager.setTransactionTimeout(0);
+            try {
+                transactionManager.rollback();
+            } catch (IllegalStateException e) {
+                // already rolled back by the reaper
+            }
+        }
+    }
+
+}
@@ -24,6 +24,9 @@ import javax.transaction.Synchronization;
 import javax.transaction.TransactionManager;
 import javax.transaction.TransactionSynchronizationRegistry;
 
+import com.arjuna.ats.arjuna.coordinator.ActionStatus;
+import com.arjuna.ats.arjuna.coordinator.BasicAction;
+
 import io.quarkus.hibernate.orm.runtime.RequestScopedEntityManagerHolder;
 import io.quarkus.runtime.BlockingOperationControl;
 
@@ -34,8 +37,11 @@ public class TransactionScopedEntityManager implements EntityManager {
     private final TransactionSynchronizationRegistry tsr;
     private final EntityManagerFactory emf;
     private final String unitName;
-    private static final Object transactionKey = new Object();
+    // one key per persistence unit, each unit has its own entity manager in a transaction
+    private final Object transactionKey = new Object();
     private final Instance<RequestScopedEntityManagerHolder> requestScopedEms;
+    // the binding last used by each thread, so that the calls within a transaction only resolve it once
+    private final ThreadLocal<TransactionBinding> currentBinding = new ThreadLocal<>();
 
     public TransactionScopedEntityManager(TransactionManager transactionManager,
             TransactionSynchronizationRegistry tsr,
@@ -49,27 +55,50 @@ public class TransactionScopedEntityManager implements EntityManager {
     }
 
     EntityManagerResult getEntityManager() {
+        // fast path: the transaction associated with the thread is the one the binding was created for
+        BasicAction transaction = BasicAction.Current();
+        TransactionBinding binding = currentBinding.get();
+        if (binding != null) {
+            if (binding.transaction == transaction && binding.isActive()) {
+                return binding.result;
+            }
+            // the transaction may have been completed by another thread, e.g. rolled back by the transaction reaper, which
+            // only clears its own thread
+            currentBinding.remove();
+        }
+        return resolveEntityManager(transaction);
+    }
+
+    private EntityManagerResult resolveEntityManager(BasicAction transaction) {
         if (isInTransaction()) {
-            EntityManager em = (EntityManager) tsr.getResource(transactionKey);
-            if (em != null) {
-                return new EntityManagerResult(em, false, true);
+            TransactionBinding binding = (TransactionBinding) tsr.getResource(transactionKey);
+            if (binding == null) {
+                EntityManager newEm = emf.createEntityManager();
+                newEm.joinTransaction();
+                TransactionBinding newBinding = new TransactionBinding(transaction, newEm);
+                tsr.putResource(transactionKey, newBinding);
+                tsr.registerInterposedSynchronization(new Synchronization() {
+                    @Override
+                    public void beforeCompletion() {
+                        newEm.flush();
+                        newEm.close();
+                    }
+
+                    @Override
+                    public void afterCompletion(int i) {
+                        newBinding.active = false;
+                        if (currentBinding.get() == newBinding) {
+                            currentBinding.remove();
+                        }
+                        newEm.close();
+                    }
+                });
+                binding = newBinding;
             }
-            EntityManager newEm = emf.createEntityManager();
-            newEm.joinTransaction();
-            tsr.putResource(transactionKey, newEm);
-            tsr.registerInterposedSynchronization(new Synchronization() {
-                @Override
-                public void beforeCompletion() {
-                    newEm.flush();
-                    newEm.close();
-                }
-
-                @Override
-                public void afterCompletion(int i) {
-                    newEm.close();
-                }
-            });
-            return new EntityManagerResult(newEm, false, true);
+            if (binding.transaction != null) {
+                currentBinding.set(binding);
+            }
+            return binding.result;
         } else {
             //this will throw an exception if the request scope is not active
             //this is expected as either the request scope or an active transaction
@@ -517,6 +546,42 @@ public class TransactionScopedEntityManager implements EntityManager {
         }
     }
 
+    /**
+     * The entity manager of a persistence unit in a transaction.
+     */
+    static class TransactionBinding {
+
+        final BasicAction transaction;
+        final EntityManagerResult result;
+        // the transaction may be completed by another thread, e.g. on timeout
+        volatile boolean active = true;
+
+        TransactionBinding(BasicAction transaction, EntityManager em) {
+            this.transaction = transaction;
+            this.result = new EntityManagerResult(em, false, true);
+        }
+
+        /**
+         * The completion synchronization may not have run yet when the transaction was completed by another thread, so
+         * the status of the transaction itself is checked too.
+         */
+        boolean isActive() {
+            if (!active) {
+                return false;
+            }
+            switch (transaction.status()) {
+                case ActionStatus.RUNNING:
+                case ActionStatus.ABORT_ONLY:
+                case ActionStatus.PREPARING:
+                case ActionStatus.PREPARED:
+                case ActionStatus.COMMITTING:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
+
     static class EntityManagerResult implements AutoCloseable {
 
         final EntityManager em;
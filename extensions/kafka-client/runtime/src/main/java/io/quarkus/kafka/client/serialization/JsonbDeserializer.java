@@ -3,6 +3,7 @@ package io.quarkus.kafka.client.serialization;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 import javax.json.bind.Jsonb;
@@ -42,7 +43,31 @@ public class JsonbDeserializer<T> implements Deserializer<T> {
             return null;
         }
 
-        try (InputStream is = new ByteArrayInputStream(data)) {
+        return deserialize(data, 0, data.length);
+    }
+
+    /**
+     * Deserializes the remaining bytes of a buffer, without copying them if the buffer is backed by an array.
+     *
+     * @param data the buffer, whose position is not modified
+     * @return the deserialized value, or {@code null} if the buffer is {@code null}
+     */
+    public T deserialize(ByteBuffer data) {
+        if (data == null) {
+            return null;
+        }
+
+        if (data.hasArray()) {
+            return deserialize(data.array(), data.arrayOffset() + data.position(), data.remaining());
+        }
+        byte[] bytes = new byte[data.remaining()];
+        data.duplicate().get(bytes);
+        return deserialize(bytes, 0, bytes.length);
+    }
+
+    private T deserialize(byte[] data, int offset, int length) {
+        // the stream reads the array in place
+        try (InputStream is = new ByteArrayInputStream(data, offset, length)) {
             return jsonb.fromJson(is, type);
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -1,7 +1,6 @@
 package io.quarkus.kafka.client.serialization;
 
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.util.Map;
 
 import javax.json.bind.Jsonb;
@@ -13,6 +12,13 @@ import org.apache.kafka.common.serialization.Serializer;
  */
 public class JsonbSerializer<T> implements Serializer<T> {
 
+    // larger buffers are not kept, so that a few large records do not retain memory
+    private static final int MAX_REUSED_BUFFER_SIZE = 64 * 1024;
+
+    // the buffers are reused by the serializations of a thread, so that they do not grow again for each record
+    private static final ThreadLocal<ByteArrayOutputStream> BUFFERS = ThreadLocal
+            .withInitial(() -> new ByteArrayOutputStream(1024));
+
     private final Jsonb jsonb;
     private final boolean jsonbNeedsClosing;
 
@@ -35,11 +41,15 @@ public class JsonbSerializer<T> implements Serializer<T> {
 
     @Override
     public byte[] serialize(String topic, T data) {
-        try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+        ByteArrayOutputStream output = BUFFERS.get();
+        output.reset();
+        try {
             jsonb.toJson(data, output);
             return output.toByteArray();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        } finally {
+            if (output.size() > MAX_REUSED_BUFFER_SIZE) {
+                BUFFERS.remove();
+            }
         }
     }
 
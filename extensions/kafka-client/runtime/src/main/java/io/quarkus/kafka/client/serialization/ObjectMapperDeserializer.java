@@ -1,26 +1,29 @@
 package io.quarkus.kafka.client.serialization;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 import org.apache.kafka.common.serialization.Deserializer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
+/**
+ * A {@link Deserializer} that deserializes JSON using Jackson's ObjectMapper.
+ * <p>
+ * The JSON is parsed directly from the byte arrays, with a reader created once for the type.
+ */
 public class ObjectMapperDeserializer<T> implements Deserializer<T> {
 
-    private final Class<T> type;
-    private final ObjectMapper objectMapper;
+    private final ObjectReader reader;
 
     public ObjectMapperDeserializer(Class<T> type) {
         this(type, ObjectMapperProducer.get());
     }
 
     public ObjectMapperDeserializer(Class<T> type, ObjectMapper objectMapper) {
-        this.type = type;
-        this.objectMapper = objectMapper;
+        this.reader = objectMapper.readerFor(type);
     }
 
     @Override
@@ -33,8 +36,31 @@ public class ObjectMapperDeserializer<T> implements Deserializer<T> {
             return null;
         }
 
-        try (InputStream is = new ByteArrayInputStream(data)) {
-            return objectMapper.readValue(is, type);
+        return deserialize(data, 0, data.length);
+    }
+
+    /**
+     * Deserializes the remaining bytes of a buffer, without copying them if the buffer is backed by an array.
+     *
+     * @param data the buffer, whose position is not modified
+     * @return the deserialized value, or {@code null} if the buffer is {@code null}
+     */
+    public T deserialize(ByteBuffer data) {
+        if (data == null) {
+            return null;
+        }
+
+        if (data.hasArray()) {
+            return deserialize(data.array(), data.arrayOffset() + data.position(), data.remaining());
+        }
+        byte[] bytes = new byte[data.remaining()];
+        data.duplicate().get(bytes);
+        return deserialize(bytes, 0, bytes.length);
+    }
+
+    private T deserialize(byte[] data, int offset, int length) {
+        try {
+            return reader.readValue(data, offset, length);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -2,11 +2,15 @@ package io.quarkus.kafka.client.serde;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import javax.json.bind.Jsonb;
 import javax.json.bind.JsonbBuilder;
 
 import org.junit.jupiter.api.Test;
 
+import io.quarkus.kafka.client.serialization.JsonbDeserializer;
 import io.quarkus.kafka.client.serialization.JsonbSerde;
 
 public class JsonbSerdeTest {
@@ -41,6 +45,25 @@ public class JsonbSerdeTest {
         }
     }
 
+    @Test
+    public void shouldDeserializeByteBufferSlice() {
+        JsonbDeserializer<MyEntity> deserializer = new JsonbDeserializer<>(MyEntity.class);
+        byte[] record = "__{\"id\":42,\"name\":\"Bob\"}__".getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer heap = ByteBuffer.wrap(record, 2, record.length - 4).slice();
+        MyEntity deserialized = deserializer.deserialize(heap);
+        assertThat(deserialized.id).isEqualTo(42L);
+        assertThat(deserialized.name).isEqualTo("Bob");
+        assertThat(heap.remaining()).isEqualTo(record.length - 4);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(record.length);
+        direct.put(record).position(2).limit(record.length - 2);
+        deserialized = deserializer.deserialize(direct);
+        assertThat(deserialized.id).isEqualTo(42L);
+        assertThat(deserialized.name).isEqualTo("Bob");
+        assertThat(direct.position()).isEqualTo(2);
+    }
+
     public static class MyEntity {
         public long id;
         public String name;
@@ -2,10 +2,14 @@ package io.quarkus.kafka.client.serde;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import org.junit.jupiter.api.Test;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.quarkus.kafka.client.serialization.ObjectMapperDeserializer;
 import io.quarkus.kafka.client.serialization.ObjectMapperSerde;
 
 public class ObjectMapperSerdeTest {
@@ -41,6 +45,25 @@ public class ObjectMapperSerdeTest {
         }
     }
 
+    @Test
+    public void shouldDeserializeByteBufferSlice() {
+        ObjectMapperDeserializer<MyEntity> deserializer = new ObjectMapperDeserializer<>(MyEntity.class);
+        byte[] record = "__{\"id\":42,\"name\":\"Bob\"}__".getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer heap = ByteBuffer.wrap(record, 2, record.length - 4).slice();
+        MyEntity deserialized = deserializer.deserialize(heap);
+        assertThat(deserialized.id).isEqualTo(42L);
+        assertThat(deserialized.name).isEqualTo("Bob");
+        assertThat(heap.remaining()).isEqualTo(record.length - 4);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(record.length);
+        direct.put(record).position(2).limit(record.length - 2);
+        deserialized = deserializer.deserialize(direct);
+        assertThat(deserialized.id).isEqualTo(42L);
+        assertThat(deserialized.name).isEqualTo("Bob");
+        assertThat(direct.position()).isEqualTo(2);
+    }
+
     public static class MyEntity {
         public long id;
         public String name;
@@ -29,6 +29,7 @@ import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.RuntimeReinitializedClassBuildItem;
 import io.quarkus.deployment.pkg.NativeConfig;
 import io.quarkus.kafka.streams.runtime.HotReplacementInterceptor;
+import io.quarkus.kafka.streams.runtime.KafkaStreamsQueries;
 import io.quarkus.kafka.streams.runtime.KafkaStreamsRecorder;
 import io.quarkus.kafka.streams.runtime.KafkaStreamsRuntimeConfig;
 import io.quarkus.kafka.streams.runtime.KafkaStreamsTopologyManager;
@@ -198,6 +199,11 @@ class KafkaStreamsProcessor {
         return AdditionalBeanBuildItem.unremovableOf(KafkaStreamsTopologyManager.class);
     }
 
+    @BuildStep
+    AdditionalBeanBuildItem registerQueriesBean() {
+        return new AdditionalBeanBuildItem(KafkaStreamsQueries.class);
+    }
+
     @BuildStep
     void addHealthChecks(KafkaStreamsBuildTimeConfig buildTimeConfig, BuildProducer<HealthBuildItem> healthChecks) {
         healthChecks.produce(
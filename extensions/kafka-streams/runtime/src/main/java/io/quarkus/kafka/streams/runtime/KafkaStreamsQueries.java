@@ -0,0 +1,244 @@
+package io.quarkus.kafka.streams.runtime;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+
+/**
+ * Queries the key-value state stores of the Kafka Streams pipeline started by the
+ * {@link KafkaStreamsTopologyManager}.
+ * <p>
+ * The store handles are resolved once and cached: Kafka Streams resolves the underlying local stores on each
+ * operation, so a handle remains valid across rebalances. While the pipeline is rebalancing, the operations throw an
+ * {@link InvalidStateStoreException} and the handle is resolved again by the next lookup.
+ * <p>
+ * The scans are lazy: the returned streams read the store iterators as they are consumed, and must be closed so that
+ * the iterators are closed.
+ */
+@ApplicationScoped
+public class KafkaStreamsQueries {
+
+    private static final long MIN_RETRY_DELAY_MILLIS = 10;
+    private static final long MAX_RETRY_DELAY_MILLIS = 500;
+
+    private final Map<String, ReadOnlyKeyValueStore<?, ?>> stores = new ConcurrentHashMap<>();
+
+    @Inject
+    KafkaStreamsTopologyManager manager;
+
+    /**
+     * @return {@code true} if the pipeline is running, and its stores can be queried
+     */
+    public boolean isQueryable() {
+        KafkaStreams streams = manager.getStreams();
+        return streams != null && streams.state() == KafkaStreams.State.RUNNING;
+    }
+
+    /**
+     * @param storeName the name of the store
+     * @return the handle of the store
+     * @throws InvalidStateStoreException if the store cannot be queried yet, for instance during a rebalance
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> ReadOnlyKeyValueStore<K, V> keyValueStore(String storeName) {
+        ReadOnlyKeyValueStore<?, ?> store = stores.get(storeName);
+        if (store == null) {
+            store = streams().store(storeName, QueryableStoreTypes.keyValueStore());
+            stores.put(storeName, store);
+        }
+        return (ReadOnlyKeyValueStore<K, V>) store;
+    }
+
+    /**
+     * Waits for a store to be queryable, for instance while the pipeline is starting or rebalancing.
+     *
+     * @param storeName the name of the store
+     * @param timeout the maximum time to wait
+     * @return the handle of the store
+     * @throws InvalidStateStoreException if the store is still not queryable after the timeout, or if the pipeline is
+     *         stopping or failed
+     */
+    public <K, V> ReadOnlyKeyValueStore<K, V> awaitKeyValueStore(String storeName, Duration timeout)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long delay = MIN_RETRY_DELAY_MILLIS;
+        while (true) {
+            try {
+                return keyValueStore(storeName);
+            } catch (InvalidStateStoreException e) {
+                KafkaStreams.State state = streams().state();
+                if (state != KafkaStreams.State.CREATED && !state.isRunning()) {
+                    throw new InvalidStateStoreException("Store " + storeName + " cannot be queried, the state of "
+                            + "Kafka Streams is " + state);
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw e;
+                }
+                Thread.sleep(Math.min(delay, Math.max(1, remaining / 1_000_000)));
+                delay = Math.min(delay * 2, MAX_RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * @param storeName the name of the store
+     * @param key the key
+     * @return the value associated to the key, if any
+     * @throws InvalidStateStoreException if the store cannot be queried, for instance during a rebalance
+     */
+    public <K, V> Optional<V> get(String storeName, K key) {
+        ReadOnlyKeyValueStore<K, V> store = keyValueStore(storeName);
+        try {
+            return Optional.ofNullable(store.get(key));
+        } catch (InvalidStateStoreException e) {
+            stores.remove(storeName, store);
+            throw e;
+        }
+    }
+
+    /**
+     * @param storeName the name of the store
+     * @return the approximate number of entries of the store
+     * @throws InvalidStateStoreException if the store cannot be queried, for instance during a rebalance
+     */
+    public long approximateNumEntries(String storeName) {
+        ReadOnlyKeyValueStore<?, ?> store = keyValueStore(storeName);
+        try {
+            return store.approximateNumEntries();
+        } catch (InvalidStateStoreException e) {
+            stores.remove(storeName, store);
+            throw e;
+        }
+    }
+
+    /**
+     * Scans a range of keys. The returned stream must be closed.
+     *
+     * @param storeName the name of the store
+     * @param from the first key, inclusive
+     * @param to the last key, inclusive
+     * @return the entries, read lazily from the store
+     * @throws InvalidStateStoreException if the store cannot be queried, for instance during a rebalance
+     */
+    public <K, V> Stream<KeyValue<K, V>> range(String storeName, K from, K to) {
+        ReadOnlyKeyValueStore<K, V> store = keyValueStore(storeName);
+        return stream(open(storeName, store, () -> store.range(from, to)));
+    }
+
+    /**
+     * Scans all the keys. The returned stream must be closed.
+     *
+     * @param storeName the name of the store
+     * @return the entries, read lazily from the store
+     * @throws InvalidStateStoreException if the store cannot be queried, for instance during a rebalance
+     */
+    public <K, V> Stream<KeyValue<K, V>> all(String storeName) {
+        ReadOnlyKeyValueStore<K, V> store = keyValueStore(storeName);
+        return stream(open(storeName, store, store::all));
+    }
+
+    /**
+     * Scans a range of keys, by batches of at most the given size, for instance to write them to a response in
+     * chunks. The returned stream must be closed.
+     *
+     * @param storeName the name of the store
+     * @param from the first key, inclusive
+     * @param to the last key, inclusive
+     * @param batchSize the maximum number of entries of the batches
+     * @return the batches of entries, read lazily from the store
+     * @throws InvalidStateStoreException if the store cannot be queried, for instance during a rebalance
+     */
+    public <K, V> Stream<List<KeyValue<K, V>>> rangeInBatches(String storeName, K from, K to, int batchSize) {
+        checkBatchSize(batchSize);
+        ReadOnlyKeyValueStore<K, V> store = keyValueStore(storeName);
+        return batches(open(storeName, store, () -> store.range(from, to)), batchSize);
+    }
+
+    /**
+     * Scans all the keys, by batches of at most the given size, for instance to write them to a response in chunks.
+     * The returned stream must be closed.
+     *
+     * @param storeName the name of the store
+     * @param batchSize the maximum number of entries of the batches
+     * @return the batches of entries, read lazily from the store
+     * @throws InvalidStateStoreException if the store cannot be queried, for instance during a rebalance
+     */
+    public <K, V> Stream<List<KeyValue<K, V>>> allInBatches(String storeName, int batchSize) {
+        checkBatchSize(batchSize);
+        ReadOnlyKeyValueStore<K, V> store = keyValueStore(storeName);
+        return batches(open(storeName, store, store::all), batchSize);
+    }
+
+    private KafkaStreams streams() {
+        KafkaStreams streams = manager.getStreams();
+        if (streams == null) {
+            throw new InvalidStateStoreException("Kafka Streams is not started");
+        }
+        return streams;
+    }
+
+    private <K, V> KeyValueIterator<K, V> open(String storeName, ReadOnlyKeyValueStore<K, V> store,
+            Supplier<KeyValueIterator<K, V>> scan) {
+        try {
+            return scan.get();
+        } catch (InvalidStateStoreException e) {
+            stores.remove(storeName, store);
+            throw e;
+        }
+    }
+
+    private static void checkBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+    }
+
+    private static <K, V> Stream<KeyValue<K, V>> stream(KeyValueIterator<K, V> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
+    private static <K, V> Stream<List<KeyValue<K, V>>> batches(KeyValueIterator<K, V> iterator, int batchSize) {
+        Iterator<List<KeyValue<K, V>>> batches = new Iterator<List<KeyValue<K, V>>>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public List<KeyValue<K, V>> next() {
+                if (!iterator.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<KeyValue<K, V>> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && iterator.hasNext()) {
+                    batch.add(iterator.next());
+                }
+                return batch;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+}
@@ -1,5 +1,6 @@
 package io.quarkus.logging.gelf.deployment;
 
+import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.ExecutionTime;
 import io.quarkus.deployment.annotations.Record;
@@ -7,6 +8,7 @@ import io.quarkus.deployment.builditem.FeatureBuildItem;
 import io.quarkus.deployment.builditem.LogHandlerBuildItem;
 import io.quarkus.deployment.builditem.SystemPropertyBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.RuntimeInitializedClassBuildItem;
+import io.quarkus.logging.gelf.BatchingGelfLogHandler;
 import io.quarkus.logging.gelf.GelfConfig;
 import io.quarkus.logging.gelf.GelfLogHandlerRecorder;
 
@@ -24,9 +26,10 @@ class GelfLogHandlerProcessor {
     }
 
     @BuildStep
-    RuntimeInitializedClassBuildItem nativeBuild() {
-        return new RuntimeInitializedClassBuildItem(
-                "biz.paluch.logging.gelf.jboss7.JBoss7GelfLogHandler");
+    void nativeBuild(BuildProducer<RuntimeInitializedClassBuildItem> runtimeInitializedClasses) {
+        runtimeInitializedClasses.produce(new RuntimeInitializedClassBuildItem(
+                "biz.paluch.logging.gelf.jboss7.JBoss7GelfLogHandler"));
+        runtimeInitializedClasses.produce(new RuntimeInitializedClassBuildItem(BatchingGelfLogHandler.class.getName()));
     }
 
     @BuildStep()
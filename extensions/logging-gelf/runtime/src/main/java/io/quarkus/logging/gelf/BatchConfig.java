@@ -0,0 +1,41 @@
+package io.quarkus.logging.gelf;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+/**
+ * Send the messages in batches from a background thread, instead of one by one from the logging threads.
+ * Only the UDP and TCP hosts are supported, the other hosts use the logstash-gelf senders.
+ */
+@ConfigGroup
+public class BatchConfig {
+    /**
+     * Whether to send the messages in batches from a background thread
+     */
+    @ConfigItem
+    public boolean enabled;
+
+    /**
+     * The number of messages waiting to be sent, beyond which the messages are dropped and counted
+     */
+    @ConfigItem(defaultValue = "1024")
+    public int queueSize;
+
+    /**
+     * The maximum number of messages sent in a batch
+     */
+    @ConfigItem(defaultValue = "128")
+    public int maxBatchSize;
+
+    /**
+     * Whether to compress the UDP messages with zlib. The TCP messages are never compressed.
+     */
+    @ConfigItem(defaultValue = "true")
+    public boolean compress;
+
+    /**
+     * The maximum size of a UDP packet, the larger messages are split in chunks
+     */
+    @ConfigItem(defaultValue = "8192")
+    public int maxPacketSize;
+}
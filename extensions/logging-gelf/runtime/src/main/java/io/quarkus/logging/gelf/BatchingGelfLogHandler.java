@@ -0,0 +1,29 @@
+package io.quarkus.logging.gelf;
+
+import biz.paluch.logging.gelf.intern.GelfSender;
+import biz.paluch.logging.gelf.jboss7.JBoss7GelfLogHandler;
+
+/**
+ * A GELF log handler sending the messages through a {@link GelfBatchSender}, so that the logging threads do not wait
+ * for the network.
+ */
+public class BatchingGelfLogHandler extends JBoss7GelfLogHandler {
+
+    private final String host;
+    private final int port;
+    private final BatchConfig config;
+
+    public BatchingGelfLogHandler(String host, int port, BatchConfig config) {
+        this.host = host;
+        this.port = port;
+        this.config = config;
+    }
+
+    @Override
+    protected GelfSender createGelfSender() {
+        if (!GelfBatchSender.supports(host)) {
+            return super.createGelfSender();
+        }
+        return new GelfBatchSender(host, port, config, this);
+    }
+}
@@ -0,0 +1,296 @@
+package io.quarkus.logging.gelf;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+
+import biz.paluch.logging.gelf.intern.ErrorReporter;
+import biz.paluch.logging.gelf.intern.GelfMessage;
+import biz.paluch.logging.gelf.intern.GelfSender;
+
+/**
+ * A GELF sender queuing the messages, and sending them in batches from a background thread.
+ * <p>
+ * The logging threads only offer their message to a bounded queue: when it is full, the message is dropped and counted,
+ * and the drops are reported through the error reporter at most once per second. The background thread serializes the
+ * messages and writes a whole batch at once over TCP, or a packet per message, or per chunk, over UDP. The UDP messages
+ * are compressed with a single reused {@link Deflater} and the packets are written from reused buffers.
+ */
+public class GelfBatchSender implements GelfSender {
+
+    /**
+     * The GELF chunk header: 2 magic bytes, an 8 bytes message id, the chunk number and the number of chunks.
+     */
+    private static final int CHUNK_HEADER_SIZE = 12;
+    private static final int MAX_CHUNKS = 128;
+    private static final int TCP_BUFFER_SIZE = 64 * 1024;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final long CLOSE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    private static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final String host;
+    private final int port;
+    private final boolean tcp;
+    private final int maxBatchSize;
+    private final boolean compress;
+    private final int maxPacketSize;
+    private final ErrorReporter errorReporter;
+
+    private final BlockingQueue<GelfMessage> queue;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread sender;
+    private volatile boolean closed;
+
+    // only used by the sender thread
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final Random messageIds = new Random();
+    private byte[] compressed = new byte[1024];
+    private ByteBuffer packet;
+    private ByteBuffer tcpBuffer;
+    private InetSocketAddress address;
+    private DatagramChannel datagramChannel;
+    private SocketChannel socketChannel;
+    private long reportedDropped;
+    private long lastDropReport = System.nanoTime() - DROP_REPORT_INTERVAL_NANOS;
+
+    /**
+     * @param host the host, prefixed with {@code tcp:} to send over TCP, and optionally with {@code udp:} otherwise
+     * @param port the port
+     * @param config the batch configuration
+     * @param errorReporter the reporter of the send failures and dropped messages
+     */
+    public GelfBatchSender(String host, int port, BatchConfig config, ErrorReporter errorReporter) {
+        this.tcp = host.startsWith("tcp:");
+        this.host = tcp || host.startsWith("udp:") ? host.substring(4) : host;
+        this.port = port;
+        this.maxBatchSize = Math.max(1, config.maxBatchSize);
+        this.compress = config.compress;
+        this.maxPacketSize = Math.max(CHUNK_HEADER_SIZE + 1, config.maxPacketSize);
+        this.errorReporter = errorReporter;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, config.queueSize));
+        this.sender = new Thread(this::run, "GELF log sender");
+        this.sender.setDaemon(true);
+        this.sender.start();
+    }
+
+    /**
+     * @return whether the host is sent to by this sender rather than by one of the logstash-gelf senders
+     */
+    public static boolean supports(String host) {
+        return host.startsWith("tcp:") || host.startsWith("udp:") || !host.contains(":");
+    }
+
+    /**
+     * @return the number of messages dropped because the queue was full or the send failed
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return the number of messages waiting to be sent
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    @Override
+    public boolean sendMessage(GelfMessage message) {
+        if (closed) {
+            return false;
+        }
+        if (!queue.offer(message)) {
+            // the drops are reported by the sender thread, not once per message
+            dropped.increment();
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            sender.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<GelfMessage> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                GelfMessage first;
+                try {
+                    first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    closed = true;
+                    continue;
+                }
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                    send(batch);
+                    batch.clear();
+                }
+                reportDropped();
+            }
+        } finally {
+            closeChannels();
+            deflater.end();
+        }
+    }
+
+    private void send(List<GelfMessage> batch) {
+        try {
+            if (tcp) {
+                sendTcp(batch);
+            } else {
+                sendUdp(batch);
+            }
+        } catch (IOException | RuntimeException e) {
+            dropped.add(batch.size());
+            errorReporter.reportError("Could not send " + batch.size() + " GELF messages to " + host + ":" + port, e);
+            closeChannels();
+        }
+    }
+
+    /**
+     * The messages are terminated by a null byte and written together, in as few writes as the buffer allows.
+     */
+    private void sendTcp(List<GelfMessage> batch) throws IOException {
+        if (socketChannel == null) {
+            socketChannel = SocketChannel.open(new InetSocketAddress(host, port));
+            tcpBuffer = ByteBuffer.allocate(TCP_BUFFER_SIZE);
+        }
+        for (GelfMessage message : batch) {
+            byte[] json = message.toJson().getBytes(StandardCharsets.UTF_8);
+            if (json.length + 1 > tcpBuffer.remaining()) {
+                writeTcpBuffer();
+                if (json.length + 1 > tcpBuffer.capacity()) {
+                    tcpBuffer = ByteBuffer.allocate(json.length + 1);
+                }
+            }
+            tcpBuffer.put(json).put((byte) 0);
+        }
+        writeTcpBuffer();
+        if (tcpBuffer.capacity() > TCP_BUFFER_SIZE) {
+            tcpBuffer = ByteBuffer.allocate(TCP_BUFFER_SIZE);
+        }
+    }
+
+    private void writeTcpBuffer() throws IOException {
+        tcpBuffer.flip();
+        while (tcpBuffer.hasRemaining()) {
+            socketChannel.write(tcpBuffer);
+        }
+        tcpBuffer.clear();
+    }
+
+    /**
+     * The packets are sent without connecting the channel, so that the ICMP errors of a missing server do not fail the
+     * next sends.
+     */
+    private void sendUdp(List<GelfMessage> batch) throws IOException {
+        if (datagramChannel == null) {
+            address = new InetSocketAddress(host, port);
+            if (address.isUnresolved()) {
+                throw new IOException("Unresolved host " + host);
+            }
+            datagramChannel = DatagramChannel.open();
+            packet = ByteBuffer.allocate(maxPacketSize);
+        }
+        for (GelfMessage message : batch) {
+            byte[] json = message.toJson().getBytes(StandardCharsets.UTF_8);
+            byte[] payload = json;
+            int length = json.length;
+            if (compress) {
+                length = deflate(json);
+                payload = compressed;
+            }
+            if (length <= maxPacketSize) {
+                packet.clear();
+                packet.put(payload, 0, length).flip();
+                datagramChannel.send(packet, address);
+            } else {
+                sendChunks(payload, length);
+            }
+        }
+    }
+
+    private void sendChunks(byte[] payload, int length) throws IOException {
+        int chunkSize = maxPacketSize - CHUNK_HEADER_SIZE;
+        int chunks = (length + chunkSize - 1) / chunkSize;
+        if (chunks > MAX_CHUNKS) {
+            dropped.increment();
+            errorReporter.reportError("GELF message of " + length + " bytes needs more than " + MAX_CHUNKS
+                    + " chunks, it is dropped", null);
+            return;
+        }
+        long messageId = messageIds.nextLong();
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int offset = chunk * chunkSize;
+            packet.clear();
+            packet.put((byte) 0x1e).put((byte) 0x0f).putLong(messageId).put((byte) chunk).put((byte) chunks);
+            packet.put(payload, offset, Math.min(chunkSize, length - offset)).flip();
+            datagramChannel.send(packet, address);
+        }
+    }
+
+    /**
+     * @return the length of the message compressed in {@link #compressed}
+     */
+    private int deflate(byte[] json) {
+        deflater.reset();
+        deflater.setInput(json);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                byte[] larger = new byte[compressed.length * 2];
+                System.arraycopy(compressed, 0, larger, 0, length);
+                compressed = larger;
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        return length;
+    }
+
+    private void reportDropped() {
+        long total = dropped.sum();
+        long now = System.nanoTime();
+        if (total != reportedDropped && now - lastDropReport >= DROP_REPORT_INTERVAL_NANOS) {
+            errorReporter.reportError("Dropped " + (total - reportedDropped) + " GELF messages, " + total + " in total",
+                    null);
+            reportedDropped = total;
+            lastDropReport = now;
+        }
+    }
+
+    private void closeChannels() {
+        try {
+            if (socketChannel != null) {
+                socketChannel.close();
+            }
+            if (datagramChannel != null) {
+                datagramChannel.close();
+            }
+        } catch (IOException e) {
+            errorReporter.reportError("Could not close the GELF channel", e);
+        } finally {
+            socketChannel = null;
+            datagramChannel = null;
+        }
+    }
+}
@@ -98,4 +98,10 @@ public class GelfConfig {
      */
     @ConfigItem(defaultValue = "false")
     public boolean includeFullMdc;
+
+    /**
+     * Batch sending configuration
+     */
+    @ConfigItem
+    public BatchConfig batch;
 }
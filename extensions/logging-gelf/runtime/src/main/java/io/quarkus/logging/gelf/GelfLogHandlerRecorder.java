@@ -15,7 +15,9 @@ public class GelfLogHandlerRecorder {
             return new RuntimeValue<>(Optional.empty());
         }
 
-        final JBoss7GelfLogHandler handler = new JBoss7GelfLogHandler();
+        final JBoss7GelfLogHandler handler = config.batch.enabled
+                ? new BatchingGelfLogHandler(config.host, config.port, config.batch)
+                : new JBoss7GelfLogHandler();
         handler.setVersion(config.version);
         handler.setFacility(config.facility);
         String extractStackTrace = String.valueOf(config.extractStackTrace);
@@ -0,0 +1,229 @@
+package io.quarkus.logging.gelf;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.junit.jupiter.api.Test;
+
+import biz.paluch.logging.gelf.intern.GelfMessage;
+
+public class GelfBatchSenderTest {
+
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testTcpBatchIsNullTerminated() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            CompletableFuture<byte[]> received = CompletableFuture.supplyAsync(() -> readAll(server));
+            GelfBatchSender sender = new GelfBatchSender("tcp:localhost", server.getLocalPort(), config(16, 4, false, 8192),
+                    (message, e) -> errors.add(message));
+            List<GelfMessage> messages = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                GelfMessage message = message("message " + i);
+                messages.add(message);
+                assertTrue(sender.sendMessage(message));
+            }
+            sender.close();
+
+            byte[] bytes = received.get(10, TimeUnit.SECONDS);
+            assertEquals(0, bytes[bytes.length - 1]);
+            String[] jsons = new String(bytes, 0, bytes.length - 1, StandardCharsets.UTF_8).split("\0", -1);
+            assertEquals(messages.size(), jsons.length);
+            for (int i = 0; i < jsons.length; i++) {
+                assertEquals(messages.get(i).toJson(), jsons[i]);
+            }
+            assertEquals(0, sender.getDroppedCount());
+            assertEquals(Arrays.asList(), errors);
+        }
+    }
+
+    @Test
+    public void testLargeUdpMessageIsChunked() throws Exception {
+        try (DatagramSocket server = new DatagramSocket(0, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout(5000);
+            int maxPacketSize = 100;
+            GelfBatchSender sender = new GelfBatchSender("udp:localhost", server.getLocalPort(),
+                    config(16, 16, false, maxPacketSize), (message, e) -> errors.add(message));
+            char[] text = new char[1000];
+            Arrays.fill(text, 'x');
+            GelfMessage message = message(new String(text));
+            byte[] json = message.toJson().getBytes(StandardCharsets.UTF_8);
+            int chunkSize = maxPacketSize - 12;
+            int chunks = (json.length + chunkSize - 1) / chunkSize;
+
+            sender.sendMessage(message);
+
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            long messageId = 0;
+            for (int i = 0; i < chunks; i++) {
+                DatagramPacket packet = new DatagramPacket(new byte[maxPacketSize * 2], maxPacketSize * 2);
+                server.receive(packet);
+                assertTrue(packet.getLength() <= maxPacketSize);
+                ByteBuffer chunk = ByteBuffer.wrap(packet.getData(), 0, packet.getLength());
+                assertEquals(0x1e, chunk.get());
+                assertEquals(0x0f, chunk.get());
+                if (i == 0) {
+                    messageId = chunk.getLong();
+                } else {
+                    assertEquals(messageId, chunk.getLong());
+                }
+                assertEquals(i, chunk.get());
+                assertEquals(chunks, chunk.get());
+                payload.write(packet.getData(), chunk.position(), chunk.remaining());
+            }
+            assertArrayEquals(json, payload.toByteArray());
+
+            sender.close();
+            assertEquals(0, sender.getDroppedCount());
+            assertEquals(Arrays.asList(), errors);
+        }
+    }
+
+    @Test
+    public void testUdpMessageIsCompressed() throws Exception {
+        try (DatagramSocket server = new DatagramSocket(0, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout(5000);
+            GelfBatchSender sender = new GelfBatchSender("localhost", server.getLocalPort(), config(16, 16, true, 8192),
+                    (message, e) -> errors.add(message));
+            GelfMessage message = message("compressed");
+
+            sender.sendMessage(message);
+
+            DatagramPacket packet = new DatagramPacket(new byte[8192], 8192);
+            server.receive(packet);
+            assertEquals(message.toJson(), inflate(packet.getData(), packet.getLength()));
+            sender.close();
+        }
+    }
+
+    @Test
+    public void testMessagesAreDroppedWhenTheQueueIsFull() throws Exception {
+        int closedPort;
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            closedPort = server.getLocalPort();
+        }
+        CountDownLatch failing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GelfBatchSender sender = new GelfBatchSender("tcp:localhost", closedPort, config(1, 16, false, 8192),
+                (message, e) -> {
+                    errors.add(message);
+                    failing.countDown();
+                    try {
+                        // blocks the sender thread, so that the queue fills up
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+
+        sender.sendMessage(message("refused"));
+        assertTrue(failing.await(5, TimeUnit.SECONDS));
+        assertEquals(1, sender.getDroppedCount());
+
+        assertTrue(sender.sendMessage(message("queued")));
+        assertTrue(sender.sendMessage(message("dropped")));
+        assertTrue(sender.sendMessage(message("dropped")));
+        assertEquals(1, sender.getPendingCount());
+        assertEquals(3, sender.getDroppedCount());
+
+        release.countDown();
+        sender.close();
+        // the queued message was sent, and refused, before the sender thread stopped
+        assertEquals(0, sender.getPendingCount());
+        assertEquals(4, sender.getDroppedCount());
+        assertTrue(errors.stream().anyMatch(error -> error.startsWith("Dropped ")), errors.toString());
+    }
+
+    @Test
+    public void testCloseDrainsTheQueue() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            CompletableFuture<byte[]> received = CompletableFuture.supplyAsync(() -> readAll(server));
+            int count = 2000;
+            GelfBatchSender sender = new GelfBatchSender("tcp:localhost", server.getLocalPort(),
+                    config(count, 10, false, 8192), (message, e) -> errors.add(message));
+            for (int i = 0; i < count; i++) {
+                sender.sendMessage(message("message " + i));
+            }
+            sender.close();
+            assertFalse(sender.sendMessage(message("after close")));
+
+            byte[] bytes = received.get(10, TimeUnit.SECONDS);
+            int terminators = 0;
+            for (byte b : bytes) {
+                if (b == 0) {
+                    terminators++;
+                }
+            }
+            assertEquals(count, terminators);
+            assertEquals(0, sender.getPendingCount());
+            assertEquals(0, sender.getDroppedCount());
+        }
+    }
+
+    private static BatchConfig config(int queueSize, int maxBatchSize, boolean compress, int maxPacketSize) {
+        BatchConfig config = new BatchConfig();
+        config.enabled = true;
+        config.queueSize = queueSize;
+        config.maxBatchSize = maxBatchSize;
+        config.compress = compress;
+        config.maxPacketSize = maxPacketSize;
+        return config;
+    }
+
+    private static GelfMessage message(String text) {
+        GelfMessage message = new GelfMessage(text, null, 1_577_836_800_000L, "6");
+        message.setHost("test-host");
+        return message;
+    }
+
+    /**
+     * Reads the first connection to the server until the sender closes it.
+     */
+    private static byte[] readAll(ServerSocket server) {
+        try (Socket socket = server.accept(); InputStream in = socket.getInputStream()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String inflate(byte[] data, int length) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        inflater.setInput(data, 0, length);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        while (!inflater.finished()) {
+            out.write(buffer, 0, inflater.inflate(buffer));
+        }
+        inflater.end();
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
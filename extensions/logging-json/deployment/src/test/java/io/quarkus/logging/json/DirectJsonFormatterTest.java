@@ -0,0 +1,137 @@
+package io.quarkus.logging.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.MDC;
+import org.jboss.logmanager.formatters.JsonFormatter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.logging.json.runtime.DirectJsonFormatter;
+
+public class DirectJsonFormatterTest {
+
+    @AfterEach
+    public void clearMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    public void testSameOutputAsJsonFormatter() {
+        assertSameOutput(new JsonFormatter(), record(Level.INFO, "Hello %s", "world"));
+    }
+
+    @Test
+    public void testSpecialCharactersAreEscapedLikeJsonFormatter() {
+        assertSameOutput(new JsonFormatter(),
+                record(Level.WARNING, "\"quoted\" back\\slash\ttab\nline\r\b\f\u0001\u001f café 😀 </tag>"));
+    }
+
+    @Test
+    public void testMdcIsWrittenLikeJsonFormatter() {
+        MDC.put("requestId", "42");
+        MDC.put("user", "a \"user\"");
+        assertSameOutput(new JsonFormatter(), record(Level.FINE, "With MDC"));
+    }
+
+    @Test
+    public void testCustomConfigurationIsAppliedLikeJsonFormatter() {
+        JsonFormatter jsonFormatter = new JsonFormatter();
+        jsonFormatter.setDateFormat("d MMM uuuu HH:mm:ss.SSS");
+        jsonFormatter.setZoneId("UTC+05:00");
+        jsonFormatter.setRecordDelimiter("\n;");
+        jsonFormatter.setPrintDetails(true);
+        ExtLogRecord record = record(Level.SEVERE, "Details");
+        record.setNdc("ndc");
+        record.setHostName("host");
+        record.setProcessName("process");
+        record.setProcessId(1234);
+        record.setSourceClassName(DirectJsonFormatterTest.class.getName());
+        record.setSourceMethodName("testCustomConfigurationIsAppliedLikeJsonFormatter");
+        record.setSourceFileName("DirectJsonFormatterTest.java");
+        record.setSourceLineNumber(64);
+        assertSameOutput(jsonFormatter, record);
+    }
+
+    @Test
+    public void testNullValuesAreWrittenLikeJsonFormatter() {
+        ExtLogRecord record = new ExtLogRecord(Level.INFO, null, null);
+        record.setLoggerName(null);
+        assertSameOutput(new JsonFormatter(), record);
+    }
+
+    @Test
+    public void testRecordWithExceptionIsFormattedByJsonFormatter() {
+        ExtLogRecord record = record(Level.SEVERE, "Failed");
+        record.setThrown(new IllegalStateException("failure"));
+        assertSameOutput(new JsonFormatter(), record);
+    }
+
+    @Test
+    public void testParameterLoggingOnTheSameThread() {
+        JsonFormatter jsonFormatter = new JsonFormatter();
+        List<String> published = new ArrayList<>();
+        ExtHandler handler = new ExtHandler() {
+            @Override
+            protected void doPublish(ExtLogRecord record) {
+                published.add(getFormatter().format(record));
+            }
+        };
+        handler.setFormatter(new DirectJsonFormatter(jsonFormatter));
+        ExtLogRecord nested = record(Level.INFO, "Nested %s", "record");
+        AtomicBoolean logged = new AtomicBoolean();
+        Object parameter = new Object() {
+            @Override
+            public String toString() {
+                if (logged.compareAndSet(false, true)) {
+                    handler.publish(nested);
+                }
+                return "parameter";
+            }
+        };
+        ExtLogRecord outer = record(Level.INFO, "Outer %s", parameter);
+
+        handler.publish(outer);
+        assertThat(published).containsExactly(jsonFormatter.format(nested), jsonFormatter.format(outer));
+    }
+
+    @Test
+    public void testFailingParameterDoesNotCorruptTheNextRecord() {
+        JsonFormatter jsonFormatter = new JsonFormatter();
+        DirectJsonFormatter directFormatter = new DirectJsonFormatter(jsonFormatter);
+        Object parameter = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("failure");
+            }
+        };
+        ExtLogRecord failing = record(Level.INFO, "Failing %s", parameter);
+        assertThatThrownBy(() -> directFormatter.format(failing)).isInstanceOf(IllegalStateException.class);
+
+        ExtLogRecord record = record(Level.INFO, "Next");
+        assertThat(directFormatter.format(record)).isEqualTo(jsonFormatter.format(record));
+    }
+
+    private static ExtLogRecord record(Level level, String message, Object... parameters) {
+        ExtLogRecord record = new ExtLogRecord(level, message, ExtLogRecord.FormatStyle.PRINTF,
+                DirectJsonFormatterTest.class.getName());
+        record.setLoggerName("io.quarkus.logging.json.test");
+        record.setParameters(parameters);
+        return record;
+    }
+
+    private static void assertSameOutput(JsonFormatter jsonFormatter, ExtLogRecord record) {
+        DirectJsonFormatter directFormatter = new DirectJsonFormatter(jsonFormatter);
+        String expected = jsonFormatter.format(record);
+        assertThat(directFormatter.format(record)).isEqualTo(expected);
+        assertThat(directFormatter.format(record)).isEqualTo(expected);
+    }
+}
@@ -18,6 +18,7 @@ import org.jboss.logmanager.handlers.DelayedHandler;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
+import io.quarkus.logging.json.runtime.DirectJsonFormatter;
 import io.quarkus.runtime.logging.InitialConfigurator;
 import io.quarkus.test.QuarkusUnitTest;
 
@@ -29,6 +30,7 @@ public class JsonFormatterDefaultConfigTest {
 
     @Test
     public void jsonFormatterDefaultConfigurationTest() {
+        assertThat(getFormatter()).isInstanceOf(DirectJsonFormatter.class);
         JsonFormatter jsonFormatter = getJsonFormatter();
         assertThat(jsonFormatter.isPrettyPrint()).isFalse();
         assertThat(jsonFormatter.getDateTimeFormatter().toString())
@@ -40,6 +42,15 @@ public class JsonFormatterDefaultConfigTest {
     }
 
     public static JsonFormatter getJsonFormatter() {
+        Formatter formatter = getFormatter();
+        if (formatter instanceof DirectJsonFormatter) {
+            return ((DirectJsonFormatter) formatter).getJsonFormatter();
+        }
+        assertThat(formatter).isInstanceOf(JsonFormatter.class);
+        return (JsonFormatter) formatter;
+    }
+
+    public static Formatter getFormatter() {
         LogManager logManager = LogManager.getLogManager();
         assertThat(logManager).isInstanceOf(org.jboss.logmanager.LogManager.class);
 
@@ -53,8 +64,6 @@ public class JsonFormatterDefaultConfigTest {
         assertThat(handler).isNotNull();
         assertThat(handler.getLevel()).isEqualTo(Level.WARNING);
 
-        Formatter formatter = handler.getFormatter();
-        assertThat(formatter).isInstanceOf(JsonFormatter.class);
-        return (JsonFormatter) formatter;
+        return handler.getFormatter();
     }
 }
@@ -0,0 +1,301 @@
+package io.quarkus.logging.json.runtime;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import org.jboss.logmanager.ExtFormatter;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.formatters.JsonFormatter;
+import org.jboss.logmanager.formatters.StructuredFormatter.Key;
+
+/**
+ * A JSON formatter producing the same output as a compact {@link JsonFormatter}, without going through a JSON generator.
+ * <p>
+ * The records are written to a per-thread buffer reused from one record to the next, or to a new buffer when a record is
+ * formatted while another one is written on the same thread, with the keys, levels and logger names written as
+ * precomputed JSON fragments, so that formatting a record mostly allocates the returned string. The
+ * timestamp is formatted once per thread and millisecond, and the MDC is only written entry by entry when it is not
+ * empty.
+ * <p>
+ * The records with an exception are formatted by the wrapped {@link JsonFormatter}, which must be configured before
+ * being wrapped.
+ */
+public final class DirectJsonFormatter extends ExtFormatter {
+
+    /**
+     * Buffers grown beyond this capacity by a large record are not kept for the next records of their thread.
+     */
+    private static final int MAX_BUFFER_CAPACITY = 16 * 1024;
+    private static final int MAX_CACHED_NAMES = 1024;
+
+    private static final String TIMESTAMP = "{\"" + Key.TIMESTAMP.getKey() + "\":";
+    private static final String SEQUENCE = prefix(Key.SEQUENCE);
+    private static final String LOGGER_CLASS_NAME = prefix(Key.LOGGER_CLASS_NAME);
+    private static final String LOGGER_NAME = prefix(Key.LOGGER_NAME);
+    private static final String LEVEL = prefix(Key.LEVEL);
+    private static final String MESSAGE = prefix(Key.MESSAGE);
+    private static final String THREAD_NAME = prefix(Key.THREAD_NAME);
+    private static final String THREAD_ID = prefix(Key.THREAD_ID);
+    private static final String MDC = prefix(Key.MDC);
+    private static final String NDC = prefix(Key.NDC);
+    private static final String HOST_NAME = prefix(Key.HOST_NAME);
+    private static final String PROCESS_NAME = prefix(Key.PROCESS_NAME);
+    private static final String PROCESS_ID = prefix(Key.PROCESS_ID);
+    private static final String SOURCE_CLASS_NAME = prefix(Key.SOURCE_CLASS_NAME);
+    private static final String SOURCE_FILE_NAME = prefix(Key.SOURCE_FILE_NAME);
+    private static final String SOURCE_METHOD_NAME = prefix(Key.SOURCE_METHOD_NAME);
+    private static final String SOURCE_LINE_NUMBER = prefix(Key.SOURCE_LINE_NUMBER);
+    private static final String SOURCE_MODULE_NAME = prefix(Key.SOURCE_MODULE_NAME);
+    private static final String SOURCE_MODULE_VERSION = prefix(Key.SOURCE_MODULE_VERSION);
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final JsonFormatter delegate;
+    private final DateTimeFormatter dateTimeFormatter;
+    private final String recordDelimiter;
+    private final boolean printDetails;
+
+    private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+    private final Map<Level, String> levels = new ConcurrentHashMap<>();
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate the configured formatter to format the records with an exception, it must not pretty print
+     */
+    public DirectJsonFormatter(JsonFormatter delegate) {
+        if (delegate.isPrettyPrint()) {
+            throw new IllegalArgumentException("The JSON formatter must not pretty print");
+        }
+        this.delegate = delegate;
+        this.dateTimeFormatter = delegate.getDateTimeFormatter();
+        this.recordDelimiter = delegate.getRecordDelimiter();
+        this.printDetails = delegate.isPrintDetails();
+    }
+
+    /**
+     * @return the formatter of the records with an exception, holding the configuration of this formatter
+     */
+    public JsonFormatter getJsonFormatter() {
+        return delegate;
+    }
+
+    @Override
+    public boolean isCallerCalculationRequired() {
+        return printDetails;
+    }
+
+    @Override
+    public String format(ExtLogRecord record) {
+        if (record.getThrown() != null) {
+            return delegate.format(record);
+        }
+        // the message and the MDC run application code, which may log and format a record on this thread, so they are
+        // computed before the buffer of the thread is used
+        String message = formatMessage(record);
+        Map<String, String> mdc = record.getMdcCopy();
+        Buffer buffer = buffers.get();
+        StringBuilder out = buffer.acquire();
+        try {
+            write(out, record, buffer.timestamp(record.getMillis()), message, mdc);
+            return out.toString();
+        } finally {
+            buffer.release(out);
+        }
+    }
+
+    private void write(StringBuilder out, ExtLogRecord record, String timestamp, String message,
+            Map<String, String> mdc) {
+        out.append(TIMESTAMP).append(timestamp);
+        out.append(SEQUENCE).append(record.getSequenceNumber());
+        out.append(LOGGER_CLASS_NAME).append(name(record.getLoggerClassName()));
+        out.append(LOGGER_NAME).append(name(record.getLoggerName()));
+        out.append(LEVEL).append(level(record.getLevel()));
+        out.append(MESSAGE);
+        string(out, message);
+        out.append(THREAD_NAME);
+        string(out, record.getThreadName());
+        out.append(THREAD_ID).append(record.getThreadID());
+        out.append(MDC);
+        mdc(out, mdc);
+        out.append(NDC);
+        string(out, record.getNdc());
+        String hostName = record.getHostName();
+        if (hostName != null && !hostName.isEmpty()) {
+            out.append(HOST_NAME);
+            string(out, hostName);
+        }
+        String processName = record.getProcessName();
+        if (processName != null && !processName.isEmpty()) {
+            out.append(PROCESS_NAME);
+            string(out, processName);
+        }
+        long processId = record.getProcessId();
+        if (processId >= 0) {
+            out.append(PROCESS_ID).append(processId);
+        }
+        if (printDetails) {
+            out.append(SOURCE_CLASS_NAME).append(name(record.getSourceClassName()));
+            out.append(SOURCE_FILE_NAME);
+            string(out, record.getSourceFileName());
+            out.append(SOURCE_METHOD_NAME);
+            string(out, record.getSourceMethodName());
+            out.append(SOURCE_LINE_NUMBER).append(record.getSourceLineNumber());
+            out.append(SOURCE_MODULE_NAME);
+            string(out, record.getSourceModuleName());
+            out.append(SOURCE_MODULE_VERSION);
+            string(out, record.getSourceModuleVersion());
+        }
+        out.append('}');
+        if (recordDelimiter != null) {
+            out.append(recordDelimiter);
+        }
+    }
+
+    private String level(Level level) {
+        String json = levels.get(level);
+        if (json == null) {
+            json = quote(level.getName());
+            levels.putIfAbsent(level, json);
+        }
+        return json;
+    }
+
+    /**
+     * @return the JSON string of a logger or class name, cached as there are usually few of them
+     */
+    private String name(String name) {
+        if (name == null) {
+            return "null";
+        }
+        String json = names.get(name);
+        if (json == null) {
+            json = quote(name);
+            if (names.size() < MAX_CACHED_NAMES) {
+                names.putIfAbsent(name, json);
+            }
+        }
+        return json;
+    }
+
+    private static void mdc(StringBuilder out, Map<String, String> mdc) {
+        out.append('{');
+        if (!mdc.isEmpty()) {
+            boolean first = true;
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                string(out, entry.getKey());
+                out.append(':');
+                string(out, entry.getValue());
+            }
+        }
+        out.append('}');
+    }
+
+    private static String prefix(Key key) {
+        return ",\"" + key.getKey() + "\":";
+    }
+
+    private static String quote(String value) {
+        StringBuilder out = new StringBuilder(value.length() + 2);
+        string(out, value);
+        return out.toString();
+    }
+
+    /**
+     * Writes a JSON string, escaped like the JSON-P generator of the {@link JsonFormatter} does.
+     */
+    private static void string(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            out.append(value, start, i);
+            start = i + 1;
+            switch (c) {
+                case '"':
+                case '\\':
+                    out.append('\\').append(c);
+                    break;
+                case '\b':
+                    out.append("\\b");
+                    break;
+                case '\f':
+                    out.append("\\f");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    out.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+            }
+        }
+        out.append(value, start, length);
+        out.append('"');
+    }
+
+    private final class Buffer {
+
+        private StringBuilder out = new StringBuilder(512);
+        private boolean inUse;
+        private long millis = Long.MIN_VALUE;
+        private String timestamp;
+
+        /**
+         * @return the JSON string of the timestamp, formatted again only when the millisecond changes
+         */
+        String timestamp(long millis) {
+            if (millis != this.millis || timestamp == null) {
+                timestamp = quote(dateTimeFormatter.format(Instant.ofEpochMilli(millis)));
+                this.millis = millis;
+            }
+            return timestamp;
+        }
+
+        /**
+         * @return the empty buffer of the thread, or a new one if a record is already being written to it
+         */
+        StringBuilder acquire() {
+            if (inUse) {
+                return new StringBuilder(512);
+            }
+            inUse = true;
+            out.setLength(0);
+            return out;
+        }
+
+        /**
+         * Resets the buffer of the thread for the next record, if it was the one acquired.
+         */
+        void release(StringBuilder acquired) {
+            if (acquired != out) {
+                return;
+            }
+            if (out.capacity() > MAX_BUFFER_CAPACITY) {
+                out = new StringBuilder(512);
+            } else {
+                out.setLength(0);
+            }
+            inUse = false;
+        }
+    }
+}
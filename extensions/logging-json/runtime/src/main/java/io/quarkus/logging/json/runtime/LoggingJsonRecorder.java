@@ -27,6 +27,9 @@ public class LoggingJsonRecorder {
         if (!zoneId.equals("default")) {
             formatter.setZoneId(zoneId);
         }
-        return new RuntimeValue<>(Optional.of(formatter));
+        if (config.prettyPrint) {
+            return new RuntimeValue<>(Optional.of(formatter));
+        }
+        return new RuntimeValue<>(Optional.of(new DirectJsonFormatter(formatter)));
     }
 }
@@ -0,0 +1,25 @@
+package io.quarkus.mongodb;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+
+/**
+ * Processes the batches of changes delivered by a {@link ChangeStreamConsumer}. It is typically implemented by an
+ * application scoped bean.
+ *
+ * @param <D> the type of the changed documents
+ */
+@FunctionalInterface
+public interface ChangeStreamBatchHandler<D> {
+
+    /**
+     * Processes a batch of changes. The next batch is only delivered once the returned stage completes, and the
+     * consumer stops if it fails.
+     *
+     * @param batch the changes, in the order of the change stream, never empty
+     * @return a stage completed when the batch is processed, never {@code null}
+     */
+    CompletionStage<Void> handle(List<ChangeStreamDocument<D>> batch);
+}
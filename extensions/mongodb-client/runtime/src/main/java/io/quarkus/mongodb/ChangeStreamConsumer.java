@@ -0,0 +1,443 @@
+package io.quarkus.mongodb;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.reactivestreams.client.ChangeStreamPublisher;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Consumes a change stream in batches, without buffering more than a few batches, and periodically stores the resume
+ * token of the last processed change so that a restarted consumer resumes after it.
+ * <p>
+ * The batches are delivered one at a time to a {@link ChangeStreamBatchHandler}. A batch is delivered once it is full,
+ * or once its first change waited for the maximum batch wait. While a batch is processed, the changes of at most
+ * {@code maxBufferedBatches} other batches are requested from the server, so the memory used does not depend on the
+ * rate of the changes.
+ * <p>
+ * The changes are delivered at least once: the batches buffered when the consumer stops, or processed since the last
+ * stored resume token when it crashes, are delivered again after a restart.
+ *
+ * <pre>
+ * ChangeStreamConsumer.of(orders)
+ *         .batchSize(500)
+ *         .resumeTokens("orders-export", new MongoResumeTokenStore(tokens))
+ *         .start(batch -&gt; exporter.export(batch));
+ * </pre>
+ *
+ * @param <D> the type of the changed documents
+ */
+public final class ChangeStreamConsumer<D> {
+
+    private final Source<D> source;
+    private int batchSize = 100;
+    private long maxBatchWait = 1000;
+    private TimeUnit maxBatchWaitUnit = TimeUnit.MILLISECONDS;
+    private int maxBufferedBatches = 2;
+    private String name;
+    private ResumeTokenStore tokenStore;
+    private int storeInterval = 1;
+    private volatile BatchingSubscriber subscriber;
+
+    ChangeStreamConsumer(Source<D> source) {
+        this.source = source;
+    }
+
+    /**
+     * Creates a consumer of all the changes of a collection.
+     *
+     * @param collection the collection
+     * @return the consumer
+     */
+    public static ChangeStreamConsumer<Document> of(ReactiveMongoCollection<?> collection) {
+        return of(collection, Collections.emptyList(), Document.class, null);
+    }
+
+    /**
+     * Creates a consumer of the changes of a collection.
+     *
+     * @param collection the collection
+     * @param pipeline the aggregation pipeline to apply to the change stream
+     * @param clazz the class to decode each document into
+     * @param options the change stream options, may be {@code null}
+     * @param <D> the type of the changed documents
+     * @return the consumer
+     */
+    public static <D> ChangeStreamConsumer<D> of(ReactiveMongoCollection<?> collection, List<? extends Bson> pipeline,
+            Class<D> clazz, ChangeStreamOptions options) {
+        return new ChangeStreamConsumer<>((resumeToken, batchSize) -> {
+            // the server returns at most a batch at a time, unless the options say otherwise
+            ChangeStreamPublisher<D> publisher = collection.watchAsPublisher(pipeline, clazz).batchSize(batchSize);
+            if (options != null) {
+                publisher = options.apply(publisher);
+            }
+            if (resumeToken != null) {
+                publisher = publisher.resumeAfter(resumeToken);
+            }
+            return publisher;
+        });
+    }
+
+    /**
+     * Sets the maximum number of changes of a batch. Defaults to 100.
+     *
+     * @param batchSize the maximum number of changes of a batch
+     * @return this
+     */
+    public ChangeStreamConsumer<D> batchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Sets how long a change waits for its batch to be full before the batch is delivered anyway. Defaults to one second.
+     *
+     * @param maxBatchWait the maximum wait
+     * @param timeUnit the time unit
+     * @return this
+     */
+    public ChangeStreamConsumer<D> maxBatchWait(long maxBatchWait, TimeUnit timeUnit) {
+        if (maxBatchWait < 1) {
+            throw new IllegalArgumentException("The maximum batch wait must be positive: " + maxBatchWait);
+        }
+        this.maxBatchWait = maxBatchWait;
+        this.maxBatchWaitUnit = timeUnit;
+        return this;
+    }
+
+    /**
+     * Sets how many batches may be buffered while a batch is processed. Defaults to 2.
+     *
+     * @param maxBufferedBatches the maximum number of buffered batches
+     * @return this
+     */
+    public ChangeStreamConsumer<D> maxBufferedBatches(int maxBufferedBatches) {
+        if (maxBufferedBatches < 1) {
+            throw new IllegalArgumentException("The maximum number of buffered batches must be positive: "
+                    + maxBufferedBatches);
+        }
+        this.maxBufferedBatches = maxBufferedBatches;
+        return this;
+    }
+
+    /**
+     * Stores the resume token of the last processed change after each batch, and resumes after the stored token when
+     * started.
+     *
+     * @param name the name of the consumer, under which its token is stored
+     * @param tokenStore the store
+     * @return this
+     */
+    public ChangeStreamConsumer<D> resumeTokens(String name, ResumeTokenStore tokenStore) {
+        return resumeTokens(name, tokenStore, 1);
+    }
+
+    /**
+     * Stores the resume token of the last processed change every given number of batches, and when stopped, and
+     * resumes after the stored token when started.
+     *
+     * @param name the name of the consumer, under which its token is stored
+     * @param tokenStore the store
+     * @param storeInterval the number of batches processed between two stores
+     * @return this
+     */
+    public ChangeStreamConsumer<D> resumeTokens(String name, ResumeTokenStore tokenStore, int storeInterval) {
+        if (storeInterval < 1) {
+            throw new IllegalArgumentException("The store interval must be positive: " + storeInterval);
+        }
+        this.name = name;
+        this.tokenStore = tokenStore;
+        this.storeInterval = storeInterval;
+        return this;
+    }
+
+    /**
+     * Starts consuming the changes. The handler is called on the threads of the driver, so it must not block them but
+     * return a stage completed once the batch is processed.
+     *
+     * @param handler the handler of the batches
+     * @return a stage completed once the consumer is stopped and its last token stored, or failed with the first
+     *         failure of the change stream, the handler or the token store
+     */
+    public CompletionStage<Void> start(ChangeStreamBatchHandler<D> handler) {
+        BatchingSubscriber batchingSubscriber;
+        synchronized (this) {
+            if (subscriber != null) {
+                throw new IllegalStateException("The change stream consumer was already started");
+            }
+            batchingSubscriber = new BatchingSubscriber(handler);
+            subscriber = batchingSubscriber;
+        }
+        CompletionStage<Optional<BsonDocument>> resumeToken = tokenStore == null
+                ? CompletableFuture.completedFuture(Optional.empty())
+                : tokenStore.load(name);
+        resumeToken.whenComplete((token, failure) -> {
+            if (failure != null) {
+                batchingSubscriber.fail(failure);
+            } else {
+                source.open(token.orElse(null), batchSize).subscribe(batchingSubscriber);
+            }
+        });
+        return batchingSubscriber.completion;
+    }
+
+    /**
+     * Stops consuming the changes. The batch being processed completes, the buffered ones are dropped.
+     */
+    public void stop() {
+        BatchingSubscriber batchingSubscriber = subscriber;
+        if (batchingSubscriber != null) {
+            batchingSubscriber.stop();
+        }
+    }
+
+    interface Source<D> {
+
+        /**
+         * @param resumeToken the token to resume after, or {@code null} to start with the next change
+         * @param batchSize the batch size of the consumer
+         * @return the change stream
+         */
+        Publisher<ChangeStreamDocument<D>> open(BsonDocument resumeToken, int batchSize);
+    }
+
+    private final class BatchingSubscriber implements Subscriber<ChangeStreamDocument<D>> {
+
+        private final ChangeStreamBatchHandler<D> handler;
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private final Deque<List<ChangeStreamDocument<D>>> ready = new ArrayDeque<>();
+        private List<ChangeStreamDocument<D>> current = new ArrayList<>();
+        private Subscription subscription;
+        private Disposable timer;
+        private boolean handling;
+        private boolean completed;
+        private boolean stopped;
+        private BsonDocument lastToken;
+        private BsonDocument storedToken;
+        private int unstoredBatches;
+
+        BatchingSubscriber(ChangeStreamBatchHandler<D> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            synchronized (this) {
+                if (stopped) {
+                    subscription.cancel();
+                    return;
+                }
+                this.subscription = subscription;
+            }
+            subscription.request((long) batchSize * (maxBufferedBatches + 1));
+        }
+
+        @Override
+        public void onNext(ChangeStreamDocument<D> change) {
+            synchronized (this) {
+                if (stopped) {
+                    return;
+                }
+                current.add(change);
+                if (current.size() >= batchSize) {
+                    seal();
+                } else if (current.size() == 1) {
+                    timer = Schedulers.computation().scheduleDirect(this::onMaxBatchWait, maxBatchWait, maxBatchWaitUnit);
+                }
+            }
+            drain();
+        }
+
+        private void onMaxBatchWait() {
+            synchronized (this) {
+                if (stopped || current.isEmpty()) {
+                    return;
+                }
+                seal();
+            }
+            drain();
+        }
+
+        private void seal() {
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+            ready.add(current);
+            current = new ArrayList<>();
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            fail(failure);
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                // the stream is invalidated, for example because the collection was dropped
+                completed = true;
+                if (!current.isEmpty()) {
+                    seal();
+                }
+            }
+            drain();
+        }
+
+        private void drain() {
+            List<ChangeStreamDocument<D>> batch;
+            synchronized (this) {
+                if (handling || stopped) {
+                    return;
+                }
+                batch = ready.poll();
+                if (batch == null) {
+                    if (completed) {
+                        stopped = true;
+                    } else {
+                        return;
+                    }
+                } else {
+                    handling = true;
+                }
+            }
+            if (batch == null) {
+                finish();
+                return;
+            }
+            CompletionStage<Void> processing;
+            try {
+                processing = handler.handle(Collections.unmodifiableList(batch));
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+            if (processing == null) {
+                fail(new IllegalStateException("The change stream batch handler returned a null completion stage"));
+                return;
+            }
+            processing.whenComplete((result, failure) -> {
+                if (failure != null) {
+                    fail(failure);
+                } else {
+                    processed(batch);
+                }
+            });
+        }
+
+        private void processed(List<ChangeStreamDocument<D>> batch) {
+            BsonDocument token = batch.get(batch.size() - 1).getResumeToken();
+            boolean store;
+            synchronized (this) {
+                lastToken = token;
+                store = tokenStore != null && ++unstoredBatches >= storeInterval;
+            }
+            CompletionStage<Void> storing = store ? storeToken(token) : CompletableFuture.completedFuture(null);
+            storing.whenComplete((result, failure) -> {
+                if (failure != null) {
+                    fail(failure);
+                    return;
+                }
+                Subscription currentSubscription;
+                boolean wasStopped;
+                synchronized (this) {
+                    handling = false;
+                    currentSubscription = subscription;
+                    wasStopped = stopped;
+                }
+                if (wasStopped) {
+                    finish();
+                } else {
+                    // replace the processed changes
+                    currentSubscription.request(batch.size());
+                    drain();
+                }
+            });
+        }
+
+        private CompletionStage<Void> storeToken(BsonDocument token) {
+            return tokenStore.store(name, token).thenRun(() -> {
+                synchronized (this) {
+                    storedToken = token;
+                    unstoredBatches = 0;
+                }
+            });
+        }
+
+        void stop() {
+            Subscription currentSubscription;
+            boolean busy;
+            synchronized (this) {
+                if (stopped) {
+                    return;
+                }
+                stopped = true;
+                if (timer != null) {
+                    timer.dispose();
+                }
+                currentSubscription = subscription;
+                busy = handling;
+            }
+            if (currentSubscription != null) {
+                currentSubscription.cancel();
+            }
+            // otherwise the batch being processed finishes
+            if (!busy) {
+                finish();
+            }
+        }
+
+        private void finish() {
+            BsonDocument token;
+            synchronized (this) {
+                token = tokenStore != null && lastToken != storedToken ? lastToken : null;
+            }
+            if (token == null) {
+                completion.complete(null);
+                return;
+            }
+            storeToken(token).whenComplete((result, failure) -> {
+                if (failure != null) {
+                    completion.completeExceptionally(failure);
+                } else {
+                    completion.complete(null);
+                }
+            });
+        }
+
+        void fail(Throwable failure) {
+            Subscription currentSubscription;
+            synchronized (this) {
+                stopped = true;
+                if (timer != null) {
+                    timer.dispose();
+                }
+                currentSubscription = subscription;
+            }
+            if (currentSubscription != null) {
+                currentSubscription.cancel();
+            }
+            completion.completeExceptionally(failure);
+        }
+    }
+}
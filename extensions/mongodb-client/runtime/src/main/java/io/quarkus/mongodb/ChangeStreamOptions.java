@@ -20,6 +20,7 @@ public class ChangeStreamOptions {
     private long maxAwaitTime;
     private Collation collation;
     private TimeUnit maxAwaitTimeUnit;
+    private int batchSize;
 
     /**
      * Sets the fullDocument value.
@@ -90,6 +91,17 @@ public class ChangeStreamOptions {
         return this;
     }
 
+    /**
+     * Sets the number of changes to return per batch.
+     *
+     * @param batchSize the batch size
+     * @return this
+     */
+    public ChangeStreamOptions batchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
     public <T> ChangeStreamPublisher<T> apply(ChangeStreamPublisher<T> stream) {
         ChangeStreamPublisher<T> publisher = stream;
         if (collation != null) {
@@ -107,6 +119,9 @@ public class ChangeStreamOptions {
         if (startAtOperationTime != null) {
             publisher = publisher.startAtOperationTime(startAtOperationTime);
         }
+        if (batchSize > 0) {
+            publisher = publisher.batchSize(batchSize);
+        }
         return publisher;
     }
 }
@@ -33,6 +33,7 @@ public class FindOptions {
     private boolean showRecordId;
     private long maxAwaitTime;
     private TimeUnit maxAwaitTimeUnit;
+    private int batchSize;
 
     /**
      * Sets the query filter to apply to the query.
@@ -250,6 +251,18 @@ public class FindOptions {
         return this;
     }
 
+    /**
+     * Sets the number of documents to return per batch, which bounds the number of documents fetched ahead of the
+     * subscriber.
+     *
+     * @param batchSize the batch size
+     * @return this
+     */
+    public FindOptions batchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
     public <T> FindPublisher<T> apply(FindPublisher<T> stream) {
         FindPublisher<T> publisher = stream;
         if (filter != null) {
@@ -306,6 +319,9 @@ public class FindOptions {
         if (showRecordId) {
             publisher = publisher.showRecordId(true);
         }
+        if (batchSize > 0) {
+            publisher = publisher.batchSize(batchSize);
+        }
         return publisher;
 
     }
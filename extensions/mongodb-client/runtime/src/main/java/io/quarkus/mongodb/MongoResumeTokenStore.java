@@ -0,0 +1,42 @@
+package io.quarkus.mongodb;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+
+/**
+ * A {@link ResumeTokenStore} keeping one document per consumer in a MongoDB collection.
+ */
+public class MongoResumeTokenStore implements ResumeTokenStore {
+
+    private static final String TOKEN = "token";
+
+    private final ReactiveMongoCollection<Document> collection;
+
+    /**
+     * @param collection the collection storing the tokens, which should not be watched by the consumers
+     */
+    public MongoResumeTokenStore(ReactiveMongoCollection<Document> collection) {
+        this.collection = collection;
+    }
+
+    @Override
+    public CompletionStage<Optional<BsonDocument>> load(String consumerName) {
+        return collection.find(Filters.eq("_id", consumerName), BsonDocument.class)
+                .findFirst()
+                .run()
+                .thenApply(document -> document.map(d -> d.getDocument(TOKEN)));
+    }
+
+    @Override
+    public CompletionStage<Void> store(String consumerName, BsonDocument resumeToken) {
+        Document document = new Document("_id", consumerName).append(TOKEN, resumeToken);
+        return collection.replaceOne(Filters.eq("_id", consumerName), document, new ReplaceOptions().upsert(true))
+                .thenApply(result -> null);
+    }
+}
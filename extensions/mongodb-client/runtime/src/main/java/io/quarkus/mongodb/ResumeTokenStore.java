@@ -0,0 +1,28 @@
+package io.quarkus.mongodb;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+import org.bson.BsonDocument;
+
+/**
+ * Stores the resume tokens of the {@link ChangeStreamConsumer}s, so that they resume after the last processed change
+ * when they are restarted.
+ *
+ * @see MongoResumeTokenStore
+ */
+public interface ResumeTokenStore {
+
+    /**
+     * @param consumerName the name of the consumer
+     * @return the last resume token stored for the consumer, if any
+     */
+    CompletionStage<Optional<BsonDocument>> load(String consumerName);
+
+    /**
+     * @param consumerName the name of the consumer
+     * @param resumeToken the resume token of the last processed change
+     * @return a stage completed when the token is stored
+     */
+    CompletionStage<Void> store(String consumerName, BsonDocument resumeToken);
+}
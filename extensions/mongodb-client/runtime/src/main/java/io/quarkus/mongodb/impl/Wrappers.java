@@ -52,6 +52,14 @@ class Wrappers {
         }
     }
 
+    private static <T> void completeOrFailedTheFuture(CompletableFuture<List<T>> cf, List<T> list, Throwable err) {
+        if (err != null) {
+            cf.completeExceptionally(err);
+        } else {
+            cf.complete(list);
+        }
+    }
+
     static <T> CompletionStage<List<T>> toCompletionStageOfList(Publisher<T> publisher) {
         @Nullable
         Context context = Vertx.currentContext();
@@ -59,11 +67,11 @@ class Wrappers {
                 .toList()
                 .run();
         CompletableFuture<List<T>> cf = new CompletableFuture<>();
-        run.thenAccept(list -> {
+        run.whenComplete((list, err) -> {
             if (context != null) {
-                context.runOnContext(x -> cf.complete(list));
+                context.runOnContext(x -> completeOrFailedTheFuture(cf, list, err));
             } else {
-                cf.complete(list);
+                completeOrFailedTheFuture(cf, list, err);
             }
         });
         return cf;
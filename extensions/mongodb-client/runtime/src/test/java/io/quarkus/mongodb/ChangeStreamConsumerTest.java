@@ -0,0 +1,199 @@
+package io.quarkus.mongodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+class ChangeStreamConsumerTest {
+
+    @Test
+    void testBatchesAreBoundedByDemand() {
+        ChangeStreamSource source = new ChangeStreamSource();
+        List<CompletableFuture<Void>> pending = new CopyOnWriteArrayList<>();
+        List<List<ChangeStreamDocument<Document>>> batches = new CopyOnWriteArrayList<>();
+        ChangeStreamConsumer<Document> consumer = new ChangeStreamConsumer<>(source)
+                .batchSize(10)
+                .maxBufferedBatches(2);
+        consumer.start(batch -> {
+            batches.add(batch);
+            CompletableFuture<Void> processing = new CompletableFuture<>();
+            pending.add(processing);
+            return processing;
+        });
+
+        // the batch being processed and two buffered ones
+        assertThat(source.emit(100)).isEqualTo(30);
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).hasSize(10);
+
+        pending.get(0).complete(null);
+        assertThat(batches).hasSize(2);
+        assertThat(source.emit(100)).isEqualTo(10);
+        assertThat(batches.get(1).get(0).getResumeToken()).isEqualTo(token(10));
+    }
+
+    @Test
+    void testPartialBatchIsDeliveredAfterMaxWait() {
+        ChangeStreamSource source = new ChangeStreamSource();
+        List<List<ChangeStreamDocument<Document>>> batches = new CopyOnWriteArrayList<>();
+        new ChangeStreamConsumer<>(source)
+                .batchSize(10)
+                .maxBatchWait(50, TimeUnit.MILLISECONDS)
+                .start(batch -> {
+                    batches.add(batch);
+                    return CompletableFuture.completedFuture(null);
+                });
+
+        source.emit(3);
+        assertThat(batches).isEmpty();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> batches.size() == 1);
+        assertThat(batches.get(0)).hasSize(3);
+    }
+
+    @Test
+    void testResumeTokensAreStored() {
+        ChangeStreamSource source = new ChangeStreamSource();
+        InMemoryTokenStore store = new InMemoryTokenStore();
+        store.tokens.put("consumer", token(41));
+        ChangeStreamConsumer<Document> consumer = new ChangeStreamConsumer<>(source)
+                .batchSize(5)
+                .resumeTokens("consumer", store, 2);
+        CompletionStage<Void> completion = consumer.start(batch -> CompletableFuture.completedFuture(null));
+        assertThat(source.resumeToken).isEqualTo(token(41));
+
+        source.emit(10);
+        assertThat(store.tokens.get("consumer")).isEqualTo(token(9));
+        source.emit(5);
+        // stored every other batch
+        assertThat(store.tokens.get("consumer")).isEqualTo(token(9));
+
+        consumer.stop();
+        assertThat(source.cancelled).isTrue();
+        assertThat(completion.toCompletableFuture()).isCompleted();
+        assertThat(store.tokens.get("consumer")).isEqualTo(token(14));
+    }
+
+    @Test
+    void testHandlerFailureStopsTheConsumer() {
+        ChangeStreamSource source = new ChangeStreamSource();
+        CompletionStage<Void> completion = new ChangeStreamConsumer<>(source)
+                .batchSize(1)
+                .start(batch -> {
+                    CompletableFuture<Void> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(new IllegalStateException("boom"));
+                    return failed;
+                });
+
+        source.emit(1);
+        assertThat(source.cancelled).isTrue();
+        assertThat(completion.toCompletableFuture()).isCompletedExceptionally();
+    }
+
+    @Test
+    void testNullStageStopsTheConsumer() {
+        ChangeStreamSource source = new ChangeStreamSource();
+        CompletionStage<Void> completion = new ChangeStreamConsumer<>(source)
+                .batchSize(1)
+                .start(batch -> null);
+
+        source.emit(1);
+        assertThat(source.cancelled).isTrue();
+        assertThat(completion.toCompletableFuture()).hasFailedWithThrowableThat()
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static BsonDocument token(int index) {
+        return new BsonDocument("_data", new BsonInt32(index));
+    }
+
+    /**
+     * Emits the changes synchronously, when asked to and as long as they are requested.
+     */
+    private static class ChangeStreamSource
+            implements ChangeStreamConsumer.Source<Document>, Publisher<ChangeStreamDocument<Document>>, Subscription {
+
+        private Subscriber<? super ChangeStreamDocument<Document>> subscriber;
+        private BsonDocument resumeToken;
+        private long requested;
+        private int emitted;
+        private volatile boolean cancelled;
+
+        @Override
+        public Publisher<ChangeStreamDocument<Document>> open(BsonDocument resumeToken, int batchSize) {
+            this.resumeToken = resumeToken;
+            return this;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ChangeStreamDocument<Document>> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(this);
+        }
+
+        @Override
+        public synchronized void request(long n) {
+            requested += n;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * @return the number of emitted changes
+         */
+        int emit(int count) {
+            int sent = 0;
+            while (sent < count && !cancelled) {
+                synchronized (this) {
+                    if (requested == 0) {
+                        break;
+                    }
+                    requested--;
+                }
+                subscriber.onNext(new ChangeStreamDocument<>(token(emitted), new MongoNamespace("test.changes"),
+                        new Document("index", emitted), null, OperationType.INSERT, null));
+                emitted++;
+                sent++;
+            }
+            return sent;
+        }
+    }
+
+    private static class InMemoryTokenStore implements ResumeTokenStore {
+
+        private final Map<String, BsonDocument> tokens = new ConcurrentHashMap<>();
+
+        @Override
+        public CompletionStage<Optional<BsonDocument>> load(String consumerName) {
+            return CompletableFuture.completedFuture(Optional.ofNullable(tokens.get(consumerName)));
+        }
+
+        @Override
+        public CompletionStage<Void> store(String consumerName, BsonDocument resumeToken) {
+            tokens.put(consumerName, resumeToken);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
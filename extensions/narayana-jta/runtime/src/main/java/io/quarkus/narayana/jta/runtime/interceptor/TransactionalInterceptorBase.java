@@ -2,10 +2,13 @@ package io.quarkus.narayana.jta.runtime.interceptor;
 
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.inject.Inject;
 import javax.interceptor.InvocationContext;
@@ -35,6 +38,31 @@ public abstract class TransactionalInterceptorBase implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The transaction attributes of the intercepted methods, by target class, so that the annotations are only read
+     * on the first invocation of a method.
+     */
+    private static final ClassValue<Map<Method, TransactionAttributes>> TRANSACTION_ATTRIBUTES = new ClassValue<Map<Method, TransactionAttributes>>() {
+        @Override
+        protected Map<Method, TransactionAttributes> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * The reactive converters of the returned types, which are looked up once per type.
+     */
+    private static final ClassValue<Optional<ReactiveTypeConverter<Object>>> CONVERTERS = new ClassValue<Optional<ReactiveTypeConverter<Object>>>() {
+        @Override
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        protected Optional<ReactiveTypeConverter<Object>> computeValue(Class<?> type) {
+            if (CompletionStage.class.isAssignableFrom(type) || Publisher.class.isAssignableFrom(type)) {
+                return Optional.empty();
+            }
+            return Registry.lookup((Class) type);
+        }
+    };
+
     @Inject
     TransactionManager transactionManager;
 
@@ -88,6 +116,16 @@ public abstract class TransactionalInterceptorBase implements Serializable {
         return configuration;
     }
 
+    private TransactionAttributes getTransactionAttributes(InvocationContext ic) {
+        Map<Method, TransactionAttributes> attributes = TRANSACTION_ATTRIBUTES.get(ic.getTarget().getClass());
+        TransactionAttributes methodAttributes = attributes.get(ic.getMethod());
+        if (methodAttributes == null) {
+            methodAttributes = new TransactionAttributes(getTransactional(ic), getTransactionConfiguration(ic));
+            attributes.put(ic.getMethod(), methodAttributes);
+        }
+        return methodAttributes;
+    }
+
     protected Object invokeInOurTx(InvocationContext ic, TransactionManager tm) throws Exception {
         return invokeInOurTx(ic, tm, () -> {
         });
@@ -96,17 +134,17 @@ public abstract class TransactionalInterceptorBase implements Serializable {
     protected Object invokeInOurTx(InvocationContext ic, TransactionManager tm, RunnableWithException afterEndTransaction)
             throws Exception {
 
-        TransactionConfiguration configAnnotation = getTransactionConfiguration(ic);
+        int timeout = getTransactionAttributes(ic).timeout;
         int currentTmTimeout = ((CDIDelegatingTransactionManager) transactionManager).getTransactionTimeout();
-        if (configAnnotation != null && configAnnotation.timeout() != TransactionConfiguration.UNSET_TIMEOUT) {
-            tm.setTransactionTimeout(configAnnotation.timeout());
+        if (timeout != TransactionConfiguration.UNSET_TIMEOUT) {
+            tm.setTransactionTimeout(timeout);
         }
         Transaction tx;
         try {
             tm.begin();
             tx = tm.getTransaction();
         } finally {
-            if (configAnnotation != null && configAnnotation.timeout() != TransactionConfiguration.UNSET_TIMEOUT) {
+            if (timeout != TransactionConfiguration.UNSET_TIMEOUT) {
                 //restore the default behaviour
                 tm.setTransactionTimeout(currentTmTimeout);
             }
@@ -123,18 +161,12 @@ public abstract class TransactionalInterceptorBase implements Serializable {
         } finally {
             // handle asynchronously if not throwing
             if (!throwing && ret != null) {
-                ReactiveTypeConverter<Object> converter = null;
-                if (ret instanceof CompletionStage == false
-                        && ret instanceof Publisher == false) {
-                    @SuppressWarnings({ "rawtypes", "unchecked" })
-                    Optional<ReactiveTypeConverter<Object>> lookup = Registry.lookup((Class) ret.getClass());
-                    if (lookup.isPresent()) {
-                        converter = lookup.get();
-                        if (converter.emitAtMostOneItem()) {
-                            ret = converter.toCompletionStage(ret);
-                        } else {
-                            ret = converter.toRSPublisher(ret);
-                        }
+                ReactiveTypeConverter<Object> converter = CONVERTERS.get(ret.getClass()).orElse(null);
+                if (converter != null) {
+                    if (converter.emitAtMostOneItem()) {
+                        ret = converter.toCompletionStage(ret);
+                    } else {
+                        ret = converter.toRSPublisher(ret);
                     }
                 }
                 if (ret instanceof CompletionStage) {
@@ -256,8 +288,7 @@ public abstract class TransactionalInterceptorBase implements Serializable {
     }
 
     private void checkConfiguration(InvocationContext ic) {
-        TransactionConfiguration configAnnotation = getTransactionConfiguration(ic);
-        if (configAnnotation != null && configAnnotation.timeout() != TransactionConfiguration.UNSET_TIMEOUT) {
+        if (getTransactionAttributes(ic).timeout != TransactionConfiguration.UNSET_TIMEOUT) {
             throw new RuntimeException("Changing timeout via @TransactionConfiguration can only be done " +
                     "at the entry level of a transaction");
         }
@@ -266,15 +297,15 @@ public abstract class TransactionalInterceptorBase implements Serializable {
     protected void handleExceptionNoThrow(InvocationContext ic, Throwable e, Transaction tx)
             throws IllegalStateException, SystemException {
 
-        Transactional transactional = getTransactional(ic);
+        TransactionAttributes attributes = getTransactionAttributes(ic);
 
-        for (Class<?> dontRollbackOnClass : transactional.dontRollbackOn()) {
+        for (Class<?> dontRollbackOnClass : attributes.dontRollbackOn) {
             if (dontRollbackOnClass.isAssignableFrom(e.getClass())) {
                 return;
             }
         }
 
-        for (Class<?> rollbackOnClass : transactional.rollbackOn()) {
+        for (Class<?> rollbackOnClass : attributes.rollbackOn) {
             if (rollbackOnClass.isAssignableFrom(e.getClass())) {
                 tx.setRollbackOnly();
                 return;
@@ -319,4 +350,22 @@ public abstract class TransactionalInterceptorBase implements Serializable {
     protected void resetUserTransactionAvailability(boolean previousUserTransactionAvailability) {
         ServerVMClientUserTransaction.setAvailability(previousUserTransactionAvailability);
     }
+
+    /**
+     * The attributes of an intercepted method, resolved from its {@link Transactional} binding and its
+     * {@link TransactionConfiguration}.
+     */
+    private static final class TransactionAttributes {
+
+        final Class<?>[] rollbackOn;
+        final Class<?>[] dontRollbackOn;
+        final int timeout;
+
+        TransactionAttributes(Transactional transactional, TransactionConfiguration configuration) {
+            // the annotation methods return a copy of the arrays on each call
+            this.rollbackOn = transactional.rollbackOn();
+            this.dontRollbackOn = transactional.dontRollbackOn();
+            this.timeout = configuration != null ? configuration.timeout() : TransactionConfiguration.UNSET_TIMEOUT;
+        }
+    }
 }
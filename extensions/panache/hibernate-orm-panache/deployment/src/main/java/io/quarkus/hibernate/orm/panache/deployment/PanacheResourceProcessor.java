@@ -26,11 +26,14 @@ import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.hibernate.orm.panache.runtime.JpaOperations;
 import io.quarkus.panache.common.deployment.EntityField;
 import io.quarkus.panache.common.deployment.EntityModel;
 import io.quarkus.panache.common.deployment.MetamodelInfo;
 import io.quarkus.panache.common.deployment.PanacheFieldAccessEnhancer;
 import io.quarkus.panache.common.deployment.PanacheRepositoryEnhancer;
+import io.quarkus.panache.common.deployment.QueryCacheMetrics;
+import io.quarkus.smallrye.metrics.deployment.spi.MetricBuildItem;
 
 public final class PanacheResourceProcessor {
 
@@ -55,6 +58,11 @@ public final class PanacheResourceProcessor {
                 new AdditionalJpaModelBuildItem(PanacheEntity.class));
     }
 
+    @BuildStep
+    MetricBuildItem registerMetrics() {
+        return QueryCacheMetrics.hitRatio(JpaOperations.QUERY_CACHE_NAME);
+    }
+
     @BuildStep
     UnremovableBeanBuildItem ensureBeanLookupAvailable() {
         return new UnremovableBeanBuildItem(new Predicate<BeanInfo>() {
@@ -719,6 +719,70 @@ public abstract class PanacheEntityBase {
         JpaOperations.persist(firstEntity, entities);
     }
 
+    /**
+     * Persist all given entities in batches, for imports too large to be held in memory at once. The pending changes
+     * are flushed and the persistence context is cleared after each batch, which detaches all the entities it managed.
+     * The inserts of a batch are sent in a single JDBC batch.
+     * <p>
+     * The batch size is the one set by <code>quarkus.hibernate-orm.jdbc.statement-batch-size</code>, or 50 if it is not
+     * set.
+     *
+     * @param entities the entities to persist
+     * @see #persistInBatches(Iterable, int)
+     * @see #persistInBatches(Stream)
+     * @see #persist(Iterable)
+     */
+    public static void persistInBatches(Iterable<?> entities) {
+        JpaOperations.persistInBatches(entities);
+    }
+
+    /**
+     * Persist all given entities in batches, for imports too large to be held in memory at once. The pending changes
+     * are flushed and the persistence context is cleared after each batch, which detaches all the entities it managed.
+     * The inserts of a batch are sent in a single JDBC batch.
+     *
+     * @param entities the entities to persist
+     * @param batchSize the number of entities persisted between two flushes
+     * @see #persistInBatches(Iterable)
+     * @see #persistInBatches(Stream, int)
+     * @see #persist(Iterable)
+     */
+    public static void persistInBatches(Iterable<?> entities, int batchSize) {
+        JpaOperations.persistInBatches(entities, batchSize);
+    }
+
+    /**
+     * Persist all given entities in batches, for imports too large to be held in memory at once. The pending changes
+     * are flushed and the persistence context is cleared after each batch, which detaches all the entities it managed.
+     * The inserts of a batch are sent in a single JDBC batch.
+     * <p>
+     * The batch size is the one set by <code>quarkus.hibernate-orm.jdbc.statement-batch-size</code>, or 50 if it is not
+     * set.
+     *
+     * @param entities the entities to persist
+     * @see #persistInBatches(Stream, int)
+     * @see #persistInBatches(Iterable)
+     * @see #persist(Stream)
+     */
+    public static void persistInBatches(Stream<?> entities) {
+        JpaOperations.persistInBatches(entities);
+    }
+
+    /**
+     * Persist all given entities in batches, for imports too large to be held in memory at once. The pending changes
+     * are flushed and the persistence context is cleared after each batch, which detaches all the entities it managed.
+     * The inserts of a batch are sent in a single JDBC batch.
+     *
+     * @param entities the entities to persist
+     * @param batchSize the number of entities persisted between two flushes
+     * @see #persistInBatches(Stream)
+     * @see #persistInBatches(Iterable, int)
+     * @see #persist(Stream)
+     */
+    public static void persistInBatches(Stream<?> entities, int batchSize) {
+        JpaOperations.persistInBatches(entities, batchSize);
+    }
+
     /**
      * Update all entities of this type matching the given query, with mandatory indexed parameters.
      *
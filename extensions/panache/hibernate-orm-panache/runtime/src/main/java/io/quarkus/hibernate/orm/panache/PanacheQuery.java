@@ -133,6 +133,17 @@ public interface PanacheQuery<Entity> {
      */
     public <T extends Entity> PanacheQuery<T> withHint(String hintName, Object value);
 
+    /**
+     * Sets how many rows are fetched at a time by the JDBC driver for this query, overriding the
+     * <code>quarkus.hibernate-orm.jdbc.statement-fetch-size</code> configuration. Some drivers, such as the
+     * PostgreSQL one, read all the rows at once unless a fetch size is set.
+     *
+     * @param fetchSize the number of rows fetched at a time
+     * @return this query, modified
+     * @see #scroll(int)
+     */
+    public <T extends Entity> PanacheQuery<T> withFetchSize(int fetchSize);
+
     // Results
 
     /**
@@ -164,6 +175,39 @@ public interface PanacheQuery<Entity> {
      */
     public <T extends Entity> Stream<T> stream();
 
+    /**
+     * Returns the current page of results as a {@link Stream} that reads them from a forward-only database cursor,
+     * and periodically clears the persistence context so that its size does not grow with the number of results.
+     * This is meant to process large results in constant memory, along with {@link #withFetchSize(int)}.
+     * <p>
+     * Clearing the persistence context detaches all the entities it manages, and discards the changes that were not
+     * flushed yet, including those made outside of this stream. The stream must be closed to release the cursor.
+     *
+     * @param clearInterval the number of results after which the persistence context is cleared, or 0 to never clear
+     *        it
+     * @return the current page of results as a {@link Stream}, which must be closed.
+     * @see #stream()
+     * @see #withFetchSize(int)
+     */
+    public <T extends Entity> Stream<T> scroll(int clearInterval);
+
+    /**
+     * Returns the results that follow the given key, ordered by this key, as a {@link List} of the current page size.
+     * Unlike the pages read with {@link #page(Page)}, the database does not read and skip the previous results, so
+     * reading the next page costs the same wherever it is, and is not affected by concurrent inserts or deletes.
+     * <p>
+     * The key property must be unique, such as the ID, and the last key is read from the last result of the
+     * previous page. The ordering of this query is replaced by the key ordering, and the index of the current page
+     * is ignored.
+     *
+     * @param keyProperty the property to order the results by, qualified by the entity alias if the query declares
+     *        one
+     * @param lastKey the key of the last result of the previous page, or null to read the first page
+     * @return the page of results following the given key as a {@link List}.
+     * @see #page(Page)
+     */
+    public <T extends Entity> List<T> listAfter(String keyProperty, Object lastKey);
+
     /**
      * Returns the first result of the current page index. This ignores the current page size to fetch
      * a single result.
@@ -1,5 +1,6 @@
 package io.quarkus.hibernate.orm.panache.runtime;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -13,14 +14,33 @@ import javax.persistence.Query;
 import javax.transaction.SystemException;
 import javax.transaction.TransactionManager;
 
+import org.hibernate.Session;
+
 import io.quarkus.arc.Arc;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.panache.common.Parameters;
 import io.quarkus.panache.common.Sort;
 import io.quarkus.panache.common.exception.PanacheQueryException;
+import io.quarkus.panache.common.impl.QueryCache;
 
 public class JpaOperations {
 
+    public static final String QUERY_CACHE_NAME = "hibernate-orm";
+
+    /**
+     * The number of entities persisted between two flushes when neither a batch size nor a JDBC batch size is set
+     */
+    public static final int DEFAULT_PERSIST_BATCH_SIZE = 50;
+
+    // the kinds of queries in the cache, the lowest bit tells whether there is a single parameter
+    private static final int FIND_QUERY = 2;
+    private static final int COUNT_QUERY = 4;
+    private static final int UPDATE_QUERY = 6;
+    private static final int DELETE_QUERY = 8;
+
+    private static final QueryCache<QueryCache.Key, String> queryCache = new QueryCache<>(QUERY_CACHE_NAME,
+            QueryCache.DEFAULT_MAX_SIZE);
+
     //
     // Instance methods
 
@@ -55,6 +75,56 @@ public class JpaOperations {
         entities.forEach(entity -> persist(em, entity));
     }
 
+    public static void persistInBatches(Iterable<?> entities) {
+        persistInBatches(entities.iterator(), 0);
+    }
+
+    public static void persistInBatches(Iterable<?> entities, int batchSize) {
+        persistInBatches(entities.iterator(), batchSize);
+    }
+
+    public static void persistInBatches(Stream<?> entities) {
+        persistInBatches(entities.iterator(), 0);
+    }
+
+    public static void persistInBatches(Stream<?> entities, int batchSize) {
+        persistInBatches(entities.iterator(), batchSize);
+    }
+
+    private static void persistInBatches(Iterator<?> entities, int batchSize) {
+        if (batchSize < 0) {
+            throw new IllegalArgumentException("The batch size must not be negative: " + batchSize);
+        }
+        EntityManager em = getEntityManager();
+        Session session = em.unwrap(Session.class);
+        Integer sessionBatchSize = session.getJdbcBatchSize();
+        if (batchSize == 0) {
+            batchSize = sessionBatchSize != null ? sessionBatchSize
+                    : session.getSessionFactory().getSessionFactoryOptions().getJdbcBatchSize();
+            if (batchSize <= 0) {
+                batchSize = DEFAULT_PERSIST_BATCH_SIZE;
+            }
+        }
+        // send the inserts of a flush as a single JDBC batch
+        session.setJdbcBatchSize(batchSize);
+        try {
+            int count = 0;
+            while (entities.hasNext()) {
+                persist(em, entities.next());
+                if (++count % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            if (count % batchSize != 0) {
+                em.flush();
+                em.clear();
+            }
+        } finally {
+            session.setJdbcBatchSize(sessionBatchSize);
+        }
+    }
+
     public static void delete(Object entity) {
         EntityManager em = getEntityManager();
         em.remove(entity);
@@ -109,12 +179,22 @@ public class JpaOperations {
         return params != null ? params.size() : 0;
     }
 
+    private static int queryShape(int kind, int paramCount) {
+        // the shorthand queries are only expanded when there is a single parameter
+        return paramCount == 1 ? kind | 1 : kind;
+    }
+
     private static String getEntityName(Class<?> entityClass) {
         // FIXME: not true?
         return entityClass.getName();
     }
 
     static String createFindQuery(Class<?> entityClass, String query, int paramCount) {
+        return queryCache.computeIfAbsent(new QueryCache.Key(entityClass, query, queryShape(FIND_QUERY, paramCount)),
+                key -> expandFindQuery(entityClass, query, paramCount));
+    }
+
+    private static String expandFindQuery(Class<?> entityClass, String query, int paramCount) {
         if (query == null)
             return "FROM " + getEntityName(entityClass);
 
@@ -136,6 +216,11 @@ public class JpaOperations {
     }
 
     private static String createCountQuery(Class<?> entityClass, String query, int paramCount) {
+        return queryCache.computeIfAbsent(new QueryCache.Key(entityClass, query, queryShape(COUNT_QUERY, paramCount)),
+                key -> expandCountQuery(entityClass, query, paramCount));
+    }
+
+    private static String expandCountQuery(Class<?> entityClass, String query, int paramCount) {
         if (query == null)
             return "SELECT COUNT(*) FROM " + getEntityName(entityClass);
 
@@ -158,6 +243,11 @@ public class JpaOperations {
     }
 
     private static String createUpdateQuery(Class<?> entityClass, String query, int paramCount) {
+        return queryCache.computeIfAbsent(new QueryCache.Key(entityClass, query, queryShape(UPDATE_QUERY, paramCount)),
+                key -> expandUpdateQuery(entityClass, query, paramCount));
+    }
+
+    private static String expandUpdateQuery(Class<?> entityClass, String query, int paramCount) {
         if (query == null) {
             throw new PanacheQueryException("Query string cannot be null");
         }
@@ -184,6 +274,11 @@ public class JpaOperations {
     }
 
     private static String createDeleteQuery(Class<?> entityClass, String query, int paramCount) {
+        return queryCache.computeIfAbsent(new QueryCache.Key(entityClass, query, queryShape(DELETE_QUERY, paramCount)),
+                key -> expandDeleteQuery(entityClass, query, paramCount));
+    }
+
+    private static String expandDeleteQuery(Class<?> entityClass, String query, int paramCount) {
         if (query == null)
             return "DELETE FROM " + getEntityName(entityClass);
 
@@ -1,20 +1,32 @@
 package io.quarkus.hibernate.orm.panache.runtime;
 
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.persistence.EntityManager;
 import javax.persistence.LockModeType;
 import javax.persistence.NonUniqueResultException;
 import javax.persistence.Query;
 
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.annotations.QueryHints;
+
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.panache.common.Page;
 
 public class PanacheQueryImpl<Entity> implements PanacheQuery<Entity> {
 
+    private static final String LAST_KEY_PARAMETER = "panacheLastKey";
+
     private Query jpaQuery;
     private Object paramsArrayOrMap;
     private String query;
@@ -26,6 +38,11 @@ public class PanacheQueryImpl<Entity> implements PanacheQuery<Entity> {
      */
     private Page page;
     private Long count;
+    /*
+     * The lock and hints are applied again to the keyset queries, which are distinct JPA queries
+     */
+    private LockModeType lockModeType;
+    private Map<String, Object> hints;
 
     PanacheQueryImpl(EntityManager em, javax.persistence.Query jpaQuery, String query, Object paramsArrayOrMap) {
         this.em = em;
@@ -96,15 +113,25 @@ public class PanacheQueryImpl<Entity> implements PanacheQuery<Entity> {
     @Override
     public <T extends Entity> PanacheQuery<T> withLock(LockModeType lockModeType) {
         jpaQuery.setLockMode(lockModeType);
+        this.lockModeType = lockModeType;
         return (PanacheQuery<T>) this;
     }
 
     @Override
     public <T extends Entity> PanacheQuery<T> withHint(String hintName, Object value) {
         jpaQuery.setHint(hintName, value);
+        if (hints == null) {
+            hints = new HashMap<>();
+        }
+        hints.put(hintName, value);
         return (PanacheQuery<T>) this;
     }
 
+    @Override
+    public <T extends Entity> PanacheQuery<T> withFetchSize(int fetchSize) {
+        return withHint(QueryHints.FETCH_SIZE, fetchSize);
+    }
+
     // Results
 
     @Override
@@ -144,6 +171,69 @@ public class PanacheQueryImpl<Entity> implements PanacheQuery<Entity> {
         return jpaQuery.getResultStream();
     }
 
+    @Override
+    public <T extends Entity> Stream<T> scroll(int clearInterval) {
+        if (clearInterval < 0) {
+            throw new IllegalArgumentException("The clear interval must not be negative: " + clearInterval);
+        }
+        jpaQuery.setMaxResults(page.size);
+        ScrollableResults results = jpaQuery.unwrap(org.hibernate.query.Query.class).scroll(ScrollMode.FORWARD_ONLY);
+        Iterator<T> iterator = new ScrollIterator<>(results, clearInterval);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(results::close);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Entity> List<T> listAfter(String keyProperty, Object lastKey) {
+        // the keyset is ordered by the key, the order of the query is dropped
+        String keysetQuery = query;
+        String lcQuery = keysetQuery.toLowerCase();
+        int orderByIndex = lcQuery.lastIndexOf(" order by ");
+        if (orderByIndex != -1) {
+            keysetQuery = keysetQuery.substring(0, orderByIndex);
+            lcQuery = lcQuery.substring(0, orderByIndex);
+        }
+        // positional and named parameters cannot be mixed
+        boolean named = paramsArrayOrMap instanceof Map;
+        if (lastKey != null) {
+            String parameter = named ? ":" + LAST_KEY_PARAMETER
+                    : "?" + (JpaOperations.paramCount((Object[]) paramsArrayOrMap) + 1);
+            String keyFilter = keyProperty + " > " + parameter;
+            int whereIndex = lcQuery.indexOf(" where ");
+            if (whereIndex == -1) {
+                keysetQuery += " WHERE " + keyFilter;
+            } else {
+                // the predicate of the query may be a disjunction, the key filter must apply to all of it
+                keysetQuery = keysetQuery.substring(0, whereIndex) + " WHERE ("
+                        + keysetQuery.substring(whereIndex + " where ".length()) + ") AND " + keyFilter;
+            }
+        }
+        keysetQuery += " ORDER BY " + keyProperty;
+
+        Query keysetJpaQuery = em.createQuery(keysetQuery);
+        if (named) {
+            JpaOperations.bindParameters(keysetJpaQuery, (Map<String, Object>) paramsArrayOrMap);
+            if (lastKey != null) {
+                keysetJpaQuery.setParameter(LAST_KEY_PARAMETER, lastKey);
+            }
+        } else {
+            Object[] params = (Object[]) paramsArrayOrMap;
+            JpaOperations.bindParameters(keysetJpaQuery, params);
+            if (lastKey != null) {
+                keysetJpaQuery.setParameter(JpaOperations.paramCount(params) + 1, lastKey);
+            }
+        }
+        if (lockModeType != null) {
+            keysetJpaQuery.setLockMode(lockModeType);
+        }
+        if (hints != null) {
+            hints.forEach(keysetJpaQuery::setHint);
+        }
+        keysetJpaQuery.setMaxResults(page.size);
+        return keysetJpaQuery.getResultList();
+    }
+
     @Override
     public <T extends Entity> T firstResult() {
         jpaQuery.setMaxResults(1);
@@ -174,4 +264,42 @@ public class PanacheQueryImpl<Entity> implements PanacheQuery<Entity> {
 
         return list.isEmpty() ? Optional.empty() : Optional.of(list.get(0));
     }
+
+    private class ScrollIterator<T> implements Iterator<T> {
+
+        private final ScrollableResults results;
+        private final int clearInterval;
+        private int count;
+        private Boolean hasNext;
+
+        ScrollIterator(ScrollableResults results, int clearInterval) {
+            this.results = results;
+            this.clearInterval = clearInterval;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNext == null) {
+                // clear before moving the cursor, so that the previous result stays managed while it is processed
+                if (clearInterval > 0 && count > 0 && count % clearInterval == 0) {
+                    em.clear();
+                }
+                hasNext = results.next();
+            }
+            return hasNext;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = null;
+            count++;
+            Object[] row = results.get();
+            // projections of several values are returned as arrays, as for the other results
+            return (T) (row.length == 1 ? row[0] : row);
+        }
+    }
 }
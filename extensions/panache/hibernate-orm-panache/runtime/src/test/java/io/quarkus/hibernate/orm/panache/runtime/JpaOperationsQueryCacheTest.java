@@ -0,0 +1,50 @@
+package io.quarkus.hibernate.orm.panache.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.panache.common.impl.QueryCache;
+
+public class JpaOperationsQueryCacheTest {
+
+    private static final String PERSON = Person.class.getName();
+
+    @Test
+    public void testFindQueriesAreExpandedOnce() {
+        QueryCache<?, ?> cache = QueryCache.get(JpaOperations.QUERY_CACHE_NAME);
+        String query = JpaOperations.createFindQuery(Person.class, "name = ?1 and status = ?2", 2);
+        assertEquals("FROM " + PERSON + " WHERE name = ?1 and status = ?2", query);
+        long hits = cache.getHits();
+        long misses = cache.getMisses();
+
+        assertSame(query, JpaOperations.createFindQuery(Person.class, "name = ?1 and status = ?2", 2));
+        assertEquals(hits + 1, cache.getHits());
+        assertEquals(misses, cache.getMisses());
+    }
+
+    @Test
+    public void testShorthandQueriesAreCachedByParameterCount() {
+        assertEquals("FROM " + PERSON + " WHERE name = ?1", JpaOperations.createFindQuery(Person.class, "name", 1));
+        // the same query string with another number of parameters is not expanded
+        assertEquals("FROM " + PERSON + " WHERE name", JpaOperations.createFindQuery(Person.class, "name", 0));
+        assertEquals("FROM " + PERSON + " WHERE name = ?1", JpaOperations.createFindQuery(Person.class, "name", 1));
+    }
+
+    @Test
+    public void testQueriesAreCachedByEntity() {
+        assertEquals("FROM " + PERSON + " ORDER BY name",
+                JpaOperations.createFindQuery(Person.class, "ORDER BY name", 0));
+        assertEquals("FROM " + Dog.class.getName() + " ORDER BY name",
+                JpaOperations.createFindQuery(Dog.class, "ORDER BY name", 0));
+        assertEquals("FROM " + PERSON, JpaOperations.createFindQuery(Person.class, null, 0));
+        assertEquals("FROM " + Dog.class.getName(), JpaOperations.createFindQuery(Dog.class, null, 0));
+    }
+
+    static class Person {
+    }
+
+    static class Dog {
+    }
+}
@@ -0,0 +1,169 @@
+package io.quarkus.mongodb.panache.deployment;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.pojo.annotations.BsonId;
+import org.bson.codecs.pojo.annotations.BsonIgnore;
+import org.bson.codecs.pojo.annotations.BsonProperty;
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.FieldInfo;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.MethodInfo;
+import org.jboss.jandex.Type;
+
+import io.quarkus.gizmo.ClassCreator;
+import io.quarkus.gizmo.ClassOutput;
+import io.quarkus.gizmo.FieldDescriptor;
+import io.quarkus.gizmo.MethodCreator;
+import io.quarkus.gizmo.MethodDescriptor;
+import io.quarkus.gizmo.ResultHandle;
+import io.quarkus.mongodb.panache.runtime.EntityIdAccessor;
+import io.quarkus.mongodb.panache.runtime.MongoOperations;
+
+/**
+ * Generates the {@link EntityIdAccessor}s that read the ID field of the entities, so that they do not need to be encoded
+ * to find their ID.
+ * <p>
+ * The ID field is the one annotated with {@link BsonId}, or else the one named {@code id} or {@code _id}, as for the POJO
+ * codec. No accessor is generated if the ID may be encoded differently than its Java value, or if it is neither a public
+ * field nor has a public getter: the entity is then encoded to find its ID. This is also the case of all the entities when
+ * the application declares a {@link CodecProvider}, as the Mongo client registers it ahead of the POJO codec and it may
+ * then encode the entities, and their ID, its own way.
+ */
+class EntityIdAccessorGenerator {
+
+    static final String ACCESSOR_SUFFIX = "_PanacheIdAccessor";
+
+    private static final DotName DOTNAME_BSON_ID = DotName.createSimple(BsonId.class.getName());
+    private static final DotName DOTNAME_BSON_IGNORE = DotName.createSimple(BsonIgnore.class.getName());
+    private static final DotName DOTNAME_BSON_PROPERTY = DotName.createSimple(BsonProperty.class.getName());
+    private static final DotName DOTNAME_OBJECT = DotName.createSimple(Object.class.getName());
+    private static final DotName DOTNAME_CODEC_PROVIDER = DotName.createSimple(CodecProvider.class.getName());
+
+    private final IndexView index;
+    private final ClassOutput classOutput;
+    private final boolean customCodecs;
+
+    EntityIdAccessorGenerator(IndexView index, ClassOutput classOutput) {
+        this.index = index;
+        this.classOutput = classOutput;
+        this.customCodecs = !index.getAllKnownImplementors(DOTNAME_CODEC_PROVIDER).isEmpty();
+    }
+
+    /**
+     * @return the name of the generated accessor, or {@code null} if the ID of the entity cannot be read directly
+     */
+    String generate(ClassInfo entity) {
+        if (customCodecs || Modifier.isAbstract(entity.flags()) || Modifier.isInterface(entity.flags())) {
+            return null;
+        }
+        List<ClassInfo> hierarchy = getHierarchy(entity);
+        if (hierarchy == null) {
+            return null;
+        }
+        FieldInfo idField = findIdField(hierarchy);
+        // primitive IDs would need boxing, and type variables have no known type
+        if (idField == null || (idField.type().kind() != Type.Kind.CLASS
+                && idField.type().kind() != Type.Kind.PARAMETERIZED_TYPE)) {
+            return null;
+        }
+        MethodInfo getter = null;
+        if (!Modifier.isPublic(idField.flags())) {
+            getter = findGetter(hierarchy, idField);
+            if (getter == null) {
+                return null;
+            }
+        }
+        String entityName = entity.name().toString();
+        String idType = idField.type().name().toString();
+
+        String generatedName = entityName + ACCESSOR_SUFFIX;
+        ClassCreator accessorCreator = ClassCreator.builder().classOutput(classOutput).className(generatedName)
+                .interfaces(EntityIdAccessor.class)
+                .build();
+        // The descriptor is: Object getId(Object entity)
+        MethodCreator getId = accessorCreator.getMethodCreator("getId", Object.class, Object.class);
+        ResultHandle entityHandle = getId.checkCast(getId.getMethodParam(0), entityName);
+        ResultHandle idHandle;
+        // the field or getter may be declared by a superclass, which is not necessarily accessible
+        if (getter == null) {
+            idHandle = getId.readInstanceField(FieldDescriptor.of(entityName, idField.name(), idType), entityHandle);
+        } else {
+            idHandle = getId.invokeVirtualMethod(MethodDescriptor.ofMethod(entityName, getter.name(), idType),
+                    entityHandle);
+        }
+        getId.returnValue(idHandle);
+        accessorCreator.close();
+        return generatedName;
+    }
+
+    /**
+     * @return the entity and its superclasses, or {@code null} if some of them are not in the index
+     */
+    private List<ClassInfo> getHierarchy(ClassInfo entity) {
+        List<ClassInfo> hierarchy = new ArrayList<>();
+        ClassInfo classInfo = entity;
+        while (true) {
+            hierarchy.add(classInfo);
+            DotName superName = classInfo.superName();
+            if (superName == null || superName.equals(DOTNAME_OBJECT)) {
+                return hierarchy;
+            }
+            classInfo = index.getClassByName(superName);
+            if (classInfo == null) {
+                return null;
+            }
+        }
+    }
+
+    private static FieldInfo findIdField(List<ClassInfo> hierarchy) {
+        List<FieldInfo> namedIds = new ArrayList<>();
+        for (ClassInfo classInfo : hierarchy) {
+            for (FieldInfo field : classInfo.fields()) {
+                if (Modifier.isStatic(field.flags())) {
+                    continue;
+                }
+                if (field.hasAnnotation(DOTNAME_BSON_ID)) {
+                    return isEncodedAsId(field) ? field : null;
+                }
+                if (field.name().equals("id") || field.name().equals(MongoOperations.ID)) {
+                    namedIds.add(field);
+                }
+            }
+        }
+        // the naming convention is ambiguous when there are several such fields
+        if (namedIds.size() != 1 || !isEncodedAsId(namedIds.get(0))) {
+            return null;
+        }
+        return namedIds.get(0);
+    }
+
+    private static boolean isEncodedAsId(FieldInfo field) {
+        if (field.hasAnnotation(DOTNAME_BSON_IGNORE)) {
+            return false;
+        }
+        AnnotationInstance bsonProperty = field.annotation(DOTNAME_BSON_PROPERTY);
+        return bsonProperty == null || bsonProperty.value() == null
+                || MongoOperations.ID.equals(bsonProperty.value().asString());
+    }
+
+    private static MethodInfo findGetter(List<ClassInfo> hierarchy, FieldInfo field) {
+        String getterName = "get" + Character.toUpperCase(field.name().charAt(0)) + field.name().substring(1);
+        for (ClassInfo classInfo : hierarchy) {
+            MethodInfo getter = classInfo.method(getterName);
+            if (getter != null) {
+                if (Modifier.isPublic(getter.flags()) && !Modifier.isStatic(getter.flags())
+                        && getter.returnType().name().equals(field.type().name())) {
+                    return getter;
+                }
+                return null;
+            }
+        }
+        return null;
+    }
+}
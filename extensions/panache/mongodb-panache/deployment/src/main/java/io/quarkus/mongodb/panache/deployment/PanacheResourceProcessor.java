@@ -2,6 +2,7 @@ package io.quarkus.mongodb.panache.deployment;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -17,13 +18,18 @@ import org.jboss.jandex.MethodInfo;
 import org.jboss.jandex.Type;
 
 import io.quarkus.deployment.Capabilities;
+import io.quarkus.deployment.GeneratedClassGizmoAdaptor;
 import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
+import io.quarkus.deployment.annotations.ExecutionTime;
+import io.quarkus.deployment.annotations.Record;
 import io.quarkus.deployment.builditem.ApplicationIndexBuildItem;
 import io.quarkus.deployment.builditem.BytecodeTransformerBuildItem;
 import io.quarkus.deployment.builditem.CapabilityBuildItem;
 import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
+import io.quarkus.deployment.builditem.GeneratedClassBuildItem;
+import io.quarkus.deployment.builditem.ShutdownContextBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.ReflectiveHierarchyBuildItem;
 import io.quarkus.deployment.index.IndexingUtil;
@@ -36,8 +42,13 @@ import io.quarkus.mongodb.panache.PanacheMongoEntityBase;
 import io.quarkus.mongodb.panache.PanacheMongoRepository;
 import io.quarkus.mongodb.panache.PanacheMongoRepositoryBase;
 import io.quarkus.mongodb.panache.ProjectionFor;
+import io.quarkus.mongodb.panache.runtime.MongoPanacheConfig;
+import io.quarkus.mongodb.panache.runtime.MongoPanacheRecorder;
+import io.quarkus.mongodb.panache.runtime.PanacheQlQueryBinder;
 import io.quarkus.panache.common.deployment.PanacheFieldAccessEnhancer;
 import io.quarkus.panache.common.deployment.PanacheRepositoryEnhancer;
+import io.quarkus.panache.common.deployment.QueryCacheMetrics;
+import io.quarkus.smallrye.metrics.deployment.spi.MetricBuildItem;
 
 public class PanacheResourceProcessor {
     static final DotName DOTNAME_PANACHE_REPOSITORY_BASE = DotName.createSimple(PanacheMongoRepositoryBase.class.getName());
@@ -62,6 +73,11 @@ public class PanacheResourceProcessor {
         return new FeatureBuildItem(FeatureBuildItem.MONGODB_PANACHE);
     }
 
+    @BuildStep
+    MetricBuildItem registerMetrics() {
+        return QueryCacheMetrics.hitRatio(PanacheQlQueryBinder.QUERY_CACHE_NAME);
+    }
+
     @BuildStep
     void registerJsonbSerDeser(BuildProducer<JsonbSerializerBuildItem> jsonbSerializers,
             BuildProducer<JsonbDeserializerBuildItem> jsonbDeserializers) {
@@ -177,6 +193,60 @@ public class PanacheResourceProcessor {
         }
     }
 
+    @BuildStep
+    @Record(ExecutionTime.STATIC_INIT)
+    void generateIdAccessors(CombinedIndexBuildItem index,
+            MongoPanacheRecorder recorder,
+            BuildProducer<GeneratedClassBuildItem> generatedClass,
+            BuildProducer<ReflectiveClassBuildItem> reflectiveClass) {
+        // the entities and the entity types of the repositories
+        Set<DotName> entityClasses = new HashSet<>();
+        for (ClassInfo classInfo : index.getIndex().getAllKnownSubclasses(DOTNAME_PANACHE_ENTITY_BASE)) {
+            entityClasses.add(classInfo.name());
+        }
+        for (ClassInfo classInfo : index.getIndex().getAllKnownSubclasses(DOTNAME_PANACHE_ENTITY)) {
+            entityClasses.add(classInfo.name());
+        }
+        entityClasses.remove(DOTNAME_PANACHE_ENTITY);
+        Set<ClassInfo> repositories = new HashSet<>();
+        repositories.addAll(index.getIndex().getAllKnownImplementors(DOTNAME_PANACHE_REPOSITORY_BASE));
+        repositories.addAll(index.getIndex().getAllKnownImplementors(DOTNAME_PANACHE_REPOSITORY));
+        for (ClassInfo classInfo : repositories) {
+            if (classInfo.name().equals(DOTNAME_PANACHE_REPOSITORY) || PanacheRepositoryEnhancer.skipRepository(classInfo))
+                continue;
+            List<Type> typeParameters = JandexUtil.resolveTypeParameters(classInfo.name(), DOTNAME_PANACHE_REPOSITORY_BASE,
+                    index.getIndex());
+            if (!typeParameters.isEmpty() && typeParameters.get(0).kind() == Type.Kind.CLASS) {
+                entityClasses.add(typeParameters.get(0).name());
+            }
+        }
+
+        EntityIdAccessorGenerator generator = new EntityIdAccessorGenerator(index.getIndex(),
+                new GeneratedClassGizmoAdaptor(generatedClass, true));
+        Map<String, String> accessors = new HashMap<>();
+        for (DotName entityClass : entityClasses) {
+            ClassInfo classInfo = index.getIndex().getClassByName(entityClass);
+            String accessorClass = classInfo != null ? generator.generate(classInfo) : null;
+            if (accessorClass != null) {
+                reflectiveClass.produce(new ReflectiveClassBuildItem(false, false, accessorClass));
+                accessors.put(entityClass.toString(), accessorClass);
+            }
+        }
+        recorder.setIdAccessors(accessors);
+    }
+
+    @BuildStep
+    @Record(ExecutionTime.RUNTIME_INIT)
+    void configureRuntimeProperties(MongoPanacheRecorder recorder, MongoPanacheConfig config) {
+        recorder.configureRuntimeProperties(config);
+    }
+
+    @BuildStep
+    @Record(ExecutionTime.RUNTIME_INIT)
+    void clearQueryCacheOnShutdown(MongoPanacheRecorder recorder, ShutdownContextBuildItem shutdown) {
+        recorder.clearQueryCacheOnShutdown(shutdown);
+    }
+
     private void extractMappings(Map<String, String> classPropertyMapping, ClassInfo target, CombinedIndexBuildItem index) {
         for (FieldInfo fieldInfo : target.fields()) {
             if (fieldInfo.hasAnnotation(DOTNAME_BSON_PROPERTY)) {
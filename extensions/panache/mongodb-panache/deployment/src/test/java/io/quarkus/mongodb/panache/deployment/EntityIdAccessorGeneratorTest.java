@@ -0,0 +1,187 @@
+package io.quarkus.mongodb.panache.deployment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonReader;
+import org.bson.BsonString;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.codecs.pojo.annotations.BsonId;
+import org.bson.codecs.pojo.annotations.BsonIgnore;
+import org.bson.types.ObjectId;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.mongodb.panache.PanacheMongoEntity;
+import io.quarkus.mongodb.panache.PanacheMongoEntityBase;
+import io.quarkus.mongodb.panache.runtime.EntityIdAccessor;
+import io.quarkus.mongodb.panache.runtime.MongoOperations;
+
+public class EntityIdAccessorGeneratorTest {
+
+    private final Map<String, byte[]> generatedClasses = new HashMap<>();
+    private EntityIdAccessorGenerator generator;
+    private Index index;
+
+    @BeforeEach
+    public void createGenerator() throws IOException {
+        index = index(PanacheMongoEntityBase.class, PanacheMongoEntity.class, PanacheEntity.class, AnnotatedId.class,
+                GetterId.class, IgnoredId.class, AmbiguousId.class, PrimitiveId.class);
+        generator = new EntityIdAccessorGenerator(index, generatedClasses::put);
+    }
+
+    @Test
+    public void testInheritedIdField() throws Exception {
+        PanacheEntity entity = new PanacheEntity();
+        EntityIdAccessor accessor = generate(PanacheEntity.class);
+        assertNull(accessor.getId(entity));
+        entity.id = new ObjectId();
+        assertEquals(entity.id, accessor.getId(entity));
+    }
+
+    @Test
+    public void testAnnotatedIdField() throws Exception {
+        AnnotatedId entity = new AnnotatedId();
+        entity.isbn = "978-0";
+        assertEquals("978-0", generate(AnnotatedId.class).getId(entity));
+    }
+
+    @Test
+    public void testIdGetter() throws Exception {
+        GetterId entity = new GetterId();
+        entity.setId(42L);
+        assertEquals(42L, generate(GetterId.class).getId(entity));
+    }
+
+    @Test
+    public void testNoAccessor() {
+        assertNull(generator.generate(index.getClassByName(DotName.createSimple(IgnoredId.class.getName()))));
+        assertNull(generator.generate(index.getClassByName(DotName.createSimple(AmbiguousId.class.getName()))));
+        assertNull(generator.generate(index.getClassByName(DotName.createSimple(PrimitiveId.class.getName()))));
+    }
+
+    @Test
+    public void testNoAccessorWithCustomCodec() throws IOException {
+        Index index = index(AnnotatedId.class, CustomCodecProvider.class);
+        EntityIdAccessorGenerator generator = new EntityIdAccessorGenerator(index, generatedClasses::put);
+        // the custom codec does not encode the ID as its Java value
+        AnnotatedId entity = new AnnotatedId();
+        entity.isbn = "978-0";
+        BsonDocument document = new BsonDocument();
+        new AnnotatedIdCodec().encode(new BsonDocumentWriter(document), entity, EncoderContext.builder().build());
+        assertEquals(new BsonString("ISBN 978-0"), document.get(MongoOperations.ID));
+
+        assertNull(generator.generate(index.getClassByName(DotName.createSimple(AnnotatedId.class.getName()))));
+    }
+
+    private static Index index(Class<?>... classes) throws IOException {
+        Indexer indexer = new Indexer();
+        for (Class<?> clazz : classes) {
+            try (InputStream in = clazz.getClassLoader()
+                    .getResourceAsStream(clazz.getName().replace('.', '/') + ".class")) {
+                indexer.index(in);
+            }
+        }
+        return indexer.complete();
+    }
+
+    private EntityIdAccessor generate(Class<?> entityClass) throws Exception {
+        String accessorName = generator.generate(index.getClassByName(DotName.createSimple(entityClass.getName())));
+        assertEquals(entityClass.getName() + EntityIdAccessorGenerator.ACCESSOR_SUFFIX, accessorName);
+        ClassLoader classLoader = new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            protected Class<?> findClass(String name) throws ClassNotFoundException {
+                byte[] bytes = generatedClasses.get(name.replace('.', '/'));
+                if (bytes == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                return defineClass(name, bytes, 0, bytes.length);
+            }
+        };
+        return (EntityIdAccessor) classLoader.loadClass(accessorName).getDeclaredConstructor().newInstance();
+    }
+
+    public static class PanacheEntity extends PanacheMongoEntity {
+        public String name;
+    }
+
+    public static class AnnotatedId {
+        @BsonId
+        public String isbn;
+        public String id;
+    }
+
+    public static class GetterId {
+        private Long id;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+
+    public static class IgnoredId {
+        @BsonIgnore
+        public String id;
+    }
+
+    public static class AmbiguousId {
+        public String id;
+        public String _id;
+    }
+
+    public static class PrimitiveId {
+        public long id;
+    }
+
+    public static class CustomCodecProvider implements CodecProvider {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+            return clazz == AnnotatedId.class ? (Codec<T>) new AnnotatedIdCodec() : null;
+        }
+    }
+
+    public static class AnnotatedIdCodec implements Codec<AnnotatedId> {
+
+        @Override
+        public void encode(BsonWriter writer, AnnotatedId value, EncoderContext encoderContext) {
+            writer.writeStartDocument();
+            writer.writeString(MongoOperations.ID, "ISBN " + value.isbn);
+            writer.writeEndDocument();
+        }
+
+        @Override
+        public AnnotatedId decode(BsonReader reader, DecoderContext decoderContext) {
+            AnnotatedId value = new AnnotatedId();
+            reader.readStartDocument();
+            value.isbn = reader.readString(MongoOperations.ID).substring("ISBN ".length());
+            reader.readEndDocument();
+            return value;
+        }
+
+        @Override
+        public Class<AnnotatedId> getEncoderClass() {
+            return AnnotatedId.class;
+        }
+    }
+}
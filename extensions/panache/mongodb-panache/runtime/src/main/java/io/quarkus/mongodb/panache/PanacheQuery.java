@@ -142,11 +142,24 @@ public interface PanacheQuery<Entity> {
      * 
      * @return the current page of results as a {@link Stream}.
      * @see #list()
+     * @see #streamFromCursor()
      * @see #page(Page)
      * @see #page()
      */
     public <T extends Entity> Stream<T> stream();
 
+    /**
+     * Returns the current page of results as a {@link Stream} reading them from a database cursor as it is consumed,
+     * instead of loading the whole page in memory. The cursor is only released when the stream is consumed entirely or
+     * closed, so the stream must be closed, for example with a try-with-resources statement.
+     * 
+     * @return the current page of results as a {@link Stream} backed by a database cursor.
+     * @see #stream()
+     * @see #page(Page)
+     * @see #page()
+     */
+    public <T extends Entity> Stream<T> streamFromCursor();
+
     /**
      * Returns the first result of the current page index. This ignores the current page size to fetch
      * a single result.
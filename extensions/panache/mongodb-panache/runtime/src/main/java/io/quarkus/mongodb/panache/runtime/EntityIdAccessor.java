@@ -0,0 +1,14 @@
+package io.quarkus.mongodb.panache.runtime;
+
+/**
+ * Reads the ID of an entity without encoding it. The implementations are generated at build time, for the entities
+ * whose ID field can be read directly.
+ */
+public interface EntityIdAccessor {
+
+    /**
+     * @param entity the entity
+     * @return the value of the ID field of the entity, or {@code null} if it is not set
+     */
+    Object getId(Object entity);
+}
@@ -2,6 +2,7 @@ package io.quarkus.mongodb.panache.runtime;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -14,12 +15,14 @@ import org.bson.BsonValue;
 import org.bson.Document;
 import org.bson.codecs.Codec;
 import org.bson.codecs.EncoderContext;
+import org.bson.conversions.Bson;
 import org.eclipse.microprofile.config.ConfigProvider;
 import org.jboss.logging.Logger;
 
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.InsertOneModel;
 import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
@@ -36,6 +39,18 @@ public class MongoOperations {
     private static final Logger LOGGER = Logger.getLogger(MongoOperations.class);
     public static final String ID = "_id";
     public static final String MONGODB_DATABASE = "quarkus.mongodb.database";
+
+    private static volatile Map<Class<?>, EntityIdAccessor> idAccessors = Collections.emptyMap();
+    private static volatile boolean bulkWriteOrdered = true;
+
+    static void setIdAccessors(Map<Class<?>, EntityIdAccessor> accessors) {
+        idAccessors = accessors;
+    }
+
+    static void setBulkWriteOrdered(boolean ordered) {
+        bulkWriteOrdered = ordered;
+    }
+
     //
     // Instance methods
 
@@ -167,10 +182,7 @@ public class MongoOperations {
 
     public static void delete(Object entity) {
         MongoCollection collection = mongoCollection(entity);
-        BsonDocument document = getBsonDocument(collection, entity);
-        BsonValue id = document.get(ID);
-        BsonDocument query = new BsonDocument().append(ID, id);
-        collection.deleteOne(query);
+        collection.deleteOne(idFilter(collection, entity));
     }
 
     public static MongoCollection mongoCollection(Class<?> entityClass) {
@@ -199,13 +211,8 @@ public class MongoOperations {
     }
 
     private static void update(MongoCollection collection, Object entity) {
-        //we transform the entity as a document first
-        BsonDocument document = getBsonDocument(collection, entity);
-
-        //then we get its id field and create a new Document with only this one that will be our replace query
-        BsonValue id = document.get(ID);
-        BsonDocument query = new BsonDocument().append(ID, id);
-        collection.replaceOne(query, entity);
+        //we create a new Document with only the id field that will be our replace query
+        collection.replaceOne(idFilter(collection, entity), entity);
     }
 
     private static void update(MongoCollection collection, List<Object> entities) {
@@ -215,42 +222,50 @@ public class MongoOperations {
     }
 
     private static void persistOrUpdate(MongoCollection collection, Object entity) {
-        //we transform the entity as a document first
-        BsonDocument document = getBsonDocument(collection, entity);
-
-        //then we get its id field and create a new Document with only this one that will be our replace query
-        BsonValue id = document.get(ID);
-        if (id == null) {
+        //we create a new Document with only the id field that will be our replace query
+        Bson query = idFilter(collection, entity);
+        if (query == null) {
             //insert with autogenerated ID
             collection.insertOne(entity);
         } else {
             //insert with user provided ID or update
-            BsonDocument query = new BsonDocument().append(ID, id);
             collection.replaceOne(query, entity, ReplaceOptions.createReplaceOptions(new UpdateOptions().upsert(true)));
         }
     }
 
     private static void persistOrUpdate(MongoCollection collection, List<Object> entities) {
-        //this will be an ordered bulk: it's less performant than a unordered one but will fail at the first failed write
-        List<WriteModel> bulk = new ArrayList<>();
+        //by default this will be an ordered bulk: it's less performant than a unordered one but will fail at the first failed write
+        List<WriteModel> bulk = new ArrayList<>(entities.size());
+        ReplaceOptions upsert = ReplaceOptions.createReplaceOptions(new UpdateOptions().upsert(true));
         for (Object entity : entities) {
-            //we transform the entity as a document first
-            BsonDocument document = getBsonDocument(collection, entity);
-
-            //then we get its id field and create a new Document with only this one that will be our replace query
-            BsonValue id = document.get(ID);
-            if (id == null) {
+            //we create a new Document with only the id field that will be our replace query
+            Bson query = idFilter(collection, entity);
+            if (query == null) {
                 //insert with autogenerated ID
                 bulk.add(new InsertOneModel(entity));
             } else {
                 //insert with user provided ID or update
-                BsonDocument query = new BsonDocument().append(ID, id);
-                bulk.add(new ReplaceOneModel(query, entity,
-                        ReplaceOptions.createReplaceOptions(new UpdateOptions().upsert(true))));
+                bulk.add(new ReplaceOneModel(query, entity, upsert));
             }
         }
 
-        collection.bulkWrite(bulk);
+        collection.bulkWrite(bulk, new BulkWriteOptions().ordered(bulkWriteOrdered));
+    }
+
+    /**
+     * @return a filter on the id of the entity, or {@code null} if its id is not set
+     */
+    private static Bson idFilter(MongoCollection collection, Object entity) {
+        EntityIdAccessor idAccessor = idAccessors.get(entity.getClass());
+        if (idAccessor != null) {
+            //the id is read from its field, the entity is only encoded once, by the write itself
+            Object id = idAccessor.getId(entity);
+            return id != null ? new Document(ID, id) : null;
+        }
+
+        //we transform the entity as a document first, then we get its id field
+        BsonValue id = getBsonDocument(collection, entity).get(ID);
+        return id != null ? new BsonDocument().append(ID, id) : null;
     }
 
     private static BsonDocument getBsonDocument(MongoCollection collection, Object entity) {
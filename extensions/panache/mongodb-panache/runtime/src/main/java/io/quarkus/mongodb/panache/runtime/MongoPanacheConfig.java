@@ -0,0 +1,18 @@
+package io.quarkus.mongodb.panache.runtime;
+
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConfigPhase;
+import io.quarkus.runtime.annotations.ConfigRoot;
+
+@ConfigRoot(name = "mongodb-panache", phase = ConfigPhase.RUN_TIME)
+public class MongoPanacheConfig {
+
+    /**
+     * Whether the bulk writes of the {@code persistOrUpdate()} methods taking several entities are ordered.
+     * <p>
+     * An ordered bulk write stops at the first failed write. An unordered one lets the server apply the writes in
+     * parallel and reports all the failed writes at the end, which is faster for large bulks.
+     */
+    @ConfigItem(name = "bulk-write.ordered", defaultValue = "true")
+    public boolean bulkWriteOrdered;
+}
@@ -0,0 +1,42 @@
+package io.quarkus.mongodb.panache.runtime;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.quarkus.runtime.ShutdownContext;
+import io.quarkus.runtime.annotations.Recorder;
+
+@Recorder
+public class MongoPanacheRecorder {
+
+    /**
+     * @param accessorClassNames the names of the generated {@link EntityIdAccessor}s, by entity class name
+     */
+    public void setIdAccessors(Map<String, String> accessorClassNames) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Map<Class<?>, EntityIdAccessor> accessors = new HashMap<>();
+        for (Map.Entry<String, String> entry : accessorClassNames.entrySet()) {
+            try {
+                Class<?> entityClass = classLoader.loadClass(entry.getKey());
+                Class<?> accessorClass = classLoader.loadClass(entry.getValue());
+                accessors.put(entityClass, (EntityIdAccessor) accessorClass.getDeclaredConstructor().newInstance());
+            } catch (Exception e) {
+                throw new IllegalStateException("Unable to create the ID accessor of " + entry.getKey(), e);
+            }
+        }
+        MongoOperations.setIdAccessors(accessors);
+    }
+
+    public void configureRuntimeProperties(MongoPanacheConfig config) {
+        MongoOperations.setBulkWriteOrdered(config.bulkWriteOrdered);
+    }
+
+    public void clearQueryCacheOnShutdown(ShutdownContext shutdown) {
+        shutdown.addShutdownTask(new Runnable() {
+            @Override
+            public void run() {
+                PanacheQlQueryBinder.clearQueryCache();
+            }
+        });
+    }
+}
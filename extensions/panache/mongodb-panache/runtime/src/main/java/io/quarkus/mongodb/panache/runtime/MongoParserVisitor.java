@@ -1,17 +1,27 @@
 package io.quarkus.mongodb.panache.runtime;
 
+import java.util.List;
 import java.util.Map;
 
 import io.quarkus.panacheql.internal.HqlParser;
 import io.quarkus.panacheql.internal.HqlParserBaseVisitor;
 
 class MongoParserVisitor extends HqlParserBaseVisitor<String> {
+    /**
+     * Written in place of the parameters, which are bound when the query is executed.
+     */
+    static final char PARAMETER_PLACEHOLDER = '\0';
+
     private Map<String, String> replacementMap;
-    private Map<String, Object> parameterMaps;
+    private List<String> parameters;
 
-    public MongoParserVisitor(Map<String, String> replacementMap, Map<String, Object> parameterMaps) {
+    /**
+     * @param replacementMap the names of the fields to replace
+     * @param parameters the list the parameters of the query are added to, in the order of their placeholders
+     */
+    public MongoParserVisitor(Map<String, String> replacementMap, List<String> parameters) {
         this.replacementMap = replacementMap;
-        this.parameterMaps = parameterMaps;
+        this.parameters = parameters;
     }
 
     @Override
@@ -86,13 +96,8 @@ class MongoParserVisitor extends HqlParserBaseVisitor<String> {
     @Override
     public String visitParameterExpression(HqlParser.ParameterExpressionContext ctx) {
         // this will match parameters used by PanacheQL : '?1' for index based or ':key' for named one.
-        if (parameterMaps.containsKey(ctx.getText())) {
-            Object value = parameterMaps.get(ctx.getText());
-            return CommonQueryBinder.escape(value);
-        } else {
-            // we return the parameter to avoid an exception but the query will be invalid
-            return ctx.getText();
-        }
+        parameters.add(ctx.getText());
+        return String.valueOf(PARAMETER_PLACEHOLDER);
     }
 
     @Override
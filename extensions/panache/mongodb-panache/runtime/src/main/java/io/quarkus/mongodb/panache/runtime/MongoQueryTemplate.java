@@ -0,0 +1,81 @@
+package io.quarkus.mongodb.panache.runtime;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A PanacheQL query translated to a Mongo query, where the parameters are bound when the query is executed.
+ */
+final class MongoQueryTemplate {
+
+    private final String[] fragments;
+    private final String[] parameters;
+    private final int[] indexes;
+    private final String[] names;
+
+    /**
+     * @param fragments the text around the parameters, there is one more fragment than parameters
+     * @param parameters the parameters as written in the query: {@code ?1} for index based or {@code :key} for named
+     *        ones
+     */
+    MongoQueryTemplate(List<String> fragments, List<String> parameters) {
+        if (fragments.size() != parameters.size() + 1) {
+            throw new IllegalArgumentException(
+                    "Expected " + (parameters.size() + 1) + " query fragments but got " + fragments.size());
+        }
+        this.fragments = fragments.toArray(new String[0]);
+        this.parameters = parameters.toArray(new String[0]);
+        this.indexes = new int[this.parameters.length];
+        this.names = new String[this.parameters.length];
+        for (int i = 0; i < this.parameters.length; i++) {
+            String parameter = this.parameters[i];
+            indexes[i] = parseIndex(parameter);
+            names[i] = parameter.startsWith(":") ? parameter.substring(1) : null;
+        }
+    }
+
+    private static int parseIndex(String parameter) {
+        if (parameter.startsWith("?")) {
+            try {
+                int index = Integer.parseInt(parameter.substring(1));
+                // the parameters are matched by their text, ?01 is not ?1
+                if (index > 0 && parameter.equals("?" + index)) {
+                    return index;
+                }
+            } catch (NumberFormatException e) {
+                // not an index
+            }
+        }
+        return -1;
+    }
+
+    String bind(Object[] params) {
+        StringBuilder sb = new StringBuilder(fragments[0]);
+        for (int i = 0; i < parameters.length; i++) {
+            int index = indexes[i];
+            if (index > 0 && index <= params.length) {
+                sb.append(CommonQueryBinder.escape(params[index - 1]));
+            } else {
+                // we return the parameter to avoid an exception but the query will be invalid
+                sb.append(parameters[i]);
+            }
+            sb.append(fragments[i + 1]);
+        }
+        return sb.toString();
+    }
+
+    String bind(Map<String, Object> params) {
+        StringBuilder sb = new StringBuilder(fragments[0]);
+        for (int i = 0; i < parameters.length; i++) {
+            String name = names[i];
+            if (name != null && params.containsKey(name)) {
+                sb.append(CommonQueryBinder.escape(params.get(name)));
+            } else {
+                // we return the parameter to avoid an exception but the query will be invalid
+                sb.append(parameters[i]);
+            }
+            sb.append(fragments[i + 1]);
+        }
+        return sb.toString();
+    }
+}
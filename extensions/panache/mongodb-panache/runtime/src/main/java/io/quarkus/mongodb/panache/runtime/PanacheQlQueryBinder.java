@@ -1,57 +1,85 @@
 package io.quarkus.mongodb.panache.runtime;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 
+import io.quarkus.panache.common.exception.PanacheQueryException;
+import io.quarkus.panache.common.impl.QueryCache;
 import io.quarkus.panacheql.internal.HqlLexer;
 import io.quarkus.panacheql.internal.HqlParser;
 import io.quarkus.panacheql.internal.HqlParserBaseVisitor;
 
 public class PanacheQlQueryBinder {
 
-    public static String bindQuery(Class<?> clazz, String query, Object[] params) {
-        Map<String, String> replacementMap = MongoPropertyUtil.extractReplacementMap(clazz);
+    public static final String QUERY_CACHE_NAME = "mongodb";
 
-        //shorthand query
-        if (params.length == 1 && query.indexOf('?') == -1) {
-            return "{'" + replaceField(query, replacementMap) + "':" + CommonQueryBinder.escape(params[0]) + "}";
-        }
+    private static final int CLASSIC_QUERY = 0;
+    private static final int SHORTHAND_QUERY = 1;
 
-        //classic query
-        Map<String, Object> parameterMaps = new HashMap<>();
-        for (int i = 1; i <= params.length; i++) {
-            String bindParamsKey = "?" + i;
-            parameterMaps.put(bindParamsKey, params[i - 1]);
-        }
+    // the queries are parsed once, the parameters are bound on each execution
+    private static final QueryCache<QueryCache.Key, MongoQueryTemplate> queryCache = new QueryCache<>(QUERY_CACHE_NAME,
+            QueryCache.DEFAULT_MAX_SIZE);
 
-        return prepareQuery(query, replacementMap, parameterMaps);
+    /**
+     * The templates depend on the property mappings of the entities, which can change when the dev mode restarts.
+     */
+    static void clearQueryCache() {
+        queryCache.clear();
     }
 
-    public static String bindQuery(Class<?> clazz, String query, Map<String, Object> params) {
-        Map<String, String> replacementMap = MongoPropertyUtil.extractReplacementMap(clazz);
+    public static String bindQuery(Class<?> clazz, String query, Object[] params) {
+        //shorthand query
+        boolean shorthand = params.length == 1 && query.indexOf('?') == -1;
+        return getTemplate(clazz, query, shorthand).bind(params);
+    }
 
-        Map<String, Object> parameterMaps = new HashMap<>();
-        for (Map.Entry<String, Object> entry : params.entrySet()) {
-            String bindParamsKey = ":" + entry.getKey();
-            parameterMaps.put(bindParamsKey, entry.getValue());
-        }
+    public static String bindQuery(Class<?> clazz, String query, Map<String, Object> params) {
+        return getTemplate(clazz, query, false).bind(params);
+    }
 
-        return prepareQuery(query, replacementMap, parameterMaps);
+    private static MongoQueryTemplate getTemplate(Class<?> clazz, String query, boolean shorthand) {
+        return queryCache.computeIfAbsent(new QueryCache.Key(clazz, query, shorthand ? SHORTHAND_QUERY : CLASSIC_QUERY),
+                key -> shorthand ? prepareShorthandQuery(clazz, query) : prepareQuery(clazz, query));
     }
 
     private static String replaceField(String field, Map<String, String> replacementMap) {
         return replacementMap.getOrDefault(field, field);
     }
 
-    private static String prepareQuery(String query, Map<String, String> replacementMap, Map<String, Object> parameterMaps) {
+    private static MongoQueryTemplate prepareShorthandQuery(Class<?> clazz, String query) {
+        Map<String, String> replacementMap = MongoPropertyUtil.extractReplacementMap(clazz);
+        return new MongoQueryTemplate(Arrays.asList("{'" + replaceField(query, replacementMap) + "':", "}"),
+                Collections.singletonList("?1"));
+    }
+
+    private static MongoQueryTemplate prepareQuery(Class<?> clazz, String query) {
+        if (query.indexOf(MongoParserVisitor.PARAMETER_PLACEHOLDER) != -1) {
+            throw new PanacheQueryException("Query string cannot contain a NUL character: " + query);
+        }
+        Map<String, String> replacementMap = MongoPropertyUtil.extractReplacementMap(clazz);
         HqlLexer lexer = new HqlLexer(CharStreams.fromString(query));
         CommonTokenStream tokens = new CommonTokenStream(lexer);
         HqlParser parser = new HqlParser(tokens);
         HqlParser.PredicateContext predicate = parser.predicate();
-        HqlParserBaseVisitor<String> visitor = new MongoParserVisitor(replacementMap, parameterMaps);
-        return "{" + predicate.accept(visitor) + "}";
+        List<String> parameters = new ArrayList<>();
+        HqlParserBaseVisitor<String> visitor = new MongoParserVisitor(replacementMap, parameters);
+        String translated = "{" + predicate.accept(visitor) + "}";
+
+        // split the translated query around the parameter placeholders
+        List<String> fragments = new ArrayList<>(parameters.size() + 1);
+        int start = 0;
+        int end;
+        while ((end = translated.indexOf(MongoParserVisitor.PARAMETER_PLACEHOLDER, start)) != -1) {
+            fragments.add(translated.substring(start, end));
+            start = end + 1;
+        }
+        fragments.add(translated.substring(start));
+        return new MongoQueryTemplate(fragments, parameters);
     }
 }
@@ -8,7 +8,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.bson.Document;
 
@@ -149,11 +152,7 @@ public class PanacheQueryImpl<Entity> implements PanacheQuery<Entity> {
     @SuppressWarnings("unchecked")
     public <T extends Entity> List<T> list() {
         List<T> list = new ArrayList<>();
-        FindIterable find = mongoQuery == null ? collection.find() : collection.find(mongoQuery);
-        if (this.projections != null) {
-            find.projection(projections);
-        }
-        MongoCursor<T> cursor = find.sort(sort).skip(page.index).limit(page.size).iterator();
+        MongoCursor<T> cursor = cursor();
 
         try {
             while (cursor.hasNext()) {
@@ -172,6 +171,23 @@ public class PanacheQueryImpl<Entity> implements PanacheQuery<Entity> {
         return (Stream<T>) list().stream();
     }
 
+    @Override
+    public <T extends Entity> Stream<T> streamFromCursor() {
+        // the documents are decoded as they are consumed, the cursor fetches them in batches
+        MongoCursor<T> cursor = cursor();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                .onClose(cursor::close);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Entity> MongoCursor<T> cursor() {
+        FindIterable find = mongoQuery == null ? collection.find() : collection.find(mongoQuery);
+        if (this.projections != null) {
+            find.projection(projections);
+        }
+        return find.sort(sort).skip(page.index).limit(page.size).iterator();
+    }
+
     @Override
     public <T extends Entity> T firstResult() {
         List<T> list = list();
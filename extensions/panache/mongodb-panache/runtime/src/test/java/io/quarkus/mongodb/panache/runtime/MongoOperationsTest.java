@@ -11,6 +11,7 @@ import org.bson.codecs.pojo.annotations.BsonProperty;
 import org.junit.jupiter.api.Test;
 
 import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.impl.QueryCache;
 
 class MongoOperationsTest {
 
@@ -205,4 +206,32 @@ class MongoOperationsTest {
         assertEquals("{'field':{'$regex':'a value'}}", query);
     }
 
+    @Test
+    public void testCachedQueries() {
+        QueryCache<?, ?> cache = QueryCache.get(PanacheQlQueryBinder.QUERY_CACHE_NAME);
+        // the query is parsed once and bound with each value
+        String query = MongoOperations.bindQuery(DemoObj.class, "property = ?1 and isOk = ?2 and field = ?1",
+                new Object[] { "first", true });
+        assertEquals("{'value':'first','isOk':true,'field':'first'}", query);
+        long hits = cache.getHits();
+        query = MongoOperations.bindQuery(DemoObj.class, "property = ?1 and isOk = ?2 and field = ?1",
+                new Object[] { "it's second", false });
+        assertEquals("{'value':'it\\'s second','isOk':false,'field':'it\\'s second'}", query);
+        assertEquals(hits + 1, cache.getHits());
+
+        // the same query string with a single parameter is not the shorthand one
+        query = MongoOperations.bindQuery(DemoObj.class, "property = ?1 and isOk = ?2 and field = ?1",
+                new Object[] { "single" });
+        assertEquals("{'value':'single','isOk':?2,'field':'single'}", query);
+
+        // the shorthand query is cached separately
+        query = MongoOperations.bindQuery(DemoObj.class, "property", new Object[] { "shorthand" });
+        assertEquals("{'value':'shorthand'}", query);
+
+        query = MongoOperations.bindQuery(DemoObj.class, "field = :field and isOk = :missing",
+                Parameters.with("field", "named").map());
+        assertEquals("{'field':'named','isOk'::missing}", query);
+        assertTrue(cache.getHitRatio() > 0);
+    }
+
 }
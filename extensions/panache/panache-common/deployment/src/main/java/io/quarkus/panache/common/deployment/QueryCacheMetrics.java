@@ -0,0 +1,35 @@
+package io.quarkus.panache.common.deployment;
+
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricType;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+
+import io.quarkus.panache.common.impl.QueryCacheGauge;
+import io.quarkus.smallrye.metrics.deployment.spi.MetricBuildItem;
+
+/**
+ * The metrics of the {@link io.quarkus.panache.common.impl.QueryCache}s of the Panache extensions.
+ */
+public final class QueryCacheMetrics {
+
+    public static final String HIT_RATIO = "panache.query.cache.hit.ratio";
+    public static final String CACHE_TAG = "cache";
+
+    private QueryCacheMetrics() {
+    }
+
+    /**
+     * @param cacheName the name of the cache
+     * @return the gauge reporting the hit ratio of the cache
+     */
+    public static MetricBuildItem hitRatio(String cacheName) {
+        Metadata metadata = Metadata.builder()
+                .withName(HIT_RATIO)
+                .withDescription("Ratio of the query strings that were found in the cache of parsed queries.")
+                .withType(MetricType.GAUGE)
+                .withUnit(MetricUnits.NONE)
+                .build();
+        return new MetricBuildItem(metadata, new QueryCacheGauge(cacheName), true, null, new Tag(CACHE_TAG, cacheName));
+    }
+}
@@ -0,0 +1,206 @@
+package io.quarkus.panache.common.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of the queries derived from the query strings passed to the Panache operations, so that hot
+ * repository methods do not rewrite or parse the same query string on every call.
+ * <p>
+ * Lookups do not lock. The least recently used entries are evicted in batches once the cache is full, the access times
+ * are only updated once per millisecond so that threads sharing an entry do not keep writing to it.
+ *
+ * @param <K> the type of the keys, usually {@link Key}
+ * @param <V> the type of the cached queries
+ */
+public final class QueryCache<K, V> {
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private static final long ACCESS_TIME_RESOLUTION = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final Map<String, QueryCache<?, ?>> caches = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final int maxSize;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Object evictionLock = new Object();
+
+    /**
+     * @param name the name of the cache, under which its statistics are reported
+     * @param maxSize the maximum number of cached queries
+     */
+    public QueryCache(String name, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The maximum size of a query cache must be positive: " + maxSize);
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        caches.put(name, this);
+    }
+
+    /**
+     * @return the cache with the given name, or {@code null} if it was not created yet
+     */
+    public static QueryCache<?, ?> get(String name) {
+        return caches.get(name);
+    }
+
+    /**
+     * Return the cached query for the given key, computing it if needed. Nothing is cached if the computation fails.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        Entry<V> entry = entries.get(key);
+        long now = System.nanoTime();
+        if (entry != null) {
+            hits.increment();
+            if (now - entry.lastAccess > ACCESS_TIME_RESOLUTION) {
+                entry.lastAccess = now;
+            }
+            return entry.value;
+        }
+        misses.increment();
+        V value = function.apply(key);
+        entry = entries.putIfAbsent(key, new Entry<>(value, now));
+        if (entry != null) {
+            // computed concurrently by another thread
+            return entry.value;
+        }
+        if (entries.size() > maxSize) {
+            evict();
+        }
+        return value;
+    }
+
+    private void evict() {
+        synchronized (evictionLock) {
+            int excess = entries.size() - maxSize;
+            if (excess <= 0) {
+                return;
+            }
+            // evict a tenth of the cache at once, so that the cost of sorting is shared by the next misses
+            int count = Math.min(entries.size(), excess + Math.max(1, maxSize / 10));
+            List<Candidate<K, V>> candidates = new ArrayList<>(entries.size());
+            for (Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+                candidates.add(new Candidate<>(entry.getKey(), entry.getValue()));
+            }
+            // the access times are read once, as they keep changing while sorting
+            candidates.sort((a, b) -> Long.compare(a.lastAccess - b.lastAccess, 0));
+            for (int i = 0; i < count; i++) {
+                entries.remove(candidates.get(i).key, candidates.get(i).entry);
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the ratio of the lookups that found a cached query, or 0 if the cache was never used
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public void clear() {
+        entries.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    private static final class Entry<V> {
+
+        final V value;
+        volatile long lastAccess;
+
+        Entry(V value, long lastAccess) {
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private static final class Candidate<K, V> {
+
+        final K key;
+        final Entry<V> entry;
+        final long lastAccess;
+
+        Candidate(K key, Entry<V> entry) {
+            this.key = key;
+            this.entry = entry;
+            this.lastAccess = entry.lastAccess;
+        }
+    }
+
+    /**
+     * The key of a query derived from a query string of an entity.
+     * <p>
+     * The entity is identified by its class name: the caches are static and outlive the application class loader in dev
+     * mode, keeping a reference to the entity class would keep the class loader of each restart alive.
+     */
+    public static final class Key {
+
+        private final String entityClassName;
+        private final String query;
+        private final int shape;
+        private final int hashCode;
+
+        /**
+         * @param entityClass the entity the query applies to
+         * @param query the query string passed by the user
+         * @param shape what the derived query depends on besides the entity and query string, such as the kind of
+         *        operation or the number of parameters
+         */
+        public Key(Class<?> entityClass, String query, int shape) {
+            this.entityClassName = entityClass.getName();
+            this.query = query;
+            this.shape = shape;
+            this.hashCode = 31 * (31 * entityClassName.hashCode() + Objects.hashCode(query)) + shape;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return shape == other.shape && entityClassName.equals(other.entityClassName)
+                    && Objects.equals(query, other.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.quarkus.panache.common.impl;
+
+import org.eclipse.microprofile.metrics.Gauge;
+
+/**
+ * Reports the hit ratio of a {@link QueryCache}.
+ */
+public class QueryCacheGauge implements Gauge<Double> {
+
+    private String cacheName;
+
+    public QueryCacheGauge() {
+
+    }
+
+    /**
+     * @param cacheName the name of the cache
+     */
+    public QueryCacheGauge(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public void setCacheName(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    @Override
+    public Double getValue() {
+        // the cache is created when the first operation of the extension is invoked
+        QueryCache<?, ?> cache = QueryCache.get(cacheName);
+        return cache != null ? cache.getHitRatio() : 0.0;
+    }
+}
@@ -0,0 +1,115 @@
+package io.quarkus.panache.common.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+public class QueryCacheTest {
+
+    @Test
+    public void testQueryIsComputedOnce() {
+        QueryCache<String, String> cache = new QueryCache<>("computed-once", 16);
+        AtomicInteger computations = new AtomicInteger();
+        Function<String, String> function = key -> {
+            computations.incrementAndGet();
+            return "FROM " + key;
+        };
+
+        assertEquals("FROM a", cache.computeIfAbsent("a", function));
+        assertEquals("FROM a", cache.computeIfAbsent("a", function));
+        assertEquals(1, computations.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRatio());
+        assertSame(cache, QueryCache.get("computed-once"));
+    }
+
+    @Test
+    public void testFailedComputationIsNotCached() {
+        QueryCache<String, String> cache = new QueryCache<>("failed", 16);
+        assertThrows(IllegalArgumentException.class, () -> cache.computeIfAbsent("a", key -> {
+            throw new IllegalArgumentException();
+        }));
+        assertEquals(0, cache.size());
+        assertEquals("FROM a", cache.computeIfAbsent("a", key -> "FROM a"));
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        int maxSize = 100;
+        QueryCache<Integer, String> cache = new QueryCache<>("bounded", maxSize);
+        for (int i = 0; i < 10 * maxSize; i++) {
+            cache.computeIfAbsent(i, String::valueOf);
+            assertTrue(cache.size() <= maxSize, "Size " + cache.size());
+        }
+        // a tenth of the cache is evicted at once
+        assertTrue(cache.size() >= maxSize - maxSize / 10 - 1, "Size " + cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedQueriesAreEvicted() throws InterruptedException {
+        int maxSize = 10;
+        QueryCache<Integer, String> cache = new QueryCache<>("lru", maxSize);
+        for (int i = 0; i < maxSize; i++) {
+            cache.computeIfAbsent(i, String::valueOf);
+        }
+        // the access times are only updated once per millisecond
+        Thread.sleep(2);
+        for (int i = 5; i < maxSize; i++) {
+            cache.computeIfAbsent(i, String::valueOf);
+        }
+        // one query over the maximum size, and a tenth of the cache, are evicted
+        cache.computeIfAbsent(maxSize, String::valueOf);
+        assertEquals(maxSize - 1, cache.size());
+
+        long misses = cache.getMisses();
+        for (int i = 5; i <= maxSize; i++) {
+            cache.computeIfAbsent(i, String::valueOf);
+        }
+        assertEquals(misses, cache.getMisses());
+        // the oldest query was evicted
+        cache.computeIfAbsent(0, String::valueOf);
+        assertEquals(misses + 1, cache.getMisses());
+    }
+
+    @Test
+    public void testClear() {
+        QueryCache<String, String> cache = new QueryCache<>("cleared", 16);
+        cache.computeIfAbsent("a", key -> "FROM a");
+        cache.computeIfAbsent("a", key -> "FROM a");
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void testKeysDoNotDependOnTheClassLoader() throws Exception {
+        URL classes = Entity.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { classes }, null)) {
+            // the same entity, loaded again as after a dev mode restart
+            Class<?> reloaded = classLoader.loadClass(Entity.class.getName());
+            assertNotSame(Entity.class, reloaded);
+
+            QueryCache.Key key = new QueryCache.Key(Entity.class, "name", 1);
+            assertEquals(key, new QueryCache.Key(reloaded, "name", 1));
+            assertEquals(key.hashCode(), new QueryCache.Key(reloaded, "name", 1).hashCode());
+            assertNotEquals(key, new QueryCache.Key(reloaded, "name", 0));
+            assertNotEquals(key, new QueryCache.Key(reloaded, "other", 1));
+            assertNotEquals(key, new QueryCache.Key(Object.class, "name", 1));
+        }
+    }
+
+    public static class Entity {
+    }
+}
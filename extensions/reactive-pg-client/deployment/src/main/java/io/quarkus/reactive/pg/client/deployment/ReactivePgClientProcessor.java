@@ -1,5 +1,7 @@
 package io.quarkus.reactive.pg.client.deployment;
 
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricType;
 import org.jboss.logging.Logger;
 
 import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
@@ -12,10 +14,14 @@ import io.quarkus.deployment.builditem.FeatureBuildItem;
 import io.quarkus.deployment.builditem.ShutdownContextBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.NativeImageConfigBuildItem;
 import io.quarkus.reactive.pg.client.runtime.DataSourceConfig;
+import io.quarkus.reactive.pg.client.runtime.PgPoolBuildTimeConfig;
 import io.quarkus.reactive.pg.client.runtime.PgPoolConfig;
 import io.quarkus.reactive.pg.client.runtime.PgPoolProducer;
 import io.quarkus.reactive.pg.client.runtime.PgPoolRecorder;
+import io.quarkus.reactive.pg.client.runtime.metrics.PgBatchExecutorCounter;
+import io.quarkus.reactive.pg.client.runtime.metrics.PgBatchExecutorGauge;
 import io.quarkus.runtime.RuntimeValue;
+import io.quarkus.smallrye.metrics.deployment.spi.MetricBuildItem;
 import io.quarkus.vertx.deployment.VertxBuildItem;
 import io.vertx.pgclient.PgPool;
 
@@ -47,4 +53,43 @@ class ReactivePgClientProcessor {
 
         return new PgPoolBuildItem(pgPool);
     }
+
+    @BuildStep
+    void registerMetrics(PgPoolBuildTimeConfig pgPoolBuildTimeConfig, BuildProducer<MetricBuildItem> metrics) {
+        gauge(metrics, pgPoolBuildTimeConfig, "reactive.pg.batch.queue.depth",
+                "Number of queries submitted to the batch executor, waiting for a connection.", "queueDepth");
+        gauge(metrics, pgPoolBuildTimeConfig, "reactive.pg.batch.in.flight.count",
+                "Number of queries sent by the batch executor, waiting for their response.", "inFlightCount");
+        gauge(metrics, pgPoolBuildTimeConfig, "reactive.pg.batch.connection.count",
+                "Number of connections leased by the batch executor.", "connectionCount");
+        counter(metrics, pgPoolBuildTimeConfig, "reactive.pg.batch.submitted.count",
+                "Number of queries submitted to the batch executor.", "submittedCount");
+        counter(metrics, pgPoolBuildTimeConfig, "reactive.pg.batch.pipelined.count",
+                "Number of queries sent on a connection while another query was running on it.", "pipelinedCount");
+        counter(metrics, pgPoolBuildTimeConfig, "reactive.pg.batch.prepared.statement.reuse.count",
+                "Number of prepared queries whose statement was already prepared on their connection.",
+                "preparedStatementReuseCount");
+    }
+
+    private static void gauge(BuildProducer<MetricBuildItem> metrics, PgPoolBuildTimeConfig pgPoolBuildTimeConfig,
+            String name, String description, String metric) {
+        Metadata metadata = Metadata.builder()
+                .withName(name)
+                .withDescription(description)
+                .withType(MetricType.GAUGE)
+                .build();
+        metrics.produce(new MetricBuildItem(metadata, new PgBatchExecutorGauge(metric),
+                pgPoolBuildTimeConfig.metricsEnabled, "reactive-pg-client"));
+    }
+
+    private static void counter(BuildProducer<MetricBuildItem> metrics, PgPoolBuildTimeConfig pgPoolBuildTimeConfig,
+            String name, String description, String metric) {
+        Metadata metadata = Metadata.builder()
+                .withName(name)
+                .withDescription(description)
+                .withType(MetricType.COUNTER)
+                .build();
+        metrics.produce(new MetricBuildItem(metadata, new PgBatchExecutorCounter(metric),
+                pgPoolBuildTimeConfig.metricsEnabled, "reactive-pg-client"));
+    }
 }
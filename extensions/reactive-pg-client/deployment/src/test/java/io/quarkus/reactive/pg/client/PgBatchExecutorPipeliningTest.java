@@ -0,0 +1,205 @@
+package io.quarkus.reactive.pg.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.reactive.pg.client.runtime.PgBatchExecutor;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Tuple;
+
+/**
+ * Runs the executor on a pool whose connections keep the sent queries until the test completes them.
+ */
+public class PgBatchExecutorPipeliningTest {
+
+    private final List<FakeConnection> connections = new ArrayList<>();
+    private final List<SentQuery> sent = new ArrayList<>();
+
+    @Test
+    public void testQueriesArePipelinedOnTheLeasedConnections() {
+        PgBatchExecutor executor = new PgBatchExecutor(pool(), 2, 2);
+
+        List<CompletionStage<RowSet<Row>>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(executor.query("SELECT " + i));
+        }
+
+        assertEquals(2, connections.size());
+        assertEquals(2, executor.getConnectionCount());
+        assertEquals(4, sent.size());
+        assertEquals(2, executor.getPipelinedCount());
+        assertEquals(4, executor.getInFlightCount());
+        assertEquals(1, executor.getQueueDepth());
+
+        // the queued query is sent on the connection with room for it
+        sent.get(0).succeed();
+        assertTrue(results.get(0).toCompletableFuture().isDone());
+        assertEquals(5, sent.size());
+        assertSame(sent.get(0).connection, sent.get(4).connection);
+        assertEquals(0, executor.getQueueDepth());
+
+        for (int i = 1; i < 5; i++) {
+            sent.get(i).succeed();
+        }
+        for (CompletionStage<RowSet<Row>> result : results) {
+            assertTrue(result.toCompletableFuture().isDone());
+        }
+        assertEquals(0, executor.getInFlightCount());
+        assertEquals(0, executor.getConnectionCount());
+        assertTrue(connections.get(0).closed);
+        assertTrue(connections.get(1).closed);
+        assertEquals(5, executor.getSubmittedCount());
+    }
+
+    @Test
+    public void testIdleConnectionIsReturnedToThePool() {
+        PgBatchExecutor executor = new PgBatchExecutor(pool(), 4, 4);
+
+        CompletionStage<RowSet<Row>> result = executor.query("SELECT 1");
+        assertEquals(1, connections.size());
+        assertFalse(connections.get(0).closed);
+
+        sent.get(0).succeed();
+        assertTrue(result.toCompletableFuture().isDone());
+        assertTrue(connections.get(0).closed);
+
+        executor.query("SELECT 2");
+        assertEquals(2, connections.size());
+        assertEquals(0, executor.getPipelinedCount());
+    }
+
+    @Test
+    public void testPreparedQueriesKeepOneResultPerExecutionInOrder() {
+        PgBatchExecutor executor = new PgBatchExecutor(pool(), 8, 1);
+
+        CompletableFuture<List<RowSet<Row>>> results = executor
+                .preparedQueries("SELECT $1", Arrays.asList(Tuple.of(1), Tuple.of(2), Tuple.of(3)))
+                .toCompletableFuture();
+        assertEquals(3, sent.size());
+        assertEquals(2, executor.getPreparedStatementReuseCount());
+
+        RowSet<Row> first = rowSet();
+        RowSet<Row> second = rowSet();
+        RowSet<Row> third = rowSet();
+        sent.get(2).succeed(third);
+        sent.get(0).succeed(first);
+        assertFalse(results.isDone());
+        sent.get(1).succeed(second);
+
+        assertEquals(Arrays.asList(first, second, third), results.join());
+    }
+
+    @Test
+    public void testFailedQueryFailsTheBatch() {
+        PgBatchExecutor executor = new PgBatchExecutor(pool(), 8, 1);
+
+        CompletableFuture<List<RowSet<Row>>> results = executor
+                .preparedQueries("SELECT $1", Arrays.asList(Tuple.of(1), Tuple.of(2)))
+                .toCompletableFuture();
+        sent.get(0).succeed();
+        sent.get(1).fail(new IllegalStateException("syntax error"));
+
+        CompletionException e = assertThrows(CompletionException.class, results::join);
+        assertEquals("syntax error", e.getCause().getMessage());
+        assertEquals(0, executor.getConnectionCount());
+    }
+
+    private Pool pool() {
+        return (Pool) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Pool.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getConnection")) {
+                        FakeConnection connection = new FakeConnection();
+                        connections.add(connection);
+                        @SuppressWarnings("unchecked")
+                        Handler<AsyncResult<SqlConnection>> handler = (Handler<AsyncResult<SqlConnection>>) args[0];
+                        handler.handle(Future.succeededFuture(connection.proxy));
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RowSet<Row> rowSet() {
+        return (RowSet<Row>) Proxy.newProxyInstance(PgBatchExecutorPipeliningTest.class.getClassLoader(),
+                new Class<?>[] { RowSet.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private final class FakeConnection {
+
+        final SqlConnection proxy;
+        boolean closed;
+
+        @SuppressWarnings("unchecked")
+        FakeConnection() {
+            proxy = (SqlConnection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { SqlConnection.class }, (self, method, args) -> {
+                        switch (method.getName()) {
+                            case "query":
+                                sent.add(new SentQuery(this, (Handler<AsyncResult<RowSet<Row>>>) args[1]));
+                                return self;
+                            case "preparedQuery":
+                                sent.add(new SentQuery(this, (Handler<AsyncResult<RowSet<Row>>>) args[2]));
+                                return self;
+                            case "closeHandler":
+                                return self;
+                            case "close":
+                                closed = true;
+                                return null;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+    }
+
+    private static final class SentQuery {
+
+        final FakeConnection connection;
+        final Handler<AsyncResult<RowSet<Row>>> handler;
+
+        SentQuery(FakeConnection connection, Handler<AsyncResult<RowSet<Row>>> handler) {
+            this.connection = connection;
+            this.handler = handler;
+        }
+
+        void succeed() {
+            succeed(rowSet());
+        }
+
+        void succeed(RowSet<Row> rowSet) {
+            handler.handle(Future.succeededFuture(rowSet));
+        }
+
+        void fail(Throwable failure) {
+            handler.handle(Future.failedFuture(failure));
+        }
+    }
+}
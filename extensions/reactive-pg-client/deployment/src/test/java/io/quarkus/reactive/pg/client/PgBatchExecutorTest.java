@@ -0,0 +1,50 @@
+package io.quarkus.reactive.pg.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.reactive.pg.client.runtime.PgBatchExecutor;
+import io.quarkus.test.QuarkusUnitTest;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
+
+public class PgBatchExecutorTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest();
+
+    @Inject
+    PgBatchExecutor executor;
+
+    /**
+     * No database runs during the tests: the queries fail, and must not be left queued.
+     */
+    @Test
+    public void testQueriesFailWhenNoConnectionCanBeLeased() {
+        List<Tuple> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batch.add(Tuple.of(i));
+        }
+        CompletionStage<List<RowSet<Row>>> results = executor.preparedQueries("SELECT $1::int", batch);
+        CompletionStage<RowSet<Row>> single = executor.query("SELECT 1");
+
+        assertThrows(CompletionException.class, () -> results.toCompletableFuture().join());
+        assertThrows(CompletionException.class, () -> single.toCompletableFuture().join());
+        assertEquals(0, executor.getQueueDepth());
+        assertEquals(0, executor.getInFlightCount());
+        assertEquals(0, executor.getConnectionCount());
+        assertTrue(executor.getSubmittedCount() >= 11);
+    }
+}
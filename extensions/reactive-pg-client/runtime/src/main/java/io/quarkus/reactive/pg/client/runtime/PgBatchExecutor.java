@@ -0,0 +1,353 @@
+package io.quarkus.reactive.pg.client.runtime;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Tuple;
+
+/**
+ * Executes small queries concurrently on a few connections of a pool instead of one connection per query: the queries
+ * submitted while others are running are sent on the connections already leased, without waiting for the previous
+ * responses, up to the pipelining limit of each connection.
+ * <p>
+ * A connection is leased from the pool when all the leased ones have reached the pipelining limit, and returned to the
+ * pool as soon as it has no query running and none is queued. The queries submitted while all the connections are
+ * leased and saturated are queued.
+ * <p>
+ * The queries are not run in a transaction: they must not depend on each other.
+ */
+public class PgBatchExecutor {
+
+    /**
+     * The number of SQL strings remembered per leased connection to count the prepared statements it reuses.
+     */
+    private static final int TRACKED_STATEMENTS = 256;
+
+    private final Pool pool;
+    private final int pipeliningLimit;
+    private final int maxConnections;
+
+    private final Deque<Query> queue = new ArrayDeque<>();
+    private final List<Lease> leases = new ArrayList<>();
+    private int acquiring;
+    private int inFlight;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder pipelined = new LongAdder();
+    private final LongAdder preparedStatementReuses = new LongAdder();
+
+    /**
+     * @param pool the pool to lease the connections from
+     * @param pipeliningLimit the maximum number of queries running at once on a connection
+     * @param maxConnections the maximum number of connections leased at once
+     */
+    public PgBatchExecutor(Pool pool, int pipeliningLimit, int maxConnections) {
+        this.pool = pool;
+        this.pipeliningLimit = Math.max(1, pipeliningLimit);
+        this.maxConnections = Math.max(1, maxConnections);
+    }
+
+    /**
+     * Runs a simple query.
+     *
+     * @param sql the query
+     * @return the result of the query
+     */
+    public CompletionStage<RowSet<Row>> query(String sql) {
+        return submit(new Query(sql, null));
+    }
+
+    /**
+     * Runs a prepared query.
+     *
+     * @param sql the query
+     * @param arguments the arguments of the query
+     * @return the result of the query
+     */
+    public CompletionStage<RowSet<Row>> preparedQuery(String sql, Tuple arguments) {
+        return submit(new Query(sql, arguments));
+    }
+
+    /**
+     * Runs a prepared query once per arguments, pipelining the executions.
+     * <p>
+     * Unlike {@code preparedBatch}, each execution gets its own result and the batch can contain queries returning
+     * rows.
+     *
+     * @param sql the query
+     * @param batch the arguments of each execution
+     * @return the results of the executions, in the order of the batch, or the first failure
+     */
+    public CompletionStage<List<RowSet<Row>>> preparedQueries(String sql, List<Tuple> batch) {
+        if (batch.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        List<Query> queries = new ArrayList<>(batch.size());
+        for (Tuple arguments : batch) {
+            queries.add(new Query(sql, arguments));
+        }
+        submitAll(queries);
+        CompletableFuture<?>[] results = new CompletableFuture<?>[queries.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = queries.get(i).result;
+        }
+        return CompletableFuture.allOf(results).thenApply(v -> {
+            List<RowSet<Row>> rowSets = new ArrayList<>(queries.size());
+            for (Query query : queries) {
+                rowSets.add(query.result.join());
+            }
+            return rowSets;
+        });
+    }
+
+    /**
+     * @return the number of queries waiting for a connection
+     */
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of queries sent and waiting for their response
+     */
+    public synchronized int getInFlightCount() {
+        return inFlight;
+    }
+
+    /**
+     * @return the number of connections leased from the pool
+     */
+    public synchronized int getConnectionCount() {
+        return leases.size();
+    }
+
+    /**
+     * @return the number of queries submitted
+     */
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * @return the number of queries sent on a connection while another query was running on it
+     */
+    public long getPipelinedCount() {
+        return pipelined.sum();
+    }
+
+    /**
+     * The client does not expose its prepared statement cache, so this counts the prepared queries whose SQL was
+     * already run on the same leased connection, which hit the cache when {@code cache-prepared-statements} is enabled.
+     *
+     * @return the number of prepared queries whose statement was already prepared on their connection
+     */
+    public long getPreparedStatementReuseCount() {
+        return preparedStatementReuses.sum();
+    }
+
+    private CompletionStage<RowSet<Row>> submit(Query query) {
+        submitAll(Collections.singletonList(query));
+        return query.result;
+    }
+
+    private void submitAll(List<Query> queries) {
+        submitted.add(queries.size());
+        Dispatch dispatch;
+        synchronized (this) {
+            queue.addAll(queries);
+            dispatch = dispatch();
+        }
+        dispatch.run();
+    }
+
+    /**
+     * Assigns the queued queries to the leased connections with room for them and decides how many connections to
+     * lease for the remaining ones. The queries are sent, and the connections leased, by running the returned dispatch
+     * outside of the lock.
+     */
+    private Dispatch dispatch() {
+        Dispatch dispatch = new Dispatch();
+        while (!queue.isEmpty()) {
+            Lease lease = leastBusy();
+            if (lease == null) {
+                break;
+            }
+            Query query = queue.poll();
+            if (lease.inFlight++ > 0) {
+                pipelined.increment();
+            }
+            inFlight++;
+            query.lease = lease;
+            dispatch.sends.add(query);
+        }
+        if (!queue.isEmpty()) {
+            int needed = (queue.size() + pipeliningLimit - 1) / pipeliningLimit - acquiring;
+            int available = maxConnections - leases.size() - acquiring;
+            dispatch.acquisitions = Math.max(0, Math.min(needed, available));
+            acquiring += dispatch.acquisitions;
+        }
+        return dispatch;
+    }
+
+    private Lease leastBusy() {
+        Lease leastBusy = null;
+        for (Lease lease : leases) {
+            if (lease.inFlight < pipeliningLimit && (leastBusy == null || lease.inFlight < leastBusy.inFlight)) {
+                leastBusy = lease;
+            }
+        }
+        return leastBusy;
+    }
+
+    private void acquired(AsyncResult<SqlConnection> ar) {
+        Lease lease = null;
+        if (ar.succeeded()) {
+            Lease acquired = new Lease(ar.result());
+            acquired.connection.closeHandler(v -> closed(acquired));
+            lease = acquired;
+        }
+        Dispatch dispatch;
+        List<Query> failed = Collections.emptyList();
+        Lease released = null;
+        synchronized (this) {
+            acquiring--;
+            if (lease != null) {
+                leases.add(lease);
+                dispatch = dispatch();
+                if (lease.inFlight == 0) {
+                    leases.remove(lease);
+                    released = lease;
+                }
+            } else {
+                dispatch = new Dispatch();
+                if (leases.isEmpty() && acquiring == 0) {
+                    failed = new ArrayList<>(queue);
+                    queue.clear();
+                }
+            }
+        }
+        if (released != null) {
+            released.connection.close();
+        }
+        for (Query query : failed) {
+            query.result.completeExceptionally(ar.cause());
+        }
+        dispatch.run();
+    }
+
+    private void completed(Query query, AsyncResult<RowSet<Row>> ar) {
+        Lease lease = query.lease;
+        Dispatch dispatch;
+        boolean release = false;
+        synchronized (this) {
+            lease.inFlight--;
+            inFlight--;
+            dispatch = dispatch();
+            if (lease.inFlight == 0 && queue.isEmpty() && leases.remove(lease)) {
+                release = true;
+            }
+        }
+        if (release) {
+            lease.connection.close();
+        }
+        if (ar.succeeded()) {
+            query.result.complete(ar.result());
+        } else {
+            query.result.completeExceptionally(ar.cause());
+        }
+        dispatch.run();
+    }
+
+    /**
+     * Stops sending queries on a connection closed by the server or by a network failure. The queries running on it
+     * fail on their own.
+     */
+    private synchronized void closed(Lease lease) {
+        leases.remove(lease);
+    }
+
+    private void send(Query query) {
+        Lease lease = query.lease;
+        Handler<AsyncResult<RowSet<Row>>> handler = ar -> completed(query, ar);
+        if (query.arguments == null) {
+            lease.connection.query(query.sql, handler);
+        } else {
+            if (lease.prepared(query.sql)) {
+                preparedStatementReuses.increment();
+            }
+            lease.connection.preparedQuery(query.sql, query.arguments, handler);
+        }
+    }
+
+    private void acquire() {
+        pool.getConnection(this::acquired);
+    }
+
+    /**
+     * The work decided under the lock and done outside of it.
+     */
+    private final class Dispatch {
+
+        final List<Query> sends = new ArrayList<>();
+        int acquisitions;
+
+        void run() {
+            for (Query query : sends) {
+                send(query);
+            }
+            for (int i = 0; i < acquisitions; i++) {
+                acquire();
+            }
+        }
+    }
+
+    private static final class Query {
+
+        final String sql;
+        final Tuple arguments;
+        final CompletableFuture<RowSet<Row>> result = new CompletableFuture<>();
+        Lease lease;
+
+        Query(String sql, Tuple arguments) {
+            this.sql = sql;
+            this.arguments = arguments;
+        }
+    }
+
+    private static final class Lease {
+
+        final SqlConnection connection;
+        int inFlight;
+        private final Map<String, Boolean> statements = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > TRACKED_STATEMENTS;
+            }
+        };
+
+        Lease(SqlConnection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * @return whether the SQL was already prepared on this connection
+         */
+        synchronized boolean prepared(String sql) {
+            return statements.put(sql, Boolean.TRUE) != null;
+        }
+    }
+}
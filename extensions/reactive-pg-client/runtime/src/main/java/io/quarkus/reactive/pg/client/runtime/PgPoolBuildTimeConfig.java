@@ -0,0 +1,15 @@
+package io.quarkus.reactive.pg.client.runtime;
+
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConfigPhase;
+import io.quarkus.runtime.annotations.ConfigRoot;
+
+@ConfigRoot(name = "reactive-pg-client", phase = ConfigPhase.BUILD_TIME)
+public class PgPoolBuildTimeConfig {
+
+    /**
+     * Whether or not the batch executor metrics are published in case the smallrye-metrics extension is present.
+     */
+    @ConfigItem(name = "metrics.enabled", defaultValue = "false")
+    public boolean metricsEnabled;
+}
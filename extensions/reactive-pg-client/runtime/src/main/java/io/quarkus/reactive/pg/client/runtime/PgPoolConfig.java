@@ -21,4 +21,11 @@ public class PgPoolConfig {
      */
     @ConfigItem
     public OptionalInt pipeliningLimit;
+
+    /**
+     * The maximum number of connections of the pool leased at once by the {@link PgBatchExecutor}, the pool maximum
+     * size by default. Lower it to keep connections available to the other users of the pool.
+     */
+    @ConfigItem
+    public OptionalInt batchMaxConnections;
 }
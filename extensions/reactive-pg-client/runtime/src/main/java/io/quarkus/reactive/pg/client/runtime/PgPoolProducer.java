@@ -12,11 +12,13 @@ public class PgPoolProducer {
     private volatile PgPool pgPool;
     private volatile io.vertx.axle.pgclient.PgPool axlePgPool;
     private volatile io.vertx.reactivex.pgclient.PgPool rxPgPool;
+    private volatile PgBatchExecutor batchExecutor;
 
-    void initialize(PgPool pgPool) {
+    void initialize(PgPool pgPool, int pipeliningLimit, int maxSize) {
         this.pgPool = pgPool;
         this.axlePgPool = io.vertx.axle.pgclient.PgPool.newInstance(pgPool);
         this.rxPgPool = io.vertx.reactivex.pgclient.PgPool.newInstance(pgPool);
+        this.batchExecutor = new PgBatchExecutor(pgPool, pipeliningLimit, maxSize);
     }
 
     @Singleton
@@ -36,4 +38,10 @@ public class PgPoolProducer {
     public io.vertx.reactivex.pgclient.PgPool rxPgPool() {
         return rxPgPool;
     }
+
+    @Singleton
+    @Produces
+    public PgBatchExecutor batchExecutor() {
+        return batchExecutor;
+    }
 }
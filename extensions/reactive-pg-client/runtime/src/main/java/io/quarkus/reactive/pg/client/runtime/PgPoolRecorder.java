@@ -15,21 +15,21 @@ public class PgPoolRecorder {
     public RuntimeValue<PgPool> configurePgPool(RuntimeValue<Vertx> vertx, BeanContainer container,
             DataSourceConfig dataSourceConfig, PgPoolConfig pgPoolConfig, ShutdownContext shutdown) {
 
-        PgPool pgPool = initialize(vertx.getValue(), dataSourceConfig, pgPoolConfig);
+        PoolOptions poolOptions = toPoolOptions(dataSourceConfig, pgPoolConfig);
+        PgConnectOptions pgConnectOptions = toPgConnectOptions(dataSourceConfig, pgPoolConfig);
+        PgPool pgPool = PgPool.pool(vertx.getValue(), pgConnectOptions, poolOptions);
 
         PgPoolProducer producer = container.instance(PgPoolProducer.class);
-        producer.initialize(pgPool);
+        int batchMaxConnections = poolOptions.getMaxSize();
+        if (pgPoolConfig != null && pgPoolConfig.batchMaxConnections.isPresent()) {
+            batchMaxConnections = pgPoolConfig.batchMaxConnections.getAsInt();
+        }
+        producer.initialize(pgPool, pgConnectOptions.getPipeliningLimit(), batchMaxConnections);
 
         shutdown.addShutdownTask(pgPool::close);
         return new RuntimeValue<>(pgPool);
     }
 
-    private PgPool initialize(Vertx vertx, DataSourceConfig dataSourceConfig, PgPoolConfig pgPoolConfig) {
-        PoolOptions poolOptions = toPoolOptions(dataSourceConfig, pgPoolConfig);
-        PgConnectOptions pgConnectOptions = toPgConnectOptions(dataSourceConfig, pgPoolConfig);
-        return PgPool.pool(vertx, pgConnectOptions, poolOptions);
-    }
-
     private PoolOptions toPoolOptions(DataSourceConfig dataSourceConfig, PgPoolConfig pgPoolConfig) {
         PoolOptions poolOptions;
         poolOptions = new PoolOptions();
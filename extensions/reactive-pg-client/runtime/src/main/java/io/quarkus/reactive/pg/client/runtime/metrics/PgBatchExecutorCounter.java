@@ -0,0 +1,62 @@
+package io.quarkus.reactive.pg.client.runtime.metrics;
+
+import org.eclipse.microprofile.metrics.Counter;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.reactive.pg.client.runtime.PgBatchExecutor;
+
+public class PgBatchExecutorCounter implements Counter {
+
+    private volatile PgBatchExecutor executor;
+    private String metric;
+
+    public PgBatchExecutorCounter() {
+
+    }
+
+    /**
+     * @param metricName Name of the {@link PgBatchExecutor} count to retrieve
+     */
+    public PgBatchExecutorCounter(String metricName) {
+        this.metric = metricName;
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public void setMetric(String metric) {
+        this.metric = metric;
+    }
+
+    @Override
+    public void inc() {
+    }
+
+    @Override
+    public void inc(long n) {
+    }
+
+    @Override
+    public long getCount() {
+        PgBatchExecutor executor = getExecutor();
+        switch (metric) {
+            case "submittedCount":
+                return executor.getSubmittedCount();
+            case "pipelinedCount":
+                return executor.getPipelinedCount();
+            case "preparedStatementReuseCount":
+                return executor.getPreparedStatementReuseCount();
+            default:
+                throw new IllegalArgumentException("Unknown batch executor metric");
+        }
+    }
+
+    private PgBatchExecutor getExecutor() {
+        PgBatchExecutor local = executor;
+        if (local == null) {
+            executor = local = Arc.container().instance(PgBatchExecutor.class).get();
+        }
+        return local;
+    }
+}
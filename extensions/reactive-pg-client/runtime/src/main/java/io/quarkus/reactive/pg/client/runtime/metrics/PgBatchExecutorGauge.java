@@ -0,0 +1,54 @@
+package io.quarkus.reactive.pg.client.runtime.metrics;
+
+import org.eclipse.microprofile.metrics.Gauge;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.reactive.pg.client.runtime.PgBatchExecutor;
+
+public class PgBatchExecutorGauge implements Gauge<Long> {
+
+    private volatile PgBatchExecutor executor;
+    private String metric;
+
+    public PgBatchExecutorGauge() {
+
+    }
+
+    /**
+     * @param metricName Name of the {@link PgBatchExecutor} value to retrieve
+     */
+    public PgBatchExecutorGauge(String metricName) {
+        this.metric = metricName;
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public void setMetric(String metric) {
+        this.metric = metric;
+    }
+
+    @Override
+    public Long getValue() {
+        PgBatchExecutor executor = getExecutor();
+        switch (metric) {
+            case "queueDepth":
+                return (long) executor.getQueueDepth();
+            case "inFlightCount":
+                return (long) executor.getInFlightCount();
+            case "connectionCount":
+                return (long) executor.getConnectionCount();
+            default:
+                throw new IllegalArgumentException("Unknown batch executor metric");
+        }
+    }
+
+    private PgBatchExecutor getExecutor() {
+        PgBatchExecutor local = executor;
+        if (local == null) {
+            executor = local = Arc.container().instance(PgBatchExecutor.class).get();
+        }
+        return local;
+    }
+}
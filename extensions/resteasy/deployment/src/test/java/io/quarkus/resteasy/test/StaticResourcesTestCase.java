@@ -0,0 +1,89 @@
+package io.quarkus.resteasy.test;
+
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.Collections;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
+
+public class StaticResourcesTestCase {
+
+    private static final String SCRIPT = String.join("\n", Collections.nCopies(200, "console.log('static');"));
+
+    @RegisterExtension
+    static QuarkusUnitTest runner = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RootResource.class)
+                    .addAsManifestResource(new StringAsset(SCRIPT), "resources/app.js")
+                    .addAsManifestResource(new StringAsset("hello"), "resources/hello.txt"));
+
+    @Test
+    public void testConditionalRequest() {
+        String etag = RestAssured.when().get("/hello.txt").then()
+                .statusCode(200)
+                .header("Content-Type", "text/plain;charset=UTF-8")
+                .body(is("hello"))
+                .extract().header("ETag");
+        RestAssured.given().header("If-None-Match", etag)
+                .when().get("/hello.txt").then()
+                .statusCode(304)
+                .header("ETag", etag)
+                .body(emptyString());
+        RestAssured.given().header("If-None-Match", "\"other\", W/" + etag)
+                .when().get("/hello.txt").then()
+                .statusCode(304);
+        RestAssured.given().header("If-None-Match", "\"other\"")
+                .when().get("/hello.txt").then()
+                .statusCode(200)
+                .body(is("hello"));
+    }
+
+    @Test
+    public void testGzippedVariant() {
+        RestAssured.given().header("Accept-Encoding", "gzip")
+                .when().get("/app.js").then()
+                .statusCode(200)
+                .header("Content-Encoding", "gzip")
+                .header("Vary", "Accept-Encoding")
+                .body(is(SCRIPT));
+        String etag = RestAssured.given()
+                .config(RestAssuredConfig.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()))
+                .header("Accept-Encoding", "identity")
+                .when().get("/app.js").then()
+                .statusCode(200)
+                .header("Content-Encoding", nullValue())
+                .body(is(SCRIPT))
+                .extract().header("ETag");
+        RestAssured.given().header("Accept-Encoding", "gzip").header("If-None-Match", etag)
+                .when().get("/app.js").then()
+                .statusCode(200);
+    }
+
+    @Test
+    public void testHeadRequest() {
+        RestAssured.given()
+                .config(RestAssuredConfig.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()))
+                .header("Accept-Encoding", "identity")
+                .when().head("/app.js").then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .header("Content-Length", String.valueOf(SCRIPT.length()));
+    }
+
+    @Test
+    public void testUnknownPathIsPassedOn() {
+        RestAssured.when().get("/missing.js").then().statusCode(404);
+    }
+}
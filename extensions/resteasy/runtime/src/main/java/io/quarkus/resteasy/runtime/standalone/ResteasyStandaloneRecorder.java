@@ -3,7 +3,6 @@ package io.quarkus.resteasy.runtime.standalone;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -77,15 +76,13 @@ public class ResteasyStandaloneRecorder {
     }
 
     private static ResteasyDeployment deployment;
-    private static Set<String> knownPaths;
     private static String contextPath;
 
-    public void staticInit(ResteasyDeployment dep, String path, Set<String> known) {
+    public void staticInit(ResteasyDeployment dep, String path) {
         if (dep != null) {
             deployment = dep;
             deployment.start();
         }
-        knownPaths = known;
         contextPath = path;
     }
 
@@ -93,6 +90,7 @@ public class ResteasyStandaloneRecorder {
             ShutdownContext shutdown,
             BeanContainer beanContainer,
             boolean isVirtual, boolean isDefaultResourcesPath,
+            Handler<RoutingContext> staticResourcesHandler,
             Executor executor) {
 
         shutdown.addShutdownTask(new Runnable() {
@@ -131,21 +129,8 @@ public class ResteasyStandaloneRecorder {
                 });
             }
         }
-        if (!knownPaths.isEmpty()) {
-            ThreadLocalHandler staticHandler = new ThreadLocalHandler(new Supplier<Handler<RoutingContext>>() {
-                @Override
-                public Handler<RoutingContext> get() {
-                    return StaticHandler.create(META_INF_RESOURCES)
-                            .setDefaultContentEncoding("UTF-8");
-                }
-            });
-            handlers.add(ctx -> {
-                if (knownPaths.contains(ctx.normalisedPath())) {
-                    staticHandler.handle(ctx);
-                } else {
-                    ctx.next();
-                }
-            });
+        if (staticResourcesHandler != null) {
+            handlers.add(staticResourcesHandler);
         }
 
         if (deployment != null && isDefaultResourcesPath) {
@@ -6,11 +6,17 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import javax.inject.Singleton;
 
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricType;
+import org.eclipse.microprofile.metrics.Tag;
 import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationTarget;
 import org.jboss.jandex.AnnotationValue;
 import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.DotName;
@@ -64,9 +70,11 @@ import io.quarkus.scheduler.ScheduledExecution;
 import io.quarkus.scheduler.runtime.ScheduledInvoker;
 import io.quarkus.scheduler.runtime.ScheduledMethodMetadata;
 import io.quarkus.scheduler.runtime.SchedulerConfig;
+import io.quarkus.scheduler.runtime.SchedulerMetrics;
 import io.quarkus.scheduler.runtime.SchedulerRecorder;
 import io.quarkus.scheduler.runtime.SchedulerSupport;
 import io.quarkus.scheduler.runtime.SimpleScheduler;
+import io.quarkus.smallrye.metrics.deployment.spi.MetricBuildItem;
 
 /**
  * @author Martin Kouba
@@ -209,7 +217,7 @@ public class SchedulerProcessor {
             BuildProducer<GeneratedClassBuildItem> generatedClass, BuildProducer<ReflectiveClassBuildItem> reflectiveClass,
             BuildProducer<FeatureBuildItem> feature,
             BuildProducer<ServiceStartBuildItem> serviceStart,
-            AnnotationProxyBuildItem annotationProxy, ExecutorBuildItem executor) {
+            AnnotationProxyBuildItem annotationProxy, ExecutorBuildItem executor, Capabilities capabilities) {
 
         feature.produce(new FeatureBuildItem(FeatureBuildItem.SCHEDULER));
         List<ScheduledMethodMetadata> scheduledMethods = new ArrayList<>();
@@ -225,15 +233,64 @@ public class SchedulerProcessor {
                 schedules.add(annotationProxy.builder(scheduled, Scheduled.class).build(classOutput));
             }
             scheduledMethod.setSchedules(schedules);
-            scheduledMethod.setMethodDescription(
-                    businessMethod.getMethod().declaringClass() + "#" + businessMethod.getMethod().name());
+            scheduledMethod.setMethodDescription(getMethodDescription(businessMethod.getMethod()));
             scheduledMethods.add(scheduledMethod);
         }
-        recorder.initialize(config, scheduledMethods, executor.getExecutorProxy(), beanContainer.getValue());
+        recorder.initialize(config, scheduledMethods, executor.getExecutorProxy(), isMetricsEnabled(config, capabilities),
+                beanContainer.getValue());
         // Make sure that StartupEvent is fired after the init
         serviceStart.produce(new ServiceStartBuildItem(FeatureBuildItem.SCHEDULER));
     }
 
+    @BuildStep
+    void registerMetrics(SchedulerConfig config, Capabilities capabilities, BeanArchiveIndexBuildItem beanArchives,
+            BuildProducer<MetricBuildItem> metrics) {
+        if (!isMetricsEnabled(config, capabilities)) {
+            return;
+        }
+        Metadata lagMetadata = Metadata.builder()
+                .withName(SchedulerMetrics.LAG)
+                .withDescription("Time between the scheduled fire time and the start of the execution of a scheduled method.")
+                .withType(MetricType.TIMER)
+                .build();
+        Metadata durationMetadata = Metadata.builder()
+                .withName(SchedulerMetrics.DURATION)
+                .withDescription("Duration of the executions of a scheduled method.")
+                .withType(MetricType.TIMER)
+                .build();
+        Metadata skippedMetadata = Metadata.builder()
+                .withName(SchedulerMetrics.SKIPPED)
+                .withDescription(
+                        "Number of executions of a scheduled method skipped because the previous one was still running.")
+                .withType(MetricType.COUNTER)
+                .build();
+        // metrics must be registered before the bean validation phase, which is where the scheduled methods are collected
+        Set<MethodInfo> methods = new HashSet<>();
+        for (DotName annotation : Arrays.asList(SCHEDULED_NAME, SCHEDULES_NAME)) {
+            for (AnnotationInstance instance : beanArchives.getIndex().getAnnotations(annotation)) {
+                if (instance.target().kind() == AnnotationTarget.Kind.METHOD) {
+                    methods.add(instance.target().asMethod());
+                }
+            }
+        }
+        for (MethodInfo method : methods) {
+            Tag tag = new Tag(SchedulerMetrics.METHOD_TAG, getMethodDescription(method));
+            metrics.produce(new MetricBuildItem(lagMetadata, true, "scheduler", tag));
+            metrics.produce(new MetricBuildItem(durationMetadata, true, "scheduler", tag));
+            metrics.produce(new MetricBuildItem(skippedMetadata, true, "scheduler", tag));
+        }
+    }
+
+    private static boolean isMetricsEnabled(SchedulerConfig config, Capabilities capabilities) {
+        // Quartz invokes the scheduled methods itself
+        return config.metricsEnabled && capabilities.isCapabilityPresent(Capabilities.METRICS)
+                && !capabilities.isCapabilityPresent(Capabilities.QUARTZ);
+    }
+
+    private static String getMethodDescription(MethodInfo method) {
+        return method.declaringClass() + "#" + method.name();
+    }
+
     private String generateInvoker(BeanInfo bean, MethodInfo method, ClassOutput classOutput) {
 
         String baseName;
@@ -316,7 +373,9 @@ public class SchedulerProcessor {
                     every = "PT" + every;
                 }
                 try {
-                    Duration.parse(every);
+                    if (Duration.parse(every).isZero()) {
+                        return new IllegalStateException("Invalid every() expression on: " + schedule);
+                    }
                 } catch (Exception e) {
                     return new IllegalStateException("Invalid every() expression on: " + schedule, e);
                 }
@@ -0,0 +1,88 @@
+package io.quarkus.scheduler.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.Timer;
+import org.eclipse.microprofile.metrics.annotation.RegistryType;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.scheduler.Scheduled;
+import io.quarkus.scheduler.Scheduled.ConcurrentExecution;
+import io.quarkus.scheduler.runtime.SchedulerMetrics;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class ConcurrentExecutionTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest test = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(Jobs.class)
+                    .addAsResource(new StringAsset("quarkus.scheduler.metrics.enabled=true"),
+                            "application.properties"));
+
+    @Inject
+    @RegistryType(type = MetricRegistry.Type.VENDOR)
+    MetricRegistry registry;
+
+    @Test
+    public void testSkippedExecutions() throws InterruptedException {
+        assertTrue(Jobs.COMPLETED.await(5, TimeUnit.SECONDS));
+        assertTrue(Jobs.THREAD.startsWith(Jobs.class.getName() + "#slow-thread-"), Jobs.THREAD);
+
+        Tag tag = new Tag(SchedulerMetrics.METHOD_TAG, Jobs.class.getName() + "#slow");
+        Timer duration = registry.getTimers().get(new MetricID(SchedulerMetrics.DURATION, tag));
+        assertNotNull(duration);
+        // the duration of the first execution is recorded before the next one may start
+        assertTrue(Jobs.NEXT_EXECUTION.await(5, TimeUnit.SECONDS));
+        assertTrue(duration.getCount() > 0);
+        assertTrue(duration.getSnapshot().getMax() >= TimeUnit.MILLISECONDS.toNanos(500));
+        // the trigger fired every 100 ms while the first execution was running for 500 ms
+        Counter skipped = registry.getCounters().get(new MetricID(SchedulerMetrics.SKIPPED, tag));
+        assertNotNull(skipped);
+        assertTrue(skipped.getCount() >= 3, "Skipped: " + skipped.getCount());
+        assertEquals(1, Jobs.MAX_CONCURRENT.get());
+        Timer lag = registry.getTimers().get(new MetricID(SchedulerMetrics.LAG, tag));
+        assertNotNull(lag);
+        assertTrue(lag.getCount() > 0);
+    }
+
+    static class Jobs {
+
+        static final AtomicInteger CONCURRENT = new AtomicInteger();
+        static final AtomicInteger MAX_CONCURRENT = new AtomicInteger();
+        static final CountDownLatch COMPLETED = new CountDownLatch(1);
+        static final CountDownLatch NEXT_EXECUTION = new CountDownLatch(1);
+        static volatile String THREAD;
+
+        @Scheduled(every = "0.1s", concurrentExecution = ConcurrentExecution.SKIP, executorThreads = 1)
+        void slow() throws InterruptedException {
+            MAX_CONCURRENT.accumulateAndGet(CONCURRENT.incrementAndGet(), Math::max);
+            if (THREAD == null) {
+                THREAD = Thread.currentThread().getName();
+                Thread.sleep(500);
+                COMPLETED.countDown();
+            } else {
+                NEXT_EXECUTION.countDown();
+            }
+            CONCURRENT.decrementAndGet();
+        }
+
+    }
+
+}
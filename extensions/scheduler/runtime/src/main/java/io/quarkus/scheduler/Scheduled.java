@@ -56,7 +56,7 @@ public @interface Scheduled {
      * The value is parsed with {@link Duration#parse(CharSequence)}. However, if an expression starts with a digit, "PT" prefix
      * is added automatically, so for
      * example, {@code 15m} can be used instead of {@code PT15M} and is parsed as "15 minutes". Note that the absolute value of
-     * the value is always used.
+     * the value is always used. Fractional seconds may be used for sub-second periods, for example {@code 0.25s}.
      * <p>
      * If the value starts with "&#123;" and ends with "&#125;" the scheduler attempts to find a corresponding config property
      * and use the configured value
@@ -81,6 +81,47 @@ public @interface Scheduled {
      */
     TimeUnit delayUnit() default TimeUnit.MINUTES;
 
+    /**
+     * Defines what happens when the trigger fires while the previous execution of the same trigger is still running.
+     * <p>
+     * By default, a new execution is started regardless of the previous one. Note that this is only honored by the
+     * default scheduler, Quartz applies its own misfire handling.
+     *
+     * @return the concurrent execution policy
+     */
+    ConcurrentExecution concurrentExecution() default ConcurrentExecution.PROCEED;
+
+    /**
+     * The number of threads of a dedicated executor used to invoke the method. Executions that cannot start immediately
+     * are queued up to the same number, further executions are rejected.
+     * <p>
+     * By default, the method is invoked on the shared executor of the application. A dedicated executor prevents a slow
+     * job from starving the other users of the shared executor. Note that this is only honored by the default scheduler.
+     *
+     * @return the number of threads of the dedicated executor, or {@code 0} to use the shared executor
+     */
+    int executorThreads() default 0;
+
+    enum ConcurrentExecution {
+
+        /**
+         * The method is invoked even if the previous execution is still running.
+         */
+        PROCEED,
+
+        /**
+         * The execution is skipped if the previous execution is still running.
+         */
+        SKIP,
+
+        /**
+         * If the previous execution is still running the method is invoked once it completes. At most one execution is
+         * queued, further executions are skipped.
+         */
+        QUEUE_ONE
+
+    }
+
     @Retention(RUNTIME)
     @Target(METHOD)
     @interface Schedules {
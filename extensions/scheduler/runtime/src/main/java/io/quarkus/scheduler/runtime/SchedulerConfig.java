@@ -18,4 +18,12 @@ public class SchedulerConfig {
     @ConfigItem(defaultValue = "quartz")
     public CronType cronType;
 
+    /**
+     * Whether or not the metrics of scheduled methods are published in case the smallrye-metrics extension is present:
+     * the lag between the scheduled and the actual fire time, the duration of the executions and the number of skipped
+     * executions.
+     */
+    @ConfigItem(name = "metrics.enabled", defaultValue = "false")
+    public boolean metricsEnabled;
+
 }
@@ -0,0 +1,62 @@
+package io.quarkus.scheduler.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.Timer;
+
+import io.smallrye.metrics.MetricRegistries;
+
+/**
+ * The metrics of a scheduled method. They are registered in the vendor registry by the SmallRye Metrics extension, so
+ * this class must only be loaded if the extension is present.
+ */
+public final class SchedulerMetrics {
+
+    public static final String LAG = "scheduler.execution.lag";
+    public static final String DURATION = "scheduler.execution.duration";
+    public static final String SKIPPED = "scheduler.execution.skipped";
+    public static final String METHOD_TAG = "method";
+
+    private final Timer lag;
+    private final Timer duration;
+    private final Counter skipped;
+
+    private SchedulerMetrics(Timer lag, Timer duration, Counter skipped) {
+        this.lag = lag;
+        this.duration = duration;
+        this.skipped = skipped;
+    }
+
+    /**
+     * @param method the description of the scheduled method
+     * @return the metrics of the method, or {@code null} if they were not registered
+     */
+    static SchedulerMetrics forMethod(String method) {
+        MetricRegistry registry = MetricRegistries.get(MetricRegistry.Type.VENDOR);
+        Tag tag = new Tag(METHOD_TAG, method);
+        Timer lag = registry.getTimers().get(new MetricID(LAG, tag));
+        Timer duration = registry.getTimers().get(new MetricID(DURATION, tag));
+        Counter skipped = registry.getCounters().get(new MetricID(SKIPPED, tag));
+        if (lag == null || duration == null || skipped == null) {
+            // metrics published by extensions are disabled
+            return null;
+        }
+        return new SchedulerMetrics(lag, duration, skipped);
+    }
+
+    void lag(long nanos) {
+        lag.update(Math.max(0, nanos), TimeUnit.NANOSECONDS);
+    }
+
+    void duration(long nanos) {
+        duration.update(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void skipped() {
+        skipped.inc();
+    }
+}
@@ -10,9 +10,9 @@ import io.quarkus.runtime.annotations.Recorder;
 public class SchedulerRecorder {
 
     public void initialize(SchedulerConfig config, List<ScheduledMethodMetadata> scheduledMethods, ExecutorService executor,
-            BeanContainer container) {
+            boolean metricsEnabled, BeanContainer container) {
         SchedulerSupport support = container.instance(SchedulerSupport.class);
-        support.initialize(config, scheduledMethods, executor);
+        support.initialize(config, scheduledMethods, executor, metricsEnabled);
     }
 
 }
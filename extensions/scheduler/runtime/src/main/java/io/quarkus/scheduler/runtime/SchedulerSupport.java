@@ -18,11 +18,14 @@ public class SchedulerSupport {
     private ExecutorService executor;
     private CronType cronType;
     private List<ScheduledMethodMetadata> scheduledMethods;
+    private boolean metricsEnabled;
 
-    void initialize(SchedulerConfig config, List<ScheduledMethodMetadata> scheduledMethods, ExecutorService executor) {
+    void initialize(SchedulerConfig config, List<ScheduledMethodMetadata> scheduledMethods, ExecutorService executor,
+            boolean metricsEnabled) {
         this.cronType = config.cronType;
         this.scheduledMethods = scheduledMethods;
         this.executor = executor;
+        this.metricsEnabled = metricsEnabled;
     }
 
     public ExecutorService getExecutor() {
@@ -37,6 +40,13 @@ public class SchedulerSupport {
         return scheduledMethods;
     }
 
+    /**
+     * @return whether the metrics of scheduled methods are registered
+     */
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
     @SuppressWarnings("unchecked")
     public ScheduledInvoker createInvoker(String invokerClassName) {
         try {
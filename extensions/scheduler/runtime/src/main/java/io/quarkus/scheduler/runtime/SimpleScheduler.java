@@ -2,7 +2,6 @@ package io.quarkus.scheduler.runtime;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -22,7 +21,10 @@ import javax.inject.Singleton;
 import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.spi.ConfigProviderResolver;
 import org.jboss.logging.Logger;
+import org.jboss.threads.EnhancedQueueExecutor;
+import org.jboss.threads.JBossExecutors;
 import org.jboss.threads.JBossScheduledThreadPoolExecutor;
+import org.jboss.threads.JBossThreadFactory;
 
 import com.cronutils.model.Cron;
 import com.cronutils.model.definition.CronDefinition;
@@ -32,24 +34,32 @@ import com.cronutils.parser.CronParser;
 
 import io.quarkus.runtime.StartupEvent;
 import io.quarkus.scheduler.Scheduled;
+import io.quarkus.scheduler.Scheduled.ConcurrentExecution;
 import io.quarkus.scheduler.ScheduledExecution;
 import io.quarkus.scheduler.Scheduler;
 import io.quarkus.scheduler.Trigger;
 
+/**
+ * The scheduled tasks are kept in the delay queue of a single timer thread, keyed by their next fire time. When a task
+ * fires its next fire time is computed and it is put back into the queue, and the scheduled method is invoked on the
+ * executor. Scheduling a task therefore costs O(log n) and nothing is evaluated between fire times, so there is no
+ * polling period limiting the precision of {@link Scheduled#every()}.
+ */
 @Typed(Scheduler.class)
 @Singleton
 public class SimpleScheduler implements Scheduler {
 
     private static final Logger LOGGER = Logger.getLogger(SimpleScheduler.class);
 
-    private static final long CHECK_PERIOD = 1000L;
-
-    private final ScheduledExecutorService scheduledExecutor;
     private final ExecutorService executor;
     private volatile boolean running;
     private final List<ScheduledTask> scheduledTasks;
     private final AtomicInteger triggerNameSequence;
     private final Config config;
+    private final List<ExecutorService> dedicatedExecutors;
+    // guarded by this
+    private ScheduledExecutorService scheduledExecutor;
+    private boolean started;
 
     public SimpleScheduler(SchedulerSupport support, Config config) {
         this.running = true;
@@ -57,44 +67,63 @@ public class SimpleScheduler implements Scheduler {
         this.triggerNameSequence = new AtomicInteger();
         this.executor = support.getExecutor();
         this.config = config;
+        this.dedicatedExecutors = new ArrayList<>();
 
-        if (support.getScheduledMethods().isEmpty()) {
-            this.scheduledExecutor = null;
-        } else {
-            this.scheduledExecutor = new JBossScheduledThreadPoolExecutor(1, new Runnable() {
-                @Override
-                public void run() {
-                    // noop
-                }
-            });
-
+        if (!support.getScheduledMethods().isEmpty()) {
             CronDefinition definition = CronDefinitionBuilder.instanceDefinitionFor(support.getCronType());
             CronParser parser = new CronParser(definition);
 
             for (ScheduledMethodMetadata method : support.getScheduledMethods()) {
                 ScheduledInvoker invoker = support.createInvoker(method.getInvokerClassName());
+                SchedulerMetrics metrics = support.isMetricsEnabled()
+                        ? SchedulerMetrics.forMethod(method.getMethodDescription())
+                        : null;
                 for (Scheduled scheduled : method.getSchedules()) {
                     SimpleTrigger trigger = createTrigger(method.getInvokerClassName(), parser, scheduled);
-                    scheduledTasks.add(new ScheduledTask(trigger, invoker));
+                    ExecutorService taskExecutor = executor;
+                    if (scheduled.executorThreads() > 0) {
+                        taskExecutor = createExecutor(method.getMethodDescription(), scheduled.executorThreads());
+                        dedicatedExecutors.add(taskExecutor);
+                    }
+                    scheduledTasks.add(new ScheduledTask(trigger, invoker, scheduled.concurrentExecution(), taskExecutor,
+                            metrics));
                 }
             }
         }
     }
 
     void start(@Observes StartupEvent event) {
-        if (scheduledExecutor == null) {
-            return;
+        start();
+    }
+
+    synchronized void start() {
+        started = true;
+        ZonedDateTime now = ZonedDateTime.now();
+        for (ScheduledTask task : scheduledTasks) {
+            task.schedule(now);
         }
-        // Try to compute the initial delay to execute the checks near to the whole second
-        // Note that this does not guarantee anything, it's just best effort
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime trunc = now.plusSeconds(1).truncatedTo(ChronoUnit.SECONDS);
-        scheduledExecutor.scheduleAtFixedRate(this::checkTriggers, ChronoUnit.MILLIS.between(now, trunc), CHECK_PERIOD,
-                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedule an additional task. If the scheduler is already started the task is scheduled immediately.
+     */
+    ScheduledTask schedule(SimpleTrigger trigger, ScheduledInvoker invoker) {
+        return schedule(trigger, invoker, ConcurrentExecution.PROCEED);
+    }
+
+    synchronized ScheduledTask schedule(SimpleTrigger trigger, ScheduledInvoker invoker,
+            ConcurrentExecution concurrentExecution) {
+        ScheduledTask task = new ScheduledTask(trigger, invoker, concurrentExecution, executor, null);
+        scheduledTasks.add(task);
+        if (started) {
+            task.schedule(ZonedDateTime.now());
+        }
+        return task;
     }
 
     @PreDestroy
-    void stop() {
+    synchronized void stop() {
+        started = false;
         try {
             if (scheduledExecutor != null) {
                 scheduledExecutor.shutdownNow();
@@ -102,30 +131,8 @@ public class SimpleScheduler implements Scheduler {
         } catch (Exception e) {
             LOGGER.warn("Unable to shutdown the scheduler executor", e);
         }
-    }
-
-    void checkTriggers() {
-        if (!running) {
-            LOGGER.trace("Skip all triggers - scheduler paused");
-        }
-        ZonedDateTime now = ZonedDateTime.now();
-
-        for (ScheduledTask task : scheduledTasks) {
-            LOGGER.tracef("Evaluate trigger %s", task.trigger.id);
-            ZonedDateTime scheduledFireTime = task.trigger.evaluate(now);
-            if (scheduledFireTime != null) {
-                try {
-                    executor.execute(new Runnable() {
-                        @Override
-                        public void run() {
-                            task.invoker.invoke(new SimpleScheduledExecution(now, scheduledFireTime, task.trigger));
-                        }
-                    });
-                    LOGGER.debugf("Executing scheduled task for trigger %s", task.trigger.id);
-                } catch (RejectedExecutionException e) {
-                    LOGGER.warnf("Rejected execution of a scheduled task for trigger %s", task.trigger.id);
-                }
-            }
+        for (ExecutorService dedicatedExecutor : dedicatedExecutors) {
+            dedicatedExecutor.shutdownNow();
         }
     }
 
@@ -139,6 +146,32 @@ public class SimpleScheduler implements Scheduler {
         running = true;
     }
 
+    // the timer thread is only started once there is something to schedule
+    private synchronized ScheduledExecutorService scheduledExecutor() {
+        if (scheduledExecutor == null) {
+            scheduledExecutor = new JBossScheduledThreadPoolExecutor(1, new Runnable() {
+                @Override
+                public void run() {
+                    // noop
+                }
+            });
+        }
+        return scheduledExecutor;
+    }
+
+    private static ExecutorService createExecutor(String method, int threads) {
+        JBossThreadFactory threadFactory = new JBossThreadFactory(new ThreadGroup("scheduler"), Boolean.TRUE, null,
+                method + "-thread-%t", JBossExecutors.loggingExceptionHandler("io.quarkus.scheduler.uncaught"), null);
+        return new EnhancedQueueExecutor.Builder()
+                .setRegisterMBean(false)
+                .setHandoffExecutor(JBossExecutors.rejectingExecutor())
+                .setThreadFactory(JBossExecutors.resettingThreadFactory(threadFactory))
+                .setCorePoolSize(threads)
+                .setMaximumPoolSize(threads)
+                .setMaximumQueueSize(threads)
+                .build();
+    }
+
     SimpleTrigger createTrigger(String invokerClass, CronParser parser, Scheduled scheduled) {
         String id = triggerNameSequence.getAndIncrement() + "_" + invokerClass;
         ZonedDateTime start = ZonedDateTime.now().truncatedTo(ChronoUnit.SECONDS);
@@ -168,25 +201,145 @@ public class SimpleScheduler implements Scheduler {
             }
             Duration duration;
             try {
-                duration = Duration.parse(every);
+                duration = Duration.parse(every).abs();
             } catch (Exception e) {
                 // This could only happen for config-based expressions
                 throw new IllegalStateException("Invalid every() expression on: " + scheduled, e);
             }
-            return new IntervalTrigger(id, start, duration.toMillis());
+            if (duration.isZero()) {
+                throw new IllegalStateException("Invalid every() expression on: " + scheduled);
+            }
+            return new IntervalTrigger(id, start, duration);
         } else {
             throw new IllegalArgumentException("Invalid schedule configuration: " + scheduled);
         }
     }
 
-    static class ScheduledTask {
+    class ScheduledTask implements Runnable {
 
         final SimpleTrigger trigger;
         final ScheduledInvoker invoker;
-
-        public ScheduledTask(SimpleTrigger trigger, ScheduledInvoker invoker) {
+        final ConcurrentExecution concurrentExecution;
+        final ExecutorService executor;
+        final SchedulerMetrics metrics;
+        // guarded by this, only used if concurrent executions are not allowed
+        private boolean executing;
+        private SimpleScheduledExecution queued;
+
+        ScheduledTask(SimpleTrigger trigger, ScheduledInvoker invoker, ConcurrentExecution concurrentExecution,
+                ExecutorService executor, SchedulerMetrics metrics) {
             this.trigger = trigger;
             this.invoker = invoker;
+            this.concurrentExecution = concurrentExecution;
+            this.executor = executor;
+            this.metrics = metrics;
+        }
+
+        void schedule(ZonedDateTime now) {
+            ZonedDateTime nextFireTime = trigger.schedule(null, now);
+            if (nextFireTime != null) {
+                enqueue(nextFireTime, now);
+            }
+        }
+
+        private void enqueue(ZonedDateTime nextFireTime, ZonedDateTime now) {
+            long delay = Math.max(0, ChronoUnit.MICROS.between(now, nextFireTime));
+            try {
+                scheduledExecutor().schedule(this, delay, TimeUnit.MICROSECONDS);
+            } catch (RejectedExecutionException e) {
+                // the scheduler is being stopped
+                LOGGER.debugf("Trigger %s not rescheduled - scheduler stopped", trigger.getId());
+            }
+        }
+
+        /**
+         * Invoked by the timer thread when the trigger fires.
+         */
+        @Override
+        public void run() {
+            ZonedDateTime now = ZonedDateTime.now();
+            ZonedDateTime scheduledFireTime = trigger.nextFireTime;
+            try {
+                ZonedDateTime nextFireTime = trigger.schedule(scheduledFireTime, now);
+                if (nextFireTime != null) {
+                    enqueue(nextFireTime, now);
+                }
+            } catch (RuntimeException e) {
+                // an exception would be swallowed by the timer, and the trigger would silently stop firing
+                LOGGER.errorf(e, "Unable to compute the next fire time of trigger %s", trigger.getId());
+            }
+            if (!running) {
+                LOGGER.tracef("Skip trigger %s - scheduler paused", trigger.getId());
+                return;
+            }
+            SimpleScheduledExecution execution = new SimpleScheduledExecution(now, scheduledFireTime, trigger);
+            synchronized (this) {
+                if (concurrentExecution != ConcurrentExecution.PROCEED) {
+                    if (executing) {
+                        if (concurrentExecution == ConcurrentExecution.QUEUE_ONE && queued == null) {
+                            LOGGER.debugf("Queue execution of trigger %s - previous execution still running",
+                                    trigger.getId());
+                            queued = execution;
+                        } else {
+                            LOGGER.debugf("Skip execution of trigger %s - previous execution still running",
+                                    trigger.getId());
+                            if (metrics != null) {
+                                metrics.skipped();
+                            }
+                        }
+                        return;
+                    }
+                    executing = true;
+                }
+            }
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        SimpleScheduledExecution next = execution;
+                        do {
+                            try {
+                                invoke(next);
+                            } catch (Throwable t) {
+                                // the task must be completed, or the next executions would be skipped forever
+                                LOGGER.errorf(t, "Error occurred while executing task for trigger %s", trigger.getId());
+                            }
+                            next = completed();
+                        } while (next != null);
+                    }
+                });
+                LOGGER.debugf("Executing scheduled task for trigger %s", trigger.getId());
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    executing = false;
+                    queued = null;
+                }
+                LOGGER.warnf("Rejected execution of a scheduled task for trigger %s", trigger.getId());
+            }
+        }
+
+        private void invoke(SimpleScheduledExecution execution) {
+            if (metrics == null) {
+                invoker.invoke(execution);
+                return;
+            }
+            metrics.lag(ChronoUnit.NANOS.between(execution.scheduledFireTime.toInstant(), Instant.now()));
+            long start = System.nanoTime();
+            try {
+                invoker.invoke(execution);
+            } finally {
+                metrics.duration(System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * @return the queued execution to run next, or {@code null}
+         */
+        private synchronized SimpleScheduledExecution completed() {
+            SimpleScheduledExecution next = queued;
+            queued = null;
+            executing = next != null;
+            return next;
         }
 
     }
@@ -195,6 +348,8 @@ public class SimpleScheduler implements Scheduler {
 
         private final String id;
         protected final ZonedDateTime start;
+        private volatile ZonedDateTime nextFireTime;
+        private volatile ZonedDateTime previousFireTime;
 
         public SimpleTrigger(String id, ZonedDateTime start) {
             this.id = id;
@@ -202,54 +357,65 @@ public class SimpleScheduler implements Scheduler {
         }
 
         /**
-         * 
+         * Move the trigger to its next fire time.
+         *
+         * @param firedAt the scheduled time at which the trigger fired, or {@code null} if it is scheduled for the first
+         *        time
          * @param now
-         * @return the scheduled time if fired, {@code null} otherwise
+         * @return the next fire time, or {@code null} if the trigger will not fire again
          */
-        abstract ZonedDateTime evaluate(ZonedDateTime now);
+        ZonedDateTime schedule(ZonedDateTime firedAt, ZonedDateTime now) {
+            if (firedAt != null) {
+                previousFireTime = firedAt;
+            }
+            ZonedDateTime next = computeNextFireTime(firedAt, now.isBefore(start) ? start : now);
+            nextFireTime = next;
+            return next;
+        }
+
+        /**
+         *
+         * @param firedAt the scheduled time at which the trigger fired, or {@code null} if it has not fired yet
+         * @param notBefore the time from which the trigger may fire, missed fire times before it are skipped
+         * @return the next fire time, or {@code null} if the trigger will not fire again
+         */
+        abstract ZonedDateTime computeNextFireTime(ZonedDateTime firedAt, ZonedDateTime notBefore);
 
         public String getId() {
             return id;
         }
 
+        @Override
+        public Instant getNextFireTime() {
+            ZonedDateTime next = nextFireTime;
+            return next != null ? next.toInstant() : null;
+        }
+
+        @Override
+        public Instant getPreviousFireTime() {
+            ZonedDateTime previous = previousFireTime;
+            return previous != null ? previous.toInstant() : null;
+        }
+
     }
 
     static class IntervalTrigger extends SimpleTrigger {
 
-        private final long interval;
-        private volatile ZonedDateTime lastFireTime;
+        private final Duration interval;
 
-        public IntervalTrigger(String id, ZonedDateTime start, long interval) {
+        public IntervalTrigger(String id, ZonedDateTime start, Duration interval) {
             super(id, start);
             this.interval = interval;
         }
 
         @Override
-        ZonedDateTime evaluate(ZonedDateTime now) {
-            if (now.isBefore(start)) {
-                return null;
-            }
-            if (lastFireTime == null) {
+        ZonedDateTime computeNextFireTime(ZonedDateTime firedAt, ZonedDateTime notBefore) {
+            if (firedAt == null) {
                 // First execution
-                lastFireTime = now;
-                return now;
-            }
-            if (ChronoUnit.MILLIS.between(lastFireTime, now) >= interval) {
-                ZonedDateTime scheduledFireTime = lastFireTime.plus(Duration.ofMillis(interval));
-                lastFireTime = now;
-                return scheduledFireTime;
+                return notBefore;
             }
-            return null;
-        }
-
-        @Override
-        public Instant getNextFireTime() {
-            return lastFireTime.plus(Duration.ofMillis(interval)).toInstant();
-        }
-
-        @Override
-        public Instant getPreviousFireTime() {
-            return lastFireTime.toInstant();
+            ZonedDateTime next = firedAt.plus(interval);
+            return next.isBefore(notBefore) ? notBefore : next;
         }
 
     }
@@ -264,33 +430,12 @@ public class SimpleScheduler implements Scheduler {
         }
 
         @Override
-        public Instant getNextFireTime() {
-            Optional<ZonedDateTime> nextFireTime = executionTime.nextExecution(ZonedDateTime.now());
-            return nextFireTime.isPresent() ? nextFireTime.get().toInstant() : null;
-        }
-
-        @Override
-        public Instant getPreviousFireTime() {
-            Optional<ZonedDateTime> prevFireTime = executionTime.lastExecution(ZonedDateTime.now());
-            return prevFireTime.isPresent() ? prevFireTime.get().toInstant() : null;
-        }
-
-        ZonedDateTime evaluate(ZonedDateTime now) {
-            if (now.isBefore(start)) {
-                return null;
-            }
-            Optional<ZonedDateTime> lastFireTime = executionTime.lastExecution(now);
-            if (lastFireTime.isPresent()) {
-                ZonedDateTime trunc = lastFireTime.get().truncatedTo(ChronoUnit.SECONDS);
-                if (now.isBefore(trunc)) {
-                    return null;
-                }
-                long diff = ChronoUnit.MILLIS.between(trunc, now);
-                if (diff <= CHECK_PERIOD) {
-                    return trunc;
-                }
-            }
-            return null;
+        ZonedDateTime computeNextFireTime(ZonedDateTime firedAt, ZonedDateTime notBefore) {
+            // the timer may wake up slightly before the wall clock reaches the fire time
+            ZonedDateTime from = firedAt != null && firedAt.isAfter(notBefore) ? firedAt : notBefore;
+            // cron expressions have a precision of one second but the execution time keeps the fraction of the given time
+            Optional<ZonedDateTime> next = executionTime.nextExecution(from.truncatedTo(ChronoUnit.SECONDS));
+            return next.isPresent() ? next.get() : null;
         }
 
     }
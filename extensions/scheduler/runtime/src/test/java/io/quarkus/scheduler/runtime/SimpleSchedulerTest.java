@@ -0,0 +1,239 @@
+package io.quarkus.scheduler.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.cronutils.model.CronType;
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import com.cronutils.parser.CronParser;
+
+import io.quarkus.scheduler.Scheduled.ConcurrentExecution;
+import io.quarkus.scheduler.ScheduledExecution;
+import io.quarkus.scheduler.runtime.SimpleScheduler.CronTrigger;
+import io.quarkus.scheduler.runtime.SimpleScheduler.IntervalTrigger;
+import io.quarkus.scheduler.runtime.SimpleScheduler.ScheduledTask;
+
+public class SimpleSchedulerTest {
+
+    private static final int TRIGGERS = 1000;
+    private static final int FIRES = 3;
+
+    private ExecutorService executor;
+    private ExecutorService taskExecutor;
+    private SimpleScheduler scheduler;
+
+    @BeforeEach
+    public void startScheduler() {
+        executor = Executors.newFixedThreadPool(4);
+        taskExecutor = Executors.newSingleThreadExecutor();
+        SchedulerConfig config = new SchedulerConfig();
+        config.cronType = CronType.QUARTZ;
+        SchedulerSupport support = new SchedulerSupport();
+        support.initialize(config, Collections.emptyList(), executor, false);
+        scheduler = new SimpleScheduler(support, null);
+        scheduler.start();
+    }
+
+    @AfterEach
+    public void stopScheduler() {
+        scheduler.stop();
+        executor.shutdownNow();
+        taskExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testSubSecondInterval() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(10);
+        long start = System.nanoTime();
+        ScheduledTask task = scheduler.schedule(new IntervalTrigger("subSecond", ZonedDateTime.now(), Duration.ofMillis(50)),
+                invoker(e -> latch.countDown()));
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        // nine periods of 50 ms, the polling scheduler needed nine seconds
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertNotNull(task.trigger.getPreviousFireTime());
+        assertTrue(task.trigger.getNextFireTime().isAfter(task.trigger.getPreviousFireTime()));
+    }
+
+    @Test
+    public void testCronTrigger() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        AtomicLong lastFireTime = new AtomicLong();
+        CronParser parser = new CronParser(CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ));
+        scheduler.schedule(new CronTrigger("cron", ZonedDateTime.now(), parser.parse("0/1 * * * * ?")),
+                invoker(e -> {
+                    // fires on whole seconds, once per second
+                    assertEquals(0, e.getScheduledFireTime().getNano());
+                    assertTrue(e.getScheduledFireTime().toEpochMilli() > lastFireTime.getAndSet(
+                            e.getScheduledFireTime().toEpochMilli()));
+                    latch.countDown();
+                }));
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testPause() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        ScheduledTask task = firedByTheTest(invoker(e -> count.incrementAndGet()), ConcurrentExecution.PROCEED);
+        scheduler.pause();
+        task.run();
+        awaitExecutions();
+        assertEquals(0, count.get());
+        scheduler.resume();
+        task.run();
+        awaitExecutions();
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    public void testSkipConcurrentExecution() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ScheduledTask task = firedByTheTest(invoker(e -> {
+            if (count.incrementAndGet() == 1) {
+                started.countDown();
+                await(release);
+            }
+        }), ConcurrentExecution.SKIP);
+
+        task.run();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // fired while the first execution is blocked
+        task.run();
+        task.run();
+        release.countDown();
+        awaitExecutions();
+        assertEquals(1, count.get());
+
+        task.run();
+        awaitExecutions();
+        assertEquals(2, count.get());
+    }
+
+    @Test
+    public void testQueueOneConcurrentExecution() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        ScheduledTask task = firedByTheTest(invoker(e -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            if (count.incrementAndGet() == 1) {
+                started.countDown();
+                await(release);
+            }
+            concurrent.decrementAndGet();
+        }), ConcurrentExecution.QUEUE_ONE);
+
+        task.run();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // fired while the first execution is blocked: the first fire is queued, the others are skipped
+        task.run();
+        task.run();
+        task.run();
+        release.countDown();
+        awaitExecutions();
+        assertEquals(2, count.get());
+        assertEquals(1, maxConcurrent.get());
+    }
+
+    @Test
+    public void testFailingExecutionDoesNotBlockTheNextOnes() throws InterruptedException {
+        for (ConcurrentExecution concurrentExecution : ConcurrentExecution.values()) {
+            CountDownLatch executions = new CountDownLatch(3);
+            scheduler.schedule(new IntervalTrigger("failing" + concurrentExecution, ZonedDateTime.now(),
+                    Duration.ofMillis(10)), invoker(e -> {
+                        executions.countDown();
+                        throw new IllegalStateException("Failing job");
+                    }), concurrentExecution);
+            assertTrue(executions.await(5, TimeUnit.SECONDS), concurrentExecution + " execution did not fire again");
+        }
+    }
+
+    @Test
+    public void testManyTriggers() throws InterruptedException {
+        AtomicIntegerArray fires = new AtomicIntegerArray(TRIGGERS);
+        AtomicLongArray lastFireTimes = new AtomicLongArray(TRIGGERS);
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(TRIGGERS);
+        Duration interval = Duration.ofMillis(100);
+        ZonedDateTime now = ZonedDateTime.now();
+        for (int i = 0; i < TRIGGERS; i++) {
+            int index = i;
+            // spread the first fire times over one interval
+            ZonedDateTime triggerStart = now.plus(Duration.ofNanos(interval.toNanos() * i / TRIGGERS));
+            scheduler.schedule(new IntervalTrigger("trigger" + i, triggerStart, interval), invoker(e -> {
+                long fireTime = e.getScheduledFireTime().toEpochMilli();
+                if (lastFireTimes.getAndSet(index, fireTime) >= fireTime) {
+                    duplicates.incrementAndGet();
+                }
+                if (fires.incrementAndGet(index) == FIRES) {
+                    latch.countDown();
+                }
+            }));
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "Triggers did not fire " + FIRES + " times: " + latch.getCount());
+        assertEquals(0, duplicates.get());
+    }
+
+    /**
+     * Creates a task whose trigger fires in an hour, fired by the test instead, and executed on a single thread so that
+     * {@link #awaitExecutions()} returns once its executions are completed.
+     */
+    private ScheduledTask firedByTheTest(ScheduledInvoker invoker, ConcurrentExecution concurrentExecution) {
+        ScheduledTask task = scheduler.new ScheduledTask(
+                new IntervalTrigger("firedByTheTest", ZonedDateTime.now().plusHours(1), Duration.ofHours(1)), invoker,
+                concurrentExecution, taskExecutor, null);
+        task.schedule(ZonedDateTime.now());
+        return task;
+    }
+
+    private void awaitExecutions() throws Exception {
+        taskExecutor.submit(() -> {
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ScheduledInvoker invoker(Consumer<ScheduledExecution> action) {
+        return new ScheduledInvoker() {
+
+            @Override
+            public void invoke(ScheduledExecution execution) {
+                // no request context outside of the container
+                invokeBean(execution);
+            }
+
+            @Override
+            public void invokeBean(ScheduledExecution execution) {
+                action.accept(execution);
+            }
+        };
+    }
+
+}
@@ -60,6 +60,7 @@ import io.quarkus.deployment.builditem.LaunchModeBuildItem;
 import io.quarkus.deployment.builditem.ShutdownContextBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
 import io.quarkus.deployment.logging.LogCleanupFilterBuildItem;
+import io.quarkus.deployment.logging.LoggingSetupBuildItem;
 import io.quarkus.runtime.annotations.ConfigItem;
 import io.quarkus.runtime.annotations.ConfigRoot;
 import io.quarkus.smallrye.metrics.deployment.jandex.JandexBeanInfoAdapter;
@@ -103,6 +104,14 @@ public class SmallRyeMetricsProcessor {
         @ConfigItem(name = "extensions.enabled", defaultValue = "true")
         public boolean extensionsEnabled;
 
+        /**
+         * Whether the timers of the `@Timed` members and the timers and histograms of the extensions record their values
+         * in lock-free HDR histograms, rather than in the exponentially decaying reservoirs of SmallRye, which lock on
+         * update. The HDR histograms keep all the values recorded since startup, their percentiles do not decay.
+         */
+        @ConfigItem(name = "hdr-histograms.enabled", defaultValue = "false")
+        public boolean hdrHistogramsEnabled;
+
     }
 
     SmallRyeMetricsConfig metrics;
@@ -254,6 +263,14 @@ public class SmallRyeMetricsProcessor {
         metrics.registerVendorMetrics(shutdown);
     }
 
+    @BuildStep
+    @Record(RUNTIME_INIT)
+    void registerLoggingMetrics(SmallRyeMetricsRecorder metrics, ShutdownContextBuildItem shutdown,
+            LoggingSetupBuildItem loggingSetup) {
+        // only registered once the log handlers exist, if some of them use a ring buffer
+        metrics.registerLoggingMetrics(shutdown);
+    }
+
     @BuildStep
     public void logCleanup(BuildProducer<LogCleanupFilterBuildItem> logCleanupFilter) {
         logCleanupFilter.produce(new LogCleanupFilterBuildItem("io.smallrye.metrics.MetricsRegistryImpl",
@@ -307,7 +324,7 @@ public class SmallRyeMetricsProcessor {
                         }
                     }
                     if (!Modifier.isPrivate(method.flags())) {
-                        metrics.registerMetrics(beanInfo, memberInfoAdapter.convert(method));
+                        metrics.registerMetrics(beanInfo, memberInfoAdapter.convert(method), this.metrics.hdrHistogramsEnabled);
                     }
                 }
                 superclass = index.getClassByName(superclass.superName());
@@ -318,7 +335,7 @@ public class SmallRyeMetricsProcessor {
             ClassInfo declaringClazz = method.declaringClass();
             if (!collectedMetricsClasses.containsKey(declaringClazz.name())) {
                 BeanInfo beanInfo = beanInfoAdapter.convert(declaringClazz);
-                metrics.registerMetrics(beanInfo, memberInfoAdapter.convert(method));
+                metrics.registerMetrics(beanInfo, memberInfoAdapter.convert(method), this.metrics.hdrHistogramsEnabled);
             }
         }
     }
@@ -410,7 +427,8 @@ public class SmallRyeMetricsProcessor {
                             MetadataHolder.from(additionalMetric.getMetadata()),
                             tags,
                             additionalMetric.getImplementor(),
-                            shutdown);
+                            shutdown,
+                            metrics.hdrHistogramsEnabled);
                 }
             }
         }
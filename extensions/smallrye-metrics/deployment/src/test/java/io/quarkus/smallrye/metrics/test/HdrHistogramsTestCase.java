@@ -0,0 +1,55 @@
+package io.quarkus.smallrye.metrics.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Timer;
+import org.eclipse.microprofile.metrics.annotation.Timed;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.smallrye.metrics.runtime.HdrReservoir;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class HdrHistogramsTestCase {
+
+    @RegisterExtension
+    static QuarkusUnitTest runner = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(TimedBean.class)
+                    .addAsResource(new StringAsset("quarkus.smallrye-metrics.hdr-histograms.enabled=true"),
+                            "application.properties"));
+
+    @Inject
+    TimedBean bean;
+
+    @Inject
+    MetricRegistry registry;
+
+    @Test
+    public void testTimedMethodsAreRecordedInHdrHistograms() {
+        bean.work();
+        bean.work();
+
+        Timer timer = registry.getTimers().get(new MetricID("work"));
+        assertEquals(2, timer.getCount());
+        assertTrue(timer.getSnapshot() instanceof HdrReservoir.HdrSnapshot);
+        assertTrue(timer.getSnapshot().getMax() > 0);
+    }
+
+    @ApplicationScoped
+    public static class TimedBean {
+
+        @Timed(name = "work", absolute = true)
+        public void work() {
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.quarkus.smallrye.metrics.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.eclipse.microprofile.metrics.Snapshot;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.smallrye.metrics.runtime.HdrReservoir;
+
+public class HdrReservoirTest {
+
+    @Test
+    public void testEmptySnapshot() {
+        Snapshot snapshot = new HdrReservoir().getSnapshot();
+        assertEquals(0, snapshot.size());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(0, snapshot.getMax());
+        assertEquals(0, snapshot.get99thPercentile());
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        HdrReservoir reservoir = new HdrReservoir();
+        for (long value = 1; value <= 100; value++) {
+            reservoir.update(value);
+        }
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertEquals(100, reservoir.size());
+        assertEquals(1, snapshot.getMin());
+        assertEquals(100, snapshot.getMax());
+        assertEquals(50.5, snapshot.getMean(), 1e-9);
+        assertEquals(28.866, snapshot.getStdDev(), 1e-3);
+        assertEquals(50, snapshot.getMedian());
+        assertEquals(95, snapshot.get95thPercentile());
+        assertEquals(100, snapshot.getValue(1));
+        assertEquals(100, snapshot.size());
+    }
+
+    @Test
+    public void testLargeValuesAreWithinRelativeError() {
+        HdrReservoir reservoir = new HdrReservoir();
+        Random random = new Random(42);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            // durations from microseconds to seconds, in nanoseconds
+            values[i] = (long) Math.pow(10, 3 + 6 * random.nextDouble());
+            reservoir.update(values[i]);
+        }
+        Arrays.sort(values);
+        Snapshot snapshot = reservoir.getSnapshot();
+        for (double quantile : new double[] { 0.5, 0.75, 0.95, 0.99, 0.999 }) {
+            long exact = values[(int) Math.ceil(quantile * values.length) - 1];
+            double error = Math.abs(snapshot.getValue(quantile) - exact) / exact;
+            assertTrue(error < 1.0 / 64, "Quantile " + quantile + ": " + snapshot.getValue(quantile) + " for " + exact);
+        }
+        assertEquals(values[0], snapshot.getMin());
+        assertEquals(values[values.length - 1], snapshot.getMax());
+        long[] snapshotValues = snapshot.getValues();
+        long[] sorted = snapshotValues.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(sorted, snapshotValues);
+    }
+
+    @Test
+    public void testNegativeValuesAreCountedAsZero() {
+        HdrReservoir reservoir = new HdrReservoir();
+        reservoir.update(-5);
+        reservoir.update(5);
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertEquals(-5, snapshot.getMin());
+        assertEquals(0, snapshot.getMedian());
+        assertEquals(5, snapshot.getMax());
+    }
+}
@@ -0,0 +1,69 @@
+package io.quarkus.smallrye.metrics.test;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.smallrye.metrics.exporters.OpenMetricsExporter;
+
+public class MetricsStreamingTestCase {
+
+    @RegisterExtension
+    static QuarkusUnitTest runner = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class));
+
+    @Inject
+    MetricRegistry registry;
+
+    @Test
+    public void testScopeIsStreamedGzipped() {
+        registry.counter("streamed", new Tag("kind", "test")).inc(3);
+        String expected = new OpenMetricsExporter().exportOneScope(MetricRegistry.Type.APPLICATION).toString();
+
+        RestAssured.given().header("Accept", "text/plain")
+                .when().get("/metrics/application")
+                .then().statusCode(200)
+                .header("Content-Type", "text/plain")
+                .header("Content-Encoding", "gzip")
+                .body(equalTo(expected))
+                .body(containsString("application_streamed_total{kind=\"test\"} 3.0\n"));
+    }
+
+    @Test
+    public void testAllScopesAreStreamedWithoutGzip() {
+        registry.counter("plain").inc();
+
+        RestAssured.given()
+                .config(RestAssuredConfig.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()))
+                .header("Accept", "text/plain")
+                .when().get("/metrics")
+                .then().statusCode(200)
+                .header("Content-Encoding", nullValue())
+                .body(containsString("application_plain_total 1.0\n"))
+                .body(containsString("# TYPE base_"));
+    }
+
+    @Test
+    public void testJsonIsServedBySmallRye() {
+        registry.counter("json").inc(2);
+
+        RestAssured.given().header("Accept", "application/json")
+                .when().get("/metrics/application")
+                .then().statusCode(200)
+                .header("Content-Type", containsString("application/json"))
+                .body("json", equalTo(2));
+    }
+}
@@ -0,0 +1,152 @@
+package io.quarkus.smallrye.metrics.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.metrics.ConcurrentGauge;
+import org.eclipse.microprofile.metrics.Gauge;
+import org.eclipse.microprofile.metrics.Histogram;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetadataBuilder;
+import org.eclipse.microprofile.metrics.MetricFilter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricType;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.Timer;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.smallrye.metrics.runtime.OpenMetricsStreamingExporter;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.metrics.ExtendedMetadata;
+import io.smallrye.metrics.MetricRegistries;
+import io.smallrye.metrics.exporters.OpenMetricsExporter;
+
+public class OpenMetricsStreamingExporterTest {
+
+    @RegisterExtension
+    static QuarkusUnitTest runner = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class));
+
+    private final MetricRegistry application = MetricRegistries.get(MetricRegistry.Type.APPLICATION);
+
+    @AfterEach
+    public void removeMetrics() {
+        application.removeMatching(MetricFilter.ALL);
+    }
+
+    @Test
+    public void testSameOutputAsOpenMetricsExporter() throws IOException {
+        registerMetricsOfEachType();
+        OpenMetricsStreamingExporter exporter = new OpenMetricsStreamingExporter();
+        assertSameOutput(exporter);
+
+        // the cached lines are reused with the new values
+        application.counter("requests.count", new Tag("method", "get")).inc(40);
+        application.histogram(metadata("payload", MetricType.HISTOGRAM, MetricUnits.BYTES, "Payload sizes")).update(9000);
+        application.timer(metadata("request-time", MetricType.TIMER, MetricUnits.NONE, null)).update(3, TimeUnit.SECONDS);
+        assertSameOutput(exporter);
+    }
+
+    @Test
+    public void testSameOutputForTheScopeTagAndSpecialCharacters() throws IOException {
+        Metadata metadata = new ExtendedMetadata("jobs:queue..size", null, "Jobs \"waiting\" in the queue \\ café",
+                MetricType.GAUGE, MetricUnits.MILLISECONDS, null, false, Optional.of(false));
+        application.register(metadata, (Gauge<Long>) () -> 1234L, new Tag("queue", "a \"quoted\" \\name\\ é"));
+        application.register(metadata, (Gauge<Double>) () -> 0.5, new Tag("queue", "other"), new Tag("host", "h"));
+        application.counter(new ExtendedMetadata("ops", null, null, MetricType.COUNTER, MetricUnits.NONE, null, false,
+                Optional.of(false))).inc();
+        assertSameOutput(new OpenMetricsStreamingExporter());
+    }
+
+    @Test
+    public void testFailingMetricIsSkippedLikeOpenMetricsExporter() throws IOException {
+        application.register(metadata("broken", MetricType.GAUGE, MetricUnits.NONE, "Always null"),
+                (Gauge<Long>) () -> null);
+        application.counter("working").inc();
+        assertSameOutput(new OpenMetricsStreamingExporter());
+    }
+
+    @Test
+    public void testRemovedMetricIsNotExported() throws IOException {
+        registerMetricsOfEachType();
+        OpenMetricsStreamingExporter exporter = new OpenMetricsStreamingExporter();
+        assertSameOutput(exporter);
+        application.remove("requests.count");
+        application.remove("in-flight");
+        assertSameOutput(exporter);
+        assertFalse(export(exporter).contains("requests_count"));
+    }
+
+    private void registerMetricsOfEachType() {
+        application.counter(metadata("requests.count", MetricType.COUNTER, MetricUnits.NONE, "Requests"),
+                new Tag("method", "get")).inc(2);
+        application.counter("requests.count", new Tag("method", "post")).inc();
+        application.counter(metadata("sent_total", MetricType.COUNTER, MetricUnits.KILOBYTES, "")).inc(3);
+        application.register(metadata("temperature", MetricType.GAUGE, "celsius", "Temperature"),
+                (Gauge<Double>) () -> 21.5);
+        application.register(metadata("heap", MetricType.GAUGE, MetricUnits.MEGABYTES, "Heap"),
+                (Gauge<Long>) () -> 12_345_678L);
+        ConcurrentGauge inFlight = application
+                .concurrentGauge(metadata("in-flight", MetricType.CONCURRENT_GAUGE, MetricUnits.NONE, "In flight"));
+        inFlight.inc();
+        inFlight.inc();
+        inFlight.dec();
+        application.meter(metadata("hits", MetricType.METERED, MetricUnits.PER_SECOND, "Hits")).mark(5);
+        Timer timer = application.timer(metadata("request-time", MetricType.TIMER, MetricUnits.NONE, null),
+                new Tag("path", "/a"));
+        timer.update(12, TimeUnit.MILLISECONDS);
+        timer.update(40, TimeUnit.MICROSECONDS);
+        application.timer(metadata("request-time", MetricType.TIMER, MetricUnits.NONE, null), new Tag("path", "/b"))
+                .update(1, TimeUnit.MILLISECONDS);
+        application.timer(metadata("batch-time", MetricType.TIMER, MetricUnits.MINUTES, "Batches"))
+                .update(2, TimeUnit.MINUTES);
+        Histogram payload = application
+                .histogram(metadata("payload", MetricType.HISTOGRAM, MetricUnits.BYTES, "Payload sizes"));
+        payload.update(100);
+        payload.update(2048);
+        application.histogram(metadata("items", MetricType.HISTOGRAM, MetricUnits.NONE, "Items"),
+                new Tag("kind", "x"), new Tag("a", "y")).update(3);
+    }
+
+    private static Metadata metadata(String name, MetricType type, String unit, String description) {
+        MetadataBuilder builder = Metadata.builder().withName(name).withType(type).withUnit(unit);
+        return description != null ? builder.withDescription(description).build() : builder.build();
+    }
+
+    /**
+     * Compares the application scope, where only the mean rates change between two exports, and the names, tags and
+     * comments of all the scopes, where the JVM metrics change.
+     */
+    private static void assertSameOutput(OpenMetricsStreamingExporter exporter) throws IOException {
+        OpenMetricsExporter openMetricsExporter = new OpenMetricsExporter();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.exportOneScope(MetricRegistry.Type.APPLICATION, out);
+        assertEquals(withoutMeanRates(openMetricsExporter.exportOneScope(MetricRegistry.Type.APPLICATION).toString()),
+                withoutMeanRates(out.toString("UTF-8")));
+        assertEquals(withoutValues(openMetricsExporter.exportAllScopes().toString()), withoutValues(export(exporter)));
+    }
+
+    private static String withoutMeanRates(String text) {
+        return text.replaceAll("(?m)^([^#]\\S*_rate_per_second(\\{.*})?) .*$", "$1");
+    }
+
+    private static String withoutValues(String text) {
+        return text.replaceAll("(?m)^([^#].*) \\S+$", "$1");
+    }
+
+    private static String export(OpenMetricsStreamingExporter exporter) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.exportAllScopes(out);
+        return out.toString("UTF-8");
+    }
+}
@@ -0,0 +1,194 @@
+package io.quarkus.smallrye.metrics.runtime;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.microprofile.metrics.Snapshot;
+
+import io.smallrye.metrics.app.Reservoir;
+
+/**
+ * A lock-free reservoir counting the values in logarithmic buckets split in linear sub-buckets, like an HDR histogram.
+ * <p>
+ * Recording a value increments the counter of its bucket and a few striped adders, where the
+ * {@link io.smallrye.metrics.app.ExponentiallyDecayingReservoir} takes a lock and updates a sorted map. The values below
+ * {@value #SUB_BUCKETS} are counted exactly, the larger values with a relative error below 1/{@value #HALF_SUB_BUCKETS}.
+ * The minimum, maximum, mean and standard deviation are exact.
+ * <p>
+ * All the values recorded since the creation of the reservoir are kept: unlike with the exponentially decaying
+ * reservoir, the percentiles are not biased towards the last minutes. The negative values are counted as {@code 0}.
+ */
+public class HdrReservoir implements Reservoir {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final DoubleAdder sumOfSquares = new DoubleAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, count.sum());
+    }
+
+    @Override
+    public void update(long value) {
+        counts.incrementAndGet(index(Math.max(0, value)));
+        count.increment();
+        sum.add(value);
+        sumOfSquares.add((double) value * value);
+        long current;
+        while (value < (current = min.get()) && !min.compareAndSet(current, value)) {
+        }
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+        }
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        long[] bucketCounts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            bucketCounts[i] = counts.get(i);
+            total += bucketCounts[i];
+        }
+        long minimum = min.get();
+        long maximum = max.get();
+        // the minimum and maximum are not set yet while the first value is recorded
+        if (total == 0 || minimum > maximum) {
+            return new HdrSnapshot(new long[BUCKETS], 0, 0, 0, 0, 0);
+        }
+        double mean = (double) sum.sum() / total;
+        double variance = Math.max(0, sumOfSquares.sum() / total - mean * mean);
+        return new HdrSnapshot(bucketCounts, total, minimum, maximum, mean, Math.sqrt(variance));
+    }
+
+    /**
+     * The values below {@link #SUB_BUCKETS} have a bucket each. Above, the values between {@code 2^n} and
+     * {@code 2^(n+1)} share {@link #HALF_SUB_BUCKETS} buckets.
+     */
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (int) (value >>> shift) - HALF_SUB_BUCKETS;
+    }
+
+    /**
+     * @return the middle of the values counted in the bucket
+     */
+    static long value(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long lowest = (long) ((index - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS) << shift;
+        return lowest + (1L << (shift - 1));
+    }
+
+    /**
+     * A snapshot of the bucket counts. Its values are the values of the non-empty buckets.
+     */
+    public static final class HdrSnapshot extends Snapshot {
+
+        private final long[] bucketCounts;
+        private final long count;
+        private final long min;
+        private final long max;
+        private final double mean;
+        private final double stdDev;
+
+        HdrSnapshot(long[] bucketCounts, long count, long min, long max, double mean, double stdDev) {
+            this.bucketCounts = bucketCounts;
+            this.count = count;
+            this.min = min;
+            this.max = max;
+            this.mean = mean;
+            this.stdDev = stdDev;
+        }
+
+        @Override
+        public double getValue(double quantile) {
+            if (quantile < 0 || quantile > 1 || Double.isNaN(quantile)) {
+                throw new IllegalArgumentException(quantile + " is not in [0..1]");
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                seen += bucketCounts[i];
+                if (seen >= rank) {
+                    // the bucket value is an estimate, it must not fall outside of the recorded values
+                    return Math.min(max, Math.max(min, value(i)));
+                }
+            }
+            return max;
+        }
+
+        @Override
+        public long[] getValues() {
+            long[] values = new long[size()];
+            int next = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                if (bucketCounts[i] > 0) {
+                    values[next++] = Math.min(max, Math.max(min, value(i)));
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (long bucketCount : bucketCounts) {
+                if (bucketCount > 0) {
+                    size++;
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public double getMean() {
+            return mean;
+        }
+
+        @Override
+        public long getMin() {
+            return min;
+        }
+
+        @Override
+        public double getStdDev() {
+            return stdDev;
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                Arrays.stream(getValues()).forEach(out::println);
+            }
+        }
+    }
+}
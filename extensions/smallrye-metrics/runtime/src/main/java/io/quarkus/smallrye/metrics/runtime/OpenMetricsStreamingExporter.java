@@ -0,0 +1,474 @@
+package io.quarkus.smallrye.metrics.runtime;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.eclipse.microprofile.metrics.ConcurrentGauge;
+import org.eclipse.microprofile.metrics.Counting;
+import org.eclipse.microprofile.metrics.Gauge;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.Metered;
+import org.eclipse.microprofile.metrics.Metric;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricType;
+import org.eclipse.microprofile.metrics.Sampling;
+import org.eclipse.microprofile.metrics.Snapshot;
+import org.jboss.logging.Logger;
+
+import io.smallrye.metrics.ExtendedMetadata;
+import io.smallrye.metrics.MetricRegistries;
+import io.smallrye.metrics.exporters.OpenMetricsExporter;
+import io.smallrye.metrics.exporters.OpenMetricsUnit;
+
+/**
+ * Writes the metrics in the OpenMetrics text format, byte for byte like the SmallRye {@link OpenMetricsExporter}, to an
+ * output stream instead of a string builder holding the whole exposition.
+ * <p>
+ * The names, units, tags and help texts of a metric do not change between two scrapes: the lines of each metric are
+ * prepared on its first scrape, and the following scrapes only append the current values to the cached line prefixes.
+ * The metrics are encoded one at a time into a reused buffer, so that a metric failing to export is skipped entirely,
+ * like with the SmallRye exporter.
+ */
+public class OpenMetricsStreamingExporter {
+
+    private static final Logger LOGGER = Logger.getLogger(OpenMetricsStreamingExporter.class.getName());
+
+    private static final String OMIT_HELP_LINE = "microprofile.metrics.omitHelpLine";
+    private static final String NONE = "none";
+    private static final String GAUGE = "gauge";
+    private static final String COUNTER = "counter";
+    private static final String SUMMARY = "summary";
+    private static final long NEGATIVE_ZERO = Double.doubleToRawLongBits(-0.0);
+
+    private final boolean writeHelpLine;
+    private final boolean usePrefixForScope;
+    private final Map<MetricRegistry.Type, Map<MetricID, MetricLines>> lines = new EnumMap<>(MetricRegistry.Type.class);
+
+    /**
+     * Reads the same configuration as the SmallRye exporter.
+     */
+    public OpenMetricsStreamingExporter() {
+        this(!ConfigProvider.getConfig().getOptionalValue(OMIT_HELP_LINE, Boolean.class).orElse(false),
+                ConfigProvider.getConfig()
+                        .getOptionalValue(OpenMetricsExporter.SMALLRYE_METRICS_USE_PREFIX_FOR_SCOPE, Boolean.class)
+                        .orElse(true));
+    }
+
+    public OpenMetricsStreamingExporter(boolean writeHelpLine, boolean usePrefixForScope) {
+        this.writeHelpLine = writeHelpLine;
+        this.usePrefixForScope = usePrefixForScope;
+        for (MetricRegistry.Type scope : MetricRegistry.Type.values()) {
+            lines.put(scope, new ConcurrentHashMap<>());
+        }
+    }
+
+    public void exportAllScopes(OutputStream out) throws IOException {
+        Output output = new Output(out);
+        for (MetricRegistry.Type scope : MetricRegistry.Type.values()) {
+            export(scope, output);
+        }
+    }
+
+    public void exportOneScope(MetricRegistry.Type scope, OutputStream out) throws IOException {
+        export(scope, new Output(out));
+    }
+
+    private void export(MetricRegistry.Type scope, Output output) throws IOException {
+        MetricRegistry registry = MetricRegistries.get(scope);
+        Map<MetricID, Metric> metrics = registry.getMetrics();
+        Map<String, Metadata> metadata = registry.getMetadata();
+        Map<MetricID, MetricLines> scopeLines = lines.get(scope);
+        Set<String> exportedNames = new HashSet<>();
+        for (Map.Entry<MetricID, Metric> entry : metrics.entrySet()) {
+            String name = entry.getKey().getName();
+            Metadata metricMetadata = metadata.get(name);
+            if (metricMetadata == null) {
+                throw new IllegalStateException("No entry for " + name + " found");
+            }
+            StringBuilder text = output.text;
+            text.setLength(0);
+            try {
+                MetricLines metricLines = scopeLines.get(entry.getKey());
+                if (metricLines == null || metricLines.metadata != metricMetadata) {
+                    metricLines = prepare(scope, metricMetadata, entry.getKey().getTags());
+                    scopeLines.put(entry.getKey(), metricLines);
+                }
+                metricLines.write(text, entry.getValue(), !exportedNames.contains(name));
+            } catch (Exception e) {
+                LOGGER.warn("Unable to export metric " + name, e);
+                continue;
+            }
+            output.write();
+            exportedNames.add(name);
+        }
+        if (scopeLines.size() > metrics.size()) {
+            // the lines of the removed metrics
+            scopeLines.keySet().retainAll(metrics.keySet());
+        }
+    }
+
+    /**
+     * Prepares the lines in the order of the SmallRye exporter.
+     */
+    private MetricLines prepare(MetricRegistry.Type scope, Metadata metadata, Map<String, String> tags) {
+        String name = metadata.getName();
+        String metricName = getOpenMetricsMetricName(name);
+        String baseUnit = OpenMetricsUnit.getBaseUnitAsOpenMetricsString(metadata.getUnit());
+        String unit = metadata.getUnit().orElse(NONE);
+        String scopePrefix = writeScopeInPrefix(metadata) ? scope.getName().toLowerCase() + "_" : "";
+        String tagsText = tags(tags, scope, metadata);
+        List<Line> lines = new ArrayList<>();
+        LineBuilder builder = new LineBuilder(scope, metadata, scopePrefix + metricName, tags, lines);
+        switch (metadata.getTypeRaw()) {
+            case GAUGE:
+            case COUNTER: {
+                String suffix;
+                if (metadata.getTypeRaw() == MetricType.GAUGE) {
+                    suffix = NONE.equals(baseUnit) ? null : "_" + baseUnit;
+                } else {
+                    suffix = metricName.endsWith("_total") ? null : "_total";
+                }
+                builder.help(metricName, suffix);
+                builder.type(metricName, suffix, metadata.getType());
+                String valueSuffix = metadata.getTypeRaw() == MetricType.COUNTER && suffix != null ? suffix : "";
+                if (!NONE.equals(baseUnit)) {
+                    valueSuffix += "_" + baseUnit;
+                }
+                lines.add(new Line(scopePrefix + metricName + valueSuffix + tagsText + " ",
+                        metadata.getTypeRaw() == MetricType.GAUGE ? Value.GAUGE : Value.COUNT, unit));
+                break;
+            }
+            case CONCURRENT_GAUGE:
+                builder.help(metricName, "_current");
+                builder.typeAndValue("_current", GAUGE, Value.CURRENT, null);
+                builder.typeAndValue("_max", GAUGE, Value.CONCURRENT_MAX, null);
+                builder.typeAndValue("_min", GAUGE, Value.CONCURRENT_MIN, null);
+                break;
+            case METERED:
+                builder.help(name, "_total");
+                builder.typeAndValue("_total", COUNTER, Value.COUNT, null);
+                builder.rates();
+                break;
+            case TIMER: {
+                String suffix = "_" + (NONE.equals(baseUnit) ? "seconds" : baseUnit);
+                builder.rates();
+                builder.snapshotBasics(suffix, "nanoseconds");
+                builder.help(name, suffix);
+                builder.type(name, suffix, SUMMARY);
+                builder.value(suffix + "_count", Value.COUNT, tags, null);
+                builder.snapshotQuantiles(suffix, "nanoseconds");
+                break;
+            }
+            case HISTOGRAM: {
+                String suffix = NONE.equals(baseUnit) ? "" : "_" + baseUnit;
+                builder.help(name, suffix);
+                builder.snapshotBasics(suffix, unit);
+                builder.type(name, suffix, SUMMARY);
+                builder.value(suffix + "_count", Value.COUNT, tags, null);
+                builder.snapshotQuantiles(suffix, unit);
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Not supported: " + metricName);
+        }
+        return new MetricLines(metadata, lines.toArray(new Line[0]));
+    }
+
+    private boolean writeScopeInPrefix(Metadata metadata) {
+        if (metadata instanceof ExtendedMetadata) {
+            return ((ExtendedMetadata) metadata).prependsScopeToOpenMetricsName().orElse(usePrefixForScope);
+        }
+        return usePrefixForScope;
+    }
+
+    private String tags(Map<String, String> tags, MetricRegistry.Type scope, Metadata metadata) {
+        if (tags == null) {
+            return "";
+        }
+        boolean scopeTag = !writeScopeInPrefix(metadata);
+        if (tags.isEmpty()) {
+            return scopeTag ? "{microprofile_scope=\"" + scope.getName().toLowerCase() + "\"}" : "";
+        }
+        StringBuilder text = new StringBuilder("{");
+        for (Iterator<Map.Entry<String, String>> iterator = tags.entrySet().iterator(); iterator.hasNext();) {
+            Map.Entry<String, String> tag = iterator.next();
+            text.append(tag.getKey()).append("=\"").append(OpenMetricsExporter.quoteValue(tag.getValue())).append('"');
+            if (iterator.hasNext()) {
+                text.append(',');
+            }
+        }
+        if (scopeTag) {
+            text.append(",microprofile_scope=\"").append(scope.getName().toLowerCase()).append('"');
+        }
+        return text.append('}').toString();
+    }
+
+    static String getOpenMetricsMetricName(String name) {
+        return name.replaceAll("[^\\w]+", "_").replace("__", "_").replace(":_", ":");
+    }
+
+    /**
+     * Appends the value like {@link StringBuilder#append(Object)} with a {@link Double}, without creating a string for
+     * the integer values.
+     */
+    static void appendValue(StringBuilder text, double value) {
+        long integer = (long) value;
+        if (integer == value && Math.abs(integer) < 10_000_000 && Double.doubleToRawLongBits(value) != NEGATIVE_ZERO) {
+            text.append(integer).append(".0");
+        } else {
+            text.append(value);
+        }
+    }
+
+    private enum Value {
+        GAUGE,
+        COUNT,
+        CURRENT,
+        CONCURRENT_MAX,
+        CONCURRENT_MIN,
+        MEAN_RATE,
+        ONE_MINUTE_RATE,
+        FIVE_MINUTE_RATE,
+        FIFTEEN_MINUTE_RATE,
+        MIN,
+        MAX,
+        MEAN,
+        STDDEV,
+        MEDIAN,
+        P75,
+        P95,
+        P98,
+        P99,
+        P999;
+
+        boolean fromSnapshot() {
+            return ordinal() >= MIN.ordinal();
+        }
+
+        double read(Metric metric, Snapshot snapshot) {
+            switch (this) {
+                case GAUGE:
+                    Number number = (Number) ((Gauge<?>) metric).getValue();
+                    if (number == null) {
+                        throw new IllegalStateException("Value must not be null");
+                    }
+                    return number.doubleValue();
+                case COUNT:
+                    return ((Counting) metric).getCount();
+                case CURRENT:
+                    return ((ConcurrentGauge) metric).getCount();
+                case CONCURRENT_MAX:
+                    return ((ConcurrentGauge) metric).getMax();
+                case CONCURRENT_MIN:
+                    return ((ConcurrentGauge) metric).getMin();
+                case MEAN_RATE:
+                    return ((Metered) metric).getMeanRate();
+                case ONE_MINUTE_RATE:
+                    return ((Metered) metric).getOneMinuteRate();
+                case FIVE_MINUTE_RATE:
+                    return ((Metered) metric).getFiveMinuteRate();
+                case FIFTEEN_MINUTE_RATE:
+                    return ((Metered) metric).getFifteenMinuteRate();
+                case MIN:
+                    return snapshot.getMin();
+                case MAX:
+                    return snapshot.getMax();
+                case MEAN:
+                    return snapshot.getMean();
+                case STDDEV:
+                    return snapshot.getStdDev();
+                case MEDIAN:
+                    return snapshot.getMedian();
+                case P75:
+                    return snapshot.get75thPercentile();
+                case P95:
+                    return snapshot.get95thPercentile();
+                case P98:
+                    return snapshot.get98thPercentile();
+                case P99:
+                    return snapshot.get99thPercentile();
+                default:
+                    return snapshot.get999thPercentile();
+            }
+        }
+    }
+
+    /**
+     * A HELP or TYPE line, written for the first metric of a name only, or the prefix of a value line.
+     */
+    private static final class Line {
+
+        final String text;
+        final Value value;
+        /**
+         * The unit the value is scaled from, {@code null} if it is not scaled.
+         */
+        final String unit;
+
+        Line(String text, Value value, String unit) {
+            this.text = text;
+            this.value = value;
+            this.unit = unit == null || NONE.equals(unit) ? null : unit;
+        }
+    }
+
+    private static final class MetricLines {
+
+        final Metadata metadata;
+        final Line[] lines;
+        final boolean sampling;
+
+        MetricLines(Metadata metadata, Line[] lines) {
+            this.metadata = metadata;
+            this.lines = lines;
+            boolean sampling = false;
+            for (Line line : lines) {
+                sampling |= line.value != null && line.value.fromSnapshot();
+            }
+            this.sampling = sampling;
+        }
+
+        void write(StringBuilder text, Metric metric, boolean firstOfName) {
+            Snapshot snapshot = sampling ? ((Sampling) metric).getSnapshot() : null;
+            for (Line line : lines) {
+                if (line.value == null) {
+                    if (firstOfName) {
+                        text.append(line.text);
+                    }
+                    continue;
+                }
+                double value = line.value.read(metric, snapshot);
+                if (line.unit != null) {
+                    value = OpenMetricsUnit.scaleToBase(line.unit, value);
+                }
+                text.append(line.text);
+                appendValue(text, value);
+                text.append('\n');
+            }
+        }
+    }
+
+    private final class LineBuilder {
+
+        private final MetricRegistry.Type scope;
+        private final Metadata metadata;
+        private final String baseName;
+        private final Map<String, String> tags;
+        private final List<Line> lines;
+
+        LineBuilder(MetricRegistry.Type scope, Metadata metadata, String baseName, Map<String, String> tags,
+                List<Line> lines) {
+            this.scope = scope;
+            this.metadata = metadata;
+            this.baseName = baseName;
+            this.tags = tags;
+            this.lines = lines;
+        }
+
+        void help(String name, String suffix) {
+            Optional<String> description = metadata.getDescription().filter(s -> !s.isEmpty());
+            if (writeHelpLine && description.isPresent()) {
+                lines.add(new Line("# HELP " + nameWithScopeAndSuffix(name, suffix)
+                        + OpenMetricsExporter.quoteHelpText(description.get()) + "\n", null, null));
+            }
+        }
+
+        void type(String name, String suffix, String type) {
+            lines.add(new Line("# TYPE " + nameWithScopeAndSuffix(name, suffix) + type + "\n", null, null));
+        }
+
+        void value(String suffix, Value value, Map<String, String> tags, String unit) {
+            lines.add(new Line(baseName + suffix + tags(tags, scope, metadata) + " ", value, unit));
+        }
+
+        void typeAndValue(String suffix, String type, Value value, String unit) {
+            type(metadata.getName(), suffix, type);
+            value(suffix, value, tags, unit);
+        }
+
+        void rates() {
+            typeAndValue("_rate_per_second", GAUGE, Value.MEAN_RATE, null);
+            typeAndValue("_one_min_rate_per_second", GAUGE, Value.ONE_MINUTE_RATE, null);
+            typeAndValue("_five_min_rate_per_second", GAUGE, Value.FIVE_MINUTE_RATE, null);
+            typeAndValue("_fifteen_min_rate_per_second", GAUGE, Value.FIFTEEN_MINUTE_RATE, null);
+        }
+
+        void snapshotBasics(String suffix, String unit) {
+            typeAndValue("_min" + suffix, GAUGE, Value.MIN, unit);
+            typeAndValue("_max" + suffix, GAUGE, Value.MAX, unit);
+            typeAndValue("_mean" + suffix, GAUGE, Value.MEAN, unit);
+            typeAndValue("_stddev" + suffix, GAUGE, Value.STDDEV, unit);
+        }
+
+        void snapshotQuantiles(String suffix, String unit) {
+            quantile(suffix, "0.5", Value.MEDIAN, unit);
+            quantile(suffix, "0.75", Value.P75, unit);
+            quantile(suffix, "0.95", Value.P95, unit);
+            quantile(suffix, "0.98", Value.P98, unit);
+            quantile(suffix, "0.99", Value.P99, unit);
+            quantile(suffix, "0.999", Value.P999, unit);
+        }
+
+        /**
+         * The tags are copied into a hash map like in the SmallRye exporter, so that they are written in the same order.
+         */
+        private void quantile(String suffix, String quantile, Value value, String unit) {
+            Map<String, String> quantileTags = new HashMap<>();
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                quantileTags.put(tag.getKey(), tag.getValue());
+            }
+            quantileTags.put("quantile", quantile);
+            value(suffix, value, quantileTags, unit);
+        }
+
+        private String nameWithScopeAndSuffix(String name, String suffix) {
+            String scopePrefix = writeScopeInPrefix(metadata) ? scope.getName().toLowerCase() + '_' : "";
+            return scopePrefix + getOpenMetricsMetricName(name) + (suffix == null ? "" : suffix) + " ";
+        }
+    }
+
+    /**
+     * Encodes the text of each metric into a reused buffer, then writes it to the output stream.
+     */
+    private static final class Output {
+
+        final StringBuilder text = new StringBuilder(1024);
+        private final OutputStream out;
+        private byte[] bytes = new byte[1024];
+
+        Output(OutputStream out) {
+            this.out = out;
+        }
+
+        void write() throws IOException {
+            int length = text.length();
+            if (bytes.length < length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(i);
+                if (c >= 0x80) {
+                    // the names are ASCII, only the help texts and tag values can need multi-byte characters
+                    byte[] encoded = text.toString().getBytes(StandardCharsets.UTF_8);
+                    out.write(encoded, 0, encoded.length);
+                    return;
+                }
+                bytes[i] = (byte) c;
+            }
+            out.write(bytes, 0, length);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package io.quarkus.smallrye.metrics.runtime;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+
+/**
+ * Writes a chunked response from fixed size buffers, each sent to the response as soon as it is full.
+ * <p>
+ * The buffers are taken from a small pool and only given back once Vert.x has written them, so that a scrape reuses the
+ * buffers of the previous scrapes instead of allocating the whole exposition.
+ */
+final class PooledBufferOutputStream extends OutputStream {
+
+    static final int BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_POOLED_BUFFERS = 16;
+    private static final Queue<ByteBuf> POOL = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+
+    private final HttpServerResponse response;
+    private ByteBuf buffer;
+    private boolean closed;
+
+    PooledBufferOutputStream(HttpServerResponse response) {
+        this.response = response;
+        response.setChunked(true);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (buffer == null) {
+            buffer = takeBuffer();
+        }
+        buffer.writeByte(b);
+        if (!buffer.isWritable()) {
+            send();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (buffer == null) {
+                buffer = takeBuffer();
+            }
+            int written = Math.min(len, buffer.writableBytes());
+            buffer.writeBytes(b, off, written);
+            off += written;
+            len -= written;
+            if (!buffer.isWritable()) {
+                send();
+            }
+        }
+    }
+
+    /**
+     * Does not send the current buffer, the buffers are only sent when full or when the stream is closed.
+     */
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        ByteBuf last = buffer;
+        buffer = null;
+        if (last == null) {
+            response.end();
+        } else {
+            response.end(Buffer.buffer(last), result -> giveBack(last));
+        }
+    }
+
+    private void send() {
+        ByteBuf full = buffer;
+        buffer = null;
+        // the Vert.x buffer wraps the pooled buffer, the written bytes are not copied
+        response.write(Buffer.buffer(full), result -> giveBack(full));
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream is closed");
+        }
+    }
+
+    private static ByteBuf takeBuffer() {
+        ByteBuf pooled = POOL.poll();
+        return pooled != null ? pooled : Unpooled.buffer(BUFFER_SIZE, BUFFER_SIZE);
+    }
+
+    /**
+     * The buffers beyond the pool capacity, when several scrapes run at once, are left to the garbage collector.
+     */
+    private static void giveBack(ByteBuf buffer) {
+        buffer.clear();
+        POOL.offer(buffer);
+    }
+}
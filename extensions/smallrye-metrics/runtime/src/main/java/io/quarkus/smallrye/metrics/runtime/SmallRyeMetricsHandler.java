@@ -1,22 +1,38 @@
 package io.quarkus.smallrye.metrics.runtime;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import javax.enterprise.inject.spi.CDI;
 
+import org.eclipse.microprofile.metrics.MetricRegistry;
 import org.jboss.logging.Logger;
 
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.smallrye.metrics.MetricRegistries;
 import io.smallrye.metrics.MetricsRequestHandler;
 import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
 
+/**
+ * Streams the OpenMetrics text of all the scopes, or of one scope, with the {@link OpenMetricsStreamingExporter}, gzipped
+ * if the scraper accepts it. The other requests, for the JSON format, the metadata or a single metric, are handled by the
+ * SmallRye {@link MetricsRequestHandler}.
+ */
 public class SmallRyeMetricsHandler implements Handler<RoutingContext> {
 
+    private static final String TEXT_PLAIN = "text/plain";
+    private static final String GZIP = "gzip";
+
     private String metricsPath;
+    private volatile OpenMetricsStreamingExporter exporter;
 
     private static final Logger LOGGER = Logger.getLogger(SmallRyeMetricsHandler.class.getName());
 
@@ -26,9 +42,24 @@ public class SmallRyeMetricsHandler implements Handler<RoutingContext> {
 
     @Override
     public void handle(RoutingContext routingContext) {
+        HttpServerRequest request = routingContext.request();
+        if ("GET".equals(request.rawMethod()) && request.path().startsWith(metricsPath)
+                && acceptsOpenMetrics(request.headers().getAll(HttpHeaderNames.ACCEPT))) {
+            String path = relativePath(request.path());
+            if (path.isEmpty()) {
+                stream(routingContext, null);
+                return;
+            }
+            MetricRegistry.Type scope = scope(path);
+            // unknown scopes, empty scopes and single metrics are answered by SmallRye
+            if (scope != null && !MetricRegistries.get(scope).getMetadata().isEmpty()) {
+                stream(routingContext, scope);
+                return;
+            }
+        }
+
         MetricsRequestHandler internalHandler = CDI.current().select(MetricsRequestHandler.class).get();
         HttpServerResponse response = routingContext.response();
-        HttpServerRequest request = routingContext.request();
         Stream<String> acceptHeaders = request.headers().getAll("Accept").stream();
 
         try {
@@ -44,4 +75,122 @@ public class SmallRyeMetricsHandler implements Handler<RoutingContext> {
             LOGGER.error(e);
         }
     }
+
+    private void stream(RoutingContext routingContext, MetricRegistry.Type scope) {
+        HttpServerResponse response = routingContext.response();
+        boolean gzip = acceptsGzip(routingContext.request().getHeader(HttpHeaderNames.ACCEPT_ENCODING));
+        MultiMap headers = response.headers();
+        headers.set(HttpHeaderNames.CONTENT_TYPE, TEXT_PLAIN);
+        headers.set(HttpHeaderNames.ACCESS_CONTROL_MAX_AGE, "1209600");
+        headers.set(HttpHeaderNames.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+        headers.set(HttpHeaderNames.ACCESS_CONTROL_ALLOW_HEADERS, "origin, content-type, accept, authorization");
+        headers.set(HttpHeaderNames.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+        headers.set(HttpHeaderNames.ACCESS_CONTROL_ALLOW_METHODS, "GET, POST, PUT, DELETE, OPTIONS, HEAD");
+        headers.set(HttpHeaderNames.VARY, HttpHeaderNames.ACCEPT_ENCODING);
+        if (gzip) {
+            headers.set(HttpHeaderNames.CONTENT_ENCODING, GZIP);
+        }
+
+        OpenMetricsStreamingExporter exporter = exporter();
+        try (OutputStream out = gzip
+                ? new GZIPOutputStream(new PooledBufferOutputStream(response), PooledBufferOutputStream.BUFFER_SIZE)
+                : new PooledBufferOutputStream(response)) {
+            if (scope == null) {
+                exporter.exportAllScopes(out);
+            } else {
+                exporter.exportOneScope(scope, out);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (response.headWritten()) {
+                // the status is already sent, the scraper sees a truncated response
+                LOGGER.error("Unable to export the metrics", e);
+                response.close();
+            } else {
+                routingContext.fail(e);
+            }
+        }
+    }
+
+    private OpenMetricsStreamingExporter exporter() {
+        OpenMetricsStreamingExporter exporter = this.exporter;
+        if (exporter == null) {
+            // created on the first scrape, the configuration is not available when the handler is recorded
+            this.exporter = exporter = new OpenMetricsStreamingExporter();
+        }
+        return exporter;
+    }
+
+    private String relativePath(String path) {
+        String relative = path.substring(metricsPath.length());
+        if (relative.startsWith("/")) {
+            relative = relative.substring(1);
+        }
+        if (relative.endsWith("/")) {
+            relative = relative.substring(0, relative.length() - 1);
+        }
+        return relative;
+    }
+
+    private static MetricRegistry.Type scope(String path) {
+        if (path.contains("/")) {
+            return null;
+        }
+        try {
+            return MetricRegistry.Type.valueOf(path.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Negotiates the media type like the SmallRye handler: the media type of highest quality among {@code text/plain},
+     * {@code application/json} and {@code *}{@code /*} wins, {@code text/plain} winning the ties.
+     */
+    static boolean acceptsOpenMetrics(List<String> acceptHeaders) {
+        String bestType = null;
+        float bestQuality = -1;
+        for (String header : acceptHeaders) {
+            for (String mediaRange : header.split(",")) {
+                String[] parts = mediaRange.split(";");
+                float quality = 1;
+                if (parts.length > 1) {
+                    for (String part : parts) {
+                        if (part.startsWith("q=")) {
+                            try {
+                                quality = Float.parseFloat(part.substring(2));
+                            } catch (NumberFormatException e) {
+                                // left to SmallRye, to fail the same way
+                                return false;
+                            }
+                        }
+                    }
+                }
+                String type = parts[0];
+                if (!type.equals(TEXT_PLAIN) && !type.equals("application/json") && !type.equals("*/*")) {
+                    continue;
+                }
+                if (quality > bestQuality
+                        || (quality == bestQuality && !TEXT_PLAIN.equals(bestType) && type.equals(TEXT_PLAIN))) {
+                    bestType = type;
+                    bestQuality = quality;
+                }
+            }
+        }
+        return bestQuality > 0 && (TEXT_PLAIN.equals(bestType) || "*/*".equals(bestType));
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            int paramsStart = coding.indexOf(';');
+            String name = (paramsStart == -1 ? coding : coding.substring(0, paramsStart)).trim();
+            if (name.equalsIgnoreCase(GZIP)) {
+                String params = paramsStart == -1 ? "" : coding.substring(paramsStart + 1).trim();
+                return !params.matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
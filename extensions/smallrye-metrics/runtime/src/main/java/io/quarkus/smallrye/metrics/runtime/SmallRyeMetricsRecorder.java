@@ -22,6 +22,7 @@ import org.eclipse.microprofile.metrics.Histogram;
 import org.eclipse.microprofile.metrics.Metadata;
 import org.eclipse.microprofile.metrics.Metered;
 import org.eclipse.microprofile.metrics.Metric;
+import org.eclipse.microprofile.metrics.MetricID;
 import org.eclipse.microprofile.metrics.MetricRegistry;
 import org.eclipse.microprofile.metrics.MetricType;
 import org.eclipse.microprofile.metrics.MetricUnits;
@@ -36,8 +37,12 @@ import io.quarkus.arc.InjectableBean;
 import io.quarkus.arc.runtime.BeanContainer;
 import io.quarkus.runtime.ShutdownContext;
 import io.quarkus.runtime.annotations.Recorder;
+import io.quarkus.runtime.logging.RingBufferAsyncHandler;
 import io.smallrye.metrics.MetricRegistries;
 import io.smallrye.metrics.TagsUtils;
+import io.smallrye.metrics.app.HistogramImpl;
+import io.smallrye.metrics.app.TimerImpl;
+import io.smallrye.metrics.elementdesc.AnnotationInfo;
 import io.smallrye.metrics.elementdesc.BeanInfo;
 import io.smallrye.metrics.elementdesc.MemberInfo;
 import io.smallrye.metrics.interceptors.MetricResolver;
@@ -80,6 +85,10 @@ public class SmallRyeMetricsRecorder {
     private static final String MEMORY_USED_HEAP = "memory.usedHeap";
     private static final String MEMORY_USED_NON_HEAP = "memory.usedNonHeap";
 
+    // logging
+    private static final String LOGGING_ASYNC_DROPPED = "logging.async.dropped.total";
+    private static final String LOGGING_ASYNC_PENDING = "logging.async.pending.count";
+
     public Function<Router, Route> route(String name) {
         return new Function<Router, Route>() {
             @Override
@@ -112,6 +121,22 @@ public class SmallRyeMetricsRecorder {
         }
     }
 
+    public void registerLoggingMetrics(ShutdownContext shutdown) {
+        if (!RingBufferAsyncHandler.isInUse()) {
+            return;
+        }
+        MetricRegistry registry = MetricRegistries.get(MetricRegistry.Type.VENDOR);
+        List<String> names = new ArrayList<>();
+
+        vendorLoggingMetrics(registry, names);
+
+        shutdown.addShutdownTask(() -> {
+            for (String i : names) {
+                registry.remove(i);
+            }
+        });
+    }
+
     public void registerBaseMetrics(ShutdownContext shutdown) {
         MetricRegistry registry = MetricRegistries.get(MetricRegistry.Type.BASE);
         List<String> names = new ArrayList<>();
@@ -132,14 +157,38 @@ public class SmallRyeMetricsRecorder {
         }
     }
 
-    public void registerMetrics(BeanInfo beanInfo, MemberInfo memberInfo) {
+    public void registerMetrics(BeanInfo beanInfo, MemberInfo memberInfo, boolean hdrHistograms) {
         MetricRegistry registry = MetricRegistries.get(MetricRegistry.Type.APPLICATION);
+        MetricResolver resolver = new MetricResolver();
+        if (hdrHistograms) {
+            registerHdrTimer(registry, resolver, beanInfo, memberInfo);
+        }
         MetricsMetadata.registerMetrics(registry,
-                new MetricResolver(),
+                resolver,
                 beanInfo,
                 memberInfo);
     }
 
+    /**
+     * Registers the timer of a {@code @Timed} member before SmallRye does, which then finds it registered for the same
+     * member and keeps it.
+     */
+    private void registerHdrTimer(MetricRegistry registry, MetricResolver resolver, BeanInfo beanInfo,
+            MemberInfo memberInfo) {
+        MetricResolver.Of<?> timed = resolver.timed(beanInfo, memberInfo);
+        if (!timed.isPresent()) {
+            return;
+        }
+        AnnotationInfo annotation = timed.metricAnnotation();
+        Tag[] tags = timed.tags();
+        if (registry.getMetrics().containsKey(new MetricID(timed.metricName(), tags))) {
+            return;
+        }
+        Metadata metadata = MetricsMetadata.getMetadata(memberInfo, timed.metricName(), annotation.unit(),
+                annotation.description(), annotation.displayName(), MetricType.TIMER, annotation.reusable());
+        registry.register(metadata, new TimerImpl(new HdrReservoir()), tags);
+    }
+
     public void registerMetricFromProducer(String beanId, MetricType metricType,
             String metricName, String[] tags, String description,
             String displayName, String unit) {
@@ -164,7 +213,8 @@ public class SmallRyeMetricsRecorder {
             MetadataHolder metadataHolder,
             TagHolder[] tagHolders,
             Object implementor,
-            ShutdownContext shutdown) {
+            ShutdownContext shutdown,
+            boolean hdrHistograms) {
         Metadata metadata = metadataHolder.toMetadata();
         Tag[] tags = Arrays.stream(tagHolders).map(TagHolder::toTag).toArray(Tag[]::new);
         MetricRegistry registry = MetricRegistries.get(scope);
@@ -174,7 +224,9 @@ public class SmallRyeMetricsRecorder {
                 registry.register(metadata, (Gauge) implementor, tags);
                 break;
             case TIMER:
-                if (implementor == null) {
+                if (implementor == null && hdrHistograms) {
+                    registry.register(metadata, new TimerImpl(new HdrReservoir()), tags);
+                } else if (implementor == null) {
                     registry.timer(metadata, tags);
                 } else {
                     registry.register(metadata, (Timer) implementor);
@@ -188,7 +240,9 @@ public class SmallRyeMetricsRecorder {
                 }
                 break;
             case HISTOGRAM:
-                if (implementor == null) {
+                if (implementor == null && hdrHistograms) {
+                    registry.register(metadata, new HistogramImpl(new HdrReservoir()), tags);
+                } else if (implementor == null) {
                     registry.histogram(metadata, tags);
                 } else {
                     registry.register(metadata, (Histogram) implementor, tags);
@@ -541,6 +595,28 @@ public class SmallRyeMetricsRecorder {
         names.add(MEMORY_USED_NON_HEAP);
     }
 
+    private void vendorLoggingMetrics(MetricRegistry registry, List<String> names) {
+        Metadata meta = Metadata.builder()
+                .withName(LOGGING_ASYNC_DROPPED)
+                .withType(MetricType.COUNTER)
+                .withDisplayName("Dropped Asynchronous Log Records")
+                .withDescription("Displays the number of log records dropped by the ring buffer asynchronous log "
+                        + "handlers because their ring buffer was full.")
+                .build();
+        registry.register(meta, new LambdaCounter(RingBufferAsyncHandler::getTotalDroppedCount));
+        names.add(LOGGING_ASYNC_DROPPED);
+
+        meta = Metadata.builder()
+                .withName(LOGGING_ASYNC_PENDING)
+                .withType(MetricType.GAUGE)
+                .withDisplayName("Pending Asynchronous Log Records")
+                .withDescription("Displays the number of log records waiting in the ring buffers of the ring buffer "
+                        + "asynchronous log handlers.")
+                .build();
+        registry.register(meta, new LambdaGauge(RingBufferAsyncHandler::getTotalPendingCount));
+        names.add(LOGGING_ASYNC_PENDING);
+    }
+
     private void memoryPoolMetrics(MetricRegistry registry, List<String> names) {
         // MemoryPoolMXBean doesn't work in native mode
         if (!ImageInfo.inImageCode()) {
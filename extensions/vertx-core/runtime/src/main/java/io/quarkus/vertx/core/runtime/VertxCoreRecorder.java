@@ -149,6 +149,7 @@ public class VertxCoreRecorder {
                 .setFileCacheDir(fileCacheDir)
                 .setClassPathResolvingEnabled(conf.classpathResolving));
         options.setWorkerPoolSize(conf.workerPoolSize);
+        options.setPreferNativeTransport(conf.preferNativeTransport);
         options.setInternalBlockingPoolSize(conf.internalBlockingPoolSize);
 
         options.setBlockedThreadCheckInterval(conf.warningExceptionTime.toMillis());
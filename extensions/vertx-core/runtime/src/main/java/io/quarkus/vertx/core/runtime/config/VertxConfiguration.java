@@ -67,6 +67,14 @@ public class VertxConfiguration {
     @ConfigItem
     public boolean useAsyncDNS;
 
+    /**
+     * Use the native transport (epoll on Linux, kqueue on macOS) when it is available. The matching
+     * {@code io.netty:netty-transport-native-*} artifact must be added to the application, otherwise the JDK transport is
+     * used.
+     */
+    @ConfigItem
+    public boolean preferNativeTransport;
+
     /**
      * The event bus configuration.
      */
@@ -0,0 +1,26 @@
+package io.quarkus.vertx.http.deployment;
+
+import java.util.List;
+
+import io.quarkus.builder.item.SimpleBuildItem;
+import io.quarkus.vertx.http.runtime.staticresources.StaticResource;
+
+/**
+ * The static resources found under {@code META-INF/resources}, indexed at build time.
+ */
+public final class StaticResourcesBuildItem extends SimpleBuildItem {
+
+    private final List<StaticResource> resources;
+
+    public StaticResourcesBuildItem(List<StaticResource> resources) {
+        this.resources = resources;
+    }
+
+    public List<StaticResource> getResources() {
+        return resources;
+    }
+
+    public boolean isEmpty() {
+        return resources.isEmpty();
+    }
+}
@@ -0,0 +1,22 @@
+package io.quarkus.vertx.http.deployment;
+
+import io.quarkus.builder.item.SimpleBuildItem;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * A handler serving the indexed static resources, only produced if there are any. Extensions owning the default route
+ * are expected to install it in front of their own handler: it passes the requests for unknown paths to the next one.
+ */
+public final class StaticResourcesHandlerBuildItem extends SimpleBuildItem {
+
+    private final Handler<RoutingContext> handler;
+
+    public StaticResourcesHandlerBuildItem(Handler<RoutingContext> handler) {
+        this.handler = handler;
+    }
+
+    public Handler<RoutingContext> getHandler() {
+        return handler;
+    }
+}
@@ -0,0 +1,185 @@
+package io.quarkus.vertx.http.deployment;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import io.quarkus.deployment.ApplicationArchive;
+import io.quarkus.deployment.Capabilities;
+import io.quarkus.deployment.annotations.BuildProducer;
+import io.quarkus.deployment.annotations.BuildStep;
+import io.quarkus.deployment.annotations.ExecutionTime;
+import io.quarkus.deployment.annotations.Record;
+import io.quarkus.deployment.builditem.ApplicationArchivesBuildItem;
+import io.quarkus.deployment.builditem.GeneratedResourceBuildItem;
+import io.quarkus.deployment.builditem.LaunchModeBuildItem;
+import io.quarkus.deployment.builditem.nativeimage.NativeImageResourceBuildItem;
+import io.quarkus.vertx.http.runtime.HttpBuildTimeConfig;
+import io.quarkus.vertx.http.runtime.HttpConfiguration;
+import io.quarkus.vertx.http.runtime.staticresources.StaticResource;
+import io.quarkus.vertx.http.runtime.staticresources.StaticResourcesBuildTimeConfig;
+import io.quarkus.vertx.http.runtime.staticresources.StaticResourcesHandler;
+import io.quarkus.vertx.http.runtime.staticresources.StaticResourcesRecorder;
+import io.vertx.core.http.impl.MimeMapping;
+
+class StaticResourcesProcessor {
+
+    private static final String META_INF_RESOURCES_SLASH = StaticResourcesHandler.META_INF_RESOURCES + "/";
+
+    @BuildStep
+    StaticResourcesBuildItem indexStaticResources(Capabilities capabilities,
+            ApplicationArchivesBuildItem applicationArchivesBuildItem,
+            HttpBuildTimeConfig httpBuildTimeConfig,
+            BuildProducer<GeneratedResourceBuildItem> generatedResources,
+            BuildProducer<NativeImageResourceBuildItem> nativeImageResources) throws Exception {
+        if (capabilities.isCapabilityPresent(Capabilities.SERVLET)) {
+            // static resources are served by the servlet container
+            return new StaticResourcesBuildItem(new ArrayList<>());
+        }
+
+        Map<String, StaticResource> resources = new LinkedHashMap<>();
+        StaticResourcesBuildTimeConfig config = httpBuildTimeConfig.staticResources;
+        for (ApplicationArchive i : applicationArchivesBuildItem.getAllApplicationArchives()) {
+            Path resource = i.getChildPath(StaticResourcesHandler.META_INF_RESOURCES);
+            if (resource != null && Files.exists(resource)) {
+                indexDirectory(resource, resources, config, generatedResources, nativeImageResources);
+            }
+        }
+        Enumeration<URL> urls = getClass().getClassLoader().getResources(StaticResourcesHandler.META_INF_RESOURCES);
+        while (urls.hasMoreElements()) {
+            URL url = urls.nextElement();
+            if (url.getProtocol().equals("jar")) {
+                JarURLConnection jar = (JarURLConnection) url.openConnection();
+                JarFile jarFile = jar.getJarFile();
+                Enumeration<JarEntry> entries = jarFile.entries();
+                while (entries.hasMoreElements()) {
+                    JarEntry entry = entries.nextElement();
+                    if (entry.isDirectory() || !entry.getName().startsWith(META_INF_RESOURCES_SLASH)) {
+                        continue;
+                    }
+                    String path = entry.getName().substring(META_INF_RESOURCES_SLASH.length() - 1);
+                    if (path.length() > 1 && !resources.containsKey(path)) {
+                        try (InputStream in = jarFile.getInputStream(entry)) {
+                            index(path, readAll(in), resources, config, generatedResources, nativeImageResources);
+                        }
+                    }
+                }
+            }
+            if (url.getProtocol().equals("file")) {
+                Path resource = Paths.get(url.toURI());
+                if (resource != null && Files.exists(resource)) {
+                    indexDirectory(resource, resources, config, generatedResources, nativeImageResources);
+                }
+            }
+        }
+        return new StaticResourcesBuildItem(new ArrayList<>(resources.values()));
+    }
+
+    @BuildStep
+    @Record(ExecutionTime.RUNTIME_INIT)
+    void staticResourcesHandler(StaticResourcesRecorder recorder, StaticResourcesBuildItem staticResources,
+            HttpConfiguration httpConfiguration, LaunchModeBuildItem launchMode,
+            BuildProducer<StaticResourcesHandlerBuildItem> handler) {
+        if (!staticResources.isEmpty()) {
+            handler.produce(new StaticResourcesHandlerBuildItem(recorder.createHandler(staticResources.getResources(),
+                    httpConfiguration, launchMode.getLaunchMode())));
+        }
+    }
+
+    private void indexDirectory(Path root, Map<String, StaticResource> resources, StaticResourcesBuildTimeConfig config,
+            BuildProducer<GeneratedResourceBuildItem> generatedResources,
+            BuildProducer<NativeImageResourceBuildItem> nativeImageResources) throws IOException {
+        try (Stream<Path> fileTreeElements = Files.walk(root)) {
+            fileTreeElements.filter(Files::isRegularFile).forEach(path -> {
+                // Windows has a backslash
+                String file = "/" + root.relativize(path).toString().replace('\\', '/');
+                if (!resources.containsKey(file)) {
+                    try {
+                        index(file, Files.readAllBytes(path), resources, config, generatedResources,
+                                nativeImageResources);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        }
+    }
+
+    private void index(String path, byte[] content, Map<String, StaticResource> resources,
+            StaticResourcesBuildTimeConfig config, BuildProducer<GeneratedResourceBuildItem> generatedResources,
+            BuildProducer<NativeImageResourceBuildItem> nativeImageResources) throws IOException {
+        String contentType = MimeMapping.getMimeTypeForFilename(path);
+        StaticResource resource = new StaticResource(path, content.length, etag(content),
+                contentType != null && contentType.startsWith("text") ? contentType + ";charset=UTF-8" : contentType);
+        if (config.gzip && content.length >= config.gzipMinSize.asLongValue() && isCompressible(contentType)) {
+            byte[] gzipped = gzip(content);
+            // not worth a separate representation if it saves less than a tenth
+            if (gzipped.length < content.length * 0.9) {
+                String name = StaticResourcesHandler.GZIPPED_RESOURCES + path;
+                generatedResources.produce(new GeneratedResourceBuildItem(name, gzipped));
+                nativeImageResources.produce(new NativeImageResourceBuildItem(name));
+                resource.setGzipped(true);
+                resource.setGzippedSize(gzipped.length);
+            }
+        }
+        resources.put(path, resource);
+    }
+
+    private static boolean isCompressible(String contentType) {
+        return contentType != null && (contentType.startsWith("text/")
+                || contentType.equals("application/javascript")
+                || contentType.equals("application/json")
+                || contentType.equals("application/xml")
+                || contentType.equals("image/svg+xml"));
+    }
+
+    private static String etag(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(content);
+            return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                // compression only happens once, at build time
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int r;
+        while ((r = in.read(buffer)) > 0) {
+            out.write(buffer, 0, r);
+        }
+        return out.toByteArray();
+    }
+}
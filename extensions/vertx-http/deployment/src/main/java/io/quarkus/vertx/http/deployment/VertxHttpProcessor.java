@@ -12,6 +12,7 @@ import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
 import io.quarkus.arc.deployment.BeanContainerBuildItem;
 import io.quarkus.builder.BuildException;
 import io.quarkus.deployment.IsNormal;
+import io.quarkus.deployment.StartupConfig;
 import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.ExecutionTime;
@@ -31,6 +32,7 @@ import io.quarkus.vertx.http.runtime.CurrentVertxRequest;
 import io.quarkus.vertx.http.runtime.HttpBuildTimeConfig;
 import io.quarkus.vertx.http.runtime.HttpConfiguration;
 import io.quarkus.vertx.http.runtime.RouterProducer;
+import io.quarkus.vertx.http.runtime.StartupTimelineHandler;
 import io.quarkus.vertx.http.runtime.VertxHttpRecorder;
 import io.quarkus.vertx.http.runtime.cors.CORSRecorder;
 import io.quarkus.vertx.http.runtime.filters.Filter;
@@ -52,6 +54,13 @@ class VertxHttpProcessor {
         return new FilterBuildItem(recorder.corsHandler(configuration), FilterBuildItem.CORS);
     }
 
+    @BuildStep
+    void startupTimeline(StartupConfig startupConfig, BuildProducer<RouteBuildItem> routes) {
+        if (startupConfig.timeline.endpoint) {
+            routes.produce(new RouteBuildItem("/quarkus/startup", new StartupTimelineHandler()));
+        }
+    }
+
     @BuildStep
     AdditionalBeanBuildItem additionalBeans() {
         return AdditionalBeanBuildItem.builder()
@@ -0,0 +1,45 @@
+package io.quarkus.vertx.http;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+
+public class StartupTimelineTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest CONFIG = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClass(EagerBean.class)
+                    .addAsResource(new StringAsset("quarkus.startup.timeline.endpoint=true"),
+                            "application.properties"));
+
+    @Test
+    public void testTimeline() {
+        RestAssured.when().get("/quarkus/startup").then()
+                .statusCode(200)
+                .contentType("application/json")
+                .body("entries.find { it.name == '" + EagerBean.class.getName() + "' }.phase", is("startup-event"))
+                .body("phases.keySet()", hasItem("runtime-init"))
+                .body("extensions.keySet()", hasItem("vertx-http"));
+    }
+
+    @ApplicationScoped
+    static class EagerBean {
+
+        void onStart(@Observes StartupEvent event) {
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package io.quarkus.vertx.http.runtime;
+
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+/**
+ * HTTP/2 related settings
+ */
+@ConfigGroup
+public class Http2Config {
+
+    /**
+     * Whether HTTP/2 over cleartext (h2c) is accepted on the HTTP port, either through an {@code Upgrade} request or with
+     * prior knowledge.
+     */
+    @ConfigItem(defaultValue = "true")
+    public boolean clearText;
+
+    /**
+     * Whether HTTP/2 is negotiated with ALPN on the HTTPS port. This requires a JDK with ALPN support.
+     */
+    @ConfigItem
+    public boolean alpn;
+
+    /**
+     * The maximum number of concurrent streams a client may open on a single connection, advertised in the
+     * {@code SETTINGS_MAX_CONCURRENT_STREAMS} setting. Default: no limit.
+     */
+    @ConfigItem
+    public OptionalLong maxConcurrentStreams;
+
+    /**
+     * The initial flow control window of each stream, advertised in the {@code SETTINGS_INITIAL_WINDOW_SIZE} setting.
+     * Default: 65535 bytes.
+     */
+    @ConfigItem
+    public OptionalInt initialWindowSize;
+
+    /**
+     * The flow control window of the whole connection. Raising it above the default 65535 bytes lets a client
+     * saturate large bandwidth-delay links when many streams are in flight.
+     */
+    @ConfigItem
+    public OptionalInt connectionWindowSize;
+}
@@ -3,6 +3,7 @@ package io.quarkus.vertx.http.runtime;
 import io.quarkus.runtime.annotations.ConfigItem;
 import io.quarkus.runtime.annotations.ConfigPhase;
 import io.quarkus.runtime.annotations.ConfigRoot;
+import io.quarkus.vertx.http.runtime.staticresources.StaticResourcesBuildTimeConfig;
 
 @ConfigRoot(name = "http", phase = ConfigPhase.BUILD_AND_RUN_TIME_FIXED)
 public class HttpBuildTimeConfig {
@@ -15,6 +16,11 @@ public class HttpBuildTimeConfig {
 
     public AuthConfig auth;
 
+    /**
+     * Static resources build time configuration
+     */
+    public StaticResourcesBuildTimeConfig staticResources;
+
     /**
      * If this is true then only a virtual channel will be set up for vertx web.
      * We have this switch for testing purposes.
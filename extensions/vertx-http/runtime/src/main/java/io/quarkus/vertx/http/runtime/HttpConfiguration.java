@@ -9,6 +9,7 @@ import io.quarkus.runtime.annotations.ConfigItem;
 import io.quarkus.runtime.annotations.ConfigPhase;
 import io.quarkus.runtime.annotations.ConfigRoot;
 import io.quarkus.vertx.http.runtime.cors.CORSConfig;
+import io.quarkus.vertx.http.runtime.staticresources.StaticResourcesConfig;
 
 @ConfigRoot(phase = ConfigPhase.RUN_TIME)
 public class HttpConfiguration {
@@ -75,6 +76,16 @@ public class HttpConfiguration {
      */
     public ServerLimitsConfig limits;
 
+    /**
+     * HTTP/2 configuration
+     */
+    public Http2Config http2;
+
+    /**
+     * TCP configuration
+     */
+    public TcpConfig tcp;
+
     /**
      * Http connection idle timeout
      */
@@ -86,6 +97,11 @@ public class HttpConfiguration {
      */
     public BodyConfig body;
 
+    /**
+     * Static resources configuration
+     */
+    public StaticResourcesConfig staticResources;
+
     /**
      * The encryption key that is used to store persistent logins (e.g. for form auth). Logins are stored in a persistent
      * cookie that is encrypted with AES-256 using a key derived from a SHA-256 hash of the key that is provided here.
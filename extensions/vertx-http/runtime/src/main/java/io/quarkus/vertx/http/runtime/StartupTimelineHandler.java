@@ -0,0 +1,19 @@
+package io.quarkus.vertx.http.runtime;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.quarkus.runtime.StartupTimeline;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Serves the {@link StartupTimeline} as JSON.
+ */
+public class StartupTimelineHandler implements Handler<RoutingContext> {
+
+    @Override
+    public void handle(RoutingContext ctx) {
+        ctx.response()
+                .putHeader(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                .end(StartupTimeline.toJson());
+    }
+}
@@ -0,0 +1,59 @@
+package io.quarkus.vertx.http.runtime;
+
+import java.util.OptionalInt;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+/**
+ * TCP level settings of the HTTP server sockets.
+ * <p>
+ * {@code fast-open}, {@code quick-ack}, {@code cork} and {@code reuse-port} are only honored by the native transport,
+ * see {@code quarkus.vertx.prefer-native-transport}. They are ignored, with a warning, when the JDK transport is used.
+ */
+@ConfigGroup
+public class TcpConfig {
+
+    /**
+     * Enable {@code TCP_NODELAY}, disabling Nagle's algorithm.
+     */
+    @ConfigItem(defaultValue = "true")
+    public boolean noDelay;
+
+    /**
+     * Enable {@code SO_KEEPALIVE}.
+     */
+    @ConfigItem
+    public boolean keepAlive;
+
+    /**
+     * Enable {@code TCP_FASTOPEN}, letting returning clients send data in the SYN packet.
+     */
+    @ConfigItem
+    public boolean fastOpen;
+
+    /**
+     * Enable {@code TCP_QUICKACK}.
+     */
+    @ConfigItem
+    public boolean quickAck;
+
+    /**
+     * Enable {@code TCP_CORK}.
+     */
+    @ConfigItem
+    public boolean cork;
+
+    /**
+     * Enable {@code SO_REUSEPORT}. With the native transport every HTTP IO thread then gets its own listening socket,
+     * and the kernel balances incoming connections between them.
+     */
+    @ConfigItem
+    public boolean reusePort;
+
+    /**
+     * The accept backlog of the listening socket. Default: the value of the operating system.
+     */
+    @ConfigItem
+    public OptionalInt acceptBacklog;
+}
@@ -48,6 +48,7 @@ import io.vertx.core.Handler;
 import io.vertx.core.Verticle;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.Http2Settings;
 import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.http.HttpServerRequest;
@@ -69,6 +70,8 @@ public class VertxHttpRecorder {
 
     private static final Logger LOGGER = Logger.getLogger(VertxHttpRecorder.class.getName());
 
+    private static final String DISABLE_H2C = "vertx.disableH2c";
+
     private static volatile Handler<RoutingContext> hotReplacementHandler;
 
     private static volatile Runnable closeTask;
@@ -237,6 +240,12 @@ public class VertxHttpRecorder {
         HttpServerOptions httpServerOptions = createHttpServerOptions(httpConfiguration, launchMode, websocketSubProtocols);
         HttpServerOptions sslConfig = createSslOptions(httpConfiguration, launchMode);
 
+        warnIfNativeTransportUnavailable(vertx, httpConfiguration.tcp);
+        // Vert.x 3.8 has no HttpServerOptions toggle for h2c, each server instance reads this property when it is
+        // created, so it is only set until the verticles are deployed
+        final boolean disableH2c = !httpConfiguration.http2.clearText;
+        final String previousDisableH2c = disableH2c ? System.setProperty(DISABLE_H2C, "true") : null;
+
         int eventLoopCount = eventLoops.get();
         int ioThreads;
         if (httpConfiguration.ioThreads.isPresent()) {
@@ -294,6 +303,14 @@ public class VertxHttpRecorder {
             };
         } catch (InterruptedException | ExecutionException e) {
             throw new RuntimeException("Unable to start HTTP server", e);
+        } finally {
+            if (disableH2c) {
+                if (previousDisableH2c == null) {
+                    System.clearProperty(DISABLE_H2C);
+                } else {
+                    System.setProperty(DISABLE_H2C, previousDisableH2c);
+                }
+            }
         }
 
         String serverListeningMessage = String.format(
@@ -322,6 +339,9 @@ public class VertxHttpRecorder {
         final HttpServerOptions serverOptions = new HttpServerOptions();
         serverOptions.setMaxHeaderSize(httpConfiguration.limits.maxHeaderSize.asBigInteger().intValueExact());
         setIdleTimeout(httpConfiguration, serverOptions);
+        setTcpOptions(httpConfiguration, serverOptions);
+        setHttp2Options(httpConfiguration, serverOptions);
+        serverOptions.setUseAlpn(httpConfiguration.http2.alpn);
 
         if (certFile.isPresent() && keyFile.isPresent()) {
             createPemKeyCertOptions(certFile.get(), keyFile.get(), serverOptions);
@@ -470,6 +490,8 @@ public class VertxHttpRecorder {
         setIdleTimeout(httpConfiguration, options);
         options.setMaxHeaderSize(httpConfiguration.limits.maxHeaderSize.asBigInteger().intValueExact());
         options.setWebsocketSubProtocols(websocketSubProtocols);
+        setTcpOptions(httpConfiguration, options);
+        setHttp2Options(httpConfiguration, options);
         return options;
     }
 
@@ -479,6 +501,43 @@ public class VertxHttpRecorder {
         options.setIdleTimeoutUnit(TimeUnit.MILLISECONDS);
     }
 
+    private static void setTcpOptions(HttpConfiguration httpConfiguration, HttpServerOptions options) {
+        TcpConfig tcp = httpConfiguration.tcp;
+        options.setTcpNoDelay(tcp.noDelay);
+        options.setTcpKeepAlive(tcp.keepAlive);
+        options.setTcpFastOpen(tcp.fastOpen);
+        options.setTcpQuickAck(tcp.quickAck);
+        options.setTcpCork(tcp.cork);
+        options.setReusePort(tcp.reusePort);
+        if (tcp.acceptBacklog.isPresent()) {
+            options.setAcceptBacklog(tcp.acceptBacklog.getAsInt());
+        }
+    }
+
+    private static void setHttp2Options(HttpConfiguration httpConfiguration, HttpServerOptions options) {
+        Http2Config http2 = httpConfiguration.http2;
+        Http2Settings settings = options.getInitialSettings();
+        if (http2.maxConcurrentStreams.isPresent()) {
+            settings.setMaxConcurrentStreams(http2.maxConcurrentStreams.getAsLong());
+        }
+        if (http2.initialWindowSize.isPresent()) {
+            settings.setInitialWindowSize(http2.initialWindowSize.getAsInt());
+        }
+        if (http2.connectionWindowSize.isPresent()) {
+            options.setHttp2ConnectionWindowSize(http2.connectionWindowSize.getAsInt());
+        }
+    }
+
+    private static void warnIfNativeTransportUnavailable(Vertx vertx, TcpConfig tcp) {
+        if (vertx.isNativeTransportEnabled()) {
+            return;
+        }
+        if (tcp.fastOpen || tcp.quickAck || tcp.cork || tcp.reusePort) {
+            LOGGER.warn("quarkus.http.tcp.fast-open, quick-ack, cork and reuse-port require the native transport,"
+                    + " they are ignored as the JDK transport is in use (see quarkus.vertx.prefer-native-transport)");
+        }
+    }
+
     public void warnIfPortChanged(HttpConfiguration config, int port) {
         if (config.port != port) {
             LOGGER.errorf(
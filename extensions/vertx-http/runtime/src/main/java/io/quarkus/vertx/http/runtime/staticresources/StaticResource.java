@@ -0,0 +1,85 @@
+package io.quarkus.vertx.http.runtime.staticresources;
+
+/**
+ * A static resource found under {@code META-INF/resources} at build time.
+ * <p>
+ * Everything that can be computed from the resource content (size, strong ETag, content type and whether a
+ * pre-compressed variant was generated) is captured here, so nothing has to be resolved when the resource is served.
+ */
+public class StaticResource {
+
+    /**
+     * The request path, always starting with a slash
+     */
+    private String path;
+    private long size;
+    private String etag;
+    private String contentType;
+    private boolean gzipped;
+    private long gzippedSize;
+
+    public StaticResource() {
+    }
+
+    public StaticResource(String path, long size, String etag, String contentType) {
+        this.path = path;
+        this.size = size;
+        this.etag = etag;
+        this.contentType = contentType;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public boolean isGzipped() {
+        return gzipped;
+    }
+
+    public void setGzipped(boolean gzipped) {
+        this.gzipped = gzipped;
+    }
+
+    public long getGzippedSize() {
+        return gzippedSize;
+    }
+
+    public void setGzippedSize(long gzippedSize) {
+        this.gzippedSize = gzippedSize;
+    }
+
+    /**
+     * @return the ETag of the gzipped variant, which must differ from the identity one
+     */
+    public String getGzippedEtag() {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+}
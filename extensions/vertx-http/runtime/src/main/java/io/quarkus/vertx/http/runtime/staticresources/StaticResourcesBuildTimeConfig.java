@@ -0,0 +1,26 @@
+package io.quarkus.vertx.http.runtime.staticresources;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.configuration.MemorySize;
+
+/**
+ * Build time settings of the static resources served from {@code META-INF/resources}
+ */
+@ConfigGroup
+public class StaticResourcesBuildTimeConfig {
+
+    /**
+     * If this is true then a gzipped variant of every compressible static resource (text, JavaScript, JSON, XML and SVG)
+     * is generated at build time and served to clients that accept the {@code gzip} encoding.
+     */
+    @ConfigItem(defaultValue = "true")
+    public boolean gzip;
+
+    /**
+     * Resources smaller than this are never compressed, as the gain would not be worth the {@code Content-Encoding}
+     * overhead.
+     */
+    @ConfigItem(defaultValue = "1K")
+    public MemorySize gzipMinSize;
+}
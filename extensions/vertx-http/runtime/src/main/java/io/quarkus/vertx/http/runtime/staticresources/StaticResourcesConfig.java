@@ -0,0 +1,37 @@
+package io.quarkus.vertx.http.runtime.staticresources;
+
+import java.time.Duration;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.configuration.MemorySize;
+
+/**
+ * Runtime settings of the static resources served from {@code META-INF/resources}
+ */
+@ConfigGroup
+public class StaticResourcesConfig {
+
+    /**
+     * The maximum amount of static resource content kept in memory.
+     * <p>
+     * Resources are loaded into off-heap buffers (or memory-mapped when they are plain files) when the application
+     * starts, in the order they were indexed, until this limit is reached. Resources that do not fit are sent from the
+     * file system with {@code sendfile}. Set to {@code 0} to disable the cache.
+     */
+    @ConfigItem(defaultValue = "10M")
+    public MemorySize cacheMaxSize;
+
+    /**
+     * The size above which a single static resource is never kept in memory.
+     */
+    @ConfigItem(defaultValue = "1M")
+    public MemorySize cacheMaxFileSize;
+
+    /**
+     * The value of the {@code max-age} directive of the {@code Cache-Control} header sent with static resources.
+     * Clients revalidate with {@code If-None-Match} once it has elapsed.
+     */
+    @ConfigItem(defaultValue = "24H")
+    public Duration maxAge;
+}
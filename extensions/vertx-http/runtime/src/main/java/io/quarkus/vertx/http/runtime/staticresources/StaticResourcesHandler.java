@@ -0,0 +1,266 @@
+package io.quarkus.vertx.http.runtime.staticresources;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.jboss.logging.Logger;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.quarkus.vertx.http.runtime.ThreadLocalHandler;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.StaticHandler;
+
+/**
+ * Serves the static resources indexed at build time.
+ * <p>
+ * Unlike {@link StaticHandler} this handler never touches the file system to resolve a resource: the size, ETag and
+ * content type are known up front, {@code If-None-Match} is answered without reading anything, and the content is
+ * either written from a buffer loaded at startup or sent with zero-copy {@code sendfile}. Requests for unknown paths
+ * are passed to the next handler.
+ * <p>
+ * In dev mode the resources can change without a restart, so the index is only used to know which paths are static
+ * resources, and they are served by a {@link StaticHandler} with caching disabled.
+ */
+public class StaticResourcesHandler implements Handler<RoutingContext> {
+
+    private static final Logger log = Logger.getLogger(StaticResourcesHandler.class);
+
+    public static final String META_INF_RESOURCES = "META-INF/resources";
+
+    /**
+     * Where the gzipped variants generated at build time are stored, mirroring the {@code META-INF/resources} layout
+     */
+    public static final String GZIPPED_RESOURCES = "META-INF/quarkus-gzipped-resources";
+
+    private static final String GZIP = "gzip";
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+    private final Map<String, Entry> entries;
+    private final String cacheControl;
+    private final boolean indexed;
+    private final Handler<RoutingContext> fileHandler;
+
+    /**
+     * @param indexed whether the index and the loaded content can be trusted, which is not the case when the resources
+     *        can change while the application runs
+     */
+    public StaticResourcesHandler(List<StaticResource> resources, long cacheMaxSize, long cacheMaxFileSize, long maxAge,
+            boolean mapFiles, boolean indexed, ClassLoader classLoader) {
+        this.entries = new HashMap<>();
+        this.cacheControl = "public, max-age=" + maxAge;
+        this.indexed = indexed;
+        long remaining = indexed ? cacheMaxSize : 0;
+        for (StaticResource resource : resources) {
+            Entry entry = new Entry(resource);
+            // the gzipped variant is only available from memory, and it is what most clients will get
+            if (resource.isGzipped() && resource.getGzippedSize() <= cacheMaxFileSize
+                    && resource.getGzippedSize() <= remaining) {
+                entry.gzippedContent = readResource(classLoader, GZIPPED_RESOURCES + resource.getPath());
+                if (entry.gzippedContent != null) {
+                    remaining -= resource.getGzippedSize();
+                }
+            }
+            if (resource.getSize() <= cacheMaxFileSize && resource.getSize() <= remaining) {
+                entry.content = loadResource(classLoader, entry.fileName, mapFiles);
+                if (entry.content != null) {
+                    remaining -= resource.getSize();
+                }
+            }
+            entries.put(resource.getPath(), entry);
+            if (resource.getPath().equals("/index.html") || resource.getPath().equals("/index.htm")) {
+                entries.putIfAbsent("/", entry);
+            }
+        }
+        this.fileHandler = new ThreadLocalHandler(new Supplier<Handler<RoutingContext>>() {
+            @Override
+            public Handler<RoutingContext> get() {
+                return StaticHandler.create(META_INF_RESOURCES)
+                        .setCachingEnabled(indexed)
+                        .setDefaultContentEncoding("UTF-8");
+            }
+        });
+    }
+
+    @Override
+    public void handle(RoutingContext ctx) {
+        HttpServerRequest request = ctx.request();
+        HttpMethod method = request.method();
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+            ctx.next();
+            return;
+        }
+        Entry entry = entries.get(ctx.normalisedPath());
+        if (entry == null) {
+            ctx.next();
+            return;
+        }
+        if (!indexed || request.headers().contains(HttpHeaderNames.RANGE)) {
+            // partial content is rare enough for static resources that it is left to the generic handler, so are the
+            // resources of the dev mode
+            fileHandler.handle(ctx);
+            return;
+        }
+
+        HttpServerResponse response = ctx.response();
+        MultiMap headers = response.headers();
+        boolean gzip = entry.gzippedContent != null && acceptsGzip(request.getHeader(HttpHeaderNames.ACCEPT_ENCODING));
+        String etag = gzip ? entry.gzippedEtag : entry.resource.getEtag();
+        headers.set(HttpHeaderNames.ETAG, etag);
+        headers.set(HttpHeaderNames.CACHE_CONTROL, cacheControl);
+        if (entry.gzippedContent != null) {
+            headers.set(HttpHeaderNames.VARY, ACCEPT_ENCODING);
+        }
+        if (matches(request.getHeader(HttpHeaderNames.IF_NONE_MATCH), etag)) {
+            response.setStatusCode(304).end();
+            return;
+        }
+        if (entry.resource.getContentType() != null) {
+            headers.set(HttpHeaderNames.CONTENT_TYPE, entry.resource.getContentType());
+        }
+        if (gzip) {
+            headers.set(HttpHeaderNames.CONTENT_ENCODING, GZIP);
+        }
+
+        if (method == HttpMethod.HEAD) {
+            headers.set(HttpHeaderNames.CONTENT_LENGTH, gzip ? entry.gzippedContentLength : entry.contentLength);
+            response.end();
+        } else if (gzip) {
+            response.end(entry.gzippedContent);
+        } else if (entry.content != null) {
+            response.end(entry.content);
+        } else {
+            response.sendFile(entry.fileName, new Handler<AsyncResult<Void>>() {
+                @Override
+                public void handle(AsyncResult<Void> result) {
+                    if (result.failed()) {
+                        ctx.fail(result.cause());
+                    }
+                }
+            });
+        }
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        int start = 0;
+        while (start < ifNoneMatch.length()) {
+            int end = ifNoneMatch.indexOf(',', start);
+            if (end == -1) {
+                end = ifNoneMatch.length();
+            }
+            String candidate = ifNoneMatch.substring(start, end).trim();
+            // If-None-Match uses the weak comparison function
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            int paramsStart = coding.indexOf(';');
+            String name = (paramsStart == -1 ? coding : coding.substring(0, paramsStart)).trim();
+            if (name.equalsIgnoreCase(GZIP) || name.equals("*")) {
+                return paramsStart == -1 || !isZeroQuality(coding.substring(paramsStart + 1));
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(String params) {
+        String q = params.trim();
+        if (!q.startsWith("q=")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(q.substring(2).trim()) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static Buffer readResource(ClassLoader classLoader, String name) {
+        try (InputStream in = classLoader.getResourceAsStream(name)) {
+            if (in == null) {
+                return null;
+            }
+            ByteBuf buf = Unpooled.directBuffer();
+            while (buf.writeBytes(in, 8192) != -1) {
+                // keep reading
+            }
+            return asBuffer(buf);
+        } catch (IOException e) {
+            log.debugf(e, "Unable to load static resource %s, it will be served from the file system", name);
+            return null;
+        }
+    }
+
+    private static Buffer loadResource(ClassLoader classLoader, String name, boolean mapFiles) {
+        URL url = classLoader.getResource(name);
+        if (url == null) {
+            return null;
+        }
+        if (mapFiles && url.getProtocol().equals("file")) {
+            try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                return asBuffer(Unpooled.wrappedBuffer(mapped));
+            } catch (IOException | URISyntaxException e) {
+                log.debugf(e, "Unable to map static resource %s, it will be read instead", name);
+            }
+        }
+        return readResource(classLoader, name);
+    }
+
+    private static Buffer asBuffer(ByteBuf buf) {
+        // the same buffer is written for every request, so it must never be released by Netty
+        return Buffer.buffer(Unpooled.unreleasableBuffer(buf));
+    }
+
+    private static final class Entry {
+
+        final StaticResource resource;
+        final String fileName;
+        final String gzippedEtag;
+        final String contentLength;
+        final String gzippedContentLength;
+        Buffer content;
+        Buffer gzippedContent;
+
+        Entry(StaticResource resource) {
+            this.resource = resource;
+            this.fileName = META_INF_RESOURCES + resource.getPath();
+            this.gzippedEtag = resource.isGzipped() ? resource.getGzippedEtag() : null;
+            this.contentLength = Long.toString(resource.getSize());
+            this.gzippedContentLength = Long.toString(resource.getGzippedSize());
+        }
+    }
+}
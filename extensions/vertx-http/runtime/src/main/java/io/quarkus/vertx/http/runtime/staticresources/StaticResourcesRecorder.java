@@ -0,0 +1,26 @@
+package io.quarkus.vertx.http.runtime.staticresources;
+
+import java.util.List;
+
+import io.quarkus.runtime.LaunchMode;
+import io.quarkus.runtime.annotations.Recorder;
+import io.quarkus.vertx.http.runtime.HttpConfiguration;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+@Recorder
+public class StaticResourcesRecorder {
+
+    public Handler<RoutingContext> createHandler(List<StaticResource> resources, HttpConfiguration configuration,
+            LaunchMode launchMode) {
+        StaticResourcesConfig config = configuration.staticResources;
+        // mapped files cannot be replaced on some platforms
+        boolean mapFiles = launchMode == LaunchMode.NORMAL;
+        // the dev mode replaces the resources without restarting, the index computed at build time gets stale
+        boolean indexed = launchMode != LaunchMode.DEVELOPMENT;
+        return new StaticResourcesHandler(resources, config.cacheMaxSize.asLongValue(),
+                config.cacheMaxFileSize.asLongValue(), config.maxAge.getSeconds(), mapFiles, indexed,
+                Thread.currentThread().getContextClassLoader());
+    }
+
+}
@@ -6,6 +6,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -16,6 +17,7 @@ import javax.enterprise.context.spi.Context;
 import javax.enterprise.context.spi.Contextual;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.event.Event;
+import javax.enterprise.inject.Any;
 import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.UnsatisfiedResolutionException;
 import javax.enterprise.inject.spi.AnnotatedField;
@@ -123,7 +125,12 @@ public class BeanManagerImpl implements BeanManager {
 
     @Override
     public <T> Set<ObserverMethod<? super T>> resolveObserverMethods(T event, Annotation... qualifiers) {
-        throw new UnsupportedOperationException();
+        Set<Annotation> eventQualifiers = new HashSet<>();
+        Collections.addAll(eventQualifiers, qualifiers);
+        eventQualifiers.add(Any.Literal.INSTANCE);
+        // Observer methods are ordered by priority
+        return new LinkedHashSet<>(
+                ArcContainerImpl.instance().resolveObservers(Objects.requireNonNull(event).getClass(), eventQualifiers));
     }
 
     @Override
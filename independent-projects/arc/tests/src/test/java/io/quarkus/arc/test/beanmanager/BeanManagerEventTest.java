@@ -1,20 +1,25 @@
 package io.quarkus.arc.test.beanmanager;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.quarkus.arc.Arc;
 import io.quarkus.arc.test.ArcTestContainer;
+import java.util.Iterator;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Priority;
 import javax.enterprise.context.Dependent;
 import javax.enterprise.event.Observes;
 import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.ObserverMethod;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 public class BeanManagerEventTest {
 
     @RegisterExtension
-    public ArcTestContainer container = new ArcTestContainer(StringObserver.class);
+    public ArcTestContainer container = new ArcTestContainer(StringObserver.class, CharSequenceObserver.class);
 
     @Test
     public void testGetEvent() {
@@ -23,6 +28,18 @@ public class BeanManagerEventTest {
         assertEquals("foo", StringObserver.OBSERVED.get());
     }
 
+    @Test
+    public void testResolveObserverMethods() {
+        BeanManager beanManager = Arc.container().beanManager();
+        Set<ObserverMethod<? super String>> observers = beanManager.resolveObserverMethods("foo");
+        assertEquals(2, observers.size());
+        Iterator<ObserverMethod<? super String>> iterator = observers.iterator();
+        // Observers with smaller priority values come first
+        assertEquals(CharSequenceObserver.class, iterator.next().getBeanClass());
+        assertEquals(StringObserver.class, iterator.next().getBeanClass());
+        assertTrue(beanManager.resolveObserverMethods(1L).isEmpty());
+    }
+
     @Dependent
     static class StringObserver {
 
@@ -34,4 +51,12 @@ public class BeanManagerEventTest {
 
     }
 
+    @Dependent
+    static class CharSequenceObserver {
+
+        void observeCharSequence(@Observes @Priority(1) CharSequence value) {
+        }
+
+    }
+
 }
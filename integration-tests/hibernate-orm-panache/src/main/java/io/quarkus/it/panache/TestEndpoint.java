@@ -9,6 +9,7 @@ import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.inject.Inject;
@@ -29,6 +30,7 @@ import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.jpa.QueryHints;
 import org.junit.jupiter.api.Assertions;
 
+import io.quarkus.hibernate.orm.panache.Panache;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Parameters;
@@ -210,6 +212,14 @@ public class TestEndpoint {
 
         Assertions.assertNotNull(Person.findAll().firstResultOptional().get());
 
+        testScroll(Person.find("ORDER BY name"));
+        testKeysetPaging(Person.find("name like ?1", "stef%"));
+        testKeysetPaging(Person.find("name like :name ORDER BY name", Parameters.with("name", "stef%")));
+        // the key filter must apply to the whole disjunction, or the first page would be repeated
+        testKeysetPaging(Person.find("name like ?1 or name = ?2", "stef%", "stef0"));
+        testKeysetPaging(Person.find("name = :first or name like :name",
+                Parameters.with("first", "stef0").and("name", "stef%")));
+
         Assertions.assertEquals(7, Person.deleteAll());
 
         testUpdate();
@@ -641,6 +651,10 @@ public class TestEndpoint {
 
         Assertions.assertNotNull(personDao.findAll().firstResult());
 
+        testScroll(personDao.find("ORDER BY name"));
+        testKeysetPaging(personDao.find("name like ?1", "stef%"));
+        testKeysetPaging(personDao.find("name like ?1 or name = ?2", "stef%", "stef0"));
+
         Assertions.assertEquals(7, personDao.deleteAll());
 
         testUpdateDAO();
@@ -853,6 +867,44 @@ public class TestEndpoint {
         Assertions.assertEquals(3, query.pageCount());
     }
 
+    private void testScroll(PanacheQuery<Person> query) {
+        List<String> names;
+        try (Stream<Person> persons = query.withFetchSize(2).page(0, 5).scroll(2)) {
+            names = persons.map(person -> person.name).collect(Collectors.toList());
+        }
+        Assertions.assertEquals(Arrays.asList("stef0", "stef1", "stef2", "stef3", "stef4"), names);
+
+        try (Stream<Person> persons = query.page(0, 3).scroll(0)) {
+            Person person = persons.findFirst().get();
+            Assertions.assertTrue(Panache.getEntityManager().contains(person));
+        }
+        // the persistence context was cleared while scrolling
+        try (Stream<Person> persons = query.page(0, 3).scroll(1)) {
+            List<Person> list = persons.collect(Collectors.toList());
+            Assertions.assertEquals(3, list.size());
+            Assertions.assertFalse(Panache.getEntityManager().contains(list.get(0)));
+        }
+    }
+
+    private void testKeysetPaging(PanacheQuery<Person> query) {
+        query.page(Page.ofSize(3));
+        List<Person> persons = query.listAfter("id", null);
+        Assertions.assertEquals(3, persons.size());
+        Assertions.assertEquals("stef0", persons.get(0).name);
+        Assertions.assertEquals("stef2", persons.get(2).name);
+
+        persons = query.listAfter("id", persons.get(2).id);
+        Assertions.assertEquals(3, persons.size());
+        Assertions.assertEquals("stef3", persons.get(0).name);
+        Assertions.assertEquals("stef5", persons.get(2).name);
+
+        persons = query.listAfter("id", persons.get(2).id);
+        Assertions.assertEquals(1, persons.size());
+        Assertions.assertEquals("stef6", persons.get(0).name);
+
+        Assertions.assertEquals(0, query.listAfter("id", persons.get(0).id).size());
+    }
+
     @GET
     @Path("accessors")
     public String testAccessors() throws NoSuchMethodException, SecurityException {
@@ -967,6 +1019,34 @@ public class TestEndpoint {
         return "OK";
     }
 
+    @GET
+    @Path("persist-in-batches")
+    @Transactional
+    public String testPersistInBatches() {
+        int count = 120;
+        Address address = new Address("managed");
+        address.persist();
+
+        Address.persist(IntStream.range(0, count).mapToObj(i -> new Address("single" + i)));
+        Panache.getEntityManager().flush();
+        Assertions.assertTrue(Panache.getEntityManager().contains(address));
+
+        Address.persistInBatches(IntStream.range(0, count).mapToObj(i -> new Address("batched" + i)));
+        // the persistence context was cleared
+        Assertions.assertFalse(Panache.getEntityManager().contains(address));
+
+        List<Address> list = IntStream.range(0, 10).mapToObj(i -> new Address("dao" + i)).collect(Collectors.toList());
+        addressDao.persistInBatches(list, 3);
+        Assertions.assertFalse(Panache.getEntityManager().contains(list.get(9)));
+
+        Assertions.assertEquals(count, Address.count("street like ?1", "single%"));
+        Assertions.assertEquals(count, Address.count("street like ?1", "batched%"));
+        Assertions.assertEquals(10, Address.count("street like ?1", "dao%"));
+
+        Address.deleteAll();
+        return "OK";
+    }
+
     @Produces({ MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML })
     @GET
     @Path("ignored-properties")
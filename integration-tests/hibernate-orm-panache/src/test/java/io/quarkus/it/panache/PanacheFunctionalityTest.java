@@ -49,6 +49,11 @@ public class PanacheFunctionalityTest {
         Assertions.assertEquals(0, Person.count());
     }
 
+    @Test
+    public void testPersistInBatches() {
+        RestAssured.when().get("/test/persist-in-batches").then().body(is("OK"));
+    }
+
     @Test
     public void testBug5274() {
         RestAssured.when().get("/test/5274").then().body(is("OK"));
@@ -1,5 +1,11 @@
 package io.quarkus.it.kafka.streams;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
@@ -11,9 +17,9 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 
 import org.apache.kafka.streams.KafkaStreams;
-import org.apache.kafka.streams.errors.InvalidStateStoreException;
-import org.apache.kafka.streams.state.QueryableStoreTypes;
-import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.apache.kafka.streams.KeyValue;
+
+import io.quarkus.kafka.streams.runtime.KafkaStreamsQueries;
 
 @ApplicationScoped
 @Path("/kafkastreams")
@@ -22,15 +28,8 @@ public class KafkaStreamsEndpoint {
     @Inject
     KafkaStreams streams;
 
-    private ReadOnlyKeyValueStore<Integer, Long> getCountstore() {
-        while (true) {
-            try {
-                return streams.store("countstore", QueryableStoreTypes.keyValueStore());
-            } catch (InvalidStateStoreException e) {
-                // ignore, store not ready yet
-            }
-        }
-    }
+    @Inject
+    KafkaStreamsQueries queries;
 
     @POST
     @Path("/stop")
@@ -42,7 +41,20 @@ public class KafkaStreamsEndpoint {
     @Path("/category/{id}")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public Long getCategory(@PathParam("id") int id) {
-        return getCountstore().get(id);
+    public Long getCategory(@PathParam("id") int id) throws InterruptedException {
+        queries.awaitKeyValueStore("countstore", Duration.ofSeconds(10));
+        return queries.<Integer, Long> get("countstore", id).orElse(null);
+    }
+
+    @GET
+    @Path("/categories")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Map<Integer, Long> getCategories() throws InterruptedException {
+        queries.awaitKeyValueStore("countstore", Duration.ofSeconds(10));
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        try (Stream<List<KeyValue<Integer, Long>>> batches = queries.allInBatches("countstore", 1)) {
+            batches.forEach(batch -> batch.forEach(entry -> counts.put(entry.key, entry.value)));
+        }
+        return counts;
     }
 }
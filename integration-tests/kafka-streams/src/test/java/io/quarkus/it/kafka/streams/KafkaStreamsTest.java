@@ -116,6 +116,10 @@ public class KafkaStreamsTest {
         // test interactive query (getting latest result from state store)
         assertCategoryCount(1, 3);
         assertCategoryCount(2, 1);
+        RestAssured.when().get("/kafkastreams/categories").then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("'1'", CoreMatchers.is(3))
+                .body("'2'", CoreMatchers.is(1));
 
         testKafkaStreamsAliveAndReady();
 
@@ -3,6 +3,8 @@ package io.quarkus.it.mongodb.panache.book;
 import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
 import javax.ws.rs.*;
@@ -81,6 +83,14 @@ public class BookEntityResource {
         return BookEntity.find("author", author).project(BookShortView.class).list();
     }
 
+    @GET
+    @Path("/titles/{author}")
+    public List<String> getTitlesByAuthor(@PathParam("author") String author) {
+        try (Stream<BookEntity> books = BookEntity.find("author", author).streamFromCursor()) {
+            return books.map(BookEntity::getTitle).collect(Collectors.toList());
+        }
+    }
+
     @GET
     @Path("/search")
     public BookEntity search(@QueryParam("author") String author, @QueryParam("title") String title,
@@ -3,6 +3,8 @@ package io.quarkus.it.mongodb.panache.book;
 import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
@@ -84,6 +86,14 @@ public class BookRepositoryResource {
         return bookRepository.find("author", author).project(BookShortView.class).list();
     }
 
+    @GET
+    @Path("/titles/{author}")
+    public List<String> getTitlesByAuthor(@PathParam("author") String author) {
+        try (Stream<Book> books = bookRepository.find("author", author).streamFromCursor()) {
+            return books.map(Book::getTitle).collect(Collectors.toList());
+        }
+    }
+
     @GET
     @Path("/search")
     public Book search(@QueryParam("author") String author, @QueryParam("title") String title,
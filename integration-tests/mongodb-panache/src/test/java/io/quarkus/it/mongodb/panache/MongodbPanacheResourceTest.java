@@ -169,6 +169,10 @@ class MongodbPanacheResourceTest {
         Assertions.assertNotNull(list.get(0).getTitle());
         Assertions.assertNull(list.get(0).getDetails());
 
+        // the same query, streamed from a cursor
+        List<?> titles = get(endpoint + "/titles/Victor Hugo").as(List.class);
+        Assertions.assertEquals(2, titles.size());
+
         // magic query find("{'author':?1,'title':?1}", author, title)
         BookDTO book = get(endpoint + "/search?author=Victor Hugo&title=Notre-Dame de Paris").as(BookDTO.class);
         Assertions.assertNotNull(book);
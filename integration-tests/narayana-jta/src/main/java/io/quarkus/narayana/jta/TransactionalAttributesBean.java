@@ -0,0 +1,44 @@
+package io.quarkus.narayana.jta;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import javax.transaction.Transactional;
+
+import com.arjuna.ats.arjuna.coordinator.BasicAction;
+import com.arjuna.ats.arjuna.coordinator.TransactionReaper;
+
+import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
+
+@ApplicationScoped
+public class TransactionalAttributesBean {
+
+    @Inject
+    TransactionManager tm;
+
+    @Transactional
+    public Transaction required() throws SystemException {
+        return tm.getTransaction();
+    }
+
+    @Transactional
+    @TransactionConfiguration(timeout = 42)
+    public int timeout() {
+        return TransactionReaper.transactionReaper().getTimeout(BasicAction.Current());
+    }
+
+    @Transactional(dontRollbackOn = IllegalStateException.class)
+    public void fail(RuntimeException e) {
+        throw e;
+    }
+
+    @Transactional
+    public CompletionStage<Transaction> async() throws SystemException {
+        return CompletableFuture.completedFuture(tm.getTransaction());
+    }
+}
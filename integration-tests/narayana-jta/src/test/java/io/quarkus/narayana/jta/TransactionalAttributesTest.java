@@ -0,0 +1,73 @@
+package io.quarkus.narayana.jta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import javax.inject.Inject;
+import javax.transaction.Status;
+import javax.transaction.TransactionManager;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+class TransactionalAttributesTest {
+
+    @Inject
+    TransactionManager tm;
+
+    @Inject
+    TransactionalAttributesBean bean;
+
+    @Test
+    void timeoutIsAppliedOnEachCall() throws Exception {
+        assertEquals(42, bean.timeout());
+        assertEquals(42, bean.timeout());
+
+        tm.begin();
+        try {
+            // the timeout can only be changed at the entry level of a transaction
+            assertThrows(RuntimeException.class, bean::timeout);
+            assertThrows(RuntimeException.class, bean::timeout);
+        } finally {
+            tm.rollback();
+        }
+    }
+
+    @Test
+    void rollbackAttributesAreApplied() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            tm.begin();
+            try {
+                assertThrows(IllegalStateException.class, () -> bean.fail(new IllegalStateException()));
+                assertEquals(Status.STATUS_ACTIVE, tm.getStatus());
+                assertThrows(IllegalArgumentException.class, () -> bean.fail(new IllegalArgumentException()));
+                assertEquals(Status.STATUS_MARKED_ROLLBACK, tm.getStatus());
+            } finally {
+                tm.rollback();
+            }
+        }
+    }
+
+    @Test
+    void requiredJoinsTheCallerTransaction() throws Exception {
+        assertNotNull(bean.required());
+
+        tm.begin();
+        try {
+            assertSame(tm.getTransaction(), bean.required());
+        } finally {
+            tm.commit();
+        }
+    }
+
+    @Test
+    void asyncResultEndsTheTransaction() throws Exception {
+        assertNotNull(bean.async().toCompletableFuture().get());
+        assertNull(tm.getTransaction());
+    }
+}